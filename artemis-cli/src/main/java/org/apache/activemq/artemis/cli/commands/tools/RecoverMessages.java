@@ -108,6 +108,7 @@ public class RecoverMessages extends DBOption {
       userRecordsOfInterest.add(JournalRecordIds.ADD_LARGE_MESSAGE);
       userRecordsOfInterest.add(JournalRecordIds.ADD_MESSAGE);
       userRecordsOfInterest.add(JournalRecordIds.ADD_MESSAGE_PROTOCOL);
+      userRecordsOfInterest.add(JournalRecordIds.ADD_MESSAGE_COMPRESSED);
       userRecordsOfInterest.add(JournalRecordIds.ADD_REF);
       userRecordsOfInterest.add(JournalRecordIds.PAGE_TRANSACTION);
 
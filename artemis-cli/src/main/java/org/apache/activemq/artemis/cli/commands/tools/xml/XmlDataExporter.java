@@ -230,7 +230,7 @@ public final class XmlDataExporter extends DBOption {
          Object o = DescribeJournal.newObjectEncoding(info, storageManager);
          if (info.getUserRecordType() == JournalRecordIds.ADD_MESSAGE) {
             messages.put(info.id, ((MessageDescribe) o).getMsg().toCore());
-         } else if (info.getUserRecordType() == JournalRecordIds.ADD_MESSAGE_PROTOCOL) {
+         } else if (info.getUserRecordType() == JournalRecordIds.ADD_MESSAGE_PROTOCOL || info.getUserRecordType() == JournalRecordIds.ADD_MESSAGE_COMPRESSED) {
             messages.put(info.id, ((MessageDescribe) o).getMsg().toCore());
          } else if (info.getUserRecordType() == JournalRecordIds.ADD_LARGE_MESSAGE) {
             messages.put(info.id, ((MessageDescribe) o).getMsg());
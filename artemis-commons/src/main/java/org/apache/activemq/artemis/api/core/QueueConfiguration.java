@@ -46,6 +46,9 @@ public class QueueConfiguration implements Serializable {
    // The prefix for Mirror SNF Queues
    public static final String MIRROR_ADDRESS = "$ACTIVEMQ_ARTEMIS_MIRROR";
 
+   // The prefix for the internal queues holding the partitions of a partitioned queue
+   public static final String PARTITION_PREFIX = "$.artemis.internal.partition.";
+
    private static final long serialVersionUID = 2601016432150225938L;
 
    public static final String ID = "id";
@@ -80,6 +83,8 @@ public class QueueConfiguration implements Serializable {
    public static final String TRANSIENT = "transient";
    public static final String AUTO_CREATED = "auto-created";
    public static final String FQQN = "fqqn";
+   public static final String PARTITIONS = "partitions";
+   public static final String PARTITION_KEY = "partition-key";
 
    private Long id; // internal use
    private SimpleString name;
@@ -113,6 +118,8 @@ public class QueueConfiguration implements Serializable {
    private Boolean _transient;
    private Boolean autoCreated;
    private Boolean fqqn;
+   private Integer partitions;
+   private SimpleString partitionKey;
 
    /**
     * Instance factory which invokes {@link #setName(SimpleString)}
@@ -187,6 +194,8 @@ public class QueueConfiguration implements Serializable {
       _transient = o._transient;
       autoCreated = o.autoCreated;
       fqqn = o.fqqn;
+      partitions = o.partitions;
+      partitionKey = o.partitionKey;
    }
 
    /**
@@ -247,6 +256,8 @@ public class QueueConfiguration implements Serializable {
     * <li>internal: {@link #INTERNAL}
     * <li>transient: {@link #TRANSIENT}
     * <li>auto-created: {@link #AUTO_CREATED}
+    * <li>partitions: {@link #PARTITIONS}
+    * <li>partition-key: {@link #PARTITION_KEY}
     * </ul>
     * The {@code String}-based values will be converted to the proper value types based on the underlying property. For
     * example, if you pass the value "TRUE" for the key "auto-created" the {@code String} "TRUE" will be converted to
@@ -318,6 +329,10 @@ public class QueueConfiguration implements Serializable {
             setTransient(Boolean.valueOf(value));
          } else if (key.equals(AUTO_CREATED)) {
             setAutoCreated(Boolean.valueOf(value));
+         } else if (key.equals(PARTITIONS)) {
+            setPartitions(Integer.valueOf(value));
+         } else if (key.equals(PARTITION_KEY)) {
+            setPartitionKey(value);
          }
       }
       return this;
@@ -715,6 +730,64 @@ public class QueueConfiguration implements Serializable {
       return Objects.requireNonNullElse(fqqn, Boolean.FALSE);
    }
 
+   /**
+    * The number of queues the messages of an anycast queue are split into, so they're delivered in parallel. The first
+    * partition is the queue itself, the others are internal queues on the same address.
+    */
+   public Integer getPartitions() {
+      return partitions;
+   }
+
+   public QueueConfiguration setPartitions(Integer partitions) {
+      this.partitions = partitions;
+      return this;
+   }
+
+   /**
+    * The message property choosing the partition of a message, so messages with the same value are always kept in
+    * order on the same partition. If {@code null} the group ID of the message is used, and messages without either are
+    * spread over every partition.
+    */
+   public SimpleString getPartitionKey() {
+      return partitionKey;
+   }
+
+   public QueueConfiguration setPartitionKey(String partitionKey) {
+      return setPartitionKey(SimpleString.of(partitionKey));
+   }
+
+   public QueueConfiguration setPartitionKey(SimpleString partitionKey) {
+      this.partitionKey = partitionKey;
+      return this;
+   }
+
+   public boolean isPartitionQueue() {
+      return isInternal() && name != null && name.toString().startsWith(PARTITION_PREFIX);
+   }
+
+   /**
+    * {@return the name of the internal queue holding a partition of a partitioned queue}
+    */
+   public static SimpleString getPartitionName(SimpleString queueName, int partition) {
+      if (partition == 0) {
+         return queueName;
+      }
+      return SimpleString.of(PARTITION_PREFIX + partition + "." + queueName);
+   }
+
+   /**
+    * {@return the name of the partitioned queue an internal partition queue belongs to, or {@code null} if the name
+    * isn't the one of a partition}
+    */
+   public static SimpleString getPartitionedQueueName(SimpleString partitionName) {
+      if (partitionName == null || !partitionName.toString().startsWith(PARTITION_PREFIX)) {
+         return null;
+      }
+      final String name = partitionName.toString();
+      final int separator = name.indexOf('.', PARTITION_PREFIX.length());
+      return separator < 0 ? null : SimpleString.of(name.substring(separator + 1));
+   }
+
    /**
     * This method returns a JSON-formatted {@code String} representation of this {@code QueueConfiguration}. It is a
     * simple collection of key/value pairs. The keys used are referenced in {@link #set(String, String)}. For example:
@@ -828,6 +901,12 @@ public class QueueConfiguration implements Serializable {
       if (isFqqn() != null) {
          builder.add(FQQN, isFqqn());
       }
+      if (getPartitions() != null) {
+         builder.add(PARTITIONS, getPartitions());
+      }
+      if (getPartitionKey() != null) {
+         builder.add(PARTITION_KEY, getPartitionKey().toString());
+      }
 
       return builder.build().toString();
    }
@@ -903,7 +982,9 @@ public class QueueConfiguration implements Serializable {
              Objects.equals(internal, other.internal) &&
              Objects.equals(_transient, other._transient) &&
              Objects.equals(autoCreated, other.autoCreated) &&
-             Objects.equals(fqqn, other.fqqn);
+             Objects.equals(fqqn, other.fqqn) &&
+             Objects.equals(partitions, other.partitions) &&
+             Objects.equals(partitionKey, other.partitionKey);
    }
 
    public boolean isMirrorQueue() {
@@ -917,7 +998,7 @@ public class QueueConfiguration implements Serializable {
                           lastValueKey, nonDestructive, purgeOnNoConsumers, enabled, consumersBeforeDispatch,
                           delayBeforeDispatch, consumerPriority, autoDelete, autoDeleteDelay, autoDeleteMessageCount,
                           ringSize, configurationManaged, temporary, autoCreateAddress, internal, _transient,
-                          autoCreated, fqqn);
+                          autoCreated, fqqn, partitions, partitionKey);
    }
 
    @Override
@@ -954,6 +1035,8 @@ public class QueueConfiguration implements Serializable {
          + ", internal=" + internal
          + ", transient=" + _transient
          + ", autoCreated=" + autoCreated
-         + ", fqqn=" + fqqn + ']';
+         + ", fqqn=" + fqqn
+         + ", partitions=" + partitions
+         + ", partitionKey=" + partitionKey + ']';
    }
 }
@@ -2903,4 +2903,11 @@ public interface AuditLogger {
    @LogMessage(id = 601803, value = "User {} is getting BlockedViaManagement on target resource: {}", level = LogMessage.Level.INFO)
    void isBlockedViaManagement(String user, Object source);
 
+   static void getPartitions(Object source) {
+      BASE_LOGGER.getPartitions(getCaller(), source);
+   }
+
+   @LogMessage(id = 601804, value = "User {} is getting partitions on target resource: {}", level = LogMessage.Level.INFO)
+   void getPartitions(String user, Object source);
+
 }
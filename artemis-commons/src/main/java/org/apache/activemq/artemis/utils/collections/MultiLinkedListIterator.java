@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.utils.collections;
+
+/**
+ * Extends MultiIterator over {@link LinkedListIterator}s. Repeating or removing the last element is done on the
+ * iterator the element came from, even after moving to the next one, and closing it closes every iterator.
+ *
+ * @param <E> type of the class of the iterator.
+ */
+public class MultiLinkedListIterator<E> extends MultiIteratorBase<E, LinkedListIterator<E>> implements LinkedListIterator<E> {
+
+   private final LinkedListIterator<E>[] iterators;
+
+   private int index = -1;
+
+   private int lastIndex = -1;
+
+   public MultiLinkedListIterator(LinkedListIterator<E>[] iterators) {
+      super(iterators);
+      this.iterators = iterators;
+   }
+
+   @Override
+   protected void moveTo(int index) {
+      super.moveTo(index);
+      this.index = index;
+   }
+
+   @Override
+   public E next() {
+      final E next = super.next();
+      lastIndex = index;
+      return next;
+   }
+
+   @Override
+   public void repeat() {
+      if (lastIndex != -1) {
+         moveTo(lastIndex);
+         get(lastIndex).repeat();
+      }
+   }
+
+   @Override
+   public void remove() {
+      lastIterator().remove();
+   }
+
+   @Override
+   public E removeLastElement() {
+      return lastIterator().removeLastElement();
+   }
+
+   @Override
+   public void close() {
+      for (LinkedListIterator<E> iterator : iterators) {
+         iterator.close();
+      }
+   }
+
+   private LinkedListIterator<E> lastIterator() {
+      if (lastIndex == -1) {
+         throw new IllegalStateException();
+      }
+      return get(lastIndex);
+   }
+}
@@ -51,6 +51,28 @@ public class QueueConfigurationTest {
       assertFalse(queueConfiguration.isGroupRebalancePauseDispatch());
    }
 
+   @Test
+   public void testPartitions() {
+      QueueConfiguration queueConfiguration = QueueConfiguration.of("TEST");
+      assertNull(queueConfiguration.getPartitions());
+      assertNull(queueConfiguration.getPartitionKey());
+
+      queueConfiguration.set(QueueConfiguration.PARTITIONS, "4");
+      queueConfiguration.set(QueueConfiguration.PARTITION_KEY, "customer");
+      assertEquals(4, queueConfiguration.getPartitions().intValue());
+      assertEquals(SimpleString.of("customer"), queueConfiguration.getPartitionKey());
+
+      assertEquals(queueConfiguration, QueueConfiguration.fromJSON(queueConfiguration.toJSON()));
+      assertFalse(queueConfiguration.isPartitionQueue());
+
+      final SimpleString partitionName = QueueConfiguration.getPartitionName(queueConfiguration.getName(), 2);
+      assertEquals(queueConfiguration.getName(), QueueConfiguration.getPartitionName(queueConfiguration.getName(), 0));
+      assertTrue(QueueConfiguration.of(partitionName).setInternal(true).isPartitionQueue());
+      assertFalse(QueueConfiguration.of(partitionName).isPartitionQueue());
+      assertEquals(queueConfiguration.getName(), QueueConfiguration.getPartitionedQueueName(partitionName));
+      assertNull(QueueConfiguration.getPartitionedQueueName(queueConfiguration.getName()));
+   }
+
    @Test
    public void testFqqn() {
       final SimpleString ADDRESS = RandomUtil.randomUUIDSimpleString();
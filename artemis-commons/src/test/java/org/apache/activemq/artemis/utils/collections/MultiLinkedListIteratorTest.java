@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.utils.collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class MultiLinkedListIteratorTest {
+
+   private static LinkedListImpl<Integer> list(int from, int to) {
+      LinkedListImpl<Integer> list = new LinkedListImpl<>();
+      for (int i = from; i < to; i++) {
+         list.addTail(i);
+      }
+      return list;
+   }
+
+   @Test
+   public void testMultipleIterators() {
+      LinkedListImpl<Integer> list1 = list(0, 10);
+      LinkedListImpl<Integer> list2 = new LinkedListImpl<>();
+      LinkedListImpl<Integer> list3 = list(10, 20);
+
+      try (MultiLinkedListIterator<Integer> iterator = new MultiLinkedListIterator<>(new LinkedListIterator[]{list1.iterator(), list2.iterator(), list3.iterator()})) {
+         for (int i = 0; i < 20; i++) {
+            assertTrue(iterator.hasNext());
+            assertEquals(Integer.valueOf(i), iterator.next());
+         }
+         assertFalse(iterator.hasNext());
+      }
+   }
+
+   @Test
+   public void testRepeatAndRemoveAfterMovingToNextIterator() {
+      LinkedListImpl<Integer> list1 = list(0, 2);
+      LinkedListImpl<Integer> list2 = list(2, 4);
+
+      try (MultiLinkedListIterator<Integer> iterator = new MultiLinkedListIterator<>(new LinkedListIterator[]{list1.iterator(), list2.iterator()})) {
+         assertThrows(IllegalStateException.class, iterator::removeLastElement);
+
+         assertEquals(Integer.valueOf(0), iterator.next());
+         assertEquals(Integer.valueOf(1), iterator.next());
+         // moves to the second iterator
+         assertTrue(iterator.hasNext());
+
+         // the last element is repeated from the first iterator
+         iterator.repeat();
+         assertTrue(iterator.hasNext());
+         assertEquals(Integer.valueOf(1), iterator.next());
+         assertTrue(iterator.hasNext());
+
+         assertEquals(Integer.valueOf(1), iterator.removeLastElement());
+         assertEquals(1, list1.size());
+
+         assertEquals(Integer.valueOf(2), iterator.next());
+         assertEquals(Integer.valueOf(3), iterator.next());
+         assertFalse(iterator.hasNext());
+      }
+   }
+}
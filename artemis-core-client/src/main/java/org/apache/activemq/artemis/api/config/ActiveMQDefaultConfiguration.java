@@ -256,6 +256,18 @@ public final class ActiveMQDefaultConfiguration {
    // If true the whole page would be read, otherwise just seek and read while getting message
    private static boolean DEFAULT_READ_WHOLE_PAGE = false;
 
+   // If true the cursors read complete page files through a memory mapping, decoding the messages as they are delivered
+   private static boolean DEFAULT_PAGE_READ_MAPPED = false;
+
+   // The percentage of the messages of a page file acknowledged by every queue needed to compact it, -1 disables page compaction
+   private static int DEFAULT_PAGE_COMPACTION_THRESHOLD = -1;
+
+   // If true the page files of every address are synced together by a broker wide scheduler, once per page-sync-timeout
+   private static boolean DEFAULT_PAGE_GROUP_SYNC = false;
+
+   // How many page files ahead of the cursors are kept on the local disk when page files are offloaded
+   private static int DEFAULT_PAGE_OFFLOAD_PREFETCH = 2;
+
    // the directory to store the journal files in
    private static String DEFAULT_JOURNAL_DIR = "data/journal";
 
@@ -294,6 +306,15 @@ public final class ActiveMQDefaultConfiguration {
    // The maximal number of data files before we can start deleting corrupted files instead of moving them to attic.
    private static int DEFAULT_JOURNAL_MAX_ATTIC_FILES = 10;
 
+   // how many journal files are read concurrently when loading the message journal
+   private static int DEFAULT_JOURNAL_LOAD_THREADS = 1;
+
+   // whether a seal record is written on every message journal file before moving to the next one
+   private static boolean DEFAULT_JOURNAL_SEAL_FILES = false;
+
+   // whether the journal buffer timeout follows the observed sync latency
+   private static boolean DEFAULT_JOURNAL_ADAPTIVE_BUFFER_TIMEOUT = false;
+
    // Interval to log server specific information (e.g. memory usage etc)
    private static long DEFAULT_SERVER_DUMP_INTERVAL = -1;
 
@@ -505,6 +526,9 @@ public final class ActiveMQDefaultConfiguration {
 
    public static final long DEFAULT_GLOBAL_MAX_MESSAGES = -1;
 
+   // Size (in bytes) of the page files kept in memory by all addresses after their cursors left them, 0 means disabled
+   public static final long DEFAULT_GLOBAL_PAGE_CACHE_MAX_SIZE = 0;
+
    public static final int INITIAL_QUEUE_BUFFER_SIZE = 8192;
 
    public static final int DEFAULT_MAX_DISK_USAGE;
@@ -1044,6 +1068,34 @@ public final class ActiveMQDefaultConfiguration {
       return DEFAULT_READ_WHOLE_PAGE;
    }
 
+   /**
+    * If true the cursors read complete page files through a memory mapping, decoding the messages as they are delivered
+    */
+   public static boolean isDefaultPageReadMapped() {
+      return DEFAULT_PAGE_READ_MAPPED;
+   }
+
+   /**
+    * The percentage of the messages of a page file acknowledged by every queue needed to compact it, -1 disables page compaction
+    */
+   public static int getDefaultPageCompactionThreshold() {
+      return DEFAULT_PAGE_COMPACTION_THRESHOLD;
+   }
+
+   /**
+    * If true the page files of every address are synced together by a broker wide scheduler, once per page-sync-timeout
+    */
+   public static boolean isDefaultPageGroupSync() {
+      return DEFAULT_PAGE_GROUP_SYNC;
+   }
+
+   /**
+    * How many page files ahead of the cursors are kept on the local disk when page files are offloaded
+    */
+   public static int getDefaultPageOffloadPrefetch() {
+      return DEFAULT_PAGE_OFFLOAD_PREFETCH;
+   }
+
    /**
     * the directory to store the journal files in
     */
@@ -1136,6 +1188,27 @@ public final class ActiveMQDefaultConfiguration {
       return DEFAULT_JOURNAL_MAX_ATTIC_FILES;
    }
 
+   /**
+    * how many journal files are read concurrently when loading the message journal
+    */
+   public static int getDefaultJournalLoadThreads() {
+      return DEFAULT_JOURNAL_LOAD_THREADS;
+   }
+
+   /**
+    * whether a seal record is written on every message journal file before moving to the next one
+    */
+   public static boolean isDefaultJournalSealFiles() {
+      return DEFAULT_JOURNAL_SEAL_FILES;
+   }
+
+   /**
+    * whether the journal buffer timeout follows the observed sync latency
+    */
+   public static boolean isDefaultJournalAdaptiveBufferTimeout() {
+      return DEFAULT_JOURNAL_ADAPTIVE_BUFFER_TIMEOUT;
+   }
+
    /**
     * Interval to log server specific information (e.g. memory usage etc)
     */
@@ -1616,6 +1689,10 @@ public final class ActiveMQDefaultConfiguration {
       return DEFAULT_GLOBAL_MAX_MESSAGES;
    }
 
+   public static long getDefaultGlobalPageCacheMaxSize() {
+      return DEFAULT_GLOBAL_PAGE_CACHE_MAX_SIZE;
+   }
+
    public static int getDefaultMaxDiskUsage() {
       return DEFAULT_MAX_DISK_USAGE;
    }
@@ -735,6 +735,13 @@ public interface QueueControl {
    @Attribute(desc = "Get the ring size")
    long getRingSize();
 
+   /**
+    * Will return the number of partitions the messages of the queue are split into. The counts of the queue add up the
+    * counts of every partition.
+    */
+   @Attribute(desc = "Get the number of partitions the messages of the queue are split into")
+   int getPartitions();
+
    /**
     * {@return whether the groups of this queue are automatically rebalanced}
     */
@@ -316,6 +316,11 @@ public abstract class AbstractSequentialFile implements SequentialFile {
          }
       }
 
+      @Override
+      public int getFlushedBytes(final int bytes) {
+         return factory.calculateBlockSize(bytes);
+      }
+
       @Override
       public String toString() {
          return "TimedBufferObserver on file (" + getFile().getName() + ")";
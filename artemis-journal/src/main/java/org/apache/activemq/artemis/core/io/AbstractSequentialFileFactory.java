@@ -103,6 +103,13 @@ public abstract class AbstractSequentialFileFactory implements SequentialFileFac
       return bufferSize;
    }
 
+   /**
+    * {@return the buffer shared by the files of this factory, or {@code null} if writes are not buffered}
+    */
+   public TimedBuffer getTimedBuffer() {
+      return timedBuffer;
+   }
+
    @Override
    public int getAlignment() {
       if (alignment < 0) {
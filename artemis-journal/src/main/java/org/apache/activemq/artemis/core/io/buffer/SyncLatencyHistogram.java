@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.io.buffer;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Rolling histogram of the sync latencies observed by the {@link TimedBuffer}.
+ * <p>
+ * Latencies are counted on power of two buckets of nanoseconds. The histogram keeps the current window and the
+ * previous one, so percentiles always cover between one and two windows of samples and old disk behaviour is
+ * forgotten after two windows.
+ */
+public final class SyncLatencyHistogram {
+
+   private static final int BUCKETS = Long.SIZE;
+
+   private final int windowSize;
+
+   private final AtomicLong samples = new AtomicLong();
+
+   private volatile AtomicLongArray current = new AtomicLongArray(BUCKETS);
+
+   private volatile AtomicLongArray previous = new AtomicLongArray(BUCKETS);
+
+   public SyncLatencyHistogram(final int windowSize) {
+      if (windowSize <= 0) {
+         throw new IllegalArgumentException("windowSize must be greater than 0");
+      }
+      this.windowSize = windowSize;
+   }
+
+   /**
+    * @return the number of samples recorded since the histogram was created
+    */
+   public long record(final long latencyNanos) {
+      current.incrementAndGet(bucket(latencyNanos));
+      final long count = samples.incrementAndGet();
+      if (count % windowSize == 0) {
+         rotate();
+      }
+      return count;
+   }
+
+   private synchronized void rotate() {
+      previous = current;
+      current = new AtomicLongArray(BUCKETS);
+   }
+
+   public long getSamples() {
+      return samples.get();
+   }
+
+   /**
+    * @return an estimate of the given percentile (between 0 and 1) of the latencies on the last windows, in
+    * nanoseconds, or {@code -1} if nothing was recorded yet
+    */
+   public long percentile(final double percentile) {
+      final AtomicLongArray currentWindow = current;
+      final AtomicLongArray previousWindow = previous;
+      final long[] counts = new long[BUCKETS];
+      long total = 0;
+      for (int i = 0; i < BUCKETS; i++) {
+         counts[i] = currentWindow.get(i) + previousWindow.get(i);
+         total += counts[i];
+      }
+      if (total == 0) {
+         return -1;
+      }
+      final long rank = Math.max(1, (long) Math.ceil(total * percentile));
+      long seen = 0;
+      for (int i = 0; i < BUCKETS; i++) {
+         seen += counts[i];
+         if (seen >= rank) {
+            return bucketMidpoint(i);
+         }
+      }
+      return bucketMidpoint(BUCKETS - 1);
+   }
+
+   private static int bucket(final long latencyNanos) {
+      return BUCKETS - 1 - Long.numberOfLeadingZeros(Math.max(1, latencyNanos));
+   }
+
+   // bucket i counts the latencies in [2^i, 2^(i + 1))
+   private static long bucketMidpoint(final int bucket) {
+      final long lower = 1L << bucket;
+      return bucket == BUCKETS - 1 ? Long.MAX_VALUE : lower + (lower >> 1);
+   }
+}
@@ -58,20 +58,40 @@ public final class TimedBuffer extends CriticalComponentImpl {
    // The number of tries on sleep before switching to spin
    private static final int MAX_CHECKS_ON_SLEEP = 20;
 
+   // The adaptive timeout stays within the configured timeout divided or multiplied by this
+   private static final int ADAPTIVE_TIMEOUT_RANGE = 10;
+
+   // Number of syncs on each window of the latency histogram
+   private static final int SYNC_LATENCY_WINDOW = 1024;
+
+   // Number of syncs between each adjustment of the adaptive timeout
+   private static final int ADAPTIVE_TIMEOUT_INTERVAL = 128;
+
 
    // If the TimedBuffer is idle - i.e. no records are being added, then it's pointless the timer flush thread
    // in spinning and checking the time - and using up CPU in the process - this semaphore is used to
    // prevent that
    private final Semaphore spinLimiter = new Semaphore(1);
    private final int bufferSize;
-   private final ActiveMQBuffer buffer;
-   private final int timeout;
+   // The buffer receiving appends: it is only swapped with flushingBuffer while holding both flushLock and this
+   private ActiveMQBuffer buffer;
+   // The buffer being written to the observer: appends can go on while the previous batch is being flushed
+   private ActiveMQBuffer flushingBuffer;
+   // Serializes the flushes, so batches are written to the observer in order. It is always acquired before this
+   private final Object flushLock = new Object();
+   private final int configuredTimeout;
+   // the timeout in use, which is only different from configuredTimeout if adaptiveTimeout is enabled
+   private volatile int timeout;
+   private volatile boolean adaptiveTimeout;
+   private final SyncLatencyHistogram syncLatencies = new SyncLatencyHistogram(SYNC_LATENCY_WINDOW);
    private final boolean logRates;
    private final AtomicLong bytesFlushed = new AtomicLong(0);
    private final AtomicLong flushesDone = new AtomicLong(0);
    private TimedBufferObserver bufferObserver;
    private CheckTimer timerRunnable;
    private int bufferLimit = 0;
+   // bytes left on the observer once every flushed batch is written, used to compute bufferLimit after a flush
+   private int remainingBytes = 0;
    private List<IOCallback> callbacks;
    // used to measure sync requests. When a sync is requested, it shouldn't take more than timeout to happen
    private volatile boolean pendingSync = false;
@@ -110,13 +130,59 @@ public final class TimedBuffer extends CriticalComponentImpl {
 
       buffer.clear();
 
+      flushingBuffer = new ChannelBufferWrapper(Unpooled.wrappedBuffer(ByteBuffer.allocateDirect(size)));
+
+      flushingBuffer.clear();
+
       bufferLimit = 0;
 
       callbacks = new ArrayList<>();
 
+      this.configuredTimeout = timeout;
+
       this.timeout = timeout;
    }
 
+   /**
+    * When enabled the flush timeout follows the median latency of the last syncs, within a tenth and ten times the
+    * configured timeout, instead of staying at the configured value.
+    */
+   public void setAdaptiveTimeout(final boolean adaptiveTimeout) {
+      this.adaptiveTimeout = adaptiveTimeout;
+      if (!adaptiveTimeout) {
+         timeout = configuredTimeout;
+      }
+   }
+
+   public boolean isAdaptiveTimeout() {
+      return adaptiveTimeout;
+   }
+
+   /**
+    * {@return the flush timeout in use, in nanoseconds}
+    */
+   public int getTimeout() {
+      return timeout;
+   }
+
+   public SyncLatencyHistogram getSyncLatencies() {
+      return syncLatencies;
+   }
+
+   private void onSyncDone(final long latencyNanos) {
+      final long samples = syncLatencies.record(latencyNanos);
+      if (adaptiveTimeout && samples % ADAPTIVE_TIMEOUT_INTERVAL == 0) {
+         final long median = syncLatencies.percentile(0.5);
+         final long minTimeout = Math.max(1, configuredTimeout / ADAPTIVE_TIMEOUT_RANGE);
+         final long maxTimeout = Math.min(Integer.MAX_VALUE, (long) configuredTimeout * ADAPTIVE_TIMEOUT_RANGE);
+         final int newTimeout = (int) Math.max(minTimeout, Math.min(maxTimeout, median));
+         if (newTimeout != timeout) {
+            logger.debug("Adapting timeout from {} to {} nanoseconds, median sync latency = {}", timeout, newTimeout, median);
+            timeout = newTimeout;
+         }
+      }
+   }
+
    public void start() {
       try (ArtemisCloseable critical = measureCritical(CRITICAL_PATH_START)) {
          synchronized (this) {
@@ -152,29 +218,31 @@ public final class TimedBuffer extends CriticalComponentImpl {
       Thread localTimer = null;
       try (ArtemisCloseable measure = measureCritical(CRITICAL_PATH_STOP)) {
          // add critical analyzer here.... <<<<
-         synchronized (this) {
-            try {
-               if (!started) {
-                  return;
-               }
+         synchronized (flushLock) {
+            synchronized (this) {
+               try {
+                  if (!started) {
+                     return;
+                  }
 
-               flush();
+                  flush();
 
-               bufferObserver = null;
+                  bufferObserver = null;
 
-               timerRunnable.close();
+                  timerRunnable.close();
 
-               spinLimiter.release();
+                  spinLimiter.release();
 
-               if (logRates) {
-                  logRatesTimerTask.cancel();
-               }
+                  if (logRates) {
+                     logRatesTimerTask.cancel();
+                  }
 
-               localTimer = timerThread;
-               timerThread = null;
+                  localTimer = timerThread;
+                  timerThread = null;
 
-            } finally {
-               started = false;
+               } finally {
+                  started = false;
+               }
             }
          }
          if (localTimer != null) {
@@ -194,12 +262,19 @@ public final class TimedBuffer extends CriticalComponentImpl {
 
    public void setObserver(final TimedBufferObserver observer) {
       try (AutoCloseable measure = measureCritical(CRITICAL_PATH_SET_OBSERVER)) {
-         synchronized (this) {
-            if (bufferObserver != null) {
-               flush();
-            }
+         synchronized (flushLock) {
+            synchronized (this) {
+               if (bufferObserver != null) {
+                  flush();
+               }
+
+               bufferObserver = observer;
 
-            bufferObserver = observer;
+               // the remaining bytes belong to the previous observer
+               bufferLimit = 0;
+
+               remainingBytes = 0;
+            }
          }
       } catch (Exception shouldNotHappen) {
          logger.debug(shouldNotHappen.getMessage(), shouldNotHappen);
@@ -220,10 +295,18 @@ public final class TimedBuffer extends CriticalComponentImpl {
                throw new IllegalStateException("Can't write records (size=" + sizeChecked + ") bigger than the bufferSize(" + bufferSize + ") on the journal");
             }
 
-            if (bufferLimit == 0 || buffer.writerIndex() + sizeChecked > bufferLimit) {
-               // Either there is not enough space left in the buffer for the sized record
-               // Or a flush has just been performed and we need to re-calculate bufferLimit
+            if (bufferLimit != 0 && buffer.writerIndex() + sizeChecked <= bufferLimit) {
+               delayFlush = true;
+
+               return true;
+            }
+         }
 
+         // Either there is not enough space left in the buffer for the sized record
+         // Or the observer has changed and we need to re-calculate bufferLimit.
+         // flushLock guarantees no batch is being written while the remaining bytes are read from the observer
+         synchronized (flushLock) {
+            synchronized (this) {
                flush();
 
                delayFlush = true;
@@ -237,14 +320,12 @@ public final class TimedBuffer extends CriticalComponentImpl {
 
                   // Need to re-calculate buffer limit
 
+                  remainingBytes = remainingInFile;
+
                   bufferLimit = Math.min(remainingInFile, bufferSize);
 
                   return true;
                }
-            } else {
-               delayFlush = true;
-
-               return true;
             }
          }
       }
@@ -306,37 +387,48 @@ public final class TimedBuffer extends CriticalComponentImpl {
 
    /**
     * Attempts to flush if {@code !delayFlush} and {@code buffer} is filled by any data.
+    * <p>
+    * The filled buffer is swapped with the one previously flushed and written to the observer out of the lock, so
+    * records can still be added while the batch is being written.
     *
     * @return {@code true} when are flushed any bytes, {@code false} otherwise
     */
    public boolean flushBatch() {
-      List<IOCallback> syncCallbackList = null;
+      List<IOCallback> flushCallbackList = null;
       boolean localUseSync = false;
       TimedBufferObserver syncBufferObserver = null;
       try (ArtemisCloseable measure = measureCritical(CRITICAL_PATH_FLUSH)) {
-         synchronized (this) {
-            if (!started) {
-               throw new IllegalStateException("TimedBuffer is not started");
-            }
+         synchronized (flushLock) {
+            final ActiveMQBuffer batch;
+            final TimedBufferObserver flushObserver;
+            synchronized (this) {
+               if (!started) {
+                  throw new IllegalStateException("TimedBuffer is not started");
+               }
+
+               if (delayFlush || buffer.writerIndex() == 0) {
+                  return false;
+               }
 
-            if (!delayFlush && buffer.writerIndex() > 0) {
-               int pos = buffer.writerIndex();
+               final int pos = buffer.writerIndex();
 
                if (logRates) {
                   bytesFlushed.addAndGet(pos);
                }
 
-               if (bufferObserver.supportSync()) {
-                  // performing the sync away from the lock
-                  // so other writes can be performed while that flush is happening
-                  syncCallbackList = callbacks;
-                  localUseSync = pendingSync;
-                  syncBufferObserver = bufferObserver;
-                  bufferObserver.flushBuffer(buffer.byteBuf(), false, null);
-               } else {
-                  bufferObserver.flushBuffer(buffer.byteBuf(), pendingSync, callbacks);
+               batch = buffer;
+               flushObserver = bufferObserver;
+               flushCallbackList = callbacks;
+               localUseSync = pendingSync;
+
+               if (localUseSync) {
+                  // completed once the batch is synced, as the last callback of the batch
+                  flushCallbackList.add(new SyncLatencyCallback(System.nanoTime()));
                }
 
+               buffer = flushingBuffer;
+               flushingBuffer = null;
+
                stopSpin();
 
                pendingSync = false;
@@ -344,20 +436,34 @@ public final class TimedBuffer extends CriticalComponentImpl {
                // swap the instance as the previous callback list is being used asynchronously
                callbacks = new ArrayList<>();
 
-               buffer.clear();
+               // the batch will take its size on the observer once written, what's left is available for the next one
+               remainingBytes = Math.max(0, remainingBytes - flushObserver.getFlushedBytes(pos));
 
-               bufferLimit = 0;
+               bufferLimit = Math.min(remainingBytes, bufferSize);
+            }
 
-               flushesDone.incrementAndGet();
+            try {
+               if (flushObserver.supportSync()) {
+                  // performing the sync away from the lock
+                  // so other writes can be performed while that flush is happening
+                  syncBufferObserver = flushObserver;
+                  flushObserver.flushBuffer(batch.byteBuf(), false, null);
+               } else {
+                  flushObserver.flushBuffer(batch.byteBuf(), localUseSync, flushCallbackList);
+               }
+            } finally {
+               batch.clear();
 
-               return pos > 0;
-            } else {
-               return false;
+               flushingBuffer = batch;
             }
+
+            flushesDone.incrementAndGet();
+
+            return true;
          }
       } finally {
          if (syncBufferObserver != null) {
-            syncBufferObserver.checkSync(localUseSync, syncCallbackList);
+            syncBufferObserver.checkSync(localUseSync, flushCallbackList);
          }
       }
    }
@@ -397,6 +503,24 @@ public final class TimedBuffer extends CriticalComponentImpl {
       }
    }
 
+   private final class SyncLatencyCallback implements IOCallback {
+
+      private final long start;
+
+      private SyncLatencyCallback(final long start) {
+         this.start = start;
+      }
+
+      @Override
+      public void done() {
+         onSyncDone(System.nanoTime() - start);
+      }
+
+      @Override
+      public void onError(final int errorCode, final String errorMessage) {
+      }
+   }
+
    private class LogRatesTimerTask extends TimerTask {
 
       private boolean closed;
@@ -455,7 +579,9 @@ public final class TimedBuffer extends CriticalComponentImpl {
             // Effectively flushing "resets" the timer
             // On the timeout verification, notice that we ignore the timeout check if we are using sleep
 
-            if (pendingSync || System.nanoTime() - lastFlushTime > timeout) {
+            final int currentTimeout = timeout;
+
+            if (pendingSync || System.nanoTime() - lastFlushTime > currentTimeout) {
                if (useSleep) {
                   // if using sleep, we will always flush
                   lastFlushTime = System.nanoTime();
@@ -467,7 +593,7 @@ public final class TimedBuffer extends CriticalComponentImpl {
                      //          We only need to wait 80% more..
                      //          timeFromTheLastFlush would be the difference
                      //          And if the device took more than that time, there's no need to wait at all.
-                     final long timeToSleep = timeout - timeFromTheLastFlush;
+                     final long timeToSleep = currentTimeout - timeFromTheLastFlush;
                      if (timeToSleep > 0) {
                         useSleep = sleepIfPossible(timeToSleep);
                      }
@@ -42,4 +42,11 @@ public interface TimedBufferObserver {
     */
    int getRemainingBytes();
 
+   /**
+    * Return the number of bytes that flushing {@code bytes} will take on the observer (file), including any alignment
+    */
+   default int getFlushedBytes(int bytes) {
+      return bytes;
+   }
+
 }
@@ -103,7 +103,7 @@ public class NIOSequentialFile extends AbstractSequentialFile {
 
    @Override
    public ByteBuffer map(int position, long size) throws IOException {
-      return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+      return channel.map(FileChannel.MapMode.READ_ONLY, position, size);
    }
 
    public static void clearDebug() {
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.journal;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is a POJO containing information about the last compacting of a journal.
+ * <p>
+ * Appends are only paused while the journal is locked to take the snapshot of the records and to swap the compacted
+ * files in, which is reported on {@link #getAppendPauseNanos()}.
+ */
+public class JournalCompactStatistics {
+
+   private final int compactedFiles;
+
+   private final int newFiles;
+
+   private final long compactedBytes;
+
+   private final long newBytes;
+
+   private final long appendPauseNanos;
+
+   private final long totalNanos;
+
+   public JournalCompactStatistics(final int compactedFiles,
+                                   final int newFiles,
+                                   final long compactedBytes,
+                                   final long newBytes,
+                                   final long appendPauseNanos,
+                                   final long totalNanos) {
+      this.compactedFiles = compactedFiles;
+      this.newFiles = newFiles;
+      this.compactedBytes = compactedBytes;
+      this.newBytes = newBytes;
+      this.appendPauseNanos = appendPauseNanos;
+      this.totalNanos = totalNanos;
+   }
+
+   public int getCompactedFiles() {
+      return compactedFiles;
+   }
+
+   public int getNewFiles() {
+      return newFiles;
+   }
+
+   /**
+    * @return size of the data files that were compacted
+    */
+   public long getCompactedBytes() {
+      return compactedBytes;
+   }
+
+   /**
+    * @return size of the data files written by the compactor
+    */
+   public long getNewBytes() {
+      return newBytes;
+   }
+
+   public long getReclaimedBytes() {
+      return compactedBytes - newBytes;
+   }
+
+   /**
+    * @return time the journal was locked, holding any append, during compacting
+    */
+   public long getAppendPauseNanos() {
+      return appendPauseNanos;
+   }
+
+   public long getTotalNanos() {
+      return totalNanos;
+   }
+
+   @Override
+   public String toString() {
+      return "JournalCompactStatistics [compactedFiles=" + compactedFiles + ", newFiles=" + newFiles +
+         ", reclaimedBytes=" + getReclaimedBytes() +
+         ", appendPauseMicros=" + TimeUnit.NANOSECONDS.toMicros(appendPauseNanos) +
+         ", totalMillis=" + TimeUnit.NANOSECONDS.toMillis(totalNanos) + "]";
+   }
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.journal;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is a POJO containing the time spent on each phase of the last journal load.
+ * <p>
+ * When files are read in parallel the read time is accumulated across all the readers, so it may be larger than the
+ * total time.
+ */
+public class JournalLoadStatistics {
+
+   private final int loadThreads;
+
+   private final int files;
+
+   private final long orderFilesNanos;
+
+   private final long readNanos;
+
+   private final long readWaitNanos;
+
+   private final long replayNanos;
+
+   private final long totalNanos;
+
+   public JournalLoadStatistics(final int loadThreads,
+                                final int files,
+                                final long orderFilesNanos,
+                                final long readNanos,
+                                final long readWaitNanos,
+                                final long replayNanos,
+                                final long totalNanos) {
+      this.loadThreads = loadThreads;
+      this.files = files;
+      this.orderFilesNanos = orderFilesNanos;
+      this.readNanos = readNanos;
+      this.readWaitNanos = readWaitNanos;
+      this.replayNanos = replayNanos;
+      this.totalNanos = totalNanos;
+   }
+
+   public int getLoadThreads() {
+      return loadThreads;
+   }
+
+   public int getFiles() {
+      return files;
+   }
+
+   /**
+    * @return time spent listing the journal files and reading their headers
+    */
+   public long getOrderFilesNanos() {
+      return orderFilesNanos;
+   }
+
+   /**
+    * @return time spent reading and decoding the journal files, accumulated across all the readers
+    */
+   public long getReadNanos() {
+      return readNanos;
+   }
+
+   /**
+    * @return time the loading thread was blocked waiting for files to be decoded
+    */
+   public long getReadWaitNanos() {
+      return readWaitNanos;
+   }
+
+   /**
+    * @return time spent applying the decoded records into the journal structures and the loader callback
+    */
+   public long getReplayNanos() {
+      return replayNanos;
+   }
+
+   public long getTotalNanos() {
+      return totalNanos;
+   }
+
+   @Override
+   public String toString() {
+      return "JournalLoadStatistics [loadThreads=" + loadThreads + ", files=" + files +
+         ", orderFilesMillis=" + TimeUnit.NANOSECONDS.toMillis(orderFilesNanos) +
+         ", readMillis=" + TimeUnit.NANOSECONDS.toMillis(readNanos) +
+         ", readWaitMillis=" + TimeUnit.NANOSECONDS.toMillis(readWaitNanos) +
+         ", replayMillis=" + TimeUnit.NANOSECONDS.toMillis(replayNanos) +
+         ", totalMillis=" + TimeUnit.NANOSECONDS.toMillis(totalNanos) + "]";
+   }
+}
@@ -221,7 +221,7 @@ public class JournalCompactor extends AbstractJournalUpdateTask implements Journ
 
          writeEncoder(addRecord);
 
-         newRecords.put(info.id, new JournalRecord(currentFile, addRecord.getEncodeSize()));
+         newRecords.put(info.id, JournalRecord.newRecord(currentFile, addRecord.getEncodeSize()));
       }
    }
 
@@ -437,7 +437,10 @@ public class JournalCompactor extends AbstractJournalUpdateTask implements Journ
       if (newRecord == null) {
          ActiveMQJournalLogger.LOGGER.compactingWithNoAddRecord(info.id);
       } else {
-         newRecord.addUpdateFile(currentFile, updateRecord.getEncodeSize(), info.replaceableUpdate);
+         final JournalRecord updatedRecord = newRecord.addUpdateFile(currentFile, updateRecord.getEncodeSize(), info.replaceableUpdate);
+         if (updatedRecord != newRecord) {
+            newRecords.put(info.id, updatedRecord);
+         }
       }
 
       writeEncoder(updateRecord);
@@ -543,7 +546,10 @@ public class JournalCompactor extends AbstractJournalUpdateTask implements Journ
          if (updateRecord == null) {
             ActiveMQJournalLogger.LOGGER.noRecordDuringCompactReplay(id);
          } else {
-            updateRecord.addUpdateFile(usedFile, size, replaceableUpdate);
+            final JournalRecord updatedRecord = updateRecord.addUpdateFile(usedFile, size, replaceableUpdate);
+            if (updatedRecord != updateRecord) {
+               journal.getRecords().put(id, updatedRecord);
+            }
          }
       }
 
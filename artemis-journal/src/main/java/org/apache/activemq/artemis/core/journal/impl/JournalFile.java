@@ -94,5 +94,24 @@ public interface JournalFile {
 
    int getJournalVersion();
 
+   /**
+    * Records with no updates added on this file can share the same {@link JournalRecord} if they have the same size.
+    *
+    * @return a power of 2 sized cache of shared records, or {@code null} if the records shouldn't be shared
+    */
+   default JournalRecord[] getSharedRecords() {
+      return null;
+   }
+
+   /**
+    * @return {@code true} if a seal record was found when loading the file, meaning nothing can be appended on it
+    */
+   default boolean isSealed() {
+      return false;
+   }
+
+   default void setSealed(boolean sealed) {
+   }
+
    SequentialFile getFile();
 }
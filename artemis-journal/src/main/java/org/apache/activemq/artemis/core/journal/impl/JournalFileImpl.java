@@ -65,6 +65,13 @@ public class JournalFileImpl implements JournalFile {
 
    private final ConcurrentMap<JournalFile, AtomicInteger> negCounts = new ConcurrentHashMap<>();
 
+   // it must be a power of 2
+   private static final int SHARED_RECORDS = 64;
+
+   private final JournalRecord[] sharedRecords = new JournalRecord[SHARED_RECORDS];
+
+   private boolean sealed = false;
+
    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
    public JournalFileImpl(final SequentialFile file, final long fileID, final int version) {
@@ -155,6 +162,21 @@ public class JournalFileImpl implements JournalFile {
       }
    }
 
+   @Override
+   public JournalRecord[] getSharedRecords() {
+      return sharedRecords;
+   }
+
+   @Override
+   public boolean isSealed() {
+      return sealed;
+   }
+
+   @Override
+   public void setSealed(boolean sealed) {
+      this.sealed = sealed;
+   }
+
    @Override
    public int getJournalVersion() {
       return version;
@@ -63,7 +63,9 @@ import org.apache.activemq.artemis.core.io.SequentialFile;
 import org.apache.activemq.artemis.core.io.SequentialFileFactory;
 import org.apache.activemq.artemis.core.journal.EncodingSupport;
 import org.apache.activemq.artemis.core.journal.IOCompletion;
+import org.apache.activemq.artemis.core.journal.JournalCompactStatistics;
 import org.apache.activemq.artemis.core.journal.JournalLoadInformation;
+import org.apache.activemq.artemis.core.journal.JournalLoadStatistics;
 import org.apache.activemq.artemis.core.journal.JournalUpdateCallback;
 import org.apache.activemq.artemis.core.journal.LoaderCallback;
 import org.apache.activemq.artemis.core.journal.PreparedTransactionInfo;
@@ -78,6 +80,7 @@ import org.apache.activemq.artemis.core.journal.impl.dataformat.JournalDeleteRec
 import org.apache.activemq.artemis.core.journal.impl.dataformat.JournalDeleteRecordTX;
 import org.apache.activemq.artemis.core.journal.impl.dataformat.JournalInternalRecord;
 import org.apache.activemq.artemis.core.journal.impl.dataformat.JournalRollbackRecordTX;
+import org.apache.activemq.artemis.core.journal.impl.dataformat.JournalSealRecord;
 import org.apache.activemq.artemis.core.persistence.Persister;
 import org.apache.activemq.artemis.journal.ActiveMQJournalBundle;
 import org.apache.activemq.artemis.journal.ActiveMQJournalLogger;
@@ -206,6 +209,10 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
    public static final byte ROLLBACK_RECORD = 19;
 
+   public static final int SIZE_SEAL_RECORD = JournalImpl.BASIC_SIZE + DataConstants.SIZE_LONG;
+
+   public static final byte SEAL_RECORD = 20;
+
    protected static final byte FILL_CHARACTER = (byte) 'J';
 
 
@@ -350,6 +357,20 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
    private volatile int compactCount = 0;
 
+   private int loadThreads = 1;
+
+   private volatile JournalLoadStatistics lastLoadStatistics;
+
+   // only updated by the compacting thread, while holding the compactorLock
+   private long compactPauseNanos;
+
+   private volatile JournalCompactStatistics lastCompactStatistics;
+
+   private boolean sealFiles = false;
+
+   // records appended on the current file, -1 if it was loaded with records as they are not counted while loading
+   private long currentFileRecords = -1;
+
    public float getCompactPercentage() {
       return compactPercentage;
    }
@@ -362,6 +383,52 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
       return filesRepository;
    }
 
+   public int getLoadThreads() {
+      return loadThreads;
+   }
+
+   /**
+    * Number of journal files read and decoded concurrently during {@code load}. Records are still applied on the
+    * order of the files, so update, delete and transaction semantics are the same as loading on a single thread.
+    * <p>
+    * Each reader may hold a whole decoded file in memory ahead of the one being applied.
+    */
+   public JournalImpl setLoadThreads(int loadThreads) {
+      if (loadThreads < 1) {
+         throw new IllegalArgumentException("loadThreads must be at least 1, was " + loadThreads);
+      }
+      this.loadThreads = loadThreads;
+      return this;
+   }
+
+   /**
+    * @return the time spent on each phase of the last {@code load}, or {@code null} if the journal was never loaded
+    */
+   public JournalLoadStatistics getLastLoadStatistics() {
+      return lastLoadStatistics;
+   }
+
+   public boolean isSealFiles() {
+      return sealFiles;
+   }
+
+   /**
+    * When enabled a seal record is appended on every file before moving to the next one, so loading can stop reading
+    * the file at the seal and verify no record was lost.
+    */
+   public JournalImpl setSealFiles(boolean sealFiles) {
+      this.sealFiles = sealFiles;
+      return this;
+   }
+
+   /**
+    * @return the files and bytes reclaimed, and how long appends were paused, on the last compacting, or {@code null}
+    * if the journal was never compacted
+    */
+   public JournalCompactStatistics getLastCompactStatistics() {
+      return lastCompactStatistics;
+   }
+
 
    public JournalImpl(final int fileSize,
                       final int minFiles,
@@ -614,12 +681,14 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
          int lastDataPos = JournalImpl.SIZE_HEADER;
 
+         int readRecords = 0;
+
          while (wholeFileBuffer.hasRemaining()) {
             final int pos = wholeFileBuffer.position();
 
             byte recordType = wholeFileBuffer.get();
 
-            if (recordType < JournalImpl.EVENT_RECORD || recordType > JournalImpl.ROLLBACK_RECORD) {
+            if (recordType < JournalImpl.EVENT_RECORD || recordType > JournalImpl.SEAL_RECORD) {
                // I - We scan for any valid record on the file. If a hole
                // happened on the middle of the file we keep looking until all
                // the possibilities are gone
@@ -862,6 +931,14 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
                   reader.onReadRollbackRecord(transactionID);
                   break;
                }
+               case SEAL_RECORD: {
+                  // the recordID holds the number of records appended before sealing the file, or -1 if unknown
+                  if (recordID >= 0 && recordID != readRecords) {
+                     ActiveMQJournalLogger.LOGGER.sealedFileMissingRecords(file.getFile().getFileName(), recordID, readRecords);
+                     reader.markAsDataFile(file);
+                  }
+                  break;
+               }
                default: {
                   throw new IllegalStateException("Journal " + file.getFile().getFileName() +
                                                      " is corrupt, invalid record type " +
@@ -882,6 +959,14 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
             lastDataPos = wholeFileBuffer.position();
 
+            if (recordType != SEAL_RECORD) {
+               readRecords++;
+            } else if (!reclaimed && !isRecordAfterSeal(fileFactory, wholeFileBuffer, file)) {
+               // nothing was appended after the seal: there's no need to scan the rest of the file
+               file.setSealed(true);
+               break;
+            }
+
          }
          reader.done();
          return lastDataPos;
@@ -899,6 +984,29 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
       }
    }
 
+   /**
+    * A broker not aware of seal records could have kept appending on a sealed file, right after the seal or after the
+    * zeros padding an aligned write.
+    */
+   private static boolean isRecordAfterSeal(final SequentialFileFactory fileFactory,
+                                            final ByteBuffer wholeFileBuffer,
+                                            final JournalFile file) {
+      final int limit = wholeFileBuffer.limit();
+      final int paddingLimit = Math.min(limit, wholeFileBuffer.position() + Math.max(1, fileFactory.getAlignment()));
+      int pos = wholeFileBuffer.position();
+      while (pos < paddingLimit && wholeFileBuffer.get(pos) == 0) {
+         pos++;
+      }
+      if (pos + DataConstants.SIZE_BYTE + DataConstants.SIZE_INT > limit) {
+         return false;
+      }
+      final byte recordType = wholeFileBuffer.get(pos);
+      if (recordType < JournalImpl.EVENT_RECORD || recordType > JournalImpl.SEAL_RECORD) {
+         return false;
+      }
+      return wholeFileBuffer.getInt(pos + DataConstants.SIZE_BYTE) == file.getRecordID();
+   }
+
    /**
     * this method is used internally only however tools may use it to maintenance.
     */
@@ -936,7 +1044,7 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
          journalLock.readLock().lock();
          try {
             JournalFile usedFile = appendRecord(addRecord, false, sync, null, callback);
-            records.put(id, new JournalRecord(usedFile, addRecordEncodeSize));
+            records.put(id, JournalRecord.newRecord(usedFile, addRecordEncodeSize));
 
             if (logger.isTraceEnabled()) {
                logger.trace("appendAddRecord::id={}, userRecordType={}, record = {}, usedFile = {}",
@@ -1115,7 +1223,10 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
                   compactor.addCommandUpdate(id, usedFile, updateRecord.getEncodeSize(), replaceableUpdate);
                }
             } else {
-               jrnRecord.addUpdateFile(usedFile, updateRecord.getEncodeSize(), replaceableUpdate);
+               final JournalRecord updatedRecord = jrnRecord.addUpdateFile(usedFile, updateRecord.getEncodeSize(), replaceableUpdate);
+               if (updatedRecord != jrnRecord) {
+                  records.put(id, updatedRecord);
+               }
             }
 
             if (updateCallback != null) {
@@ -1764,6 +1875,10 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
          boolean previousReclaimValue = isAutoReclaim();
 
+         final long compactStart = System.nanoTime();
+
+         compactPauseNanos = 0;
+
          try {
             logger.debug("Starting compacting operation on journal {}", this);
 
@@ -1813,7 +1928,16 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
             SequentialFile controlFile = createControlFile(dataFilesToProcess, compactor.getNewDataFiles(), null);
 
+            // Restore newRecords created during compacting.
+            // This is done before locking the journal so appends are not paused for a time proportional to the number
+            // of live records: while the compactor is set, deletes on these records are still cached as commands and
+            // they will be replayed after the journal is locked.
+            localCompactor.getNewRecords().forEach((id, newRecord) -> {
+               records.put(id, newRecord);
+            });
+
             journalLock.writeLock().lock();
+            final long lockStart = System.nanoTime();
             try {
                // Need to clear the compactor here, or the replay commands will send commands back (infinite loop)
                compactor = null;
@@ -1822,11 +1946,6 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
                newDatafiles = localCompactor.getNewDataFiles();
 
-               // Restore newRecords created during compacting
-               localCompactor.getNewRecords().forEach((id, newRecord) -> {
-                  records.put(id, newRecord);
-               });
-
                // Restore compacted dataFiles
                for (int i = newDatafiles.size() - 1; i >= 0; i--) {
                   JournalFile fileToAdd = newDatafiles.get(i);
@@ -1863,6 +1982,7 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
                return;
             } finally {
                journalLock.writeLock().unlock();
+               compactPauseNanos += System.nanoTime() - lockStart;
             }
 
             // At this point the journal is unlocked. We keep renaming files while the journal is already operational
@@ -1873,7 +1993,11 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
             setAutoReclaim(previousReclaimValue);
 
-            logger.debug("Finished compacting on journal {}", this);
+            lastCompactStatistics = new JournalCompactStatistics(dataFilesToProcess.size(), newDatafiles.size(), (long) dataFilesToProcess.size() * fileSize, (long) newDatafiles.size() * fileSize, compactPauseNanos, System.nanoTime() - compactStart);
+
+            if (logger.isDebugEnabled()) {
+               logger.debug("Finished compacting on journal {}: {}", this, lastCompactStatistics);
+            }
 
          } catch (Throwable e) {
             fileFactory.onIOError(e, e.getMessage());
@@ -1896,6 +2020,7 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
       // We need to guarantee that the journal is frozen for this short time
       // We don't freeze the journal as we compact, only for the short time where we replace records
       journalLock.writeLock().lock();
+      final long lockStart = System.nanoTime();
       try {
          if (state != JournalState.LOADED) {
             return null;
@@ -1935,6 +2060,7 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
          records.clear();
       } finally {
          journalLock.writeLock().unlock();
+         compactPauseNanos += System.nanoTime() - lockStart;
       }
 
       processBackup();
@@ -2003,8 +2129,12 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
       final Map<Long, TransactionHolder> loadTransactions = new LinkedHashMap<>();
 
+      final long loadStart = System.nanoTime();
+
       final List<JournalFile> orderedFiles = orderFiles();
 
+      final long orderFilesNanos = System.nanoTime() - loadStart;
+
       filesRepository.calculateNextfileID(orderedFiles);
 
       int lastDataPos = JournalImpl.SIZE_HEADER;
@@ -2012,246 +2142,291 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
       // AtomicLong is used only as a reference, not as an Atomic value
       final AtomicLong maxID = new AtomicLong(-1);
 
-      for (final JournalFile file : orderedFiles) {
-         logger.trace("Loading file {}", file.getFile().getFileName());
+      final int readers = Math.min(loadThreads, orderedFiles.size());
 
-         final AtomicBoolean hasData = new AtomicBoolean(false);
+      final JournalParallelReader parallelReader = readers > 1 ? new JournalParallelReader(fileFactory, ioExecutorFactory, readers, orderedFiles, this.replaceableRecords) : null;
 
-         int resultLastPost = JournalImpl.readJournalFile(fileFactory, file, new JournalReaderCallback() {
+      long readNanos = 0;
 
-            private void checkID(final long id) {
-               if (id > maxID.longValue()) {
-                  maxID.lazySet(id);
-               }
-            }
+      try {
+         for (int fileIndex = 0; fileIndex < orderedFiles.size(); fileIndex++) {
+            final JournalFile file = orderedFiles.get(fileIndex);
 
-            @Override
-            public void onReadAddRecord(final RecordInfo info) throws Exception {
-               checkID(info.id);
+            logger.trace("Loading file {}", file.getFile().getFileName());
 
-               hasData.lazySet(true);
+            final AtomicBoolean hasData = new AtomicBoolean(false);
 
-               loadManager.addRecord(info);
+            final JournalReaderCallback loadReader = new JournalReaderCallback() {
 
-               records.put(info.id, new JournalRecord(file, info.data.length + JournalImpl.SIZE_ADD_RECORD + 1));
-            }
+               private void checkID(final long id) {
+                  if (id > maxID.longValue()) {
+                     maxID.lazySet(id);
+                  }
+               }
 
-            @Override
-            public void onReadUpdateRecord(final RecordInfo info) throws Exception {
-               checkID(info.id);
+               @Override
+               public void onReadAddRecord(final RecordInfo info) throws Exception {
+                  checkID(info.id);
 
-               hasData.lazySet(true);
+                  hasData.lazySet(true);
 
-               loadManager.updateRecord(info);
+                  loadManager.addRecord(info);
 
-               JournalRecord posFiles = records.get(info.id);
+                  records.put(info.id, JournalRecord.newRecord(file, info.data.length + JournalImpl.SIZE_ADD_RECORD + 1));
+               }
 
-               if (posFiles != null) {
-                  // It's legal for this to be null. The file(s) with the may
-                  // have been deleted
-                  // just leaving some updates in this file
+               @Override
+               public void onReadUpdateRecord(final RecordInfo info) throws Exception {
+                  checkID(info.id);
 
-                  posFiles.addUpdateFile(file, info.data.length + JournalImpl.SIZE_ADD_RECORD + 1, info.replaceableUpdate); // +1 = compact
-                  // count
-               }
-            }
+                  hasData.lazySet(true);
 
-            @Override
-            public void onReadDeleteRecord(final long recordID) throws Exception {
-               hasData.lazySet(true);
+                  loadManager.updateRecord(info);
 
-               loadManager.deleteRecord(recordID);
+                  JournalRecord posFiles = records.get(info.id);
 
-               JournalRecord posFiles = records.remove(recordID);
+                  if (posFiles != null) {
+                     // It's legal for this to be null. The file(s) with the may
+                     // have been deleted
+                     // just leaving some updates in this file
 
-               if (posFiles != null) {
-                  posFiles.delete(file);
+                     final JournalRecord updatedFiles = posFiles.addUpdateFile(file, info.data.length + JournalImpl.SIZE_ADD_RECORD + 1, info.replaceableUpdate); // +1 = compact
+                     // count
+                     if (updatedFiles != posFiles) {
+                        records.put(info.id, updatedFiles);
+                     }
+                  }
                }
-            }
 
-            @Override
-            public void onReadUpdateRecordTX(final long transactionID, final RecordInfo info) throws Exception {
-               onReadAddRecordTX(transactionID, info);
-            }
+               @Override
+               public void onReadDeleteRecord(final long recordID) throws Exception {
+                  hasData.lazySet(true);
 
-            @Override
-            public void onReadAddRecordTX(final long transactionID, final RecordInfo info) throws Exception {
+                  loadManager.deleteRecord(recordID);
 
-               checkID(info.id);
+                  JournalRecord posFiles = records.remove(recordID);
 
-               hasData.lazySet(true);
+                  if (posFiles != null) {
+                     posFiles.delete(file);
+                  }
+               }
 
-               TransactionHolder tx = loadTransactions.get(transactionID);
+               @Override
+               public void onReadUpdateRecordTX(final long transactionID, final RecordInfo info) throws Exception {
+                  onReadAddRecordTX(transactionID, info);
+               }
 
-               if (tx == null) {
-                  tx = new TransactionHolder(transactionID);
+               @Override
+               public void onReadAddRecordTX(final long transactionID, final RecordInfo info) throws Exception {
 
-                  loadTransactions.put(transactionID, tx);
-               }
+                  checkID(info.id);
 
-               tx.recordInfos.add(info);
+                  hasData.lazySet(true);
 
-               JournalTransaction tnp = transactions.get(transactionID);
+                  TransactionHolder tx = loadTransactions.get(transactionID);
 
-               if (tnp == null) {
-                  tnp = new JournalTransaction(transactionID, JournalImpl.this);
+                  if (tx == null) {
+                     tx = new TransactionHolder(transactionID);
 
-                  transactions.put(transactionID, tnp);
-               }
+                     loadTransactions.put(transactionID, tx);
+                  }
 
-               tnp.addPositive(file, info.id, info.data.length + JournalImpl.SIZE_ADD_RECORD_TX + 1, info.replaceableUpdate); // +1 = compact
-               // count
-            }
+                  tx.recordInfos.add(info);
 
-            @Override
-            public void onReadDeleteRecordTX(final long transactionID, final RecordInfo info) throws Exception {
-               hasData.lazySet(true);
+                  JournalTransaction tnp = transactions.get(transactionID);
 
-               TransactionHolder tx = loadTransactions.get(transactionID);
+                  if (tnp == null) {
+                     tnp = new JournalTransaction(transactionID, JournalImpl.this);
 
-               if (tx == null) {
-                  tx = new TransactionHolder(transactionID);
+                     transactions.put(transactionID, tnp);
+                  }
 
-                  loadTransactions.put(transactionID, tx);
+                  tnp.addPositive(file, info.id, info.data.length + JournalImpl.SIZE_ADD_RECORD_TX + 1, info.replaceableUpdate); // +1 = compact
+                  // count
                }
 
-               tx.recordsToDelete.add(info);
+               @Override
+               public void onReadDeleteRecordTX(final long transactionID, final RecordInfo info) throws Exception {
+                  hasData.lazySet(true);
 
-               JournalTransaction tnp = transactions.get(transactionID);
+                  TransactionHolder tx = loadTransactions.get(transactionID);
 
-               if (tnp == null) {
-                  tnp = new JournalTransaction(transactionID, JournalImpl.this);
+                  if (tx == null) {
+                     tx = new TransactionHolder(transactionID);
 
-                  transactions.put(transactionID, tnp);
-               }
+                     loadTransactions.put(transactionID, tx);
+                  }
 
-               tnp.addNegative(file, info.id);
+                  tx.recordsToDelete.add(info);
 
-            }
+                  JournalTransaction tnp = transactions.get(transactionID);
 
-            @Override
-            public void onReadPrepareRecord(final long transactionID,
-                                            final byte[] extraData,
-                                            final int numberOfRecords) throws Exception {
-               hasData.lazySet(true);
+                  if (tnp == null) {
+                     tnp = new JournalTransaction(transactionID, JournalImpl.this);
 
-               TransactionHolder tx = loadTransactions.get(transactionID);
+                     transactions.put(transactionID, tnp);
+                  }
 
-               if (tx == null) {
-                  // The user could choose to prepare empty transactions
-                  tx = new TransactionHolder(transactionID);
+                  tnp.addNegative(file, info.id);
 
-                  loadTransactions.put(transactionID, tx);
                }
 
-               tx.prepared = true;
-
-               tx.extraData = extraData;
+               @Override
+               public void onReadPrepareRecord(final long transactionID,
+                                               final byte[] extraData,
+                                               final int numberOfRecords) throws Exception {
+                  hasData.lazySet(true);
 
-               JournalTransaction journalTransaction = transactions.get(transactionID);
+                  TransactionHolder tx = loadTransactions.get(transactionID);
 
-               if (journalTransaction == null) {
-                  journalTransaction = new JournalTransaction(transactionID, JournalImpl.this);
+                  if (tx == null) {
+                     // The user could choose to prepare empty transactions
+                     tx = new TransactionHolder(transactionID);
 
-                  transactions.put(transactionID, journalTransaction);
-               }
-
-               boolean healthy = checkTransactionHealth(file, journalTransaction, orderedFiles, numberOfRecords);
+                     loadTransactions.put(transactionID, tx);
+                  }
 
-               if (healthy) {
-                  journalTransaction.prepare(file);
-               } else {
-                  ActiveMQJournalLogger.LOGGER.preparedTXIncomplete(transactionID);
-                  tx.invalid = true;
-               }
-            }
+                  tx.prepared = true;
 
-            @Override
-            public void onReadCommitRecord(final long transactionID, final int numberOfRecords) throws Exception {
-               TransactionHolder tx = loadTransactions.remove(transactionID);
+                  tx.extraData = extraData;
 
-               // The commit could be alone on its own journal-file and the
-               // whole transaction body was reclaimed but not the
-               // commit-record
-               // So it is completely legal to not find a transaction at this
-               // point
-               // If we can't find it, we assume the TX was reclaimed and we
-               // ignore this
-               if (tx != null) {
-                  JournalTransaction journalTransaction = transactions.remove(transactionID);
+                  JournalTransaction journalTransaction = transactions.get(transactionID);
 
                   if (journalTransaction == null) {
-                     throw new IllegalStateException("Cannot find tx " + transactionID);
+                     journalTransaction = new JournalTransaction(transactionID, JournalImpl.this);
+
+                     transactions.put(transactionID, journalTransaction);
                   }
 
                   boolean healthy = checkTransactionHealth(file, journalTransaction, orderedFiles, numberOfRecords);
 
                   if (healthy) {
-                     for (RecordInfo txRecord : tx.recordInfos) {
-                        if (txRecord.isUpdate) {
-                           loadManager.updateRecord(txRecord);
-                        } else {
-                           loadManager.addRecord(txRecord);
-                        }
-                     }
+                     journalTransaction.prepare(file);
+                  } else {
+                     ActiveMQJournalLogger.LOGGER.preparedTXIncomplete(transactionID);
+                     tx.invalid = true;
+                  }
+               }
 
-                     for (RecordInfo deleteValue : tx.recordsToDelete) {
-                        loadManager.deleteRecord(deleteValue.id);
+               @Override
+               public void onReadCommitRecord(final long transactionID, final int numberOfRecords) throws Exception {
+                  TransactionHolder tx = loadTransactions.remove(transactionID);
+
+                  // The commit could be alone on its own journal-file and the
+                  // whole transaction body was reclaimed but not the
+                  // commit-record
+                  // So it is completely legal to not find a transaction at this
+                  // point
+                  // If we can't find it, we assume the TX was reclaimed and we
+                  // ignore this
+                  if (tx != null) {
+                     JournalTransaction journalTransaction = transactions.remove(transactionID);
+
+                     if (journalTransaction == null) {
+                        throw new IllegalStateException("Cannot find tx " + transactionID);
                      }
 
-                     journalTransaction.commit(file);
-                  } else {
-                     ActiveMQJournalLogger.LOGGER.txMissingElements(transactionID);
+                     boolean healthy = checkTransactionHealth(file, journalTransaction, orderedFiles, numberOfRecords);
+
+                     if (healthy) {
+                        for (RecordInfo txRecord : tx.recordInfos) {
+                           if (txRecord.isUpdate) {
+                              loadManager.updateRecord(txRecord);
+                           } else {
+                              loadManager.addRecord(txRecord);
+                           }
+                        }
 
-                     journalTransaction.forget();
+                        for (RecordInfo deleteValue : tx.recordsToDelete) {
+                           loadManager.deleteRecord(deleteValue.id);
+                        }
+
+                        journalTransaction.commit(file);
+                     } else {
+                        ActiveMQJournalLogger.LOGGER.txMissingElements(transactionID);
+
+                        journalTransaction.forget();
+                     }
+
+                     hasData.lazySet(true);
                   }
 
-                  hasData.lazySet(true);
                }
 
-            }
+               @Override
+               public void onReadRollbackRecord(final long transactionID) throws Exception {
+                  TransactionHolder tx = loadTransactions.remove(transactionID);
 
-            @Override
-            public void onReadRollbackRecord(final long transactionID) throws Exception {
-               TransactionHolder tx = loadTransactions.remove(transactionID);
+                  // The rollback could be alone on its own journal-file and the
+                  // whole transaction body was reclaimed but the commit-record
+                  // So it is completely legal to not find a transaction at this
+                  // point
+                  if (tx != null) {
+                     JournalTransaction tnp = transactions.remove(transactionID);
 
-               // The rollback could be alone on its own journal-file and the
-               // whole transaction body was reclaimed but the commit-record
-               // So it is completely legal to not find a transaction at this
-               // point
-               if (tx != null) {
-                  JournalTransaction tnp = transactions.remove(transactionID);
+                     if (tnp == null) {
+                        throw new IllegalStateException("Cannot find tx " + transactionID);
+                     }
 
-                  if (tnp == null) {
-                     throw new IllegalStateException("Cannot find tx " + transactionID);
-                  }
+                     // There is no need to validate summaries/holes on
+                     // Rollbacks.. We will ignore the data anyway.
+                     tnp.rollback(file);
 
-                  // There is no need to validate summaries/holes on
-                  // Rollbacks.. We will ignore the data anyway.
-                  tnp.rollback(file);
+                     hasData.lazySet(true);
+                  }
+               }
 
+               @Override
+               public void markAsDataFile(final JournalFile file) {
                   hasData.lazySet(true);
                }
-            }
 
-            @Override
-            public void markAsDataFile(final JournalFile file) {
-               hasData.lazySet(true);
-            }
+            };
 
-         }, wholeFileBufferRef, false, this.replaceableRecords);
+            final int resultLastPost;
 
-         if (hasData.get()) {
-            lastDataPos = resultLastPost;
-            filesRepository.addDataFileOnBottom(file);
-         } else {
-            if (changeData) {
-               // Empty dataFiles with no data
-               filesRepository.addFreeFile(file, false, isRemoveExtraFilesOnLoad());
+            if (parallelReader != null) {
+               resultLastPost = parallelReader.replay(fileIndex, loadReader);
+            } else {
+               final long readStart = System.nanoTime();
+               resultLastPost = JournalImpl.readJournalFile(fileFactory, file, loadReader, wholeFileBufferRef, false, this.replaceableRecords);
+               readNanos += System.nanoTime() - readStart;
             }
+
+            if (hasData.get()) {
+               lastDataPos = resultLastPost;
+               filesRepository.addDataFileOnBottom(file);
+            } else {
+               if (changeData) {
+                  // Empty dataFiles with no data
+                  filesRepository.addFreeFile(file, false, isRemoveExtraFilesOnLoad());
+               }
+            }
+         }
+      } finally {
+         if (parallelReader != null) {
+            parallelReader.close();
          }
       }
 
+      final long loadFilesNanos = System.nanoTime() - loadStart;
+      final long readWaitNanos;
+      final long replayNanos;
+      if (parallelReader != null) {
+         readNanos = parallelReader.getReadNanos();
+         readWaitNanos = parallelReader.getWaitNanos();
+         replayNanos = loadFilesNanos - orderFilesNanos - readWaitNanos;
+      } else {
+         // records are applied while they are read: there is no separate replay phase to measure
+         readWaitNanos = 0;
+         replayNanos = 0;
+      }
+      lastLoadStatistics = new JournalLoadStatistics(Math.max(1, readers), orderedFiles.size(), orderFilesNanos, readNanos, readWaitNanos, replayNanos, loadFilesNanos);
+
+      if (logger.isDebugEnabled()) {
+         logger.debug("{} loaded files: {}", this, lastLoadStatistics);
+      }
+
       if (replicationSync == JournalState.SYNCING) {
          assert filesRepository.getDataFiles().isEmpty();
          setJournalState(JournalState.SYNCING);
@@ -3066,6 +3241,7 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
          case PREPARE_RECORD -> JournalImpl.SIZE_PREPARE_RECORD;
          case COMMIT_RECORD -> JournalImpl.SIZE_COMMIT_RECORD;
          case ROLLBACK_RECORD -> JournalImpl.SIZE_ROLLBACK_RECORD;
+         case SEAL_RECORD -> JournalImpl.SIZE_SEAL_RECORD;
          default ->
             // Sanity check, this was previously tested, nothing different
             // should be on this switch
@@ -3199,6 +3375,10 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
          currentFile.getFile().write(encoder, sync);
       }
 
+      if (currentFileRecords >= 0) {
+         currentFileRecords++;
+      }
+
       return currentFile;
    }
 
@@ -3394,13 +3574,21 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
       // The current file is the last one that has data
 
       currentFile = filesRepository.pollLastDataFile();
-      if (currentFile != null) {
+      if (currentFile != null && currentFile.isSealed()) {
+         // records appended after the seal wouldn't be loaded: keep it as a data file and move to a new one
+         filesRepository.addDataFileOnBottom(currentFile);
+         currentFile = filesRepository.openFile();
+         currentFileRecords = 0;
+      } else if (currentFile != null) {
          if (!currentFile.getFile().isOpen())
             currentFile.getFile().open();
          currentFile.getFile().position(currentFile.getFile().calculateBlockStart(lastDataPos));
+         // the records loaded from this file are not known here
+         currentFileRecords = -1;
       } else {
          currentFile = filesRepository.getFreeFile();
          filesRepository.openFile(currentFile, true);
+         currentFileRecords = 0;
       }
 
       fileFactory.activateBuffer(currentFile.getFile());
@@ -3411,17 +3599,20 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
    protected JournalFile switchFileIfNecessary(int size) throws Exception {
 
+      // room for the seal record is kept on every file
+      final int requiredSize = sealFiles ? size + JournalImpl.SIZE_SEAL_RECORD + 1 : size; // +1 = compact count
+
       // We take into account the fileID used on the Header
-      if (size > fileSize - currentFile.getFile().calculateBlockStart(JournalImpl.SIZE_HEADER)) {
+      if (requiredSize > fileSize - currentFile.getFile().calculateBlockStart(JournalImpl.SIZE_HEADER)) {
          throw new IllegalArgumentException("Record is too large to store " + size + " bytes");
       }
 
       try {
-         if (!currentFile.getFile().fits(size)) {
+         if (!currentFile.getFile().fits(requiredSize)) {
             moveNextFile(true, false);
 
             // The same check needs to be done at the new file also
-            if (!currentFile.getFile().fits(size)) {
+            if (!currentFile.getFile().fits(requiredSize)) {
                // The exception will be thrown by criticalIO
                Exception reportingException = ActiveMQJournalBundle.BUNDLE.unexpectedFileSize(currentFile.getFile().getFileName(), size, currentFile.getFile().size());
                fileFactory.onIOError(reportingException, reportingException.getMessage());
@@ -3479,6 +3670,10 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
     * You need to guarantee lock.acquire() before calling this method!
     */
    protected void moveNextFile(final boolean scheduleReclaim, boolean blockOnClose) throws Exception {
+      if (sealFiles) {
+         sealCurrentFile();
+      }
+
       filesRepository.closeFile(currentFile, blockOnClose);
 
 
@@ -3490,6 +3685,8 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
       currentFile = filesRepository.openFile();
 
+      currentFileRecords = 0;
+
       if (scheduleReclaim) {
          scheduleReclaim();
       } else {
@@ -3501,6 +3698,16 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
       fileFactory.activateBuffer(currentFile.getFile());
    }
 
+   private void sealCurrentFile() throws Exception {
+      final JournalSealRecord sealRecord = new JournalSealRecord(currentFileRecords);
+
+      // switchFileIfNecessary keeps room for the seal, unless the padding of an aligned write took it
+      if (currentFile.getFile().fits(sealRecord.getEncodeSize())) {
+         sealRecord.setFileID(currentFile.getRecordID());
+         currentFile.getFile().write(sealRecord, false, DummyCallback.getInstance());
+      }
+   }
+
    @Override
    public void replicationSyncPreserveOldFiles() {
       setAutoReclaim(false);
@@ -0,0 +1,267 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.journal.impl;
+
+import java.lang.invoke.MethodHandles;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.netty.util.collection.ByteObjectHashMap;
+import org.apache.activemq.artemis.core.io.SequentialFileFactory;
+import org.apache.activemq.artemis.core.journal.RecordInfo;
+import org.apache.activemq.artemis.utils.ExecutorFactory;
+import org.apache.activemq.artemis.utils.SimpleFutureImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads and decodes journal files ahead of the loading thread.
+ * <p>
+ * Reading a file (IO, validating check sizes and copying the record bodies) does not depend on any other file, so
+ * several files are read concurrently, each one being recorded into a {@link RecordingCallback}. Applying the records
+ * on the journal structures has to respect the file order (updates, deletes and transaction completions refer to
+ * previous records), so the loading thread replays the files one by one on the same order they were passed in.
+ * <p>
+ * At most {@code readers} files are decoded ahead of the file being replayed, bounding the memory used by decoded and
+ * not yet replayed records.
+ */
+final class JournalParallelReader implements AutoCloseable {
+
+   private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+   private final SequentialFileFactory fileFactory;
+
+   private final List<JournalFile> files;
+
+   private final ByteObjectHashMap<Boolean> replaceableRecords;
+
+   private final Executor[] executors;
+
+   // each executor is ordered, so every slot can reuse its own read buffer
+   private final List<AtomicReference<ByteBuffer>> buffers;
+
+   private final List<SimpleFutureImpl<RecordingCallback>> futures;
+
+   private final AtomicLong readNanos = new AtomicLong();
+
+   private long waitNanos;
+
+   private int nextToSubmit;
+
+   JournalParallelReader(final SequentialFileFactory fileFactory,
+                         final ExecutorFactory executorFactory,
+                         final int readers,
+                         final List<JournalFile> files,
+                         final ByteObjectHashMap<Boolean> replaceableRecords) {
+      this.fileFactory = fileFactory;
+      this.files = files;
+      this.replaceableRecords = replaceableRecords;
+      this.executors = new Executor[readers];
+      this.buffers = new ArrayList<>(readers);
+      for (int i = 0; i < readers; i++) {
+         executors[i] = executorFactory.getExecutor();
+         buffers.add(new AtomicReference<>());
+      }
+      this.futures = new ArrayList<>(files.size());
+      for (int i = 0; i < files.size(); i++) {
+         futures.add(new SimpleFutureImpl<>());
+      }
+      while (nextToSubmit < Math.min(readers, files.size())) {
+         submitNext();
+      }
+   }
+
+   private void submitNext() {
+      final int index = nextToSubmit++;
+      final int slot = index % executors.length;
+      final JournalFile file = files.get(index);
+      final SimpleFutureImpl<RecordingCallback> future = futures.get(index);
+      executors[slot].execute(() -> {
+         final long start = System.nanoTime();
+         try {
+            RecordingCallback recording = new RecordingCallback();
+            recording.lastDataPosition = JournalImpl.readJournalFile(fileFactory, file, recording, buffers.get(slot), false, replaceableRecords);
+            future.set(recording);
+         } catch (Throwable e) {
+            future.fail(e);
+         } finally {
+            readNanos.addAndGet(System.nanoTime() - start);
+         }
+      });
+   }
+
+   /**
+    * Replays the records of the file at {@code index} into {@code reader}, waiting for it to be decoded if needed.
+    * Files must be replayed in order.
+    *
+    * @return the last data position of the file, as returned by
+    * {@link JournalImpl#readJournalFile(SequentialFileFactory, JournalFile, JournalReaderCallback)}
+    */
+   int replay(final int index, final JournalReaderCallback reader) throws Exception {
+      final SimpleFutureImpl<RecordingCallback> future = futures.get(index);
+      final RecordingCallback recording;
+      final long start = System.nanoTime();
+      try {
+         recording = future.get();
+      } catch (ExecutionException e) {
+         final Throwable cause = e.getCause();
+         if (cause instanceof Exception exception) {
+            throw exception;
+         }
+         throw new Exception(cause.getMessage(), cause);
+      } finally {
+         waitNanos += System.nanoTime() - start;
+      }
+      // release the decoded records as soon as possible
+      futures.set(index, null);
+
+      if (nextToSubmit < files.size()) {
+         submitNext();
+      }
+
+      recording.replay(reader);
+      return recording.lastDataPosition;
+   }
+
+   /**
+    * @return the accumulated time spent by all readers on reading and decoding files
+    */
+   long getReadNanos() {
+      return readNanos.get();
+   }
+
+   /**
+    * @return the time the replaying thread spent waiting for files to be decoded
+    */
+   long getWaitNanos() {
+      return waitNanos;
+   }
+
+   /**
+    * Waits for any in-flight read, and releases the read buffers.
+    */
+   @Override
+   public void close() {
+      for (int i = 0; i < nextToSubmit; i++) {
+         final SimpleFutureImpl<RecordingCallback> future = futures.get(i);
+         if (future != null) {
+            try {
+               future.get();
+            } catch (InterruptedException e) {
+               Thread.currentThread().interrupt();
+               return;
+            } catch (Throwable e) {
+               logger.debug(e.getMessage(), e);
+            }
+         }
+      }
+      for (AtomicReference<ByteBuffer> bufferRef : buffers) {
+         final ByteBuffer buffer = bufferRef.getAndSet(null);
+         if (buffer != null) {
+            fileFactory.releaseDirectBuffer(buffer);
+         }
+      }
+   }
+
+   @FunctionalInterface
+   private interface ReadEvent {
+
+      void replay(JournalReaderCallback reader) throws Exception;
+   }
+
+   /**
+    * Keeps every decoded event of a single file so they can be replayed later on the loading thread.
+    */
+   private static final class RecordingCallback implements JournalReaderCallback {
+
+      private final List<ReadEvent> events = new ArrayList<>();
+
+      private int lastDataPosition;
+
+      void replay(final JournalReaderCallback reader) throws Exception {
+         for (ReadEvent event : events) {
+            event.replay(reader);
+         }
+         events.clear();
+      }
+
+      @Override
+      public void onReadEventRecord(final RecordInfo info) {
+         events.add(reader -> reader.onReadEventRecord(info));
+      }
+
+      @Override
+      public void onReadAddRecord(final RecordInfo info) {
+         events.add(reader -> reader.onReadAddRecord(info));
+      }
+
+      @Override
+      public void onReadUpdateRecord(final RecordInfo info) {
+         events.add(reader -> reader.onReadUpdateRecord(info));
+      }
+
+      @Override
+      public void onReadDeleteRecord(final long recordID) {
+         events.add(reader -> reader.onReadDeleteRecord(recordID));
+      }
+
+      @Override
+      public void onReadAddRecordTX(final long transactionID, final RecordInfo info) {
+         events.add(reader -> reader.onReadAddRecordTX(transactionID, info));
+      }
+
+      @Override
+      public void onReadUpdateRecordTX(final long transactionID, final RecordInfo info) {
+         events.add(reader -> reader.onReadUpdateRecordTX(transactionID, info));
+      }
+
+      @Override
+      public void onReadDeleteRecordTX(final long transactionID, final RecordInfo info) {
+         events.add(reader -> reader.onReadDeleteRecordTX(transactionID, info));
+      }
+
+      @Override
+      public void onReadPrepareRecord(final long transactionID, final byte[] extraData, final int numberOfRecords) {
+         events.add(reader -> reader.onReadPrepareRecord(transactionID, extraData, numberOfRecords));
+      }
+
+      @Override
+      public void onReadCommitRecord(final long transactionID, final int numberOfRecords) {
+         events.add(reader -> reader.onReadCommitRecord(transactionID, numberOfRecords));
+      }
+
+      @Override
+      public void onReadRollbackRecord(final long transactionID) {
+         events.add(reader -> reader.onReadRollbackRecord(transactionID));
+      }
+
+      @Override
+      public void markAsDataFile(final JournalFile file) {
+         events.add(reader -> reader.markAsDataFile(file));
+      }
+
+      @Override
+      public void done() {
+         events.add(JournalReaderCallback::done);
+      }
+   }
+}
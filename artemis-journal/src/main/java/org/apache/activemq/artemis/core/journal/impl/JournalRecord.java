@@ -23,6 +23,10 @@ import java.util.Objects;
  * be called PosFiles
  * <p>
  * Used on the ref-count for reclaiming
+ * <p>
+ * A record with no updates is immutable, hence {@link #newRecord(JournalFile, int)} shares the same instance between
+ * records of the same size added on the same file, and {@link #addUpdateFile(JournalFile, int, boolean)} copies it on
+ * the first update: this saves an instance per live record on journals with millions of records.
  */
 public class JournalRecord {
 
@@ -37,10 +41,41 @@ public class JournalRecord {
    private ObjIntIntArrayList<JournalFile> fileUpdates;
 
    public JournalRecord(final JournalFile addFile, final int size) {
+      this(addFile, size, null);
+
+      onAdded();
+   }
+
+   private JournalRecord(final JournalFile addFile, final int size, final ObjIntIntArrayList<JournalFile> fileUpdates) {
       this.addFile = Objects.requireNonNull(addFile);
 
       this.size = size;
 
+      this.fileUpdates = fileUpdates;
+   }
+
+   /**
+    * Accounts a new record of {@code size} bytes added on {@code addFile}, returning an instance that may be shared
+    * with other records until they are updated.
+    */
+   static JournalRecord newRecord(final JournalFile addFile, final int size) {
+      final JournalRecord[] sharedRecords = addFile.getSharedRecords();
+      if (sharedRecords == null) {
+         return new JournalRecord(addFile, size);
+      }
+      final int index = size & (sharedRecords.length - 1);
+      final JournalRecord sharedRecord = sharedRecords[index];
+      if (sharedRecord != null && sharedRecord.size == size) {
+         sharedRecord.onAdded();
+         return sharedRecord;
+      }
+      final JournalRecord record = new JournalRecord(addFile, size);
+      // a racing thread replacing it is harmless: it would just miss a chance of sharing
+      sharedRecords[index] = record;
+      return record;
+   }
+
+   private void onAdded() {
       addFile.incPosCount();
 
       addFile.addSize(size);
@@ -48,13 +83,19 @@ public class JournalRecord {
       addFile.incAddRecord();
    }
 
-   void addUpdateFile(final JournalFile updateFile, final int bytes, boolean replaceableUpdate) {
+   /**
+    * @return the record to be kept for this id from now on: a record without updates could be shared, so it is copied
+    * on its first update
+    */
+   JournalRecord addUpdateFile(final JournalFile updateFile, final int bytes, boolean replaceableUpdate) {
       checkNotDeleted();
       if (bytes == 0) {
-         return;
+         return this;
       }
       if (fileUpdates == null) {
-         fileUpdates = new ObjIntIntArrayList<>(INITIAL_FILES_CAPACITY);
+         final JournalRecord updatedRecord = new JournalRecord(addFile, size, new ObjIntIntArrayList<>(INITIAL_FILES_CAPACITY));
+         updatedRecord.addUpdateFile(updateFile, bytes, replaceableUpdate);
+         return updatedRecord;
       }
       final int files = fileUpdates.size();
       if (files > 0) {
@@ -62,7 +103,7 @@ public class JournalRecord {
          if (fileUpdates.addToIntsIfMatch(lastIndex, updateFile, bytes, 1)) {
             updateFile.incPosCount();
             updateFile.addSize(bytes);
-            return;
+            return this;
          }
       }
       fileUpdates.add(updateFile, bytes, 1);
@@ -71,6 +112,7 @@ public class JournalRecord {
       if (replaceableUpdate) {
          updateFile.incReplaceableCount();
       }
+      return this;
    }
 
    void delete(final JournalFile file) {
@@ -236,11 +236,14 @@ public class JournalTransaction implements IOCallback {
                   // We need to cache the counter update, so compacting will take the correct files when it is done
                   compactor.addCommandUpdate(trUpdate.id, trUpdate.file, trUpdate.size, trUpdate.replaceableUpdate);
                } else if (posFiles == null) {
-                  posFiles = new JournalRecord(trUpdate.file, trUpdate.size);
+                  posFiles = JournalRecord.newRecord(trUpdate.file, trUpdate.size);
 
                   journal.getRecords().put(trUpdate.id, posFiles);
                } else {
-                  posFiles.addUpdateFile(trUpdate.file, trUpdate.size, trUpdate.replaceableUpdate);
+                  final JournalRecord updatedFiles = posFiles.addUpdateFile(trUpdate.file, trUpdate.size, trUpdate.replaceableUpdate);
+                  if (updatedFiles != posFiles) {
+                     journal.getRecords().put(trUpdate.id, updatedFiles);
+                  }
                }
             }
          }
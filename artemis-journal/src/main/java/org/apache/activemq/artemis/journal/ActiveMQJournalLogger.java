@@ -131,6 +131,9 @@ public interface ActiveMQJournalLogger {
    @LogMessage(id = 142033, value = "Error reinitializing file {}", level = LogMessage.Level.WARN)
    void errorReinitializingFile(JournalFile file, Throwable e);
 
+   @LogMessage(id = 142034, value = "Journal file {} was sealed after {} records but {} records could be read from it. The file may be damaged.", level = LogMessage.Level.WARN)
+   void sealedFileMissingRecords(String fileName, long sealedRecords, int readRecords);
+
    @LogMessage(id = 144000, value = "Failed to delete file {}", level = LogMessage.Level.ERROR)
    void errorDeletingFile(Object e);
 
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.journal.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.apache.activemq.artemis.core.io.SequentialFile;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+public class JournalRecordTest {
+
+   private static JournalFileImpl newFile(long fileID) {
+      return new JournalFileImpl(Mockito.mock(SequentialFile.class), fileID, JournalImpl.FORMAT_VERSION);
+   }
+
+   @Test
+   public void recordsWithSameSizeAreShared() {
+      final JournalFileImpl file = newFile(1);
+      final JournalRecord first = JournalRecord.newRecord(file, 100);
+      final JournalRecord second = JournalRecord.newRecord(file, 100);
+      final JournalRecord other = JournalRecord.newRecord(file, 101);
+      assertSame(first, second);
+      assertNotSame(first, other);
+      assertEquals(3, file.getPosCount());
+      assertEquals(3, file.getAddRecord());
+      assertEquals(301, file.getLiveSize());
+   }
+
+   @Test
+   public void updateCopiesSharedRecord() {
+      final JournalFileImpl addFile = newFile(1);
+      final JournalFileImpl updateFile = newFile(2);
+      final JournalFileImpl deleteFile = newFile(3);
+      final JournalRecord shared = JournalRecord.newRecord(addFile, 100);
+      assertSame(shared, JournalRecord.newRecord(addFile, 100));
+
+      final JournalRecord updated = shared.addUpdateFile(updateFile, 50, false);
+      assertNotSame(shared, updated);
+      assertSame(updated, updated.addUpdateFile(updateFile, 50, false));
+      assertEquals(2, updateFile.getPosCount());
+      assertEquals(100, updateFile.getLiveSize());
+
+      updated.delete(deleteFile);
+      assertEquals(1, deleteFile.getNegCount(addFile));
+      assertEquals(2, deleteFile.getNegCount(updateFile));
+      assertEquals(100, addFile.getLiveSize());
+      assertEquals(0, updateFile.getLiveSize());
+      assertThrows(IllegalStateException.class, () -> updated.addUpdateFile(updateFile, 50, false));
+
+      // the other record sharing the instance is not affected by the delete
+      shared.delete(deleteFile);
+      assertEquals(2, deleteFile.getNegCount(addFile));
+      assertEquals(0, addFile.getLiveSize());
+   }
+}
@@ -671,6 +671,69 @@ public interface Configuration {
     */
    Configuration setReadWholePage(boolean read);
 
+   /**
+    * {@return whether the cursors read complete page files through a memory mapping, decoding the messages as they are
+    * delivered instead of loading the whole page; default is {@link ActiveMQDefaultConfiguration#DEFAULT_PAGE_READ_MAPPED}}
+    */
+   boolean isPageReadMapped();
+
+   /**
+    * Sets whether the cursors read complete page files through a memory mapping.
+    */
+   Configuration setPageReadMapped(boolean pageReadMapped);
+
+   /**
+    * {@return the percentage of the messages of a page file, acknowledged by every queue, from which the page file is
+    * rewritten without them; -1 disables page compaction; default is {@link
+    * ActiveMQDefaultConfiguration#DEFAULT_PAGE_COMPACTION_THRESHOLD}}
+    */
+   int getPageCompactionThreshold();
+
+   /**
+    * Sets the percentage of the messages of a page file, acknowledged by every queue, from which the page file is
+    * compacted.
+    */
+   Configuration setPageCompactionThreshold(int pageCompactionThreshold);
+
+   /**
+    * {@return whether the page files of every address are synced together by a single broker wide scheduler; default is
+    * {@link ActiveMQDefaultConfiguration#DEFAULT_PAGE_GROUP_SYNC}}
+    */
+   boolean isPageGroupSync();
+
+   /**
+    * Sets whether the page files of every address are synced together by a single broker wide scheduler.
+    */
+   Configuration setPageGroupSync(boolean pageGroupSync);
+
+   /**
+    * {@return the directory cold page files are offloaded to, or {@code null} if page files are always kept on the
+    * paging directory}
+    */
+   String getPageOffloadDirectory();
+
+   /**
+    * Sets the directory cold page files are offloaded to.
+    */
+   Configuration setPageOffloadDirectory(String dir);
+
+   /**
+    * {@return the location of the page offload directory related to artemis.instance, or {@code null} if not
+    * configured}
+    */
+   File getPageOffloadLocation();
+
+   /**
+    * {@return how many page files ahead of the cursors are kept on the local disk when page files are offloaded; default
+    * is {@link ActiveMQDefaultConfiguration#DEFAULT_PAGE_OFFLOAD_PREFETCH}}
+    */
+   int getPageOffloadPrefetch();
+
+   /**
+    * Sets how many page files ahead of the cursors are kept on the local disk when page files are offloaded.
+    */
+   Configuration setPageOffloadPrefetch(int pageOffloadPrefetch);
+
    /**
     * {@return the file system directory used to store journal log; default is {@link
     * ActiveMQDefaultConfiguration#DEFAULT_JOURNAL_DIR}}
@@ -917,6 +980,39 @@ public interface Configuration {
     */
    Configuration setJournalMaxAtticFiles(int maxAtticFiles);
 
+   /**
+    * {@return how many journal files are read concurrently when loading the message journal; default value is {@link
+    * ActiveMQDefaultConfiguration#DEFAULT_JOURNAL_LOAD_THREADS}}
+    */
+   int getJournalLoadThreads();
+
+   /**
+    * Sets how many journal files are read concurrently when loading the message journal.
+    */
+   Configuration setJournalLoadThreads(int journalLoadThreads);
+
+   /**
+    * {@return whether a seal record is written on every message journal file before moving to the next one; default
+    * value is {@link ActiveMQDefaultConfiguration#DEFAULT_JOURNAL_SEAL_FILES}}
+    */
+   boolean isJournalSealFiles();
+
+   /**
+    * Sets whether a seal record is written on every message journal file before moving to the next one.
+    */
+   Configuration setJournalSealFiles(boolean journalSealFiles);
+
+   /**
+    * {@return whether the journal buffer timeout follows the observed sync latency; default value is {@link
+    * ActiveMQDefaultConfiguration#DEFAULT_JOURNAL_ADAPTIVE_BUFFER_TIMEOUT}}
+    */
+   boolean isJournalAdaptiveBufferTimeout();
+
+   /**
+    * Sets whether the journal buffer timeout follows the observed sync latency.
+    */
+   Configuration setJournalAdaptiveBufferTimeout(boolean journalAdaptiveBufferTimeout);
+
    /**
     * {@return whether the bindings directory is created on this server startup; default is {@link
     * ActiveMQDefaultConfiguration#DEFAULT_CREATE_BINDINGS_DIR}}
@@ -1284,6 +1380,18 @@ public interface Configuration {
 
    long getGlobalMaxMessages();
 
+   /**
+    * {@return the size in bytes of the page files kept in memory by all the addresses after their cursors left them, so
+    * slower cursors and prefetches don't read them again; {@code 0} disables it; default is {@link
+    * ActiveMQDefaultConfiguration#DEFAULT_GLOBAL_PAGE_CACHE_MAX_SIZE}}
+    */
+   long getGlobalPageCacheMaxSize();
+
+   /**
+    * Sets the size in bytes of the page files kept in memory by all the addresses after their cursors left them.
+    */
+   Configuration setGlobalPageCacheMaxSize(long globalPageCacheMaxSize);
+
    int getMaxDiskUsage();
 
    Configuration setMaxDiskUsage(int maxDiskUsage);
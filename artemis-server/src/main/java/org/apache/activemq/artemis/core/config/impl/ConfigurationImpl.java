@@ -267,6 +267,16 @@ public class ConfigurationImpl extends javax.security.auth.login.Configuration i
 
    private boolean readWholePage = ActiveMQDefaultConfiguration.isDefaultReadWholePage();
 
+   private boolean pageReadMapped = ActiveMQDefaultConfiguration.isDefaultPageReadMapped();
+
+   private int pageCompactionThreshold = ActiveMQDefaultConfiguration.getDefaultPageCompactionThreshold();
+
+   private boolean pageGroupSync = ActiveMQDefaultConfiguration.isDefaultPageGroupSync();
+
+   private String pageOffloadDirectory = null;
+
+   private int pageOffloadPrefetch = ActiveMQDefaultConfiguration.getDefaultPageOffloadPrefetch();
+
    protected String largeMessagesDirectory = ActiveMQDefaultConfiguration.getDefaultLargeMessagesDir();
 
    protected String bindingsDirectory = ActiveMQDefaultConfiguration.getDefaultBindingsDirectory();
@@ -307,6 +317,12 @@ public class ConfigurationImpl extends javax.security.auth.login.Configuration i
 
    protected int journalMaxAtticFilesFiles = ActiveMQDefaultConfiguration.getDefaultJournalMaxAtticFiles();
 
+   protected int journalLoadThreads = ActiveMQDefaultConfiguration.getDefaultJournalLoadThreads();
+
+   protected boolean journalSealFiles = ActiveMQDefaultConfiguration.isDefaultJournalSealFiles();
+
+   protected boolean journalAdaptiveBufferTimeout = ActiveMQDefaultConfiguration.isDefaultJournalAdaptiveBufferTimeout();
+
    // AIO and NIO need different values for these attributes
 
    protected int journalMaxIO_AIO = ActiveMQDefaultConfiguration.getDefaultJournalMaxIoAio();
@@ -410,6 +426,8 @@ public class ConfigurationImpl extends javax.security.auth.login.Configuration i
 
    private Long globalMaxMessages;
 
+   private long globalPageCacheMaxSize = ActiveMQDefaultConfiguration.getDefaultGlobalPageCacheMaxSize();
+
    private boolean amqpUseCoreSubscriptionNaming = ActiveMQDefaultConfiguration.getDefaultAmqpUseCoreSubscriptionNaming();
 
    private int maxDiskUsage = ActiveMQDefaultConfiguration.getDefaultMaxDiskUsage();
@@ -1359,6 +1377,17 @@ public class ConfigurationImpl extends javax.security.auth.login.Configuration i
       return globalMaxMessages;
    }
 
+   @Override
+   public long getGlobalPageCacheMaxSize() {
+      return globalPageCacheMaxSize;
+   }
+
+   @Override
+   public ConfigurationImpl setGlobalPageCacheMaxSize(long globalPageCacheMaxSize) {
+      this.globalPageCacheMaxSize = globalPageCacheMaxSize;
+      return this;
+   }
+
    @Override
    public ConfigurationImpl setPersistenceEnabled(final boolean enable) {
       persistenceEnabled = enable;
@@ -1868,6 +1897,70 @@ public class ConfigurationImpl extends javax.security.auth.login.Configuration i
       return this;
    }
 
+   @Override
+   public boolean isPageReadMapped() {
+      return pageReadMapped;
+   }
+
+   @Override
+   public ConfigurationImpl setPageReadMapped(boolean pageReadMapped) {
+      this.pageReadMapped = pageReadMapped;
+      return this;
+   }
+
+   @Override
+   public int getPageCompactionThreshold() {
+      return pageCompactionThreshold;
+   }
+
+   @Override
+   public ConfigurationImpl setPageCompactionThreshold(int pageCompactionThreshold) {
+      this.pageCompactionThreshold = pageCompactionThreshold;
+      return this;
+   }
+
+   @Override
+   public boolean isPageGroupSync() {
+      return pageGroupSync;
+   }
+
+   @Override
+   public ConfigurationImpl setPageGroupSync(boolean pageGroupSync) {
+      this.pageGroupSync = pageGroupSync;
+      return this;
+   }
+
+   @Override
+   public String getPageOffloadDirectory() {
+      return pageOffloadDirectory;
+   }
+
+   @Override
+   public ConfigurationImpl setPageOffloadDirectory(String dir) {
+      this.pageOffloadDirectory = dir;
+      return this;
+   }
+
+   @Override
+   public File getPageOffloadLocation() {
+      if (pageOffloadDirectory == null) {
+         return null;
+      } else {
+         return subFolder(pageOffloadDirectory);
+      }
+   }
+
+   @Override
+   public int getPageOffloadPrefetch() {
+      return pageOffloadPrefetch;
+   }
+
+   @Override
+   public ConfigurationImpl setPageOffloadPrefetch(int pageOffloadPrefetch) {
+      this.pageOffloadPrefetch = pageOffloadPrefetch;
+      return this;
+   }
+
    @Override
    public File getJournalLocation() {
       return subFolder(getJournalDirectory());
@@ -3330,6 +3423,39 @@ public class ConfigurationImpl extends javax.security.auth.login.Configuration i
       return this;
    }
 
+   @Override
+   public int getJournalLoadThreads() {
+      return journalLoadThreads;
+   }
+
+   @Override
+   public Configuration setJournalLoadThreads(int journalLoadThreads) {
+      this.journalLoadThreads = journalLoadThreads;
+      return this;
+   }
+
+   @Override
+   public boolean isJournalSealFiles() {
+      return journalSealFiles;
+   }
+
+   @Override
+   public Configuration setJournalSealFiles(boolean journalSealFiles) {
+      this.journalSealFiles = journalSealFiles;
+      return this;
+   }
+
+   @Override
+   public boolean isJournalAdaptiveBufferTimeout() {
+      return journalAdaptiveBufferTimeout;
+   }
+
+   @Override
+   public Configuration setJournalAdaptiveBufferTimeout(boolean journalAdaptiveBufferTimeout) {
+      this.journalAdaptiveBufferTimeout = journalAdaptiveBufferTimeout;
+      return this;
+   }
+
    @Override
    public long getMqttSessionScanInterval() {
       return mqttSessionScanInterval;
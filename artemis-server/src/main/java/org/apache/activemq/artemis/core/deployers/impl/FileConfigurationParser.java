@@ -394,6 +394,12 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
 
    private static final String INITIAL_QUEUE_BUFFER_SIZE = "initial-queue-buffer-size";
 
+   private static final String JOURNAL_COMPRESSION_THRESHOLD = "journal-compression-threshold";
+
+   private static final String PAGE_COMPRESSION_THRESHOLD = "page-compression-threshold";
+
+   private static final String PREDICTIVE_PAGING_HORIZON = "predictive-paging-horizon";
+
    private static final String MQTT_SUBSCRIPTION_PERSISTENCE_ENABLED = "mqtt-subscription-persistence-enabled";
 
    private boolean validateAIO = false;
@@ -525,6 +531,8 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
 
       config.setGlobalMaxMessages(globalMaxMessages);
 
+      config.setGlobalPageCacheMaxSize(getTextBytesAsLongBytes(e, "global-page-cache-max-size", config.getGlobalPageCacheMaxSize(), GE_ZERO));
+
       config.setMinDiskFree(getTextBytesAsLongBytes(e, MIN_DISK_FREE, config.getMinDiskFree(), MINUS_ONE_OR_GT_ZERO));
 
       config.setMaxDiskUsage(getInteger(e, MAX_DISK_USAGE, config.getMaxDiskUsage(), PERCENTAGE_OR_MINUS_ONE));
@@ -756,6 +764,16 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
 
       config.setReadWholePage(getBoolean(e, "read-whole-page", config.isReadWholePage()));
 
+      config.setPageReadMapped(getBoolean(e, "page-read-mapped", config.isPageReadMapped()));
+
+      config.setPageCompactionThreshold(getInteger(e, "page-compaction-threshold", config.getPageCompactionThreshold(), PERCENTAGE_OR_MINUS_ONE));
+
+      config.setPageGroupSync(getBoolean(e, "page-group-sync", config.isPageGroupSync()));
+
+      config.setPageOffloadDirectory(getString(e, "page-offload-directory", config.getPageOffloadDirectory(), NO_CHECK));
+
+      config.setPageOffloadPrefetch(getInteger(e, "page-offload-prefetch", config.getPageOffloadPrefetch(), GE_ZERO));
+
       config.setPagingDirectory(getString(e, "paging-directory", config.getPagingDirectory(), NOT_NULL_OR_EMPTY));
 
       config.setPurgePageFolders(getBoolean(e, "purge-page-folders", config.isPurgePageFolders()));
@@ -809,6 +827,12 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
 
       config.setJournalFileOpenTimeout(getInteger(e, "journal-file-open-timeout", ActiveMQDefaultConfiguration.getDefaultJournalFileOpenTimeout(), GT_ZERO));
 
+      config.setJournalLoadThreads(getInteger(e, "journal-load-threads", config.getJournalLoadThreads(), GT_ZERO));
+
+      config.setJournalSealFiles(getBoolean(e, "journal-seal-files", config.isJournalSealFiles()));
+
+      config.setJournalAdaptiveBufferTimeout(getBoolean(e, "journal-adaptive-buffer-timeout", config.isJournalAdaptiveBufferTimeout()));
+
       config.setJournalMinFiles(getInteger(e, "journal-min-files", config.getJournalMinFiles(), GT_ZERO));
 
       config.setJournalPoolFiles(getInteger(e, "journal-pool-files", config.getJournalPoolFiles(), MINUS_ONE_OR_GT_ZERO));
@@ -1472,6 +1496,12 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
             addressSettings.setIDCacheSize(GE_ZERO.validate(ID_CACHE_SIZE, XMLUtil.parseInt(child)).intValue());
          } else if (INITIAL_QUEUE_BUFFER_SIZE.equalsIgnoreCase(name)) {
             addressSettings.setInitialQueueBufferSize(POSITIVE_POWER_OF_TWO.validate(INITIAL_QUEUE_BUFFER_SIZE, XMLUtil.parseInt(child)).intValue());
+         } else if (JOURNAL_COMPRESSION_THRESHOLD.equalsIgnoreCase(name)) {
+            addressSettings.setJournalCompressionThreshold(MINUS_ONE_OR_GT_ZERO.validate(JOURNAL_COMPRESSION_THRESHOLD, XMLUtil.parseInt(child)).intValue());
+         } else if (PAGE_COMPRESSION_THRESHOLD.equalsIgnoreCase(name)) {
+            addressSettings.setPageCompressionThreshold(MINUS_ONE_OR_GT_ZERO.validate(PAGE_COMPRESSION_THRESHOLD, XMLUtil.parseInt(child)).intValue());
+         } else if (PREDICTIVE_PAGING_HORIZON.equalsIgnoreCase(name)) {
+            addressSettings.setPredictivePagingHorizon(MINUS_ONE_OR_GT_ZERO.validate(PREDICTIVE_PAGING_HORIZON, XMLUtil.parseLong(child)).longValue());
          }
       }
       return setting;
@@ -1516,6 +1546,8 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
       Long delayBeforeDispatch = null;
       Boolean enabled = null;
       Long ringSize = ActiveMQDefaultConfiguration.getDefaultRingSize();
+      Integer partitions = null;
+      String partitionKey = null;
 
       NamedNodeMap attributes = node.getAttributes();
       for (int i = 0; i < attributes.getLength(); i++) {
@@ -1548,6 +1580,10 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
             enabled = Boolean.parseBoolean(item.getNodeValue());
          } else if (item.getNodeName().equals("ring-size")) {
             ringSize = Long.parseLong(item.getNodeValue());
+         } else if (item.getNodeName().equals("partitions")) {
+            partitions = GT_ZERO.validate("partitions", Integer.parseInt(item.getNodeValue())).intValue();
+         } else if (item.getNodeName().equals("partition-key")) {
+            partitionKey = item.getNodeValue();
          }
       }
 
@@ -1584,7 +1620,9 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
               .setConsumersBeforeDispatch(consumersBeforeDispatch)
               .setDelayBeforeDispatch(delayBeforeDispatch)
               .setEnabled(enabled)
-              .setRingSize(ringSize);
+              .setRingSize(ringSize)
+              .setPartitions(partitions)
+              .setPartitionKey(partitionKey);
    }
 
    protected CoreAddressConfiguration parseAddressConfiguration(final Node node) {
@@ -27,6 +27,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.function.ToLongFunction;
 
 import org.apache.activemq.artemis.api.core.ActiveMQException;
 import org.apache.activemq.artemis.api.core.ActiveMQInvalidFilterExpressionException;
@@ -266,7 +267,7 @@ public class QueueControlImpl extends AbstractControl implements QueueControl {
 
       clearIO();
       try {
-         return queue.getMessageCount();
+         return sumPartitions(Queue::getMessageCount);
       } finally {
          blockOnIO();
       }
@@ -327,7 +328,7 @@ public class QueueControlImpl extends AbstractControl implements QueueControl {
 
       clearIO();
       try {
-         return queue.getConsumerCount();
+         return (int) sumPartitions(Queue::getConsumerCount);
       } finally {
          blockOnIO();
       }
@@ -342,7 +343,7 @@ public class QueueControlImpl extends AbstractControl implements QueueControl {
 
       clearIO();
       try {
-         return queue.getDeliveringCount();
+         return (int) sumPartitions(Queue::getDeliveringCount);
       } finally {
          blockOnIO();
       }
@@ -402,7 +403,7 @@ public class QueueControlImpl extends AbstractControl implements QueueControl {
 
       clearIO();
       try {
-         return queue.getMessagesAdded();
+         return sumPartitions(Queue::getMessagesAdded);
       } finally {
          blockOnIO();
       }
@@ -417,7 +418,7 @@ public class QueueControlImpl extends AbstractControl implements QueueControl {
 
       clearIO();
       try {
-         return queue.getMessagesAcknowledged();
+         return sumPartitions(Queue::getMessagesAcknowledged);
       } finally {
          blockOnIO();
       }
@@ -492,7 +493,7 @@ public class QueueControlImpl extends AbstractControl implements QueueControl {
 
       clearIO();
       try {
-         return queue.getScheduledCount();
+         return sumPartitions(Queue::getScheduledCount);
       } finally {
          blockOnIO();
       }
@@ -845,7 +846,7 @@ public class QueueControlImpl extends AbstractControl implements QueueControl {
          final int attributeSizeLimit = addressSettings.getManagementMessageAttributeSizeLimit();
          final int limit = addressSettings.getManagementBrowsePageSize();
          int count = 0;
-         try (LinkedListIterator<MessageReference> iterator = queue.browserIterator()) {
+         try (LinkedListIterator<MessageReference> iterator = queue.partitionsBrowserIterator()) {
             try {
                while (iterator.hasNext() && count++ < limit) {
                   MessageReference ref = iterator.next();
@@ -1091,7 +1092,7 @@ public class QueueControlImpl extends AbstractControl implements QueueControl {
             if (filter == null && groupByProperty == null) {
                result.put(null, getMessageCount());
             } else {
-               try (LinkedListIterator<MessageReference> iterator = queue.browserIterator()) {
+               try (LinkedListIterator<MessageReference> iterator = queue.partitionsBrowserIterator()) {
                   try {
                      while (iterator.hasNext()) {
                         Message message = iterator.next().getMessage();
@@ -1202,7 +1203,12 @@ public class QueueControlImpl extends AbstractControl implements QueueControl {
 
             int removed = 0;
             try {
-               removed = queue.deleteMatchingReferences(flushLimit, filter);
+               for (int i = 0; i < queue.getPartitions(); i++) {
+                  final Queue partition = queue.getPartition(i);
+                  if (partition != null) {
+                     removed += partition.deleteMatchingReferences(flushLimit, filter);
+                  }
+               }
                if (AuditLogger.isResourceLoggingEnabled()) {
                   AuditLogger.removeMessagesSuccess(removed, queue.getName().toString());
                }
@@ -1438,7 +1444,13 @@ public class QueueControlImpl extends AbstractControl implements QueueControl {
                throw ActiveMQMessageBundle.BUNDLE.noQueueFound(otherQueueName);
             }
 
-            int retValue = queue.moveReferences(flushLimit, filter, binding.getAddress(), rejectDuplicates, messageCount, binding);
+            int retValue = 0;
+            for (int i = 0; i < queue.getPartitions() && (messageCount <= 0 || retValue < messageCount); i++) {
+               final Queue partition = queue.getPartition(i);
+               if (partition != null) {
+                  retValue += partition.moveReferences(flushLimit, filter, binding.getAddress(), rejectDuplicates, messageCount <= 0 ? messageCount : messageCount - retValue, binding);
+               }
+            }
             return retValue;
          } finally {
             blockOnIO();
@@ -1768,13 +1780,13 @@ public class QueueControlImpl extends AbstractControl implements QueueControl {
          try {
             long index = 0;
             long start = (long) (page - 1) * pageSize;
-            long end = Math.min((long) page * pageSize, queue.getMessageCount());
+            long end = Math.min((long) page * pageSize, sumPartitions(Queue::getMessageCount));
 
             List<CompositeData> c = new ArrayList<>();
             Filter thefilter = FilterImpl.createFilter(filter);
 
             final int attributeSizeLimit = addressSettingsRepository.getMatch(address).getManagementMessageAttributeSizeLimit();
-            try (LinkedListIterator<MessageReference> iterator = queue.browserIterator()) {
+            try (LinkedListIterator<MessageReference> iterator = queue.partitionsBrowserIterator()) {
                try {
                   while (iterator.hasNext() && index < end) {
                      MessageReference ref = iterator.next();
@@ -1833,7 +1845,7 @@ public class QueueControlImpl extends AbstractControl implements QueueControl {
             int currentPageSize = 0;
             List<CompositeData> c = new ArrayList<>();
             Filter thefilter = FilterImpl.createFilter(filter);
-            try (LinkedListIterator<MessageReference> iterator = queue.browserIterator()) {
+            try (LinkedListIterator<MessageReference> iterator = queue.partitionsBrowserIterator()) {
                try {
                   while (iterator.hasNext() && currentPageSize++ < limit) {
                      MessageReference ref = iterator.next();
@@ -1957,6 +1969,32 @@ public class QueueControlImpl extends AbstractControl implements QueueControl {
       }
    }
 
+   @Override
+   public int getPartitions() {
+      if (AuditLogger.isBaseLoggingEnabled()) {
+         AuditLogger.getPartitions(queue);
+      }
+      checkStarted();
+
+      clearIO();
+      try {
+         return queue.getPartitions();
+      } finally {
+         blockOnIO();
+      }
+   }
+
+   private long sumPartitions(ToLongFunction<Queue> counter) {
+      long sum = 0;
+      for (int i = 0; i < queue.getPartitions(); i++) {
+         final Queue partition = queue.getPartition(i);
+         if (partition != null) {
+            sum += counter.applyAsLong(partition);
+         }
+      }
+      return sum;
+   }
+
    @Override
    public long getRingSize() {
       if (AuditLogger.isBaseLoggingEnabled()) {
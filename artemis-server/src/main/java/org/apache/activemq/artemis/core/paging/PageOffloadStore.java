@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.paging;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * A secondary store the page files not going to be read soon are moved to, e.g. an object store, so a deep backlog
+ * doesn't need to fit on the local disk.
+ * <p>
+ * Page files are stored by the name of their address folder and their file name. The store keeps its copy of a page
+ * file until it's deleted, so a page file read back and offloaded again doesn't need to be copied twice.
+ */
+public interface PageOffloadStore {
+
+   /**
+    * Copies {@code file} to the store, replacing any previous copy.
+    */
+   void put(String folder, String fileName, File file) throws Exception;
+
+   /**
+    * Copies a file of the store to {@code file}.
+    *
+    * @return {@code false} if the store has no such file
+    */
+   boolean get(String folder, String fileName, File file) throws Exception;
+
+   void delete(String folder, String fileName) throws Exception;
+
+   /**
+    * {@return the names of the files stored on {@code folder}}
+    */
+   List<String> list(String folder) throws Exception;
+
+   void deleteFolder(String folder) throws Exception;
+}
@@ -22,6 +22,7 @@ import java.util.concurrent.Future;
 import java.util.function.BiConsumer;
 
 import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.paging.impl.SharedPageCache;
 import org.apache.activemq.artemis.core.server.ActiveMQComponent;
 import org.apache.activemq.artemis.core.server.files.FileStoreMonitor;
 import org.apache.activemq.artemis.core.settings.HierarchicalRepositoryChangeListener;
@@ -82,7 +83,7 @@ public interface PagingManager extends ActiveMQComponent, HierarchicalRepository
    void injectMonitor(FileStoreMonitor monitor) throws Exception;
 
    /**
-    * Execute a runnable inside the PagingManager's executor
+    * Execute a runnable inside the PagingManager's executor, after any rebuild of the page counters underway
     */
    default void execute(Runnable runnable) {
       throw new UnsupportedOperationException("not implemented");
@@ -160,6 +161,13 @@ public interface PagingManager extends ActiveMQComponent, HierarchicalRepository
       return 0;
    }
 
+   /**
+    * {@return the cache keeping released pages of all the stores in memory, or {@code null} if disabled}
+    */
+   default SharedPageCache getSharedPageCache() {
+      return null;
+   }
+
    /**
     * Rebuilds all page counters for destinations that are paging in the background.
     */
@@ -174,4 +182,11 @@ public interface PagingManager extends ActiveMQComponent, HierarchicalRepository
       return false;
    }
 
+   /**
+    * {@return the percentage of page files already read by the current page counter rebuild, 100 if not rebuilding}
+    */
+   default int getRebuildCountersProgress() {
+      return 100;
+   }
+
 }
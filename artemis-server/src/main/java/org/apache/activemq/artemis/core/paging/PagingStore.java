@@ -21,6 +21,7 @@ import java.util.Collection;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.IntPredicate;
 
 import org.apache.activemq.artemis.api.core.Message;
 import org.apache.activemq.artemis.api.core.RefCountMessageListener;
@@ -146,8 +147,50 @@ public interface PagingStore extends ActiveMQComponent, RefCountMessageListener
    Page usePage(long page, boolean create);
    Page usePage(long page, boolean createEntry, boolean createFile);
 
+   /**
+    * Reads a page in the background so it is already loaded when a cursor gets to it. This is only done when the
+    * broker has a {@link org.apache.activemq.artemis.core.paging.impl.SharedPageCache} to keep it until then.
+    */
+   default void prefetchPage(long page) {
+   }
+
    Page newPageObject(long page) throws Exception;
 
+   /**
+    * {@return how many times smaller the messages paged since the broker started are on the page files, {@code 1} if
+    * none of them got compressed}
+    */
+   default double getPageCompressionRatio() {
+      return 1;
+   }
+
+   /**
+    * {@return the percentage of acked messages a page needs to be compacted, or {@code -1} if pages are never
+    * compacted}
+    */
+   default int getPageCompactionThreshold() {
+      return -1;
+   }
+
+   /**
+    * Rewrites a complete page file without the messages matching {@code acked}, which are replaced by empty records so
+    * every other message keeps its number. Large messages are always kept.
+    *
+    * @return the number of messages removed from the page file, or {@code -1} if the page was in use and should be
+    * compacted again later
+    */
+   default int compactPage(long page, IntPredicate acked) throws Exception {
+      return 0;
+   }
+
+   /**
+    * Reads a single message from a page. If the page is not in use it is not loaded, the message is read from its
+    * position on the page file instead.
+    *
+    * @return the message or {@code null} if the page or the message do not exist
+    */
+   PagedMessage readMessage(long page, int messageNumber) throws Exception;
+
    boolean checkPageFileExists(long page) throws Exception;
 
    PagingManager getPagingManager();
@@ -191,6 +234,29 @@ public interface PagingStore extends ActiveMQComponent, RefCountMessageListener
 
    void stopPaging() throws Exception;
 
+   /**
+    * {@return {@code true} if the address should stay in page mode even though every paged message was consumed, as
+    * it's expected to be full again soon}
+    */
+   default boolean isStopPagingDeferred() {
+      return false;
+   }
+
+   /**
+    * {@return {@code false} if none of the messages of the page were routed to the queue, {@code true} if some were or
+    * if it isn't known}
+    */
+   default boolean isPageRoutedTo(long pageId, long queueID) {
+      return true;
+   }
+
+   /**
+    * Moves the page file to the {@link PageOffloadStore} if it isn't going to be read soon. This happens
+    * asynchronously, and the page file is fetched back whenever it's used.
+    */
+   default void offloadPage(long pageId) {
+   }
+
    default void purgeFolder() {
    }
 
@@ -23,6 +23,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.io.SequentialFileFactory;
 import org.apache.activemq.artemis.core.paging.cursor.PageCursorProvider;
+import org.apache.activemq.artemis.core.paging.impl.PageSyncScheduler;
 import org.apache.activemq.artemis.core.persistence.StorageManager;
 import org.apache.activemq.artemis.core.server.files.FileStoreMonitor;
 import org.apache.activemq.artemis.core.settings.HierarchicalRepository;
@@ -61,6 +62,43 @@ public interface PagingStoreFactory {
       return null;
    }
 
+   /**
+    * {@return whether complete page files are iterated through a memory mapping}
+    */
+   default boolean isReadMapped() {
+      return false;
+   }
+
+   /**
+    * {@return the percentage of the messages of a page file acknowledged by every queue needed to compact it, -1 if
+    * disabled}
+    */
+   default int getPageCompactionThreshold() {
+      return -1;
+   }
+
+   /**
+    * {@return the broker wide scheduler syncing the page files of every store, or {@code null} if every store syncs its
+    * own page files}
+    */
+   default PageSyncScheduler getPageSyncScheduler() {
+      return null;
+   }
+
+   /**
+    * {@return the store cold page files are moved to, or {@code null} if page files are always kept on the local disk}
+    */
+   default PageOffloadStore getPageOffloadStore() {
+      return null;
+   }
+
+   /**
+    * {@return how many page files ahead of the cursors are kept on, or fetched back to, the local disk}
+    */
+   default int getPageOffloadPrefetch() {
+      return 0;
+   }
+
 
 
 }
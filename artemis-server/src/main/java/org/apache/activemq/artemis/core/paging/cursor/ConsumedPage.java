@@ -28,6 +28,12 @@ public interface ConsumedPage {
 
    boolean isAck(int messageNumber);
 
+   /**
+    * {@return an estimate of the number of acked messages on the page, it includes the messages that were never routed
+    * to the subscription}
+    */
+   int getNumberOfAcks();
+
    void forEachAck(BiConsumer<Integer, PagePosition> ackConsumer);
 
 }
@@ -37,8 +37,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
 
@@ -55,7 +60,10 @@ public class PageCounterRebuildManager implements Runnable {
    private final StorageManager sm;
    private final Map<Long, PageTransactionInfo> transactions;
    private boolean paging;
+   private long firstPageId;
    private long limitPageId;
+   private long pagesToRead;
+   private final AtomicLong pagesRead = new AtomicLong();
    private int limitMessageNr;
    private LongObjectHashMap<CopiedSubscription> copiedSubscriptionMap = new LongObjectHashMap<>();
    private final Set<Long> storedLargeMessages;
@@ -92,14 +100,18 @@ public class PageCounterRebuildManager implements Runnable {
             }
             store.getCursorProvider().counterRebuildStarted();
             Page currentPage = store.getCurrentPage();
+            firstPageId = store.getFirstPage();
             limitPageId = store.getCurrentWritingPage();
             limitMessageNr = currentPage.getNumberOfMessages();
+            pagesToRead = Math.max(0, limitPageId - firstPageId + 1);
             if (logger.isTraceEnabled()) {
                logger.trace("PageCounterRebuild for {}, Current writing page {} and limit will be {} with lastMessage on last page={}", store.getStoreName(), store.getCurrentWritingPage(), limitPageId, limitMessageNr);
             }
          } catch (Exception e) {
             logger.warn(e.getMessage(), e);
+            firstPageId = store.getFirstPage();
             limitPageId = store.getCurrentWritingPage();
+            pagesToRead = Math.max(0, limitPageId - firstPageId + 1);
          }
          logger.trace("Copying page store ack information from address {}", store.getAddress());
          store.getCursorProvider().forEachSubscription(subscription -> {
@@ -193,9 +205,32 @@ public class PageCounterRebuildManager implements Runnable {
    }
 
    public void rebuild() throws Exception {
+      rebuild(Runnable::run, 1).get();
+   }
+
+   /**
+    * {@return the number of page files this rebuild has to read}
+    */
+   public long getPagesToRead() {
+      return pagesToRead;
+   }
+
+   /**
+    * {@return the number of page files already read by this rebuild}
+    */
+   public long getPagesRead() {
+      return pagesRead.get();
+   }
+
+   /**
+    * Reads the page files in up to {@code parallelism} contiguous segments submitted to {@code executor}, each one
+    * counting the messages of its pages on its own. The counts are merged into the subscriptions once all segments are
+    * done.
+    */
+   public CompletableFuture<Void> rebuild(Executor executor, int parallelism) {
       if (pgStore == null) {
          logger.trace("Page store is null during rebuildCounters");
-         return;
+         return CompletableFuture.completedFuture(null);
       }
 
       if (!paging) {
@@ -204,7 +239,32 @@ public class PageCounterRebuildManager implements Runnable {
 
       logger.debug("Rebuilding page counter for address {}", pgStore.getAddress());
 
-      for (long pgid = pgStore.getFirstPage(); pgid <= limitPageId; pgid++) {
+      final long segments = Math.max(1, Math.min(parallelism, pagesToRead));
+      final long segmentSize = (pagesToRead + segments - 1) / segments;
+
+      final CompletableFuture<?>[] futures = new CompletableFuture[(int) segments];
+      final Segment[] counted = new Segment[(int) segments];
+      for (int i = 0; i < segments; i++) {
+         final Segment segment = new Segment(firstPageId + i * segmentSize, Math.min(limitPageId, firstPageId + (i + 1) * segmentSize - 1));
+         counted[i] = segment;
+         futures[i] = CompletableFuture.runAsync(() -> {
+            try {
+               count(segment);
+            } catch (Exception e) {
+               throw new CompletionException(e);
+            }
+         }, executor);
+      }
+
+      return CompletableFuture.allOf(futures).thenRun(() -> {
+         merge(counted);
+         logger.debug("Counter rebuilding done for address {}", pgStore.getAddress());
+         done();
+      });
+   }
+
+   private void count(Segment segment) throws Exception {
+      for (long pgid = segment.firstPage; pgid <= segment.lastPage; pgid++) {
          if (logger.isTraceEnabled()) {
             logger.trace("Rebuilding counter on messages from page {} on rebuildCounters for address {}", pgid, pgStore.getAddress());
          }
@@ -215,11 +275,14 @@ public class PageCounterRebuildManager implements Runnable {
             if (logger.isDebugEnabled()) {
                logger.trace("Skipping page {} on store {}", pgid, pgStore.getAddress());
             }
+            pagesRead.incrementAndGet();
             continue;
          }
          page.open(false);
          LinkedList<PagedMessage> msgs = page.read(sm);
          page.close(false, false);
+         // an offloaded page is fetched back to be counted
+         pgStore.offloadPage(pgid);
 
          try (LinkedListIterator<PagedMessage> iter = msgs.iterator()) {
             while (iter.hasNext()) {
@@ -228,7 +291,8 @@ public class PageCounterRebuildManager implements Runnable {
                   if (logger.isDebugEnabled()) {
                      logger.trace("removing storedLargeMessage {}", msg.getMessage().getMessageID());
                   }
-                  storedLargeMessages.remove(msg.getMessage().getMessageID());
+                  // removed from storedLargeMessages on merge, as the other segments are reading at the same time
+                  segment.largeMessages.add(msg.getMessage().getMessageID());
                }
                if (limitPageId == pgid) {
                   if (msg.getMessageNumber() >= limitMessageNr) {
@@ -295,11 +359,8 @@ public class PageCounterRebuildManager implements Runnable {
                         if (logger.isTraceEnabled()) {
                            logger.trace("Message pageNumber={}/{} NOT acked on queue {}", msg.getPageNumber(), msg.getMessageNumber(), queueID);
                         }
-                        CopiedSubscription copiedSubscription = copiedSubscriptionMap.get(queueID);
-                        if (copiedSubscription != null) {
-                           copiedSubscription.empty = false;
-                           copiedSubscription.addUp++;
-                           copiedSubscription.sizeUp += msg.getPersistentSize();
+                        if (copiedSubscriptionMap.containsKey(queueID)) {
+                           segment.count(queueID, msg.getPersistentSize());
                         }
                      } else {
                         if (logger.isTraceEnabled()) {
@@ -310,12 +371,55 @@ public class PageCounterRebuildManager implements Runnable {
                }
             }
          }
+         pagesRead.incrementAndGet();
+      }
+   }
+
+   private void merge(Segment[] segments) {
+      for (Segment segment : segments) {
+         segment.counts.forEach((queueID, count) -> {
+            CopiedSubscription copiedSubscription = copiedSubscriptionMap.get(queueID);
+            copiedSubscription.empty = false;
+            copiedSubscription.addUp += count.addUp;
+            copiedSubscription.sizeUp += count.sizeUp;
+         });
+         if (storedLargeMessages != null && !segment.largeMessages.isEmpty()) {
+            // the stores of other addresses may be merging at the same time
+            synchronized (storedLargeMessages) {
+               storedLargeMessages.removeAll(segment.largeMessages);
+            }
+         }
       }
+   }
 
-      logger.debug("Counter rebuilding done for address {}", pgStore.getAddress());
+   /**
+    * A contiguous range of page files counted on its own.
+    */
+   private static class Segment {
+      final long firstPage;
+      final long lastPage;
+      final LongObjectHashMap<PartialCount> counts = new LongObjectHashMap<>();
+      final List<Long> largeMessages = new ArrayList<>();
+
+      Segment(long firstPage, long lastPage) {
+         this.firstPage = firstPage;
+         this.lastPage = lastPage;
+      }
 
-      done();
+      void count(long queueID, long size) {
+         PartialCount count = counts.get(queueID);
+         if (count == null) {
+            count = new PartialCount();
+            counts.put(queueID, count);
+         }
+         count.addUp++;
+         count.sizeUp += size;
+      }
+   }
 
+   private static class PartialCount {
+      int addUp;
+      long sizeUp;
    }
 
    private static class CopiedSubscription {
@@ -357,6 +461,11 @@ public class PageCounterRebuildManager implements Runnable {
          throw new RuntimeException("method not implemented");
       }
 
+      @Override
+      public int getNumberOfAcks() {
+         throw new RuntimeException("method not implemented");
+      }
+
       @Override
       public boolean isDone() {
          return done;
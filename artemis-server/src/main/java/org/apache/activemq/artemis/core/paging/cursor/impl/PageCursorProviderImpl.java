@@ -24,11 +24,13 @@ import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
+import java.util.function.IntPredicate;
 
 import io.netty.util.collection.LongObjectHashMap;
 import org.apache.activemq.artemis.core.filter.Filter;
 import org.apache.activemq.artemis.core.paging.PagedMessage;
 import org.apache.activemq.artemis.core.paging.PagingStore;
+import org.apache.activemq.artemis.core.paging.cursor.ConsumedPage;
 import org.apache.activemq.artemis.core.paging.cursor.PageCursorProvider;
 import org.apache.activemq.artemis.core.paging.cursor.PageSubscription;
 import org.apache.activemq.artemis.core.paging.cursor.PageSubscriptionCounter;
@@ -68,6 +70,9 @@ public class PageCursorProviderImpl implements PageCursorProvider {
 
    private final ConcurrentLongHashMap<PageSubscription> activeCursors = new ConcurrentLongHashMap<>();
 
+   // pages checked by the page compaction, only used by the cleanup
+   private final LongObjectHashMap<CompactedPage> compactedPages = new LongObjectHashMap<>();
+
    public PageCursorProviderImpl(final PagingStore pagingStore,
                                  final StorageManager storageManager) {
       this.pagingStore = pagingStore;
@@ -313,8 +318,12 @@ public class PageCursorProviderImpl implements PageCursorProvider {
             assert pagingStore.getNumberOfPages() >= 0;
 
             if (!pagingStore.hasPendingIO() && (pagingStore.getNumberOfPages() == 0 || pagingStore.getNumberOfPages() == 1 && (pagingStore.getCurrentPage() == null || pagingStore.getCurrentPage().getNumberOfMessages() == 0))) {
-               logger.trace("StopPaging being called on {}, pending={}", pagingStore, pagingStore.hasPendingIO());
-               pagingStore.stopPaging();
+               if (pagingStore.isStopPagingDeferred()) {
+                  logger.trace("StopPaging deferred on {}", pagingStore);
+               } else {
+                  logger.trace("StopPaging being called on {}, pending={}", pagingStore, pagingStore.hasPendingIO());
+                  pagingStore.stopPaging();
+               }
             } else {
                if (logger.isTraceEnabled()) {
                   logger.trace("Couldn't cleanup page on address {} as numberOfPages == {}  and currentPage.numberOfMessages = {}", pagingStore.getAddress(), pagingStore.getNumberOfPages(), pagingStore.getCurrentPage().getNumberOfMessages());
@@ -331,6 +340,102 @@ public class PageCursorProviderImpl implements PageCursorProvider {
       }
       finishCleanup(depagedPages);
 
+      compactPages();
+   }
+
+   /**
+    * Compacts the complete pages where at least {@link PagingStore#getPageCompactionThreshold()} percent of the
+    * messages were acked by every subscription since the page was last compacted.
+    */
+   protected void compactPages() {
+      final int threshold = pagingStore.getPageCompactionThreshold();
+      if (threshold < 0 || !pagingStore.isStarted() || !pagingStore.isStorePaging()) {
+         compactedPages.clear();
+         return;
+      }
+
+      final long firstPage = pagingStore.getFirstPage();
+      final long currentPage = pagingStore.getCurrentWritingPage();
+      final List<Long> removedPages = new ArrayList<>();
+      compactedPages.keySet().forEach(pageId -> {
+         if (pageId < firstPage) {
+            removedPages.add(pageId);
+         }
+      });
+      removedPages.forEach(compactedPages::remove);
+
+      final List<PageSubscription> cursorList = cloneSubscriptions();
+      if (cursorList.isEmpty()) {
+         return;
+      }
+      final ConsumedPage[] consumedPages = new ConsumedPage[cursorList.size()];
+      for (long pageId = firstPage; pageId < currentPage; pageId++) {
+         try {
+            compactPage(cursorList, consumedPages, pageId, threshold);
+         } catch (Throwable e) {
+            ActiveMQServerLogger.LOGGER.problemCleaningPageAddress(pagingStore.getAddress(), e);
+            return;
+         }
+      }
+   }
+
+   private void compactPage(List<PageSubscription> cursorList, ConsumedPage[] consumedPages, long pageId, int threshold) throws Exception {
+      boolean done = true;
+      int minAcks = Integer.MAX_VALUE;
+      for (int i = 0; i < consumedPages.length; i++) {
+         final ConsumedPage consumedPage = cursorList.get(i).locatePageInfo(pageId);
+         if (consumedPage == null) {
+            // not every subscription got to this page yet
+            return;
+         }
+         done &= consumedPage.isDone();
+         minAcks = Math.min(minAcks, consumedPage.getNumberOfAcks());
+         consumedPages[i] = consumedPage;
+      }
+      // pages done on every subscription are removed by the cleanup instead
+      if (done || minAcks == 0) {
+         return;
+      }
+
+      CompactedPage compactedPage = compactedPages.get(pageId);
+      if (compactedPage == null) {
+         if (!pagingStore.checkPageFileExists(pageId)) {
+            return;
+         }
+         compactedPage = new CompactedPage(pagingStore.newPageObject(pageId).readNumberOfMessages());
+         compactedPages.put(pageId, compactedPage);
+      }
+      if (minAcks <= compactedPage.acks || (minAcks - compactedPage.acks) * 100L < (long) threshold * compactedPage.numberOfMessages) {
+         return;
+      }
+
+      final IntPredicate acked = messageNumber -> {
+         for (ConsumedPage consumedPage : consumedPages) {
+            if (!consumedPage.isAck(messageNumber)) {
+               return false;
+            }
+         }
+         return true;
+      };
+      final int removed = pagingStore.compactPage(pageId, acked);
+      if (logger.isDebugEnabled()) {
+         logger.debug("Compaction of page {} on address {} removed {} messages", pageId, pagingStore.getAddress(), removed);
+      }
+      if (removed >= 0) {
+         compactedPage.acks = minAcks;
+      }
+   }
+
+   private static final class CompactedPage {
+
+      final int numberOfMessages;
+
+      // the number of acks on the last compaction
+      int acks;
+
+      CompactedPage(int numberOfMessages) {
+         this.numberOfMessages = numberOfMessages;
+      }
    }
 
    /**
@@ -439,7 +544,7 @@ public class PageCursorProviderImpl implements PageCursorProvider {
 
       storeBookmark(cursorList, currentPage);
 
-      if (!pagingStore.hasPendingIO()) {
+      if (!pagingStore.hasPendingIO() && !pagingStore.isStopPagingDeferred()) {
          pagingStore.stopPaging();
       }
    }
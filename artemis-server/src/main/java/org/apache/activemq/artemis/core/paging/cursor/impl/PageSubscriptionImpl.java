@@ -395,6 +395,19 @@ public final class PageSubscriptionImpl implements PageSubscription {
       return new CursorIterator(browsing);
    }
 
+   /**
+    * Completes a page none of whose messages were routed to this subscription, as if every message was ignored.
+    */
+   private void skipPage(final long pageId) {
+      final PageCursorInfo info = getPageInfo(pageId);
+      final int numberOfMessages = info.countMessages();
+      if (numberOfMessages > 0) {
+         processACK(new PagePositionImpl(pageId, numberOfMessages - 1));
+      }
+      info.setCompleteInfo(new PagePositionImpl(pageId, numberOfMessages));
+      info.checkDone();
+   }
+
    private boolean routed(PagedMessage message) {
       long id = getId();
 
@@ -546,24 +559,7 @@ public final class PageSubscriptionImpl implements PageSubscription {
    @Override
    public PagedMessage queryMessage(PagePosition pos) {
       try {
-         Page page = pageStore.usePage(pos.getPageNr());
-
-         if (page == null) {
-            return null;
-         }
-
-         try {
-            org.apache.activemq.artemis.utils.collections.LinkedList<PagedMessage> messages = page.getMessages();
-            PagedMessage retMessage;
-            if (pos.getMessageNr() < messages.size()) {
-               retMessage = messages.get(pos.getMessageNr());
-            } else {
-               retMessage = null;
-            }
-            return retMessage;
-         } finally {
-            page.usageDown();
-         }
+         return pageStore.readMessage(pos.getPageNr(), pos.getMessageNr());
       } catch (Exception e) {
          store.criticalError(e);
          throw new RuntimeException(e.getMessage(), e);
@@ -933,6 +929,14 @@ public final class PageSubscriptionImpl implements PageSubscription {
          return completePage != null || acks != null && acks.get(messageNumber) != null;
       }
 
+      @Override
+      public synchronized int getNumberOfAcks() {
+         if (completePage != null) {
+            return Integer.MAX_VALUE;
+         }
+         return acks == null ? 0 : acks.size();
+      }
+
       @Override
       public void forEachAck(BiConsumer<Integer, PagePosition> ackConsumer) {
          if (acks != null) {
@@ -1105,6 +1109,27 @@ public final class PageSubscriptionImpl implements PageSubscription {
          });
       }
 
+      /**
+       * Same as {@link #getNumberOfMessages()}, but a page that isn't cached yet is just counted rather than loaded
+       * into the cache, as its messages are not going to be read.
+       */
+      private int countMessages() {
+         if (numberOfMessages < 0 && pageStore.isStorePaging()) {
+            try {
+               final Page page = pageStore.usePage(pageId, false, false);
+               if (page == null) {
+                  numberOfMessages = pageStore.newPageObject(pageId).readNumberOfMessages();
+               } else {
+                  page.usageDown();
+               }
+            } catch (Exception e) {
+               store.criticalError(e);
+               throw new RuntimeException(e.getMessage(), e);
+            }
+         }
+         return getNumberOfMessages();
+      }
+
       private int getNumberOfMessages() {
          if (!pageStore.isStorePaging()) {
             return 0;
@@ -1210,6 +1235,8 @@ public final class PageSubscriptionImpl implements PageSubscription {
                logger.trace("CursorIterator: getting page {} which will contain {}", page, currentPage.getNumberOfMessages());
             }
             currentPageIterator = currentPage.iterator();
+            // no-op unless there's a shared page cache to keep the next page until this cursor gets to it
+            pageStore.prefetchPage(page + 1);
          } catch (Exception e) {
             store.criticalError(e);
             throw new IllegalStateException(e.getMessage(), e);
@@ -1418,7 +1445,18 @@ public final class PageSubscriptionImpl implements PageSubscription {
             PageCursorInfo info = locatePageInfo(page);
             // if pendingDelete or complete, we just move to next page
             if (info == null || info.getCompleteInfo() == null && !info.isPendingDelete()) {
-               return page;
+               // the page being written may still get messages for this queue
+               if (page == pageStore.getCurrentWritingPage() || pageStore.isPageRoutedTo(page, getId())) {
+                  return page;
+               }
+               if (logger.isDebugEnabled()) {
+                  logger.debug("Subscription {} named {} skipping page {} as none of its messages were routed to it", cursorId, queue.getName(), page);
+               }
+               if (!browsing) {
+                  skipPage(page);
+               }
+               page++;
+               continue;
             }
             if (logger.isDebugEnabled()) {
                logger.debug("Subscription {} named {}  moving faster from page {} to next", cursorId, queue.getName(), page);
@@ -1485,6 +1523,11 @@ public final class PageSubscriptionImpl implements PageSubscription {
             toClose.usageDown();
          }
          currentPage = null;
+         LinkedListIterator<PagedMessage> iteratorToClose = currentPageIterator;
+         if (iteratorToClose != null) {
+            iteratorToClose.close();
+         }
+         currentPageIterator = null;
       }
    }
 
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.paging.impl;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.apache.activemq.artemis.core.paging.PageOffloadStore;
+
+/**
+ * A {@link PageOffloadStore} keeping the page files on a directory, usually mounted from a cheaper or larger device
+ * than the paging directory.
+ * <p>
+ * Files are copied to a temporary file first and then renamed, so a file on the store is always complete.
+ */
+public class FileSystemPageOffloadStore implements PageOffloadStore {
+
+   private static final String TMP_SUFFIX = ".tmp";
+
+   private final File directory;
+
+   public FileSystemPageOffloadStore(File directory) {
+      this.directory = directory;
+   }
+
+   public File getDirectory() {
+      return directory;
+   }
+
+   @Override
+   public void put(String folder, String fileName, File file) throws Exception {
+      final Path folderPath = directory.toPath().resolve(folder);
+      Files.createDirectories(folderPath);
+      copy(file.toPath(), folderPath.resolve(fileName));
+   }
+
+   @Override
+   public boolean get(String folder, String fileName, File file) throws Exception {
+      final Path stored = directory.toPath().resolve(folder).resolve(fileName);
+      if (!Files.exists(stored)) {
+         return false;
+      }
+      copy(stored, file.toPath());
+      return true;
+   }
+
+   @Override
+   public void delete(String folder, String fileName) throws Exception {
+      Files.deleteIfExists(directory.toPath().resolve(folder).resolve(fileName));
+   }
+
+   @Override
+   public List<String> list(String folder) throws Exception {
+      final Path folderPath = directory.toPath().resolve(folder);
+      final List<String> files = new ArrayList<>();
+      if (Files.isDirectory(folderPath)) {
+         try (Stream<Path> paths = Files.list(folderPath)) {
+            paths.map(path -> path.getFileName().toString()).filter(name -> !name.endsWith(TMP_SUFFIX)).forEach(files::add);
+         }
+      }
+      return files;
+   }
+
+   @Override
+   public void deleteFolder(String folder) throws Exception {
+      final Path folderPath = directory.toPath().resolve(folder);
+      if (Files.isDirectory(folderPath)) {
+         try (Stream<Path> paths = Files.list(folderPath)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+               Files.deleteIfExists(path);
+            }
+         }
+         Files.deleteIfExists(folderPath);
+      }
+   }
+
+   private static void copy(Path source, Path target) throws Exception {
+      final Path tmp = target.resolveSibling(target.getFileName() + TMP_SUFFIX);
+      try {
+         Files.copy(source, tmp, StandardCopyOption.REPLACE_EXISTING);
+         Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } finally {
+         Files.deleteIfExists(tmp);
+      }
+   }
+
+   @Override
+   public String toString() {
+      return "FileSystemPageOffloadStore{directory=" + directory + '}';
+   }
+}
@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.paging.impl;
+
+import java.lang.invoke.MethodHandles;
+import java.nio.ByteBuffer;
+import java.util.NoSuchElementException;
+
+import io.netty.buffer.Unpooled;
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.buffers.impl.ChannelBufferWrapper;
+import org.apache.activemq.artemis.core.io.SequentialFileFactory;
+import org.apache.activemq.artemis.core.paging.PagedMessage;
+import org.apache.activemq.artemis.core.persistence.StorageManager;
+import org.apache.activemq.artemis.utils.collections.LinkedListIterator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Iterates the messages of a page file mapped in memory, decoding each message only when it is requested.
+ * <p>
+ * The records are decoded straight from the mapped region, there's no intermediate read buffer. The mapping is
+ * released when the iterator is closed.
+ */
+final class MappedPageIterator implements LinkedListIterator<PagedMessage> {
+
+   private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+   private final StorageManager storageManager;
+
+   private final SimpleString storeName;
+
+   private final SequentialFileFactory fileFactory;
+
+   private final String fileName;
+
+   private final long pageId;
+
+   private final PageReadWriter.SuspectFileCallback suspectFileCallback;
+
+   private ByteBuffer mappedBuffer;
+
+   private final ChannelBufferWrapper wrapper;
+
+   private final int fileSize;
+
+   private int position;
+
+   private int messageNumber;
+
+   private PagedMessage next;
+
+   private PagedMessage last;
+
+   private boolean repeat;
+
+   MappedPageIterator(StorageManager storageManager,
+                      SimpleString storeName,
+                      SequentialFileFactory fileFactory,
+                      String fileName,
+                      long pageId,
+                      ByteBuffer mappedBuffer,
+                      PageReadWriter.SuspectFileCallback suspectFileCallback) {
+      this.storageManager = storageManager;
+      this.storeName = storeName;
+      this.fileFactory = fileFactory;
+      this.fileName = fileName;
+      this.pageId = pageId;
+      this.mappedBuffer = mappedBuffer;
+      this.suspectFileCallback = suspectFileCallback;
+      this.fileSize = mappedBuffer.limit();
+      this.wrapper = new ChannelBufferWrapper(Unpooled.wrappedBuffer(mappedBuffer));
+   }
+
+   @Override
+   public boolean hasNext() {
+      if (repeat) {
+         return true;
+      }
+      if (next == null) {
+         next = readNext();
+      }
+      return next != null;
+   }
+
+   @Override
+   public PagedMessage next() {
+      if (repeat) {
+         repeat = false;
+         return last;
+      }
+      if (!hasNext()) {
+         throw new NoSuchElementException();
+      }
+      last = next;
+      next = null;
+      return last;
+   }
+
+   @Override
+   public void repeat() {
+      if (last != null) {
+         repeat = true;
+      }
+   }
+
+   @Override
+   public PagedMessage removeLastElement() {
+      throw new UnsupportedOperationException("page files are read only");
+   }
+
+   @Override
+   public void remove() {
+      throw new UnsupportedOperationException("page files are read only");
+   }
+
+   @Override
+   public void close() {
+      final ByteBuffer buffer = mappedBuffer;
+      if (buffer != null) {
+         mappedBuffer = null;
+         next = null;
+         fileFactory.releaseDirectBuffer(buffer);
+      }
+   }
+
+   private PagedMessage readNext() {
+      final ByteBuffer buffer = mappedBuffer;
+      if (buffer == null) {
+         return null;
+      }
+      while (fileSize - position >= PageReadWriter.HEADER_AND_TRAILER_SIZE) {
+         final byte startByte = buffer.get(position);
+         if (startByte != PageReadWriter.START_BYTE && startByte != PageReadWriter.COMPRESSED_START_BYTE) {
+            return onSuspect();
+         }
+         final int encodedSize = buffer.getInt(position + 1);
+         if (encodedSize < 0 || encodedSize > fileSize - position - PageReadWriter.HEADER_AND_TRAILER_SIZE) {
+            return onSuspect();
+         }
+         final int endPosition = position + PageReadWriter.HEADER_AND_TRAILER_SIZE - 1 + encodedSize;
+         if (buffer.get(endPosition) != PageReadWriter.END_BYTE) {
+            return onSuspect();
+         }
+         if (encodedSize == 0) {
+            // a message removed by the page compaction: it just takes its message number
+            messageNumber++;
+            position = endPosition + 1;
+            continue;
+         }
+
+         final int bodyPosition = position + PageReadWriter.HEADER_AND_TRAILER_SIZE - 1;
+         final ActiveMQBuffer record;
+         if (startByte == PageReadWriter.COMPRESSED_START_BYTE) {
+            record = PageReadWriter.decompress(buffer, bodyPosition, encodedSize);
+         } else {
+            wrapper.setIndex(bodyPosition, endPosition);
+            record = wrapper;
+         }
+         final PagedMessageImpl msg = new PagedMessageImpl(record.readableBytes(), storageManager);
+         msg.decode(record);
+         msg.initMessage(storageManager);
+         msg.setPageNumber(pageId).setMessageNumber(messageNumber);
+
+         if (logger.isTraceEnabled()) {
+            logger.trace("Reading mapped message {} on pageId={} for address={}", msg, pageId, storeName);
+         }
+
+         messageNumber++;
+         position = endPosition + 1;
+         return msg;
+      }
+      return null;
+   }
+
+   private PagedMessage onSuspect() {
+      if (suspectFileCallback != null) {
+         suspectFileCallback.onSuspect(fileName, position, messageNumber + 1);
+      }
+      // nothing else can be trusted after an invalid record
+      position = fileSize;
+      return null;
+   }
+}
@@ -63,6 +63,10 @@ public final class Page  {
       return referenceCounter.decrement();
    }
 
+   public int getUsage() {
+      return referenceCounter.getCount();
+   }
+
    /**
     * to be called when the page is supposed to be released
     */
@@ -74,6 +78,8 @@ public final class Page  {
 
    private boolean suspiciousRecords = false;
 
+   private volatile boolean deleted;
+
    private volatile int numberOfMessages;
 
    private final SequentialFile file;
@@ -90,6 +96,16 @@ public final class Page  {
 
    private ByteBuffer readFileBuffer;
 
+   private volatile PageIndex index;
+
+   private volatile boolean readMapped;
+
+   private volatile int compressionThreshold = -1;
+
+   private volatile PageSummary summary;
+
+   private Consumer<PageSummary> summaryCallback;
+
    public Page(final SimpleString storeName,
                final StorageManager storageManager,
                final SequentialFileFactory factory,
@@ -106,11 +122,83 @@ public final class Page  {
       return pageId;
    }
 
+   /**
+    * When reading mapped, a complete page that isn't loaded yet is iterated straight from a memory mapping of its file,
+    * decoding each message as the iterator reaches it. Its messages are not kept on this page.
+    */
+   public void setReadMapped(boolean readMapped) {
+      this.readMapped = readMapped;
+   }
+
+   public boolean isReadMapped() {
+      return readMapped;
+   }
+
+   /**
+    * Messages written from now on whose encoding is at least {@code compressionThreshold} bytes are compressed, unless
+    * it's {@code -1}.
+    */
+   public void setCompressionThreshold(int compressionThreshold) {
+      this.compressionThreshold = compressionThreshold;
+   }
+
+   public int getCompressionThreshold() {
+      return compressionThreshold;
+   }
+
+   /**
+    * Starts a summary of the page, only valid if nothing was written to its file yet.
+    */
+   public void trackSummary() {
+      this.summary = new PageSummary();
+   }
+
+   /**
+    * {@return the queues the messages of this page were routed to, or {@code null} if the page wasn't read nor written
+    * from its beginning}
+    */
+   public PageSummary getSummary() {
+      return summary;
+   }
+
+   /**
+    * Called with the summary of the page once it's read.
+    */
+   public void summaryCallback(Consumer<PageSummary> summaryCallback) {
+      this.summaryCallback = summaryCallback;
+   }
+
    public LinkedListIterator<PagedMessage> iterator() throws Exception {
+      if (readMapped) {
+         final LinkedListIterator<PagedMessage> mappedIterator = mappedIterator();
+         if (mappedIterator != null) {
+            return mappedIterator;
+         }
+      }
       LinkedList<PagedMessage> messages = getMessages();
       return messages.iterator();
    }
 
+   private synchronized LinkedListIterator<PagedMessage> mappedIterator() throws Exception {
+      // an open file may be being written, so only complete pages are mapped
+      if (messages != null || file.isOpen() || !file.exists()) {
+         return null;
+      }
+      file.open();
+      try {
+         final ByteBuffer mappedBuffer = file.map(0, file.size());
+         if (mappedBuffer == null) {
+            return null;
+         }
+         if (logger.isDebugEnabled()) {
+            logger.debug("mapping page {} on address = {}", pageId, storeName);
+         }
+         return new MappedPageIterator(storageManager, storeName, fileFactory, file.getFileName(), pageId, mappedBuffer, this::markFileAsSuspect);
+      } finally {
+         file.close();
+      }
+   }
+
    public synchronized LinkedList<PagedMessage> getMessages() throws Exception {
       if (messages == null) {
          boolean wasOpen = file.isOpen();
@@ -129,6 +217,87 @@ public final class Page  {
       return messages;
    }
 
+   /**
+    * Returns a single message of the page. When the page messages are not in memory yet, the message is read directly
+    * from its position on the file through the {@link PageIndex}, which is built on the first use.
+    *
+    * @return the message or {@code null} if the page has no such message
+    */
+   public synchronized PagedMessage getMessage(int messageNumber) throws Exception {
+      if (messages != null || file.isOpen()) {
+         // an open file may be being written, we should not move its position
+         final LinkedList<PagedMessage> messages = getMessages();
+         if (messages.size() == numberOfMessages) {
+            return messageNumber < messages.size() ? messages.get(messageNumber) : null;
+         }
+         // a compacted page doesn't keep the removed messages, so the list has gaps
+         for (PagedMessage message : messages) {
+            if (message.getMessageNumber() >= messageNumber) {
+               return message.getMessageNumber() == messageNumber ? message : null;
+            }
+         }
+         return null;
+      }
+      if (!file.exists()) {
+         return null;
+      }
+      file.open();
+      try {
+         if (index == null || index.getFileSize() != file.size()) {
+            // the file was replaced by the page compaction since it was indexed
+            index = readIndex();
+         }
+         if (messageNumber >= index.getNumberOfMessages()) {
+            return null;
+         }
+         if (logger.isDebugEnabled()) {
+            logger.debug("reading message {} from page {} on address = {}", messageNumber, pageId, storeName);
+         }
+         return PageReadWriter.readMessage(storageManager, storeName, fileFactory, file, pageId, index.getPosition(messageNumber), index.getIndexedMessageNumber(messageNumber), messageNumber);
+      } finally {
+         file.close();
+      }
+   }
+
+   /**
+    * Reads the number of messages and the {@link PageIndex} of the page without decoding its messages, unless they were
+    * read already.
+    */
+   public synchronized void loadIndex() throws Exception {
+      if (messages != null || index != null) {
+         return;
+      }
+      final boolean wasOpen = file.isOpen();
+      if (!wasOpen) {
+         if (!file.exists()) {
+            return;
+         }
+         file.open();
+      }
+      try {
+         index = readIndex();
+      } finally {
+         if (!wasOpen) {
+            file.close();
+         }
+      }
+   }
+
+   private PageIndex readIndex() throws Exception {
+      final PageIndex index = new PageIndex();
+      index.setFileSize(file.size());
+      numberOfMessages = PageReadWriter.readFromSequentialFile(storageManager, storeName, fileFactory, file, pageId, null, PageReadWriter.SKIP_ALL, index::add, this::markFileAsSuspect, this::setSize);
+      return index;
+   }
+
+   PageIndex getIndex() {
+      return index;
+   }
+
+   void setIndex(PageIndex index) {
+      this.index = index;
+   }
+
    private void addMessage(PagedMessage message) {
       if (messages == null) {
          messages = new LinkedListImpl<>();
@@ -165,7 +334,25 @@ public final class Page  {
 
       final LinkedList<PagedMessage> messages = new LinkedListImpl<>();
 
-      numberOfMessages = PageReadWriter.readFromSequentialFile(storage, storeName, fileFactory, file, this.pageId, messages::addTail, onlyLargeMessages ? PageReadWriter.ONLY_LARGE : PageReadWriter.NO_SKIP, this::markFileAsSuspect, this::setSize);
+      final PageIndex index = new PageIndex();
+      index.setFileSize(size);
+
+      if (onlyLargeMessages) {
+         numberOfMessages = PageReadWriter.readFromSequentialFile(storage, storeName, fileFactory, file, this.pageId, messages::addTail, PageReadWriter.ONLY_LARGE, index::add, this::markFileAsSuspect, this::setSize);
+      } else {
+         final PageSummary summary = new PageSummary();
+         numberOfMessages = PageReadWriter.readFromSequentialFile(storage, storeName, fileFactory, file, this.pageId, message -> {
+            summary.add(message);
+            messages.addTail(message);
+         }, PageReadWriter.NO_SKIP, index::add, this::markFileAsSuspect, this::setSize);
+         this.summary = summary;
+         final Consumer<PageSummary> summaryCallback = this.summaryCallback;
+         if (summaryCallback != null) {
+            summaryCallback.accept(summary);
+         }
+      }
+
+      this.index = index;
 
       return messages;
    }
@@ -181,22 +368,41 @@ public final class Page  {
       return sb.toString();
    }
 
-   public synchronized void write(final PagedMessage message, boolean lineUp, boolean originallyReplicated) throws Exception {
-      writeDirect(message);
+   /**
+    * @return the number of bytes written to the page file
+    */
+   public synchronized int write(final PagedMessage message, boolean lineUp, boolean originallyReplicated) throws Exception {
+      final int written = writeDirect(message);
       storageManager.pageWrite(storeName, message, pageId, lineUp, originallyReplicated);
+      return written;
    }
 
    /**
     * This write will not interact back with the storage manager. To avoid ping pongs with Journal retaining events and
     * any other stuff.
+    *
+    * @return the number of bytes written to the page file
     */
-   public synchronized void writeDirect(PagedMessage message) throws Exception {
+   public synchronized int writeDirect(PagedMessage message) throws Exception {
       if (!file.isOpen()) {
          throw ActiveMQMessageBundle.BUNDLE.cannotWriteToClosedFile(file);
       }
       addMessage(message);
-      this.size += PageReadWriter.writeMessage(message, fileFactory, file);
+      final PageSummary summary = this.summary;
+      if (summary != null) {
+         summary.add(message);
+      }
+      final PageIndex index = this.index;
+      if (index != null) {
+         index.add(numberOfMessages, (int) size);
+      }
+      final int written = PageReadWriter.writeMessage(message, fileFactory, file, compressionThreshold);
+      this.size += written;
       numberOfMessages++;
+      if (index != null) {
+         index.setFileSize(size);
+      }
+      return written;
    }
 
    public void sync() throws Exception {
@@ -257,6 +463,8 @@ public final class Page  {
    }
 
    public boolean delete(final LinkedList<PagedMessage> messages) throws Exception {
+      deleted = true;
+
       if (storageManager != null) {
          storageManager.pageDeleted(storeName, pageId);
       }
@@ -338,6 +546,10 @@ public final class Page  {
       return numberOfMessages;
    }
 
+   public boolean isDeleted() {
+      return deleted;
+   }
+
    public long getSize() {
       return size;
    }
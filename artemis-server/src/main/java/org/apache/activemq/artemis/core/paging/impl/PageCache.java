@@ -16,9 +16,12 @@
  */
 package org.apache.activemq.artemis.core.paging.impl;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.function.Consumer;
 
 import io.netty.util.collection.LongObjectHashMap;
+import org.apache.activemq.artemis.core.paging.PagingManager;
 import org.apache.activemq.artemis.core.paging.PagingStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,6 +29,14 @@ import java.lang.invoke.MethodHandles;
 
 /**
  * This is a simple cache where we keep Page objects only while they are being used.
+ * <p>
+ * It also keeps the {@link PageIndex} of the last pages queried by position, as these pages are usually queried again
+ * after being released (e.g. when reloading prepared acks).
+ * <p>
+ * The {@link PageSummary} of every page read or written is kept until the page is removed, so subscriptions can skip
+ * pages without using them.
+ * <p>
+ * When the broker has a {@link SharedPageCache} the released pages are kept here until that cache evicts them.
  */
 public class PageCache {
 
@@ -37,10 +48,40 @@ public class PageCache {
       this.owner = owner;
    }
 
+   private static final int MAX_PAGE_INDEXES = 32;
+
    private final LongObjectHashMap<Page> usedPages = new LongObjectHashMap<>();
 
+   private final Map<Long, PageIndex> pageIndexes = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Long, PageIndex> eldest) {
+         return size() > MAX_PAGE_INDEXES;
+      }
+   };
+
+   private final LongObjectHashMap<PageSummary> pageSummaries = new LongObjectHashMap<>();
+
    public synchronized Page get(long pageID) {
-      return usedPages.get(pageID);
+      final Page page = usedPages.get(pageID);
+      if (page != null && page.getUsage() == 0) {
+         final SharedPageCache sharedCache = getSharedCache();
+         if (sharedCache != null) {
+            sharedCache.reuse(this, page);
+         }
+      }
+      return page;
+   }
+
+   /**
+    * Same as {@link #get(long)} != null, without taking the page back from the {@link SharedPageCache}.
+    */
+   synchronized boolean contains(long pageID) {
+      return usedPages.containsKey(pageID);
+   }
+
+   SharedPageCache getSharedCache() {
+      final PagingManager pagingManager = owner.getPagingManager();
+      return pagingManager == null ? null : pagingManager.getSharedPageCache();
    }
 
    public synchronized void forEachUsedPage(Consumer<Page> consumerPage) {
@@ -60,16 +101,93 @@ public class PageCache {
    }
 
 
-   public synchronized void removePage(Page page) {
-      if (usedPages.remove(page.getPageId()) != null) {
+   synchronized PageIndex getIndex(long pageID) {
+      return pageIndexes.get(pageID);
+   }
+
+   synchronized void putIndex(long pageID, PageIndex index) {
+      pageIndexes.put(pageID, index);
+   }
+
+   synchronized void removeIndex(long pageID) {
+      pageIndexes.remove(pageID);
+   }
+
+   synchronized PageSummary getSummary(long pageID) {
+      return pageSummaries.get(pageID);
+   }
+
+   synchronized void putSummary(long pageID, PageSummary summary) {
+      pageSummaries.put(pageID, summary);
+   }
+
+   synchronized void removeSummary(long pageID) {
+      pageSummaries.remove(pageID);
+   }
+
+   /**
+    * Removes the page if nobody is using it, so the next use reads its file again.
+    *
+    * @return {@code false} if the page is in use
+    */
+   synchronized boolean evictUnused(long pageID) {
+      final Page page = usedPages.get(pageID);
+      if (page != null) {
+         if (page.getUsage() > 0) {
+            return false;
+         }
+         usedPages.remove(pageID);
+         final SharedPageCache sharedCache = getSharedCache();
+         if (sharedCache != null) {
+            sharedCache.remove(this, page);
+         }
+      }
+      pageIndexes.remove(pageID);
+      return true;
+   }
+
+   public void removePage(Page page) {
+      final SharedPageCache sharedCache = getSharedCache();
+      if (sharedCache != null) {
+         // the shared cache may evict pages from other stores, so it is never called while holding this lock
+         if (page.getUsage() == 0 && !page.isDeleted() && sharedCache.retain(this, page)) {
+            if (logger.isDebugEnabled()) {
+               logger.debug("--- Retaining page {} on UsedPages for destination {}", page.getPageId(), owner.getAddress());
+            }
+            return;
+         }
+         sharedCache.remove(this, page);
+      }
+      synchronized (this) {
+         if (usedPages.remove(page.getPageId()) != null) {
+            if (logger.isDebugEnabled()) {
+               logger.debug("--- Releasing page {} on UsedPages for destination {}", page.getPageId(), owner.getAddress());
+            }
+         }
+      }
+   }
+
+   /**
+    * Called by the {@link SharedPageCache} when a retained page is evicted.
+    */
+   synchronized void evictPage(Page page) {
+      // the page could have been used again after it was evicted
+      if (page.getUsage() == 0 && usedPages.get(page.getPageId()) == page) {
+         usedPages.remove(page.getPageId());
          if (logger.isDebugEnabled()) {
-            logger.debug("--- Releasing page {} on UsedPages for destination {}", page.getPageId(), owner.getAddress());
+            logger.debug("--- Evicting page {} on UsedPages for destination {}", page.getPageId(), owner.getAddress());
          }
       }
    }
 
    public synchronized void clear() {
+      final SharedPageCache sharedCache = getSharedCache();
+      if (sharedCache != null) {
+         sharedCache.removeAll(this);
+      }
       usedPages.clear();
+      pageIndexes.clear();
+      pageSummaries.clear();
    }
 
 
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.paging.impl;
+
+import java.util.Arrays;
+
+/**
+ * Sparse index of the record positions on a page file.
+ * <p>
+ * Only the position of every {@link #STRIDE}th message is kept, so a single message is read by seeking to the closest
+ * indexed record before it and skipping at most {@code STRIDE - 1} records without decoding them.
+ */
+final class PageIndex {
+
+   static final int STRIDE = 16;
+
+   private int[] positions = new int[8];
+
+   private int numberOfMessages;
+
+   private long fileSize;
+
+   /**
+    * Called for every record of the page, in order.
+    */
+   void add(final int messageNumber, final int position) {
+      if (messageNumber != numberOfMessages) {
+         // records are only ever indexed in order, anything else means the page is being read again
+         return;
+      }
+      if (messageNumber % STRIDE == 0) {
+         final int slot = messageNumber / STRIDE;
+         if (slot == positions.length) {
+            positions = Arrays.copyOf(positions, positions.length * 2);
+         }
+         positions[slot] = position;
+      }
+      numberOfMessages++;
+   }
+
+   int getNumberOfMessages() {
+      return numberOfMessages;
+   }
+
+   /**
+    * {@return the size of the file when it was indexed}
+    */
+   long getFileSize() {
+      return fileSize;
+   }
+
+   void setFileSize(final long fileSize) {
+      this.fileSize = fileSize;
+   }
+
+   /**
+    * {@return the number of the closest indexed message at or before {@code messageNumber}}
+    */
+   int getIndexedMessageNumber(final int messageNumber) {
+      return messageNumber - messageNumber % STRIDE;
+   }
+
+   /**
+    * {@return the file position of the closest indexed message at or before {@code messageNumber}}
+    */
+   int getPosition(final int messageNumber) {
+      if (messageNumber < 0 || messageNumber >= numberOfMessages) {
+         throw new IndexOutOfBoundsException("messageNumber=" + messageNumber + ", numberOfMessages=" + numberOfMessages);
+      }
+      return positions[messageNumber / STRIDE];
+   }
+
+   @Override
+   public String toString() {
+      return "PageIndex{numberOfMessages=" + numberOfMessages + ", stride=" + STRIDE + "}";
+   }
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.paging.impl;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tracks the rates messages are produced to and consumed from an address, so a {@link PagingStoreImpl} can tell how
+ * much the address is going to grow within a given horizon.
+ * <p>
+ * The bytes produced and consumed are sampled {@link #SAMPLES_PER_HORIZON} times per horizon, and each sample is
+ * smoothed into the rates according to how long it took: a burst shorter than the horizon barely moves them, while
+ * after an idle horizon the previous rates are mostly forgotten.
+ */
+public class PageModePredictor {
+
+   static final int SAMPLES_PER_HORIZON = 10;
+
+   private final long horizon;
+
+   private final long samplePeriod;
+
+   private final LongAdder produced = new LongAdder();
+
+   private final LongAdder consumed = new LongAdder();
+
+   private long lastProduced;
+
+   private long lastConsumed;
+
+   private volatile long lastSample;
+
+   // bytes per millisecond
+   private volatile double produceRate;
+
+   private volatile double consumeRate;
+
+   public PageModePredictor(long horizon, long now) {
+      if (horizon <= 0) {
+         throw new IllegalArgumentException("horizon must be greater than 0: " + horizon);
+      }
+      this.horizon = horizon;
+      this.samplePeriod = Math.max(1, horizon / SAMPLES_PER_HORIZON);
+      this.lastSample = now;
+   }
+
+   public long getHorizon() {
+      return horizon;
+   }
+
+   public long getSamplePeriod() {
+      return samplePeriod;
+   }
+
+   public void produced(long bytes) {
+      produced.add(bytes);
+   }
+
+   public void consumed(long bytes) {
+      consumed.add(bytes);
+   }
+
+   /**
+    * Takes a new sample of the rates if at least a sample period passed since the previous one.
+    */
+   public void sample(long now) {
+      if (now - lastSample < samplePeriod) {
+         return;
+      }
+      synchronized (this) {
+         final long elapsed = now - lastSample;
+         if (elapsed < samplePeriod) {
+            // sampled by someone else meanwhile
+            return;
+         }
+         final long totalProduced = produced.sum();
+         final long totalConsumed = consumed.sum();
+         final double weight = 1 - Math.exp(-(double) elapsed / horizon);
+         produceRate += ((double) (totalProduced - lastProduced) / elapsed - produceRate) * weight;
+         consumeRate += ((double) (totalConsumed - lastConsumed) / elapsed - consumeRate) * weight;
+         lastProduced = totalProduced;
+         lastConsumed = totalConsumed;
+         lastSample = now;
+      }
+   }
+
+   /**
+    * {@return how many bytes the address is expected to grow within the horizon, negative if it's draining}
+    */
+   public long getGrowth() {
+      return (long) ((produceRate - consumeRate) * horizon);
+   }
+
+   /**
+    * {@return the smoothed rate messages are produced to the address, in bytes per second}
+    */
+   public double getProduceRate() {
+      return produceRate * 1000;
+   }
+
+   /**
+    * {@return the smoothed rate messages are consumed from the address, in bytes per second}
+    */
+   public double getConsumeRate() {
+      return consumeRate * 1000;
+   }
+
+   @Override
+   public String toString() {
+      return "PageModePredictor{horizon=" + horizon + ", produceRate=" + getProduceRate() + ", consumeRate=" + getConsumeRate() + '}';
+   }
+}
@@ -18,10 +18,15 @@ package org.apache.activemq.artemis.core.paging.impl;
 
 import java.nio.ByteBuffer;
 import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.api.core.ActiveMQBuffers;
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.buffers.impl.ChannelBufferWrapper;
 import org.apache.activemq.artemis.core.io.SequentialFile;
@@ -44,12 +49,15 @@ public class PageReadWriter {
 
    public static final int SIZE_RECORD = DataConstants.SIZE_BYTE + DataConstants.SIZE_INT + DataConstants.SIZE_BYTE;
 
-   private static final byte START_BYTE = (byte) '{';
+   static final byte START_BYTE = (byte) '{';
 
-   private static final byte END_BYTE = (byte) '}';
+   static final byte END_BYTE = (byte) '}';
+
+   // starts a record whose body is the size of the message encoding followed by that same encoding deflated
+   static final byte COMPRESSED_START_BYTE = (byte) '[';
 
    //sizeOf(START_BYTE) + sizeOf(MESSAGE LENGTH) + sizeOf(END_BYTE)
-   private static final int HEADER_AND_TRAILER_SIZE = DataConstants.SIZE_INT + 2;
+   static final int HEADER_AND_TRAILER_SIZE = DataConstants.SIZE_INT + 2;
    private static final int MINIMUM_MSG_PERSISTENT_SIZE = HEADER_AND_TRAILER_SIZE;
    private static final int MIN_CHUNK_SIZE = Env.osPageSize();
 
@@ -65,6 +73,10 @@ public class PageReadWriter {
       void readComple(int size);
    }
 
+   public interface RecordPositionCallback {
+      void onRecord(int messageNumber, int position);
+   }
+
    public static final PageRecordFilter ONLY_LARGE = (buffer) -> !PagedMessageImpl.isLargeMessage(buffer);
 
    public static final PageRecordFilter NO_SKIP = (buffer) -> false;
@@ -72,7 +84,25 @@ public class PageReadWriter {
    public static final PageRecordFilter SKIP_ALL = (buffer) -> true;
 
    public static int writeMessage(PagedMessage message, SequentialFileFactory fileFactory, SequentialFile file) throws Exception {
+      return writeMessage(message, fileFactory, file, -1);
+   }
+
+   /**
+    * Writes the record of {@code message}, compressed if its encoding is at least {@code compressionThreshold} bytes and
+    * compressing makes the record smaller. Large messages are never compressed.
+    *
+    * @return the size of the record
+    */
+   public static int writeMessage(PagedMessage message, SequentialFileFactory fileFactory, SequentialFile file, int compressionThreshold) throws Exception {
       final int messageEncodedSize = message.getEncodeSize();
+      if (compressionThreshold >= 0 && messageEncodedSize >= compressionThreshold && !message.getMessage().isLargeMessage()) {
+         final ByteBuffer buffer = compressRecord(message, messageEncodedSize, fileFactory);
+         if (buffer != null) {
+            final int bufferSize = buffer.remaining();
+            writeRecord(buffer, fileFactory, file);
+            return bufferSize;
+         }
+      }
       final int bufferSize = messageEncodedSize + SIZE_RECORD;
       final ByteBuffer buffer = fileFactory.newBuffer(bufferSize);
       ChannelBufferWrapper activeMQBuffer = new ChannelBufferWrapper(Unpooled.wrappedBuffer(buffer));
@@ -84,6 +114,11 @@ public class PageReadWriter {
       assert (activeMQBuffer.readableBytes() == bufferSize) : "messageEncodedSize is different from expected";
       //buffer limit and position are the same
       assert (buffer.remaining() == bufferSize) : "buffer position or limit are changed";
+      writeRecord(buffer, fileFactory, file);
+      return bufferSize;
+   }
+
+   private static void writeRecord(ByteBuffer buffer, SequentialFileFactory fileFactory, SequentialFile file) throws Exception {
       if (fileFactory.supportsIndividualContext()) {
          OperationContext context = OperationContextImpl.getContext();
          if (context != null) {
@@ -93,10 +128,68 @@ public class PageReadWriter {
       } else {
          file.writeDirect(buffer, false);
       }
-      return bufferSize;
    }
 
+   /**
+    * {@return the compressed record of the message, or {@code null} if compressing wouldn't make the record smaller}
+    */
+   private static ByteBuffer compressRecord(PagedMessage message, int messageEncodedSize, SequentialFileFactory fileFactory) {
+      if (messageEncodedSize <= DataConstants.SIZE_INT) {
+         return null;
+      }
+      final byte[] encoded = new byte[messageEncodedSize];
+      final ActiveMQBuffer encodedBuffer = ActiveMQBuffers.wrappedBuffer(encoded);
+      encodedBuffer.writerIndex(0);
+      message.encode(encodedBuffer);
+
+      // not worth it unless the record gets smaller, including the size field
+      final byte[] compressed = new byte[messageEncodedSize - DataConstants.SIZE_INT];
+      final int compressedSize;
+      final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+      try {
+         deflater.setInput(encoded, 0, encodedBuffer.writerIndex());
+         deflater.finish();
+         compressedSize = deflater.deflate(compressed);
+         if (!deflater.finished()) {
+            return null;
+         }
+      } finally {
+         deflater.end();
+      }
+
+      final int recordSize = DataConstants.SIZE_INT + compressedSize;
+      final ByteBuffer buffer = fileFactory.newBuffer(recordSize + SIZE_RECORD);
+      ChannelBufferWrapper activeMQBuffer = new ChannelBufferWrapper(Unpooled.wrappedBuffer(buffer));
+      activeMQBuffer.clear();
+      activeMQBuffer.writeByte(COMPRESSED_START_BYTE);
+      activeMQBuffer.writeInt(recordSize);
+      activeMQBuffer.writeInt(encodedBuffer.writerIndex());
+      activeMQBuffer.writeBytes(compressed, 0, compressedSize);
+      activeMQBuffer.writeByte(END_BYTE);
+      assert (buffer.remaining() == recordSize + SIZE_RECORD) : "buffer position or limit are changed";
+      return buffer;
+   }
 
+   /**
+    * {@return the message encoding of the compressed record body at {@code position} of {@code buffer}}
+    */
+   static ActiveMQBuffer decompress(ByteBuffer buffer, int position, int length) {
+      final int messageSize = buffer.getInt(position);
+      final byte[] message = new byte[messageSize];
+      final Inflater inflater = new Inflater();
+      try {
+         inflater.setInput(buffer.duplicate().limit(position + length).position(position + DataConstants.SIZE_INT));
+         final int inflated = inflater.inflate(message);
+         if (inflated != messageSize || !inflater.finished()) {
+            throw new IllegalStateException("Compressed page record is corrupt, expected " + messageSize + " bytes but got " + inflated);
+         }
+      } catch (DataFormatException e) {
+         throw new IllegalStateException("Compressed page record is corrupt", e);
+      } finally {
+         inflater.end();
+      }
+      return ActiveMQBuffers.wrappedBuffer(message);
+   }
 
    private static ChannelBufferWrapper wrapWhole(ByteBuffer fileBuffer) {
       final int position = fileBuffer.position();
@@ -126,12 +219,62 @@ public class PageReadWriter {
                                              PageRecordFilter skipRecord,
                                              SuspectFileCallback suspectFileCallback,
                                              ReadCallback readCallback) throws Exception {
+      return readFromSequentialFile(storage, storeName, fileFactory, file, pageId, messages, skipRecord, null, suspectFileCallback, readCallback);
+   }
+
+   public static int readFromSequentialFile(StorageManager storage,
+                                             SimpleString storeName,
+                                             SequentialFileFactory fileFactory,
+                                             SequentialFile file,
+                                             long pageId,
+                                             Consumer<PagedMessage> messages,
+                                             PageRecordFilter skipRecord,
+                                             RecordPositionCallback recordPositionCallback,
+                                             SuspectFileCallback suspectFileCallback,
+                                             ReadCallback readCallback) throws Exception {
+      return readFromSequentialFile(storage, storeName, fileFactory, file, pageId, 0, 0, 0, Integer.MAX_VALUE, messages, skipRecord, recordPositionCallback, suspectFileCallback, readCallback);
+   }
+
+   /**
+    * Reads the single message {@code messageNumber}, starting from the record of message {@code startMessageNumber}
+    * at {@code startPosition} (as recorded by a {@link RecordPositionCallback}). The records in between are skipped
+    * without being decoded.
+    *
+    * @return the message or {@code null} if the page doesn't have a valid record for it
+    */
+   public static PagedMessage readMessage(StorageManager storage,
+                                          SimpleString storeName,
+                                          SequentialFileFactory fileFactory,
+                                          SequentialFile file,
+                                          long pageId,
+                                          int startPosition,
+                                          int startMessageNumber,
+                                          int messageNumber) throws Exception {
+      final PagedMessage[] message = new PagedMessage[1];
+      readFromSequentialFile(storage, storeName, fileFactory, file, pageId, startPosition, startMessageNumber, messageNumber, messageNumber, msg -> message[0] = msg, NO_SKIP, null, null, null);
+      return message[0];
+   }
+
+   private static int readFromSequentialFile(StorageManager storage,
+                                             SimpleString storeName,
+                                             SequentialFileFactory fileFactory,
+                                             SequentialFile file,
+                                             long pageId,
+                                             int startPosition,
+                                             int startMessageNumber,
+                                             int firstDecodedMessageNumber,
+                                             int lastMessageNumber,
+                                             Consumer<PagedMessage> messages,
+                                             PageRecordFilter skipRecord,
+                                             RecordPositionCallback recordPositionCallback,
+                                             SuspectFileCallback suspectFileCallback,
+                                             ReadCallback readCallback) throws Exception {
       final int fileSize = (int) file.size();
-      file.position(0);
-      int processedBytes = 0;
+      file.position(startPosition);
+      int processedBytes = startPosition;
       ByteBuffer fileBuffer = null;
       ChannelBufferWrapper fileBufferWrapper;
-      int totalMessageCount = 0;
+      int totalMessageCount = startMessageNumber;
 
       try {
 
@@ -156,7 +299,7 @@ public class PageReadWriter {
                }
 
                final byte startByte = fileBuffer.get();
-               if (startByte == START_BYTE) {
+               if (startByte == START_BYTE || startByte == COMPRESSED_START_BYTE) {
 
                   final int encodedSize = fileBuffer.getInt();
                   final int nextPosition = processedBytes + HEADER_AND_TRAILER_SIZE + encodedSize;
@@ -177,11 +320,22 @@ public class PageReadWriter {
 
                         fileBufferWrapper.setIndex(fileBuffer.position(), endPosition);
 
-                        final boolean skipMessage = skipRecord.skip(fileBufferWrapper);
+                        if (recordPositionCallback != null) {
+                           recordPositionCallback.onRecord(totalMessageCount, processedBytes);
+                        }
+
+                        // an empty record is a message removed by the page compaction, it only keeps the message numbers
+                        // compressed messages are never large messages
+                        final boolean skipMessage = encodedSize == 0 || totalMessageCount < firstDecodedMessageNumber || skipRecord == SKIP_ALL || (startByte == COMPRESSED_START_BYTE && skipRecord == ONLY_LARGE);
+
+                        ActiveMQBuffer record = fileBufferWrapper;
+                        if (!skipMessage && startByte == COMPRESSED_START_BYTE) {
+                           record = decompress(fileBuffer, fileBuffer.position(), encodedSize);
+                        }
 
-                        if (!skipMessage) {
-                           final PagedMessageImpl msg = new PagedMessageImpl(encodedSize, storage);
-                           msg.decode(fileBufferWrapper);
+                        if (!skipMessage && !skipRecord.skip(record)) {
+                           final PagedMessageImpl msg = new PagedMessageImpl(record.readableBytes(), storage);
+                           msg.decode(record);
 
                            assert fileBuffer.get(endPosition) == END_BYTE : "decoding cannot change end byte";
 
@@ -233,7 +387,7 @@ public class PageReadWriter {
                remainingBytes = fileSize - processedBytes;
 
             }
-            while (remainingBytes >= MINIMUM_MSG_PERSISTENT_SIZE);
+            while (remainingBytes >= MINIMUM_MSG_PERSISTENT_SIZE && totalMessageCount <= lastMessageNumber);
          }
 
          //ignore incomplete messages at the end of the file
@@ -255,6 +409,63 @@ public class PageReadWriter {
       }
    }
 
+   /**
+    * Copies the records of the complete page file {@code source} into {@code target}, replacing the records of the
+    * messages matching {@code acked} by empty records, so the message numbers of all the other records are kept. Large
+    * messages are always copied, as their files are only removed along with the page.
+    * <p>
+    * Nothing is written if there's no new record to empty, or if {@code source} has an invalid record.
+    *
+    * @return the number of records emptied on {@code target}
+    */
+   static int compact(SequentialFile source, SequentialFile target, IntPredicate acked) throws Exception {
+      final int fileSize = (int) source.size();
+      final ByteBuffer sourceBuffer = ByteBuffer.allocate(fileSize);
+      source.position(0);
+      source.read(sourceBuffer);
+      if (sourceBuffer.limit() != fileSize) {
+         return 0;
+      }
+      final ChannelBufferWrapper record = wrapWhole(sourceBuffer);
+      final ByteBuffer targetBuffer = ByteBuffer.allocate(fileSize);
+
+      int emptied = 0;
+      int messageNumber = 0;
+      int position = 0;
+      while (position < fileSize) {
+         final byte startByte = fileSize - position < HEADER_AND_TRAILER_SIZE ? 0 : sourceBuffer.get(position);
+         if (startByte != START_BYTE && startByte != COMPRESSED_START_BYTE) {
+            return 0;
+         }
+         final int encodedSize = sourceBuffer.getInt(position + 1);
+         final int endPosition = position + HEADER_AND_TRAILER_SIZE - 1 + encodedSize;
+         if (encodedSize < 0 || endPosition >= fileSize || sourceBuffer.get(endPosition) != END_BYTE) {
+            return 0;
+         }
+         record.setIndex(position + HEADER_AND_TRAILER_SIZE - 1, endPosition);
+         // large messages are never compressed
+         if (encodedSize > 0 && acked.test(messageNumber) && (startByte == COMPRESSED_START_BYTE || !PagedMessageImpl.isLargeMessage(record))) {
+            targetBuffer.put(START_BYTE).putInt(0).put(END_BYTE);
+            emptied++;
+         } else {
+            targetBuffer.put(sourceBuffer.duplicate().limit(endPosition + 1).position(position));
+         }
+         messageNumber++;
+         position = endPosition + 1;
+      }
+
+      if (emptied > 0) {
+         targetBuffer.flip();
+         target.open();
+         try {
+            target.blockingWriteDirect(targetBuffer, true, false);
+         } finally {
+            target.close();
+         }
+      }
+      return emptied;
+   }
+
    private static ByteBuffer readIntoFileBufferIfNecessary(SequentialFileFactory fileFactory, SequentialFile file, ByteBuffer fileBuffer, int requiredBytes, boolean direct) throws Exception {
 
       final int remaining = fileBuffer.remaining();
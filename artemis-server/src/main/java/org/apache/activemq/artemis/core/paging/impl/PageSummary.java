@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.paging.impl;
+
+import java.util.Arrays;
+
+import org.apache.activemq.artemis.core.paging.PagedMessage;
+
+/**
+ * The queues any message of a page file was routed to.
+ * <p>
+ * Paged messages are routed when they are paged, so a subscription whose queue isn't on the summary of a page has
+ * nothing to deliver from it and can skip the page without reading its messages. A summary is only kept for pages whose
+ * every message was accounted, either because the page was read from its beginning or because every message was written
+ * to it since it was created. It also tells whether the page has large messages, so removing a page that doesn't can
+ * skip reading it.
+ */
+public class PageSummary {
+
+   private static final long[] EMPTY = new long[0];
+
+   // sorted, there are usually just a few queues per address
+   private volatile long[] queueIDs = EMPTY;
+
+   private volatile boolean largeMessages;
+
+   public void add(PagedMessage message) {
+      if (!largeMessages && message.getMessage().isLargeMessage()) {
+         largeMessages = true;
+      }
+      add(message.getQueueIDs());
+   }
+
+   public void add(long[] routedQueues) {
+      long[] current = queueIDs;
+      for (long queueID : routedQueues) {
+         if (Arrays.binarySearch(current, queueID) < 0) {
+            current = addQueue(queueID);
+         }
+      }
+   }
+
+   private synchronized long[] addQueue(long queueID) {
+      final long[] current = queueIDs;
+      final int position = Arrays.binarySearch(current, queueID);
+      if (position >= 0) {
+         return current;
+      }
+      final int insertion = -position - 1;
+      final long[] updated = new long[current.length + 1];
+      System.arraycopy(current, 0, updated, 0, insertion);
+      updated[insertion] = queueID;
+      System.arraycopy(current, insertion, updated, insertion + 1, current.length - insertion);
+      queueIDs = updated;
+      return updated;
+   }
+
+   public boolean isRouted(long queueID) {
+      return Arrays.binarySearch(queueIDs, queueID) >= 0;
+   }
+
+   /**
+    * {@return whether any message of the page is a large message, whose file has to be deleted with the page}
+    */
+   public boolean hasLargeMessages() {
+      return largeMessages;
+   }
+
+   @Override
+   public String toString() {
+      return "PageSummary{queueIDs=" + Arrays.toString(queueIDs) + ", largeMessages=" + largeMessages + '}';
+   }
+}
@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.paging.impl;
+
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.activemq.artemis.core.server.ActiveMQScheduledComponent;
+import org.apache.activemq.artemis.utils.ExecutorFactory;
+import org.apache.activemq.artemis.utils.actors.ArtemisExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Broker wide scheduler for the syncs of the {@link PageTimedWriter}s.
+ * <p>
+ * Every writer still writes its own page events, but instead of syncing its page file straight away it hands the
+ * written events to this scheduler. Once per tick the pending requests are grouped by device and each device gets a
+ * single sync round on its own executor, where every address with pending events is synced once, in the order they
+ * asked for it. Writers keep writing their next events while the round is pending, and an address writing several
+ * batches in the same tick is only synced once.
+ */
+public class PageSyncScheduler extends ActiveMQScheduledComponent {
+
+   private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+   private final ExecutorFactory executorFactory;
+
+   private final Map<Object, ArtemisExecutor> deviceExecutors = new LinkedHashMap<>();
+
+   private List<SyncRequest> pendingRequests = new ArrayList<>();
+
+   private final AtomicLong rounds = new AtomicLong();
+
+   private final AtomicLong syncs = new AtomicLong();
+
+   private static final class SyncRequest {
+
+      final PageTimedWriter writer;
+      final PageTimedWriter.PageEvent[] events;
+
+      SyncRequest(PageTimedWriter writer, PageTimedWriter.PageEvent[] events) {
+         this.writer = writer;
+         this.events = events;
+      }
+   }
+
+   public PageSyncScheduler(ScheduledExecutorService scheduledExecutor, ExecutorFactory executorFactory, long timeSync) {
+      super(scheduledExecutor, executorFactory.getExecutor(), timeSync, TimeUnit.NANOSECONDS, true);
+      this.executorFactory = executorFactory;
+   }
+
+   /**
+    * Syncs the page file of {@code writer} on the next round, completing {@code events} once it's done.
+    */
+   void sync(PageTimedWriter writer, PageTimedWriter.PageEvent[] events) {
+      final SyncRequest request = new SyncRequest(writer, events);
+      synchronized (this) {
+         if (isStarted()) {
+            pendingRequests.add(request);
+            try {
+               delay();
+               return;
+            } catch (RejectedExecutionException e) {
+               logger.debug("Could not schedule the next sync round, syncing {} directly", writer, e);
+               pendingRequests.remove(request);
+            }
+         }
+      }
+      // nobody would run the next round
+      final List<SyncRequest> requests = new ArrayList<>(1);
+      requests.add(request);
+      syncRound(requests);
+   }
+
+   @Override
+   public void stop() {
+      final List<SyncRequest> requests;
+      synchronized (this) {
+         super.stop();
+         requests = pendingRequests;
+         pendingRequests = new ArrayList<>();
+      }
+      if (!requests.isEmpty()) {
+         syncRound(requests);
+      }
+   }
+
+   @Override
+   public void run() {
+      final List<SyncRequest> requests;
+      synchronized (this) {
+         if (pendingRequests.isEmpty()) {
+            return;
+         }
+         requests = pendingRequests;
+         pendingRequests = new ArrayList<>();
+      }
+
+      final Map<Object, List<SyncRequest>> devices = new LinkedHashMap<>();
+      for (SyncRequest request : requests) {
+         devices.computeIfAbsent(request.writer.getDevice(), device -> new ArrayList<>()).add(request);
+      }
+      devices.forEach((device, deviceRequests) -> getDeviceExecutor(device).execute(() -> syncRound(deviceRequests)));
+   }
+
+   private synchronized ArtemisExecutor getDeviceExecutor(Object device) {
+      return deviceExecutors.computeIfAbsent(device, d -> executorFactory.getExecutor());
+   }
+
+   private void syncRound(List<SyncRequest> requests) {
+      rounds.incrementAndGet();
+
+      // each writer is synced once, with every batch it wrote until now
+      final Map<PageTimedWriter, List<SyncRequest>> writers = new LinkedHashMap<>();
+      for (SyncRequest request : requests) {
+         writers.computeIfAbsent(request.writer, writer -> new ArrayList<>()).add(request);
+      }
+
+      writers.forEach((writer, writerRequests) -> {
+         Throwable error = null;
+         try {
+            logger.trace("performing sync of {} batches on {}", writerRequests.size(), writer);
+            writer.performSync();
+            syncs.incrementAndGet();
+         } catch (Throwable e) {
+            error = e;
+         }
+         for (SyncRequest request : writerRequests) {
+            writer.syncDone(request.events, error);
+         }
+      });
+   }
+
+   /**
+    * {@return the number of sync rounds, one per device on every tick with pending syncs}
+    */
+   public long getRounds() {
+      return rounds.get();
+   }
+
+   /**
+    * {@return the number of page file syncs issued by the rounds}
+    */
+   public long getSyncs() {
+      return syncs.get();
+   }
+}
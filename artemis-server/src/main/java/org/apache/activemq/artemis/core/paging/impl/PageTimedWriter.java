@@ -16,7 +16,9 @@
  */
 package org.apache.activemq.artemis.core.paging.impl;
 
+import java.io.File;
 import java.lang.invoke.MethodHandles;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Executor;
@@ -58,6 +60,10 @@ public class PageTimedWriter extends ActiveMQScheduledComponent {
 
    private final int maxCredits;
 
+   private PageSyncScheduler syncScheduler;
+
+   private volatile Object device;
+
    private static final AtomicIntegerFieldUpdater<PageTimedWriter> pendingTasksUpdater = AtomicIntegerFieldUpdater.newUpdater(PageTimedWriter.class, "pendingTasks");
    private final ReusableLatch pendingProcessings = new ReusableLatch(0);
 
@@ -99,6 +105,36 @@ public class PageTimedWriter extends ActiveMQScheduledComponent {
       return maxCredits;
    }
 
+   /**
+    * Hands the syncs of this writer to a broker wide {@link PageSyncScheduler}.
+    */
+   public PageTimedWriter setSyncScheduler(PageSyncScheduler syncScheduler) {
+      this.syncScheduler = syncScheduler;
+      return this;
+   }
+
+   public PageSyncScheduler getSyncScheduler() {
+      return syncScheduler;
+   }
+
+   /**
+    * {@return the file store of the paging folder, used to group the syncs of a {@link PageSyncScheduler} by device}
+    */
+   Object getDevice() {
+      Object device = this.device;
+      if (device == null) {
+         final File folder = pagingStore.getFolder();
+         try {
+            device = folder == null ? pagingStore : Files.getFileStore(folder.toPath());
+         } catch (Exception e) {
+            logger.debug("Could not read the file store of {}", folder, e);
+            device = folder;
+         }
+         this.device = device;
+      }
+      return device;
+   }
+
    @Override
    public void stop() {
       synchronized (this) {
@@ -207,6 +243,7 @@ public class PageTimedWriter extends ActiveMQScheduledComponent {
 
       OperationContext beforeContext = OperationContextImpl.getContext();
 
+      boolean syncing = false;
       try {
          if (wasStarted) {
             boolean requireSync = false;
@@ -219,66 +256,105 @@ public class PageTimedWriter extends ActiveMQScheduledComponent {
                   requireSync = true;
                }
             }
+            final PageSyncScheduler syncScheduler = this.syncScheduler;
+            if (requireSync && syncScheduler != null) {
+               logger.trace("scheduling sync");
+               // the events are completed and released once the sync scheduler synced them
+               syncing = true;
+               syncScheduler.sync(this, pendingEvents);
+               return;
+            }
             if (requireSync) {
                logger.trace("performing sync");
                performSync();
             }
-            for (PageEvent event : pendingEvents) {
-               if (event.tx != null) {
-                  event.tx.delayDone();
-               }
-            }
-            logger.trace("Completing events");
-            for (PageEvent event : pendingEvents) {
-               event.context.done();
-            }
+            completeEvents(pendingEvents);
          }
       } catch (Throwable e) {
-         logger.warn("Captured Exception {}", e.getMessage(), e);
-         ActiveMQException amqException = new ActiveMQIllegalStateException(e.getMessage());
-         amqException.initCause(e);
+         failEvents(pendingEvents, e);
+      } finally {
+         OperationContextImpl.setContext(beforeContext);
+         if (!syncing) {
+            releaseEvents(pendingEvents);
+         }
+      }
+   }
 
-         for (PageEvent event : pendingEvents) {
+   /**
+    * Called by the {@link PageSyncScheduler} once the events written by {@link #processMessages()} were synced.
+    */
+   void syncDone(PageEvent[] syncedEvents, Throwable error) {
+      try {
+         if (error == null) {
+            completeEvents(syncedEvents);
+         } else {
+            failEvents(syncedEvents, error);
+         }
+      } catch (Throwable e) {
+         failEvents(syncedEvents, e);
+      } finally {
+         releaseEvents(syncedEvents);
+      }
+   }
+
+   private void completeEvents(PageEvent[] pendingEvents) {
+      for (PageEvent event : pendingEvents) {
+         if (event.tx != null) {
+            event.tx.delayDone();
+         }
+      }
+      logger.trace("Completing events");
+      for (PageEvent event : pendingEvents) {
+         event.context.done();
+      }
+   }
+
+   private void failEvents(PageEvent[] pendingEvents, Throwable e) {
+      logger.warn("Captured Exception {}", e.getMessage(), e);
+      ActiveMQException amqException = new ActiveMQIllegalStateException(e.getMessage());
+      amqException.initCause(e);
+
+      for (PageEvent event : pendingEvents) {
+         if (logger.isTraceEnabled()) {
+            logger.trace("Error processing Message {}, tx={} ", event.message, event.tx);
+         }
+         if (event.tx != null) {
             if (logger.isTraceEnabled()) {
-               logger.trace("Error processing Message {}, tx={} ", event.message, event.tx);
-            }
-            if (event.tx != null) {
-               if (logger.isTraceEnabled()) {
-                  logger.trace("tx.markRollbackOnly on TX {}", event.tx.getID());
-               }
-               event.tx.markAsRollbackOnly(amqException);
+               logger.trace("tx.markRollbackOnly on TX {}", event.tx.getID());
             }
+            event.tx.markAsRollbackOnly(amqException);
          }
+      }
 
-         // In case of failure, The context should propagate an exception to the client
-         // We send an exception to the client even on the case of a failure
-         // to avoid possible locks and the client not getting the exception back
-         executor.execute(() -> {
-            logger.trace("onError processing for callback", e);
-            // The onError has to be called from a separate executor
-            // because this PagedWriter will be holding the lock on the storage manager
-            // and this might lead to a deadlock
-            for (PageEvent event : pendingEvents) {
-               if (logger.isTraceEnabled()) {
-                  logger.trace("onError {}, error={}", event.message, e.getMessage());
-               }
-               event.context.onError(ActiveMQExceptionType.IO_ERROR.getCode(), e.getClass() + " during ioSync for paging on " + pagingStore.getStoreName() + ": " + e.getMessage());
+      // In case of failure, The context should propagate an exception to the client
+      // We send an exception to the client even on the case of a failure
+      // to avoid possible locks and the client not getting the exception back
+      executor.execute(() -> {
+         logger.trace("onError processing for callback", e);
+         // The onError has to be called from a separate executor
+         // because this PagedWriter will be holding the lock on the storage manager
+         // and this might lead to a deadlock
+         for (PageEvent event : pendingEvents) {
+            if (logger.isTraceEnabled()) {
+               logger.trace("onError {}, error={}", event.message, e.getMessage());
             }
-         });
-      } finally {
-         try {
-            for (PageEvent event : pendingEvents) {
-               pendingTasksUpdater.decrementAndGet(this);
-               if (event.useFlowControl) {
-                  writeCredits.release(event.credits);
-               }
+            event.context.onError(ActiveMQExceptionType.IO_ERROR.getCode(), e.getClass() + " during ioSync for paging on " + pagingStore.getStoreName() + ": " + e.getMessage());
+         }
+      });
+   }
+
+   private void releaseEvents(PageEvent[] pendingEvents) {
+      try {
+         for (PageEvent event : pendingEvents) {
+            pendingTasksUpdater.decrementAndGet(this);
+            if (event.useFlowControl) {
+               writeCredits.release(event.credits);
             }
-            OperationContextImpl.setContext(beforeContext);
-         } catch (Throwable t) {
-            logger.debug(t.getMessage(), t);
          }
-         pendingProcessings.countDown();
+      } catch (Throwable t) {
+         logger.debug(t.getMessage(), t);
       }
+      pendingProcessings.countDown();
    }
 
    protected void performSync() throws Exception {
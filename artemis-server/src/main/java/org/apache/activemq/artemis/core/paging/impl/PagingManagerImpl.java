@@ -17,12 +17,15 @@
 package org.apache.activemq.artemis.core.paging.impl;
 
 import java.lang.invoke.MethodHandles;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
@@ -31,6 +34,7 @@ import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.BiConsumer;
@@ -65,6 +69,9 @@ public final class PagingManagerImpl implements PagingManager {
 
    private static final int ARTEMIS_PAGING_COUNTER_SNAPSHOT_INTERVAL = Integer.parseInt(System.getProperty("artemis.paging.counter.snapshot.interval", "60"));
 
+   // how many page files are read at the same time when rebuilding the page counters, across all the addresses
+   private static final int ARTEMIS_PAGING_COUNTER_REBUILD_THREADS = Integer.parseInt(System.getProperty("artemis.paging.counter.rebuild.threads", String.valueOf(Math.min(4, Runtime.getRuntime().availableProcessors()))));
+
    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
    private volatile boolean started = false;
@@ -119,6 +126,8 @@ public final class PagingManagerImpl implements PagingManager {
 
    private final SimpleString managementAddress;
 
+   private volatile SharedPageCache sharedPageCache;
+
    // for tests.. not part of the API
    public void replacePageStoreFactory(PagingStoreFactory factory) {
       this.pagingStoreFactory = factory;
@@ -171,6 +180,19 @@ public final class PagingManagerImpl implements PagingManager {
       return maxMessages;
    }
 
+   /**
+    * Sets the memory budget for the pages kept after being released by all their subscriptions, 0 disables it.
+    */
+   public PagingManagerImpl setPageCacheMaxSize(long pageCacheMaxSize) {
+      this.sharedPageCache = pageCacheMaxSize > 0 ? new SharedPageCache(pageCacheMaxSize) : null;
+      return this;
+   }
+
+   @Override
+   public SharedPageCache getSharedPageCache() {
+      return sharedPageCache;
+   }
+
    public PagingManagerImpl(final PagingStoreFactory pagingSPI,
                             final HierarchicalRepository<AddressSettings> addressSettingsRepository) {
       this(pagingSPI, addressSettingsRepository, -1, -1, null, null);
@@ -239,6 +261,12 @@ public final class PagingManagerImpl implements PagingManager {
 
    @Override
    public void execute(Runnable run) {
+      synchronized (executionsAfterRebuild) {
+         if (pendingRebuilds > 0) {
+            executionsAfterRebuild.add(run);
+            return;
+         }
+      }
       managerExecutor.execute(run);
    }
 
@@ -486,12 +514,33 @@ public final class PagingManagerImpl implements PagingManager {
 
    private volatile boolean rebuildingPageCounters;
 
+   private volatile List<PageCounterRebuildManager> rebuildManagers = List.of();
+
+   // guarded by itself, as pendingRebuilds
+   private final Queue<Runnable> executionsAfterRebuild = new ArrayDeque<>();
+
+   private int pendingRebuilds;
+
 
    @Override
    public boolean isRebuildingCounters() {
       return rebuildingPageCounters;
    }
 
+   @Override
+   public int getRebuildCountersProgress() {
+      long pagesToRead = 0;
+      long pagesRead = 0;
+      for (PageCounterRebuildManager rebuildManager : rebuildManagers) {
+         pagesToRead += rebuildManager.getPagesToRead();
+         pagesRead += rebuildManager.getPagesRead();
+      }
+      if (!rebuildingPageCounters || pagesToRead == 0) {
+         return 100;
+      }
+      return (int) Math.min(100, pagesRead * 100 / pagesToRead);
+   }
+
    @Override
    public void start() throws Exception {
       lock();
@@ -605,6 +654,7 @@ public final class PagingManagerImpl implements PagingManager {
       if (rebuildingPageCounters) {
          logger.debug("Rebuild page counters is already underway, ignoring call");
       }
+      rebuildingPageCounters = true;
       Map<Long, PageTransactionInfo> transactionsSet = new LongObjectHashMap();
       // making a copy
       transactions.forEach((a, b) -> {
@@ -622,22 +672,81 @@ public final class PagingManagerImpl implements PagingManager {
          transactionsSet.forEach((a, b) -> logger.debug("{} = {}", a, b));
       }
 
+      List<PageCounterRebuildManager> currentRebuildManagers = new ArrayList<>(currentStoreMap.size());
       currentStoreMap.forEach((address, pgStore) -> {
          PageCounterRebuildManager rebuildManager = new PageCounterRebuildManager(this, pgStore, transactionsSet, storedLargeMessages, minLargeMessageID);
          logger.debug("Setting destination {} to rebuild counters", address);
-         managerExecutor.execute(rebuildManager);
+         currentRebuildManagers.add(rebuildManager);
       });
+      rebuildManagers = currentRebuildManagers;
+
+      final Executor rebuildExecutor = newRebuildExecutor();
 
-      managerExecutor.execute(() -> cleanupPageTransactions(transactionsSet, currentStoreMap));
+      // the tasks given to execute(Runnable) wait for the rebuild, so the increments from prepared transactions
+      // committed in the meantime still happen after it
+      synchronized (executionsAfterRebuild) {
+         pendingRebuilds++;
+      }
 
       FutureTask<Object> task = new FutureTask<>(() -> null);
-      managerExecutor.execute(task);
 
-      managerExecutor.execute(() -> rebuildingPageCounters = false);
+      // the segments run on the page executors, so no thread of the paging pool waits for the rebuild: the cleanup is
+      // chained to the completion of every address instead
+      managerExecutor.execute(() -> {
+         CompletableFuture<?>[] rebuilds = new CompletableFuture[currentRebuildManagers.size()];
+         try {
+            for (int i = 0; i < rebuilds.length; i++) {
+               rebuilds[i] = currentRebuildManagers.get(i).rebuild(rebuildExecutor, ARTEMIS_PAGING_COUNTER_REBUILD_THREADS).exceptionally(e -> {
+                  logger.warn(e.getMessage(), e);
+                  return null;
+               });
+            }
+         } catch (Throwable e) {
+            logger.warn(e.getMessage(), e);
+            for (int i = 0; i < rebuilds.length; i++) {
+               if (rebuilds[i] == null) {
+                  rebuilds[i] = CompletableFuture.completedFuture(null);
+               }
+            }
+         }
+         CompletableFuture.allOf(rebuilds).whenComplete((v, e) -> managerExecutor.execute(() -> {
+            try {
+               cleanupPageTransactions(transactionsSet, currentStoreMap);
+            } finally {
+               task.run();
+               rebuildingPageCounters = false;
+               rebuildManagers = List.of();
+               rebuildDone();
+            }
+         }));
+      });
 
       return task;
    }
 
+   private void rebuildDone() {
+      synchronized (executionsAfterRebuild) {
+         if (--pendingRebuilds == 0) {
+            Runnable run;
+            while ((run = executionsAfterRebuild.poll()) != null) {
+               managerExecutor.execute(run);
+            }
+         }
+      }
+   }
+
+   /**
+    * Spreads the page files to read over {@link #ARTEMIS_PAGING_COUNTER_REBUILD_THREADS} ordered executors.
+    */
+   private Executor newRebuildExecutor() {
+      final Executor[] executors = new Executor[Math.max(1, ARTEMIS_PAGING_COUNTER_REBUILD_THREADS)];
+      for (int i = 0; i < executors.length; i++) {
+         executors[i] = pagingStoreFactory.newExecutor();
+      }
+      final AtomicInteger next = new AtomicInteger();
+      return task -> executors[Math.floorMod(next.getAndIncrement(), executors.length)].execute(task);
+   }
+
    private void cleanupPageTransactions(Map<Long, PageTransactionInfo> transactionSet, Map<SimpleString, PagingStore> currentStoreMap) {
       if (server == null) {
          logger.warn("Server attribute was not set, cannot proceed with page transaction cleanup");
@@ -34,6 +34,7 @@ import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.io.IOCriticalErrorListener;
 import org.apache.activemq.artemis.core.io.SequentialFileFactory;
 import org.apache.activemq.artemis.core.io.nio.NIOSequentialFileFactory;
+import org.apache.activemq.artemis.core.paging.PageOffloadStore;
 import org.apache.activemq.artemis.core.paging.PagingManager;
 import org.apache.activemq.artemis.core.paging.PagingStore;
 import org.apache.activemq.artemis.core.paging.PagingStoreFactory;
@@ -77,6 +78,16 @@ public class PagingStoreFactoryNIO implements PagingStoreFactory {
 
    private final Supplier<Boolean> purgePageFolders;
 
+   private boolean readMapped;
+
+   private int pageCompactionThreshold = -1;
+
+   private PageSyncScheduler pageSyncScheduler;
+
+   private PageOffloadStore pageOffloadStore;
+
+   private int pageOffloadPrefetch;
+
    public File getDirectory() {
       return directory;
    }
@@ -134,6 +145,62 @@ public class PagingStoreFactoryNIO implements PagingStoreFactory {
    }
 
 
+   @Override
+   public boolean isReadMapped() {
+      return readMapped;
+   }
+
+   public PagingStoreFactoryNIO setReadMapped(boolean readMapped) {
+      this.readMapped = readMapped;
+      return this;
+   }
+
+   @Override
+   public int getPageCompactionThreshold() {
+      return pageCompactionThreshold;
+   }
+
+   public PagingStoreFactoryNIO setPageCompactionThreshold(int pageCompactionThreshold) {
+      this.pageCompactionThreshold = pageCompactionThreshold;
+      return this;
+   }
+
+   @Override
+   public PageSyncScheduler getPageSyncScheduler() {
+      return pageSyncScheduler;
+   }
+
+   public PagingStoreFactoryNIO setPageGroupSync(boolean pageGroupSync) {
+      if (pageGroupSync && pageSyncScheduler == null) {
+         pageSyncScheduler = new PageSyncScheduler(scheduledExecutor, executorFactory, syncTimeout);
+         pageSyncScheduler.start();
+      } else if (!pageGroupSync && pageSyncScheduler != null) {
+         pageSyncScheduler.stop();
+         pageSyncScheduler = null;
+      }
+      return this;
+   }
+
+   @Override
+   public PageOffloadStore getPageOffloadStore() {
+      return pageOffloadStore;
+   }
+
+   public PagingStoreFactoryNIO setPageOffloadStore(PageOffloadStore pageOffloadStore) {
+      this.pageOffloadStore = pageOffloadStore;
+      return this;
+   }
+
+   @Override
+   public int getPageOffloadPrefetch() {
+      return pageOffloadPrefetch;
+   }
+
+   public PagingStoreFactoryNIO setPageOffloadPrefetch(int pageOffloadPrefetch) {
+      this.pageOffloadPrefetch = pageOffloadPrefetch;
+      return this;
+   }
+
    @Override
    public ScheduledExecutorService getScheduledExecutor() {
       return scheduledExecutor;
@@ -146,6 +213,10 @@ public class PagingStoreFactoryNIO implements PagingStoreFactory {
 
    @Override
    public void stop() {
+      final PageSyncScheduler pageSyncScheduler = this.pageSyncScheduler;
+      if (pageSyncScheduler != null) {
+         pageSyncScheduler.stop();
+      }
    }
 
    @Override
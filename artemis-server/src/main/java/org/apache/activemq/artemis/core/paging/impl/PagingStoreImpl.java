@@ -17,6 +17,8 @@
 package org.apache.activemq.artemis.core.paging.impl;
 
 import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -27,16 +29,25 @@ import java.util.Objects;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+
+import io.netty.util.collection.LongObjectHashMap;
 
 import org.apache.activemq.artemis.api.core.Message;
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.io.SequentialFile;
 import org.apache.activemq.artemis.core.io.SequentialFileFactory;
+import org.apache.activemq.artemis.core.paging.PageOffloadStore;
 import org.apache.activemq.artemis.core.paging.PageTransactionInfo;
 import org.apache.activemq.artemis.core.paging.PagedMessage;
 import org.apache.activemq.artemis.core.paging.PagingManager;
@@ -66,6 +77,7 @@ import org.apache.activemq.artemis.utils.FutureLatch;
 import org.apache.activemq.artemis.utils.SimpleFutureImpl;
 import org.apache.activemq.artemis.utils.SizeAwareMetric;
 import org.apache.activemq.artemis.utils.actors.ArtemisExecutor;
+import org.apache.activemq.artemis.utils.collections.LongHashSet;
 import org.apache.activemq.artemis.utils.runnables.AtomicRunnable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -127,6 +139,13 @@ public class PagingStoreImpl implements PagingStore {
 
    private int pageSize;
 
+   private volatile int pageCompressionThreshold;
+
+   // uncompressed size of every message paged since the start, and what they actually took on the page files
+   private final AtomicLong pagedRecordBytes = new AtomicLong();
+
+   private final AtomicLong writtenRecordBytes = new AtomicLong();
+
    private volatile AddressFullMessagePolicy addressFullMessagePolicy;
 
    // Internal components such as mirroring could enforce a different page full message policy
@@ -178,6 +197,36 @@ public class PagingStoreImpl implements PagingStore {
 
    private final ScheduledExecutorService scheduledExecutorService;
 
+   private volatile PageModePredictor pageModePredictor;
+
+   private final AtomicBoolean stopPagingCheckScheduled = new AtomicBoolean(false);
+
+   private final PageOffloadStore offloadStore;
+
+   private final int offloadPrefetch;
+
+   private final Executor offloadExecutor;
+
+   // The following are guarded by the usedPages lock
+
+   // pages whose file is only on the offload store
+   private final LongHashSet offloadedPages = new LongHashSet();
+
+   // pages with an up to date copy on the offload store
+   private final LongHashSet storedPages = new LongHashSet();
+
+   // pages being copied to the offload store, removed to cancel the offload
+   private final LongHashSet offloadingPages = new LongHashSet();
+
+   // pages being copied back from the offload store, the other readers wait for the same copy
+   private final LongObjectHashMap<SimpleFutureImpl<Void>> fetchingPages = new LongObjectHashMap<>();
+
+   // pages whose copy on the offload store is being deleted, they aren't offloaded again until it's gone
+   private final LongHashSet deletingPages = new LongHashSet();
+
+   // the furthest page used by the cursors
+   private long lastUsedPageId;
+
    public PagingStoreImpl(final SimpleString address,
                           final ScheduledExecutorService scheduledExecutor,
                           final long syncTimeout,
@@ -242,6 +291,14 @@ public class PagingStoreImpl implements PagingStore {
       this.usingGlobalMaxSize = pagingManager.isUsingGlobalSize();
 
       this.scheduledExecutorService = scheduledExecutor;
+
+      this.offloadStore = storeFactory.getPageOffloadStore();
+
+      this.offloadPrefetch = storeFactory.getPageOffloadPrefetch();
+
+      final Executor offloadExecutor = offloadStore == null ? null : storeFactory.newExecutor();
+
+      this.offloadExecutor = offloadExecutor == null ? executor : offloadExecutor;
    }
 
    // This is an extension point for unit tests to replace the creation of the PagedTimeWriter
@@ -251,6 +308,7 @@ public class PagingStoreImpl implements PagingStore {
       // Notice that any calls on the PageTimedWriter are going to use the paging store's executor.
       // The scheduledExecutor will transfer the call to the paging store executor.
       PageTimedWriter localWriter = new PageTimedWriter(pageSize, storageManager, this, scheduledExecutor, executor, syncNonTransactional, syncTimeout);
+      localWriter.setSyncScheduler(storeFactory.getPageSyncScheduler());
       localWriter.start();
       return localWriter;
    }
@@ -297,6 +355,20 @@ public class PagingStoreImpl implements PagingStore {
       // it can be reconfigured through jdbc-max-page-size-bytes in the JDBC configuration section
       pageSize = storageManager.getAllowedPageSize(addressSettings.getPageSizeBytes());
 
+      pageCompressionThreshold = addressSettings.getPageCompressionThreshold();
+
+      final long predictivePagingHorizon = addressSettings.getPredictivePagingHorizon();
+      if (predictivePagingHorizon <= 0) {
+         pageModePredictor = null;
+      } else if (pageModePredictor == null || pageModePredictor.getHorizon() != predictivePagingHorizon) {
+         pageModePredictor = new PageModePredictor(predictivePagingHorizon, System.currentTimeMillis());
+      }
+
+      final Page page = currentPage;
+      if (page != null) {
+         page.setCompressionThreshold(pageCompressionThreshold);
+      }
+
       if (enforcedAddressFullMessagePolicy != null) {
          this.addressFullMessagePolicy = enforcedAddressFullMessagePolicy;
       } else {
@@ -720,6 +792,11 @@ public class PagingStoreImpl implements PagingStore {
       final SequentialFileFactory fileFactory = this.fileFactory;
       if (fileFactory != null) {
          List<String> files = fileFactory.listFiles("page");
+         if (offloadStore != null) {
+            synchronized (usedPages) {
+               return files.size() + offloadedPages.size();
+            }
+         }
          return files.size();
       }
 
@@ -754,6 +831,10 @@ public class PagingStoreImpl implements PagingStore {
 
                List<String> files = fileFactory.listFiles("page");
 
+               if (offloadStore != null) {
+                  files = loadOffloadedPages(fileFactory, files);
+               }
+
                numberOfPages = files.size();
 
                checkNumberOfPages();
@@ -958,6 +1039,13 @@ public class PagingStoreImpl implements PagingStore {
       if (fileFactory == null) {
          return false;
       }
+      if (offloadStore != null) {
+         synchronized (usedPages) {
+            if (offloadedPages.contains(pageNumber)) {
+               return true;
+            }
+         }
+      }
       String fileName = createFileName(pageNumber);
 
       SequentialFileFactory factory = null;
@@ -975,17 +1063,146 @@ public class PagingStoreImpl implements PagingStore {
 
    @Override
    public Page newPageObject(final long pageNumber) throws Exception {
+      return newPageObject(pageNumber, true);
+   }
+
+   private Page newPageObject(final long pageNumber, final boolean fetch) throws Exception {
       String fileName = createFileName(pageNumber);
 
       SequentialFileFactory factory = checkFileFactory();
 
+      if (fetch && offloadStore != null) {
+         fetchPage(pageNumber, factory, fileName);
+      }
+
       SequentialFile file = factory.createSequentialFile(fileName);
 
       Page page = new Page(storeName, storageManager, factory, file, pageNumber);
 
+      page.setReadMapped(storeFactory.isReadMapped());
+
+      page.setCompressionThreshold(pageCompressionThreshold);
+
+      page.summaryCallback(summary -> usedPages.putSummary(pageNumber, summary));
+
       return page;
    }
 
+   @Override
+   public PagedMessage readMessage(final long pageId, final int messageNumber) throws Exception {
+      final Page usedPage = usePage(pageId, false);
+      if (usedPage != null) {
+         try {
+            return usedPage.getMessage(messageNumber);
+         } finally {
+            usedPage.usageDown();
+         }
+      }
+
+      if (pageId == currentPageId) {
+         // the current page is always in use, unless it has just been replaced
+         final Page page = usePage(pageId);
+         if (page == null) {
+            return null;
+         }
+         try {
+            return page.getMessage(messageNumber);
+         } finally {
+            page.usageDown();
+         }
+      }
+
+      final Page page = newPageObject(pageId);
+      page.setIndex(usedPages.getIndex(pageId));
+      final PagedMessage message = page.getMessage(messageNumber);
+      if (page.getIndex() != null) {
+         usedPages.putIndex(pageId, page.getIndex());
+      }
+      return message;
+   }
+
+   @Override
+   public void prefetchPage(final long pageId) {
+      final SharedPageCache sharedCache = usedPages.getSharedCache();
+      if (sharedCache == null || pageId >= currentPageId || usedPages.contains(pageId)) {
+         return;
+      }
+      execute(() -> {
+         final Page page = usePage(pageId, true, false);
+         if (page != null) {
+            sharedCache.prefetched();
+            // released straight away, the page is kept by the shared cache until a cursor gets to it
+            page.usageDown();
+         }
+      });
+   }
+
+   @Override
+   public double getPageCompressionRatio() {
+      final long written = writtenRecordBytes.get();
+      return written == 0 ? 1 : (double) pagedRecordBytes.get() / written;
+   }
+
+   @Override
+   public int getPageCompactionThreshold() {
+      return storeFactory.getPageCompactionThreshold();
+   }
+
+   @Override
+   public int compactPage(final long pageId, final IntPredicate acked) throws Exception {
+      if (pageId == currentPageId) {
+         return 0;
+      }
+      final SequentialFileFactory factory = checkFileFactory();
+      final SequentialFile file = factory.createSequentialFile(createFileName(pageId));
+      if (file.getJavaFile() == null || !file.exists()) {
+         return 0;
+      }
+      final SequentialFile compactedFile = factory.createSequentialFile(createFileName(pageId) + ".compact");
+      try {
+         if (compactedFile.exists()) {
+            compactedFile.delete();
+         }
+         final int emptied;
+         file.open();
+         try {
+            emptied = PageReadWriter.compact(file, compactedFile, acked);
+         } finally {
+            file.close();
+         }
+         if (emptied == 0) {
+            return 0;
+         }
+         boolean deleteStored = false;
+         synchronized (usedPages) {
+            if (!file.exists()) {
+               // removed by the cleanup in the meantime
+               return 0;
+            }
+            // a page in use keeps the positions of the previous file
+            if (pageId == currentPageId || !usedPages.evictUnused(pageId)) {
+               logger.debug("page {} on address {} is in use, its compaction is discarded", pageId, storeName);
+               return -1;
+            }
+            Files.move(compactedFile.getJavaFile().toPath(), file.getJavaFile().toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            if (offloadStore != null) {
+               // the copy on the offload store is outdated now
+               offloadingPages.remove(pageId);
+               deleteStored = storedPages.remove(pageId) && deletingPages.add(pageId);
+            }
+         }
+         if (deleteStored) {
+            deleteStoredPage(factory, pageId);
+         }
+         logger.debug("page {} on address {} compacted, {} acked messages removed", pageId, storeName, emptied);
+         return emptied;
+      } finally {
+         if (compactedFile.exists()) {
+            compactedFile.delete();
+         }
+      }
+   }
+
    @Override
    public final Page usePage(final long pageId) {
       return usePage(pageId, true);
@@ -1001,13 +1218,29 @@ public class PagingStoreImpl implements PagingStore {
       if (fileFactory == null) {
          return null;
       }
+      if (createEntry && offloadStore != null) {
+         try {
+            // copied back before taking the lock, the cursors of the other pages aren't held by the copy
+            fetchPage(pageId, checkFileFactory(), createFileName(pageId));
+         } catch (Exception e) {
+            throw usePageFailed(pageId, e);
+         }
+      }
       synchronized (usedPages) {
          try {
+            if (createEntry && offloadStore != null) {
+               prefetchPages(pageId);
+            }
             Page page = usedPages.get(pageId);
             if (createEntry && page == null) {
                page = newPageObject(pageId);
                if (page.getFile().exists()) {
-                  page.getMessages();
+                  if (page.isReadMapped()) {
+                     // the messages are decoded by the iterators, only the number of messages is needed upfront
+                     page.loadIndex();
+                  } else {
+                     page.getMessages();
+                  }
                   injectPage(page);
                } else {
                   if (!createFile) {
@@ -1020,18 +1253,22 @@ public class PagingStoreImpl implements PagingStore {
             }
             return page;
          } catch (Exception e) {
-            logger.warn(e.getMessage(), e);
-            if (fileFactory != null) {
-               SequentialFile file = fileFactory.createSequentialFile(createFileName(pageId));
-               fileFactory.onIOError(e, e.getMessage(), file);
-            }
-            // in most cases this exception will not happen since the onIOError should halt the VM
-            // it could eventually happen in tests though
-            throw new RuntimeException(e.getMessage(), e);
+            throw usePageFailed(pageId, e);
          }
       }
    }
 
+   private RuntimeException usePageFailed(final long pageId, final Exception e) {
+      logger.warn(e.getMessage(), e);
+      if (fileFactory != null) {
+         SequentialFile file = fileFactory.createSequentialFile(createFileName(pageId));
+         fileFactory.onIOError(e, e.getMessage(), file);
+      }
+      // in most cases this exception will not happen since the onIOError should halt the VM
+      // it could eventually happen in tests though
+      return new RuntimeException(e.getMessage(), e);
+   }
+
    protected SequentialFileFactory getFileFactory() throws Exception {
       checkFileFactory();
       return fileFactory;
@@ -1041,6 +1278,13 @@ public class PagingStoreImpl implements PagingStore {
       SequentialFileFactory sequentialFileFactory = fileFactory;
       try {
          if (sequentialFileFactory != null) {
+            if (offloadStore != null) {
+               try {
+                  offloadStore.deleteFolder(offloadFolder(sequentialFileFactory));
+               } catch (Exception e) {
+                  logger.warn("Could not delete the offloaded page files of address {}", storeName, e);
+               }
+            }
             List<String> files;
             try {
                files = sequentialFileFactory.listFiles(null);
@@ -1142,13 +1386,22 @@ public class PagingStoreImpl implements PagingStore {
             return null;
          }
 
+         final boolean offloaded = isOffloadedWithoutLargeMessages(pageId);
+
+         usedPages.removeIndex(pageId);
+         usedPages.removeSummary(pageId);
+
          Page page = usePage(pageId, false);
 
          if (page == null) {
-            page = newPageObject(pageId);
+            page = newPageObject(pageId, !offloaded);
          }
 
-         if (page != null && page.getFile().exists()) {
+         final boolean exists = offloaded || page.getFile().exists();
+
+         removeStoredPage(pageId);
+
+         if (page != null && exists) {
             page.usageDown();
             // we only decrement numberOfPages if the file existed
             // it could have been removed by a previous delete
@@ -1202,6 +1455,9 @@ public class PagingStoreImpl implements PagingStore {
       } else {
          final Page returnPage;
 
+         // removed from the offload store without being copied back
+         boolean offloaded = false;
+
          numberOfPages--;
 
          // We are out of old pages, all that is left now is the current page.
@@ -1238,18 +1494,25 @@ public class PagingStoreImpl implements PagingStore {
             }
             long pageNR = firstPageId++;
 
+            offloaded = isOffloadedWithoutLargeMessages(pageNR);
+
+            usedPages.removeIndex(pageNR);
+            usedPages.removeSummary(pageNR);
+
             // first we look for the page on the used Pages cache
             // if non existing, we just create a new one outside of the cache
             // as we should not introduce any extras
             Page usedPage = usePage(pageNR, false);
             if (usedPage == null) {
-               returnPage = newPageObject(pageNR);
+               returnPage = newPageObject(pageNR, !offloaded);
             } else {
                returnPage = usedPage;
             }
+
+            removeStoredPage(pageNR);
          }
 
-         if (!returnPage.getFile().exists()) {
+         if (!offloaded && !returnPage.getFile().exists()) {
             // if the file does not exist, we will just increment back to where it was before
             numberOfPages++;
          }
@@ -1385,6 +1648,17 @@ public class PagingStoreImpl implements PagingStore {
          ActiveMQServerLogger.LOGGER.negativeAddressSize(address.toString(), newSize);
       }
 
+      final PageModePredictor predictor = this.pageModePredictor;
+      if (predictor != null && !sizeOnly) {
+         if (size < 0) {
+            predictor.consumed(-size);
+         } else if (!paging) {
+            // while paging the messages are accounted as they are paged, these are just being depaged
+            predictor.produced(size);
+         }
+         predictor.sample(System.currentTimeMillis());
+      }
+
       if (addressFullMessagePolicy == AddressFullMessagePolicy.BLOCK || addressFullMessagePolicy == AddressFullMessagePolicy.FAIL) {
          if (usingGlobalMaxSize && !globalFull || maxSize != -1) {
             checkReleasedMemory();
@@ -1395,6 +1669,9 @@ public class PagingStoreImpl implements PagingStore {
          if (size > 0) {
             if (globalFull || full) {
                startPaging();
+            } else if (predictor != null && !paging && isFullPredicted(predictor)) {
+               logger.debug("Address {} is starting to page as it's expected to be full within {} milliseconds, {}", address, predictor.getHorizon(), predictor);
+               startPaging();
             }
          }
 
@@ -1402,6 +1679,56 @@ public class PagingStoreImpl implements PagingStore {
       }
    }
 
+   /**
+    * {@return {@code true} if the address is growing fast enough to reach its max size within the predictive paging
+    * horizon}
+    */
+   private boolean isFullPredicted(PageModePredictor predictor) {
+      final long growth = predictor.getGrowth();
+      if (growth <= 0) {
+         return false;
+      }
+      if (maxSize > 0) {
+         return size.getSize() + growth >= maxSize;
+      }
+      if (usingGlobalMaxSize) {
+         return pagingManager.getGlobalSize() + growth >= pagingManager.getMaxSize();
+      }
+      return false;
+   }
+
+   @Override
+   public boolean isPageRoutedTo(final long pageId, final long queueID) {
+      final PageSummary summary = usedPages.getSummary(pageId);
+      return summary == null || summary.isRouted(queueID);
+   }
+
+   @Override
+   public boolean isStopPagingDeferred() {
+      final PageModePredictor predictor = this.pageModePredictor;
+      if (predictor == null) {
+         return false;
+      }
+      predictor.sample(System.currentTimeMillis());
+      if (!isFullPredicted(predictor)) {
+         return false;
+      }
+      logger.debug("Address {} is staying in page mode as it's expected to be full again within {} milliseconds, {}", address, predictor.getHorizon(), predictor);
+      // nothing else might trigger a cleanup if the producers stop, so check again once the rates had time to change
+      if (stopPagingCheckScheduled.compareAndSet(false, true)) {
+         try {
+            scheduledExecutorService.schedule(() -> {
+               stopPagingCheckScheduled.set(false);
+               getCursorProvider().scheduleCleanup();
+            }, predictor.getSamplePeriod(), TimeUnit.MILLISECONDS);
+         } catch (RejectedExecutionException e) {
+            stopPagingCheckScheduled.set(false);
+            logger.debug("Could not schedule the next check to leave page mode on {}", address, e);
+         }
+      }
+      return true;
+   }
+
    @Override
    public boolean checkReleasedMemory() {
       if (!blockedViaManagement && !pagingManager.isGlobalFull() && !full) {
@@ -1529,6 +1856,11 @@ public class PagingStoreImpl implements PagingStore {
          pagedMessage = new PagedMessageImpl(message, routeQueues(tx, listCtx), transactionID);
          long persistentSize = pagedMessage.getPersistentSize() > 0 ? pagedMessage.getPersistentSize() : 0;
 
+         final PageModePredictor predictor = this.pageModePredictor;
+         if (predictor != null) {
+            predictor.produced(message.getMemoryEstimate());
+         }
+
          if (tx != null && tx.isAllowPageTransaction()) {
             installPageTransaction(tx, listCtx);
          }
@@ -1588,7 +1920,9 @@ public class PagingStoreImpl implements PagingStore {
          page.open(false);
       }
 
-      page.write(pagedMessage, lineUp, originalReplicated);
+      final int written = page.write(pagedMessage, lineUp, originalReplicated);
+      pagedRecordBytes.addAndGet(pagedMessage.getEncodeSize() + PageReadWriter.SIZE_RECORD);
+      writtenRecordBytes.addAndGet(written);
 
       if (logger.isTraceEnabled()) {
          logger.trace("Paging message {} on pageStore {} pageNr={}", pagedMessage, getStoreName(), page.getPageId());
@@ -1827,10 +2161,15 @@ public class PagingStoreImpl implements PagingStore {
          oldPage.close(true);
          oldPage.usageDown();
          currentPage = null;
+         offloadPage(oldPage.getPageId());
       }
 
       final Page newPage = newPageObject(newPageId);
 
+      // every message of the new page goes through this store
+      newPage.trackSummary();
+      usedPages.putSummary(newPageId, newPage.getSummary());
+
       resetCurrentPage(newPage);
 
       currentPageSize = 0;
@@ -1845,6 +2184,230 @@ public class PagingStoreImpl implements PagingStore {
       }
    }
 
+   private static String offloadFolder(SequentialFileFactory factory) {
+      return factory.getDirectory().getName();
+   }
+
+   private List<String> loadOffloadedPages(SequentialFileFactory factory, List<String> files) throws Exception {
+      final List<String> allFiles = new ArrayList<>(files);
+      synchronized (usedPages) {
+         offloadedPages.clear();
+         storedPages.clear();
+         offloadingPages.clear();
+         lastUsedPageId = 0;
+         for (String fileName : offloadStore.list(offloadFolder(factory))) {
+            if (!fileName.endsWith(".page")) {
+               continue;
+            }
+            final long pageId = getPageIdFromFileName(fileName);
+            storedPages.add(pageId);
+            if (!files.contains(fileName)) {
+               offloadedPages.add(pageId);
+               allFiles.add(fileName);
+            }
+         }
+      }
+      if (logger.isDebugEnabled()) {
+         logger.debug("address {} has {} offloaded pages", storeName, allFiles.size() - files.size());
+      }
+      return allFiles;
+   }
+
+   // the pages far enough ahead of the cursors, but never the current one
+   private boolean isColdPage(long pageId) {
+      return pageId != currentPageId && pageId > Math.max(lastUsedPageId, firstPageId) + offloadPrefetch;
+   }
+
+   @Override
+   public void offloadPage(final long pageId) {
+      if (offloadStore == null) {
+         return;
+      }
+      try {
+         offloadExecutor.execute(() -> {
+            try {
+               doOffloadPage(pageId);
+            } catch (Throwable e) {
+               logger.warn("Could not offload page {} of address {}", pageId, storeName, e);
+            }
+         });
+      } catch (RejectedExecutionException e) {
+         logger.debug("page {} of address {} is not offloaded as the executor was shut down", pageId, storeName, e);
+      }
+   }
+
+   private void doOffloadPage(final long pageId) throws Exception {
+      final SequentialFileFactory factory = fileFactory;
+      if (factory == null) {
+         return;
+      }
+      final String fileName = createFileName(pageId);
+      final File file = factory.createSequentialFile(fileName).getJavaFile();
+      if (file == null) {
+         return;
+      }
+      final boolean stored;
+      synchronized (usedPages) {
+         if (!running || !isColdPage(pageId) || offloadedPages.contains(pageId) || deletingPages.contains(pageId) || !file.exists() || !offloadingPages.add(pageId)) {
+            return;
+         }
+         stored = storedPages.contains(pageId);
+      }
+      if (!stored) {
+         offloadStore.put(offloadFolder(factory), fileName, file);
+      }
+      final boolean discarded;
+      synchronized (usedPages) {
+         // used, compacted or removed while it was copied
+         discarded = !offloadingPages.remove(pageId) || !file.exists();
+         if (discarded) {
+            if (stored || !deletingPages.add(pageId)) {
+               return;
+            }
+         } else {
+            storedPages.add(pageId);
+            if (!isColdPage(pageId) || !usedPages.evictUnused(pageId)) {
+               logger.debug("page {} of address {} is in use, it's kept on the local disk", pageId, storeName);
+               return;
+            }
+            Files.delete(file.toPath());
+            offloadedPages.add(pageId);
+         }
+      }
+      if (discarded) {
+         deleteStoredPage(factory, pageId);
+         return;
+      }
+      logger.debug("page {} of address {} offloaded to {}", pageId, storeName, offloadStore);
+   }
+
+   private void fetchPage(final long pageId, final SequentialFileFactory factory, final String fileName) throws Exception {
+      final SimpleFutureImpl<Void> fetch = new SimpleFutureImpl<>();
+      final SimpleFutureImpl<Void> pending;
+      synchronized (usedPages) {
+         // a page about to be read is not offloaded
+         offloadingPages.remove(pageId);
+         if (!offloadedPages.contains(pageId)) {
+            return;
+         }
+         pending = fetchingPages.get(pageId);
+         if (pending == null) {
+            fetchingPages.put(pageId, fetch);
+         }
+      }
+      if (pending != null) {
+         // copied by another reader or by the prefetch, which complete the copy without taking the lock
+         try {
+            pending.get();
+         } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+         }
+         return;
+      }
+      final File file = factory.createSequentialFile(fileName).getJavaFile();
+      final File fetchedFile = factory.createSequentialFile(fileName + ".fetch").getJavaFile();
+      final boolean found;
+      try {
+         // copied aside, so a partial copy is never taken for the page file
+         found = offloadStore.get(offloadFolder(factory), fileName, fetchedFile);
+         if (found) {
+            Files.move(fetchedFile.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+         }
+      } catch (Exception e) {
+         fetch.fail(e);
+         synchronized (usedPages) {
+            fetchingPages.remove(pageId);
+         }
+         throw e;
+      } finally {
+         Files.deleteIfExists(fetchedFile.toPath());
+      }
+      final IllegalStateException missing = found ? null : new IllegalStateException("Page " + fileName + " of address " + storeName + " is missing on " + offloadStore);
+      if (found) {
+         fetch.set(null);
+      } else {
+         fetch.fail(missing);
+      }
+      final boolean removed;
+      synchronized (usedPages) {
+         fetchingPages.remove(pageId);
+         removed = found ? !offloadedPages.remove(pageId) : !offloadedPages.contains(pageId);
+      }
+      if (removed) {
+         // the page was removed while it was copied
+         if (found) {
+            Files.deleteIfExists(file.toPath());
+         }
+         return;
+      }
+      if (missing != null) {
+         throw missing;
+      }
+      logger.debug("page {} of address {} fetched from {}", pageId, storeName, offloadStore);
+   }
+
+   // called holding the usedPages lock whenever a cursor starts using a page
+   private void prefetchPages(final long pageId) {
+      if (pageId > lastUsedPageId) {
+         lastUsedPageId = pageId;
+      }
+      for (long nextPageId = pageId + 1; nextPageId <= pageId + offloadPrefetch; nextPageId++) {
+         if (offloadedPages.contains(nextPageId) && !fetchingPages.containsKey(nextPageId)) {
+            final long prefetchPageId = nextPageId;
+            try {
+               offloadExecutor.execute(() -> {
+                  try {
+                     fetchPage(prefetchPageId, checkFileFactory(), createFileName(prefetchPageId));
+                  } catch (Throwable e) {
+                     logger.warn("Could not prefetch page {} of address {}", prefetchPageId, storeName, e);
+                  }
+               });
+            } catch (RejectedExecutionException e) {
+               logger.debug("page {} of address {} is not prefetched as the executor was shut down", prefetchPageId, storeName, e);
+            }
+         }
+      }
+   }
+
+   private void removeStoredPage(final long pageId) throws Exception {
+      final SequentialFileFactory factory = fileFactory;
+      if (offloadStore == null || factory == null) {
+         return;
+      }
+      final boolean stored;
+      synchronized (usedPages) {
+         offloadingPages.remove(pageId);
+         offloadedPages.remove(pageId);
+         stored = storedPages.remove(pageId) && deletingPages.add(pageId);
+      }
+      // removed before the page file, so a removed page never comes back from the offload store
+      if (stored) {
+         deleteStoredPage(factory, pageId);
+      }
+   }
+
+   // deleted without the lock, the page isn't offloaded again until its copy is gone
+   private void deleteStoredPage(final SequentialFileFactory factory, final long pageId) throws Exception {
+      try {
+         offloadStore.delete(offloadFolder(factory), createFileName(pageId));
+      } finally {
+         synchronized (usedPages) {
+            deletingPages.remove(pageId);
+         }
+      }
+   }
+
+   // an offloaded page is only copied back to be removed if the files of its large messages have to be deleted
+   private boolean isOffloadedWithoutLargeMessages(final long pageId) {
+      if (offloadStore == null) {
+         return false;
+      }
+      synchronized (usedPages) {
+         final PageSummary summary = usedPages.getSummary(pageId);
+         return summary != null && !summary.hasLargeMessages() && offloadedPages.contains(pageId);
+      }
+   }
+
    public String createFileName(final long pageID) {
       // DecimalFormat is not thread safe.
       synchronized (format) {
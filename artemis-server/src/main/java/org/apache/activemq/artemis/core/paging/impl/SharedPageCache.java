@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.paging.impl;
+
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Broker wide budget for the pages kept in memory after all their cursors released them.
+ * <p>
+ * Every {@link PageCache} offers its released pages here instead of dropping them, so cursors reaching the page later
+ * (e.g. slower multicast queues on the same address) or pages read ahead don't need to be read again. The pages are
+ * accounted by their file size and the least recently released ones are evicted from their {@link PageCache} when the
+ * budget is exceeded.
+ */
+public final class SharedPageCache {
+
+   private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+   private final long maxSize;
+
+   // access order is not needed: a page is removed from here as soon as it is used again
+   private final LinkedHashMap<Key, Retained> pages = new LinkedHashMap<>();
+
+   private long size;
+
+   private final AtomicLong hits = new AtomicLong();
+
+   private final AtomicLong evictions = new AtomicLong();
+
+   private final AtomicLong prefetches = new AtomicLong();
+
+   public SharedPageCache(long maxSize) {
+      this.maxSize = maxSize;
+   }
+
+   public long getMaxSize() {
+      return maxSize;
+   }
+
+   /**
+    * Offers a page released by all its users.
+    *
+    * @return {@code true} if the page is kept and should remain on its {@link PageCache}
+    */
+   boolean retain(PageCache owner, Page page) {
+      final long pageSize = page.getSize();
+      if (pageSize > maxSize) {
+         return false;
+      }
+      final List<Map.Entry<Key, Retained>> evicted;
+      synchronized (this) {
+         final Retained previous = pages.put(new Key(owner, page.getPageId()), new Retained(page, pageSize));
+         if (previous != null) {
+            size -= previous.size;
+         }
+         size += pageSize;
+         evicted = evict();
+      }
+      // the owners are called outside of the lock as they may call back into this cache while locked
+      for (Map.Entry<Key, Retained> entry : evicted) {
+         entry.getKey().owner.evictPage(entry.getValue().page);
+      }
+      return true;
+   }
+
+   private List<Map.Entry<Key, Retained>> evict() {
+      List<Map.Entry<Key, Retained>> evicted = null;
+      final Iterator<Map.Entry<Key, Retained>> iterator = pages.entrySet().iterator();
+      while (size > maxSize && iterator.hasNext()) {
+         final Map.Entry<Key, Retained> entry = iterator.next();
+         iterator.remove();
+         size -= entry.getValue().size;
+         evictions.incrementAndGet();
+         if (evicted == null) {
+            evicted = new ArrayList<>();
+         }
+         evicted.add(Map.entry(entry.getKey(), entry.getValue()));
+         if (logger.isDebugEnabled()) {
+            logger.debug("evicting {}, page cache size = {}", entry.getValue().page, size);
+         }
+      }
+      return evicted == null ? List.of() : evicted;
+   }
+
+   /**
+    * Takes a page back into use.
+    */
+   synchronized void reuse(PageCache owner, Page page) {
+      if (remove(owner, page)) {
+         hits.incrementAndGet();
+      }
+   }
+
+   synchronized boolean remove(PageCache owner, Page page) {
+      final Retained removed = pages.remove(new Key(owner, page.getPageId()));
+      if (removed != null) {
+         size -= removed.size;
+         return true;
+      }
+      return false;
+   }
+
+   synchronized void removeAll(PageCache owner) {
+      final Iterator<Map.Entry<Key, Retained>> iterator = pages.entrySet().iterator();
+      while (iterator.hasNext()) {
+         final Map.Entry<Key, Retained> entry = iterator.next();
+         if (entry.getKey().owner == owner) {
+            iterator.remove();
+            size -= entry.getValue().size;
+         }
+      }
+   }
+
+   void prefetched() {
+      prefetches.incrementAndGet();
+   }
+
+   public synchronized long getSize() {
+      return size;
+   }
+
+   public synchronized int getNumberOfPages() {
+      return pages.size();
+   }
+
+   public long getHits() {
+      return hits.get();
+   }
+
+   public long getEvictions() {
+      return evictions.get();
+   }
+
+   public long getPrefetches() {
+      return prefetches.get();
+   }
+
+   @Override
+   public String toString() {
+      return "SharedPageCache{maxSize=" + maxSize + ", size=" + getSize() + ", pages=" + getNumberOfPages() + "}";
+   }
+
+   private static final class Retained {
+
+      private final Page page;
+
+      // the size accounted when the page was retained, as the page size may be updated by a read
+      private final long size;
+
+      private Retained(Page page, long size) {
+         this.page = page;
+         this.size = size;
+      }
+   }
+
+   private static final class Key {
+
+      private final PageCache owner;
+
+      private final long pageId;
+
+      private Key(PageCache owner, long pageId) {
+         this.owner = owner;
+         this.pageId = pageId;
+      }
+
+      @Override
+      public boolean equals(Object obj) {
+         if (this == obj) {
+            return true;
+         }
+         if (!(obj instanceof Key other)) {
+            return false;
+         }
+         return owner == other.owner && pageId == other.pageId;
+      }
+
+      @Override
+      public int hashCode() {
+         return 31 * System.identityHashCode(owner) + Long.hashCode(pageId);
+      }
+   }
+}
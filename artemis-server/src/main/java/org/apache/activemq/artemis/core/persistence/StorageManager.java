@@ -34,6 +34,7 @@ import org.apache.activemq.artemis.core.io.IOCallback;
 import org.apache.activemq.artemis.core.io.OperationConsistencyLevel;
 import org.apache.activemq.artemis.core.io.SequentialFile;
 import org.apache.activemq.artemis.core.io.SequentialFileFactory;
+import org.apache.activemq.artemis.core.io.buffer.TimedBuffer;
 import org.apache.activemq.artemis.core.journal.Journal;
 import org.apache.activemq.artemis.core.journal.JournalLoadInformation;
 import org.apache.activemq.artemis.core.journal.RecordInfo;
@@ -64,6 +65,8 @@ import org.apache.activemq.artemis.core.server.files.FileStoreMonitor;
 import org.apache.activemq.artemis.core.server.group.impl.GroupBinding;
 import org.apache.activemq.artemis.core.server.impl.AddressInfo;
 import org.apache.activemq.artemis.core.server.impl.JournalLoader;
+import org.apache.activemq.artemis.core.settings.HierarchicalRepository;
+import org.apache.activemq.artemis.core.settings.impl.AddressSettings;
 import org.apache.activemq.artemis.core.transaction.ResourceManager;
 import org.apache.activemq.artemis.core.transaction.Transaction;
 import org.apache.activemq.artemis.spi.core.protocol.RemotingConnection;
@@ -517,4 +520,17 @@ public interface StorageManager extends MapStorageManager, IDGenerator, ActiveMQ
    default int getAllowedPageSize(int pageSize)  {
       return pageSize;
    }
+
+   /**
+    * Used to look up the {@link AddressSettings#getJournalCompressionThreshold()} of the messages being stored.
+    */
+   default void setAddressSettingsRepository(HierarchicalRepository<AddressSettings> addressSettingsRepository) {
+   }
+
+   /**
+    * {@return the buffer of the message journal, or {@code null} if there isn't one}
+    */
+   default TimedBuffer getJournalTimedBuffer() {
+      return null;
+   }
 }
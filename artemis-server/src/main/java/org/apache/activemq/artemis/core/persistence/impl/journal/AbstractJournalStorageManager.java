@@ -83,6 +83,7 @@ import org.apache.activemq.artemis.core.persistence.config.PersistedSecuritySett
 import org.apache.activemq.artemis.core.persistence.config.PersistedUser;
 import org.apache.activemq.artemis.core.persistence.impl.PageCountPending;
 import org.apache.activemq.artemis.core.persistence.impl.journal.codec.AddressStatusEncoding;
+import org.apache.activemq.artemis.core.persistence.impl.journal.codec.CompressedMessageEncoding;
 import org.apache.activemq.artemis.core.persistence.impl.journal.codec.CursorAckRecordEncoding;
 import org.apache.activemq.artemis.core.persistence.impl.journal.codec.DeliveryCountUpdateEncoding;
 import org.apache.activemq.artemis.core.persistence.impl.journal.codec.DuplicateIDEncoding;
@@ -113,6 +114,8 @@ import org.apache.activemq.artemis.core.server.RouteContextList;
 import org.apache.activemq.artemis.core.server.group.impl.GroupBinding;
 import org.apache.activemq.artemis.core.server.impl.AddressInfo;
 import org.apache.activemq.artemis.core.server.impl.JournalLoader;
+import org.apache.activemq.artemis.core.settings.HierarchicalRepository;
+import org.apache.activemq.artemis.core.settings.impl.AddressSettings;
 import org.apache.activemq.artemis.core.transaction.ResourceManager;
 import org.apache.activemq.artemis.core.transaction.Transaction;
 import org.apache.activemq.artemis.core.transaction.TransactionPropertyIndexes;
@@ -244,6 +247,8 @@ public abstract class AbstractJournalStorageManager extends CriticalComponentImp
 
    protected final ConcurrentLongHashMap<LargeServerMessage> largeMessagesToDelete = new ConcurrentLongHashMap<>();
 
+   private volatile HierarchicalRepository<AddressSettings> addressSettingsRepository;
+
    public AbstractJournalStorageManager(final Configuration config,
                                         final CriticalAnalyzer analyzer,
                                         final ExecutorFactory executorFactory,
@@ -428,17 +433,47 @@ public abstract class AbstractJournalStorageManager extends CriticalComponentImp
          throw ActiveMQMessageBundle.BUNDLE.messageIdNotAssigned();
       }
 
+      // compressing before taking the lock
+      final CompressedMessageEncoding compressedMessage = compressMessage(message);
+
       try (ArtemisCloseable lock = closeableReadLock()) {         // Note that we don't sync, the add reference that comes immediately after will sync if
          // appropriate
 
          if (message.isLargeMessage() && message instanceof LargeServerMessageImpl) {
             messageJournal.appendAddRecord(message.getMessageID(), JournalRecordIds.ADD_LARGE_MESSAGE, LargeMessagePersister.getInstance(), message, false, getContext(false));
+         } else if (compressedMessage != null) {
+            messageJournal.appendAddRecord(message.getMessageID(), JournalRecordIds.ADD_MESSAGE_COMPRESSED, compressedMessage, false, getContext(false));
          } else {
             messageJournal.appendAddRecord(message.getMessageID(), JournalRecordIds.ADD_MESSAGE_PROTOCOL, message.getPersister(), message, false, getContext(false));
          }
       }
    }
 
+   @Override
+   public void setAddressSettingsRepository(HierarchicalRepository<AddressSettings> addressSettingsRepository) {
+      this.addressSettingsRepository = addressSettingsRepository;
+   }
+
+   /**
+    * {@return the message compressed if its address has a journal-compression-threshold it reaches, or {@code null} if
+    * the message should be stored as it is}
+    */
+   private CompressedMessageEncoding compressMessage(final Message message) {
+      final HierarchicalRepository<AddressSettings> repository = addressSettingsRepository;
+      if (repository == null || message.isLargeMessage()) {
+         return null;
+      }
+      final String address = message.getAddress();
+      if (address == null) {
+         return null;
+      }
+      final int threshold = repository.getMatch(address).getJournalCompressionThreshold();
+      if (threshold < 0 || message.getPersister().getEncodeSize(message) < threshold) {
+         return null;
+      }
+      return CompressedMessageEncoding.compress(message.getPersister(), message);
+   }
+
    @Override
    public void storeReference(final long queueID, final long messageID, final boolean last) throws Exception {
       try (ArtemisCloseable lock = closeableReadLock()) {
@@ -581,10 +616,14 @@ public abstract class AbstractJournalStorageManager extends CriticalComponentImp
          throw ActiveMQMessageBundle.BUNDLE.messageIdNotAssigned();
       }
 
+      final CompressedMessageEncoding compressedMessage = compressMessage(message);
+
       try (ArtemisCloseable lock = closeableReadLock()) {
          if (message.isLargeMessage() && message instanceof LargeServerMessageImpl) {
             // this is a core large message
             messageJournal.appendAddRecordTransactional(txID, message.getMessageID(), JournalRecordIds.ADD_LARGE_MESSAGE, LargeMessagePersister.getInstance(), message);
+         } else if (compressedMessage != null) {
+            messageJournal.appendAddRecordTransactional(txID, message.getMessageID(), JournalRecordIds.ADD_MESSAGE_COMPRESSED, compressedMessage);
          } else {
             messageJournal.appendAddRecordTransactional(txID, message.getMessageID(), JournalRecordIds.ADD_MESSAGE_PROTOCOL, message.getPersister(), message);
          }
@@ -1076,6 +1115,12 @@ public abstract class AbstractJournalStorageManager extends CriticalComponentImp
                      throw new IllegalStateException("This is using old journal data, export your data and import at the correct version");
                   }
 
+                  case JournalRecordIds.ADD_MESSAGE_COMPRESSED: {
+                     // large messages are never compressed
+                     messages.put(record.id, decodeMessage(pools, CompressedMessageEncoding.decompress(data)));
+
+                     break;
+                  }
                   case JournalRecordIds.ADD_MESSAGE_PROTOCOL: {
 
                      Message message = decodeMessage(pools, buff);
@@ -1909,6 +1954,11 @@ public abstract class AbstractJournalStorageManager extends CriticalComponentImp
 
                break;
             }
+            case JournalRecordIds.ADD_MESSAGE_COMPRESSED: {
+               messages.put(record.id, decodeMessage(pools, CompressedMessageEncoding.decompress(data)));
+
+               break;
+            }
             case JournalRecordIds.ADD_MESSAGE_PROTOCOL: {
                Message message = decodeMessage(pools, buff);
                if (storedLargeMessages != null && message.isLargeMessage() && storedLargeMessages.remove(record.id)) {
@@ -53,6 +53,7 @@ import org.apache.activemq.artemis.core.persistence.config.PersistedSecuritySett
 import org.apache.activemq.artemis.core.persistence.config.PersistedUser;
 import org.apache.activemq.artemis.core.persistence.impl.journal.BatchingIDGenerator.IDCounterEncoding;
 import org.apache.activemq.artemis.core.persistence.impl.journal.codec.AckRetry;
+import org.apache.activemq.artemis.core.persistence.impl.journal.codec.CompressedMessageEncoding;
 import org.apache.activemq.artemis.core.persistence.impl.journal.codec.CursorAckRecordEncoding;
 import org.apache.activemq.artemis.core.persistence.impl.journal.codec.DeliveryCountUpdateEncoding;
 import org.apache.activemq.artemis.core.persistence.impl.journal.codec.DuplicateIDEncoding;
@@ -90,6 +91,7 @@ import static org.apache.activemq.artemis.core.persistence.impl.journal.JournalR
 import static org.apache.activemq.artemis.core.persistence.impl.journal.JournalRecordIds.ADD_LARGE_MESSAGE;
 import static org.apache.activemq.artemis.core.persistence.impl.journal.JournalRecordIds.ADD_LARGE_MESSAGE_PENDING;
 import static org.apache.activemq.artemis.core.persistence.impl.journal.JournalRecordIds.ADD_MESSAGE;
+import static org.apache.activemq.artemis.core.persistence.impl.journal.JournalRecordIds.ADD_MESSAGE_COMPRESSED;
 import static org.apache.activemq.artemis.core.persistence.impl.journal.JournalRecordIds.ADD_MESSAGE_PROTOCOL;
 import static org.apache.activemq.artemis.core.persistence.impl.journal.JournalRecordIds.ADD_REF;
 import static org.apache.activemq.artemis.core.persistence.impl.journal.JournalRecordIds.DIVERT_RECORD;
@@ -411,7 +413,7 @@ public final class DescribeJournal {
 
          Object o = newObjectEncoding(info);
          final byte userRecordType = info.getUserRecordType();
-         if (userRecordType == ADD_MESSAGE || userRecordType == ADD_MESSAGE_PROTOCOL) {
+         if (userRecordType == ADD_MESSAGE || userRecordType == ADD_MESSAGE_PROTOCOL || userRecordType == ADD_MESSAGE_COMPRESSED) {
             messageCount++;
          } else if (userRecordType == ADD_LARGE_MESSAGE) {
             largeMessageCount++;
@@ -478,7 +480,7 @@ public final class DescribeJournal {
             Object o = newObjectEncoding(info);
             out.println("- " + describeRecord(info, o, safe));
             final byte userRecordType = info.getUserRecordType();
-            if (userRecordType == ADD_MESSAGE || userRecordType == ADD_MESSAGE_PROTOCOL) {
+            if (userRecordType == ADD_MESSAGE || userRecordType == ADD_MESSAGE_PROTOCOL || userRecordType == ADD_MESSAGE_COMPRESSED) {
                preparedMessageCount++;
             } else if (userRecordType == ADD_LARGE_MESSAGE) {
                preparedLargeMessageCount++;
@@ -627,6 +629,10 @@ public final class DescribeJournal {
             Message message = MessagePersister.getInstance().decode(buffer, null, null, storageManager);
             return new MessageDescribe(message);
          }
+         case ADD_MESSAGE_COMPRESSED: {
+            Message message = MessagePersister.getInstance().decode(CompressedMessageEncoding.decompress(info.data), null, null, storageManager);
+            return new MessageDescribe(message);
+         }
          case ADD_REF: {
             final RefEncoding encoding = new RefEncoding();
             encoding.decode(buffer);
@@ -105,4 +105,7 @@ public final class JournalRecordIds {
    public static final byte ADDRESS_SETTING_RECORD_JSON = 52;
 
    public static final byte ACK_RETRY = 53;
+
+   // Used instead of ADD_MESSAGE_PROTOCOL when the message is stored compressed, see journal-compression-threshold
+   public static final byte ADD_MESSAGE_COMPRESSED = 54;
 }
@@ -39,11 +39,13 @@ import org.apache.activemq.artemis.api.core.Message;
 import org.apache.activemq.artemis.api.core.Pair;
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.config.Configuration;
+import org.apache.activemq.artemis.core.io.AbstractSequentialFileFactory;
 import org.apache.activemq.artemis.core.io.IOCallback;
 import org.apache.activemq.artemis.core.io.IOCriticalErrorListener;
 import org.apache.activemq.artemis.core.io.SequentialFile;
 import org.apache.activemq.artemis.core.io.SequentialFileFactory;
 import org.apache.activemq.artemis.core.io.aio.AIOSequentialFileFactory;
+import org.apache.activemq.artemis.core.io.buffer.TimedBuffer;
 import org.apache.activemq.artemis.core.io.mapped.MappedSequentialFileFactory;
 import org.apache.activemq.artemis.core.io.nio.NIOSequentialFileFactory;
 import org.apache.activemq.artemis.core.journal.EncoderPersister;
@@ -138,6 +140,11 @@ public class JournalStorageManager extends AbstractJournalStorageManager {
       return journalFF;
    }
 
+   @Override
+   public TimedBuffer getJournalTimedBuffer() {
+      return journalFF instanceof AbstractSequentialFileFactory factory ? factory.getTimedBuffer() : null;
+   }
+
    @Override
    protected void init(Configuration config, IOCriticalErrorListener criticalErrorListener) {
 
@@ -183,10 +190,19 @@ public class JournalStorageManager extends AbstractJournalStorageManager {
 
       journalFF.setDatasync(config.isJournalDatasync());
 
+      final TimedBuffer timedBuffer = getJournalTimedBuffer();
+      if (timedBuffer != null) {
+         timedBuffer.setAdaptiveTimeout(config.isJournalAdaptiveBufferTimeout());
+      }
 
       int fileSize = fixJournalFileSize(config.getJournalFileSize(), journalFF.getAlignment());
       Journal localMessage = createMessageJournal(config, criticalErrorListener, fileSize);
 
+      if (localMessage instanceof JournalImpl journalImpl) {
+         journalImpl.setLoadThreads(config.getJournalLoadThreads());
+         journalImpl.setSealFiles(config.isJournalSealFiles());
+      }
+
       messageJournal = localMessage;
       messageJournal.replaceableRecord(JournalRecordIds.UPDATE_DELIVERY_COUNT);
       messageJournal.replaceableRecord(JournalRecordIds.SET_SCHEDULED_DELIVERY_TIME);
@@ -16,7 +16,8 @@
  */
 package org.apache.activemq.artemis.core.persistence.impl.journal;
 
-import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
@@ -44,6 +45,10 @@ import org.apache.commons.collections.buffer.CircularFifoBuffer;
  * So, if you are doing operations that are not dependent on IO (e.g NonPersistentMessages) you wouldn't have any
  * context switch.
  * <p>
+ * The context doesn't lock: the completions are counted atomically and the tasks are queued on lock-free queues. Only one
+ * thread at a time checks the tasks for completion, any thread completing an operation or queuing a task while another
+ * one is checking them just leaves it another check to do before it's done.
+ * <p>
  * If you need to track store operations you can set the system property "ARTEMIS_OPCONTEXT_MAX_DEBUG_TRACKERS" with the
  * max number of trackers that you want to keep in memory.
  */
@@ -76,13 +81,26 @@ public class OperationContextImpl implements OperationContext {
       OperationContextImpl.threadLocalContext.set(context);
    }
 
-   LinkedList<TaskHolder> tasks;
-   LinkedList<IgnoreReplicationTaskHolder> ignoreReplicationTasks;
-   LinkedList<StoreOnlyTaskHolder> storeOnlyTasks;
+   // these are only polled by the thread checking the tasks, so they are in the order of their lined up operations
+   final Queue<TaskHolder> tasks = new ConcurrentLinkedQueue<>();
+   final Queue<IgnoreReplicationTaskHolder> ignoreReplicationTasks = new ConcurrentLinkedQueue<>();
+   final Queue<StoreOnlyTaskHolder> storeOnlyTasks = new ConcurrentLinkedQueue<>();
 
    static final AtomicIntegerFieldUpdater<OperationContextImpl> EXECUTORS_PENDING_UPDATER = AtomicIntegerFieldUpdater
       .newUpdater(OperationContextImpl.class, "executorsPendingField");
 
+   static final AtomicIntegerFieldUpdater<OperationContextImpl> CHECKS_PENDING_UPDATER = AtomicIntegerFieldUpdater
+      .newUpdater(OperationContextImpl.class, "checksPendingField");
+
+   static final AtomicLongFieldUpdater<OperationContextImpl> STORED_UPDATER = AtomicLongFieldUpdater
+      .newUpdater(OperationContextImpl.class, "stored");
+
+   static final AtomicLongFieldUpdater<OperationContextImpl> REPLICATED_UPDATER = AtomicLongFieldUpdater
+      .newUpdater(OperationContextImpl.class, "replicated");
+
+   static final AtomicLongFieldUpdater<OperationContextImpl> PAGED_UPDATER = AtomicLongFieldUpdater
+      .newUpdater(OperationContextImpl.class, "paged");
+
    static final AtomicLongFieldUpdater<OperationContextImpl> STORE_LINEUP_UPDATER = AtomicLongFieldUpdater
       .newUpdater(OperationContextImpl.class, "storeLineUpField");
 
@@ -117,17 +135,19 @@ public class OperationContextImpl implements OperationContext {
    }
 
    volatile int executorsPendingField = 0;
+   volatile int checksPendingField = 0;
    volatile long storeLineUpField = 0;
    volatile long replicationLineUpField = 0;
    volatile long pageLineUpField = 0;
 
-   long stored = 0;
-   long replicated = 0;
-   long paged = 0;
+   volatile long stored = 0;
+   volatile long replicated = 0;
+   volatile long paged = 0;
 
-   private int errorCode = -1;
+   // errorMessage is always set before errorCode
+   private volatile int errorCode = -1;
 
-   private String errorMessage = null;
+   private volatile String errorMessage = null;
 
    private final Executor executor;
 
@@ -160,8 +180,8 @@ public class OperationContextImpl implements OperationContext {
    }
 
    @Override
-   public synchronized void pageSyncDone() {
-      paged++;
+   public void pageSyncDone() {
+      PAGED_UPDATER.incrementAndGet(this);
       checkTasks();
    }
 
@@ -179,8 +199,8 @@ public class OperationContextImpl implements OperationContext {
    }
 
    @Override
-   public synchronized void replicationDone() {
-      replicated++;
+   public void replicationDone() {
+      REPLICATED_UPDATER.incrementAndGet(this);
       checkTasks();
    }
 
@@ -193,70 +213,40 @@ public class OperationContextImpl implements OperationContext {
    public void executeOnCompletion(final IOCallback completion, final OperationConsistencyLevel consistencyLevel) {
       boolean executeNow = false;
 
-      synchronized (this) {
-         if (errorCode == -1) {
-            final long storeLined = STORE_LINEUP_UPDATER.get(this);
-            final long pageLined = PAGE_LINEUP_UPDATER.get(this);
-            final long replicationLined = REPLICATION_LINEUP_UPDATER.get(this);
-            switch (consistencyLevel) {
-               case STORAGE:
-                  if (storeOnlyTasks == null) {
-                     storeOnlyTasks = new LinkedList<>();
-                  }
-                  if (storeLined == stored) {
-                     if (hasNoPendingExecution()) {
-                        // setting executeNow = true will make the completion to be called within the same thread here
-                        // without using an executor
-                        executeNow = true;
-                     } else {
-                        execute(completion);
-                     }
-                  } else {
-                     storeOnlyTasks.add(new StoreOnlyTaskHolder(completion, storeLined));
-                  }
-                  break;
-
-               case IGNORE_REPLICATION:
-                  if (ignoreReplicationTasks == null) {
-                     ignoreReplicationTasks = new LinkedList<>();
-                  }
-
-                  if (storeLined == stored && pageLined == paged) {
-                     if (hasNoPendingExecution()) {
-                        // setting executeNow = true will make the completion to be called within the same thread here
-                        // without using an executor
-                        executeNow = true;
-                     } else {
-                        execute(completion);
-                     }
-                  } else {
-                     ignoreReplicationTasks.add(new IgnoreReplicationTaskHolder(completion, storeLined, pageLined));
-                  }
-
-                  break;
-
-               case FULL:
-                  if (tasks == null) {
-                     tasks = new LinkedList<>();
-                  }
-
-                  if (replicationLined == replicated && storeLined == stored && pageLined == paged) {
-                     // We want to avoid the executor if everything is complete...
-                     // However, we can't execute the context if there are executions pending
-                     // We need to use the executor on this case
-                     if (hasNoPendingExecution()) {
-                        // setting executeNow = true will make the completion to be called within the same thread here
-                        // without using an executor
-                        executeNow = true;
-                     } else {
-                        execute(completion);
-                     }
-                  } else {
-                     tasks.add(new TaskHolder(completion, storeLined, replicationLined, pageLined));
-                  }
-
-                  break;
-            }
+      if (errorCode == -1) {
+         final long storeLined = STORE_LINEUP_UPDATER.get(this);
+         final long pageLined = PAGE_LINEUP_UPDATER.get(this);
+         final long replicationLined = REPLICATION_LINEUP_UPDATER.get(this);
+         // the queue is checked before the completions: a task checked as complete is still queued until it's
+         // executed, and this completion can't be executed before the tasks queued ahead of it
+         switch (consistencyLevel) {
+            case STORAGE:
+               if (storeOnlyTasks.isEmpty() && stored >= storeLined) {
+                  executeNow = executeNowOrLater(completion);
+               } else {
+                  storeOnlyTasks.add(new StoreOnlyTaskHolder(completion, storeLined));
+                  checkTasks();
+               }
+               break;
+
+            case IGNORE_REPLICATION:
+               if (ignoreReplicationTasks.isEmpty() && stored >= storeLined && paged >= pageLined) {
+                  executeNow = executeNowOrLater(completion);
+               } else {
+                  ignoreReplicationTasks.add(new IgnoreReplicationTaskHolder(completion, storeLined, pageLined));
+                  checkTasks();
+               }
+               break;
+
+            case FULL:
+               if (tasks.isEmpty() && replicated >= replicationLined && stored >= storeLined && paged >= pageLined) {
+                  executeNow = executeNowOrLater(completion);
+               } else {
+                  tasks.add(new TaskHolder(completion, storeLined, replicationLined, pageLined));
+                  // the operations may have completed (or failed) before the task got queued
+                  checkTasks();
+               }
+               break;
          }
       }
 
@@ -269,13 +259,28 @@ public class OperationContextImpl implements OperationContext {
 
    }
 
+   /**
+    * {@return {@code true} if the completion can be called within the caller thread, otherwise it's executed on the
+    * executor after the executions still pending}
+    */
+   private boolean executeNowOrLater(final IOCallback completion) {
+      // We want to avoid the executor if everything is complete...
+      // However, we can't execute the context if there are executions pending
+      // We need to use the executor on this case
+      if (hasNoPendingExecution()) {
+         return true;
+      }
+      execute(completion);
+      return false;
+   }
+
    private boolean hasNoPendingExecution() {
       return EXECUTORS_PENDING_UPDATER.get(this) == 0;
    }
 
    @Override
-   public synchronized void done() {
-      this.stored++;
+   public void done() {
+      final long stored = STORED_UPDATER.incrementAndGet(this);
 
       if (debugTrackers != null) {
          debugTrackers.add(new Exception("<" + stored));
@@ -285,15 +290,10 @@ public class OperationContextImpl implements OperationContext {
    }
 
    private void checkStoreTasks() {
-      final LinkedList<StoreOnlyTaskHolder> storeOnlyTasks = this.storeOnlyTasks;
-      assert storeOnlyTasks != null;
-      final int size = storeOnlyTasks.size();
-      if (size == 0) {
-         return;
-      }
+      final Queue<StoreOnlyTaskHolder> storeOnlyTasks = this.storeOnlyTasks;
       final long stored = this.stored;
-      for (int i = 0; i < size; i++) {
-         final StoreOnlyTaskHolder holder = storeOnlyTasks.peek();
+      StoreOnlyTaskHolder holder;
+      while ((holder = storeOnlyTasks.peek()) != null) {
          if (stored < holder.storeLined) {
             // fail fast: storeOnlyTasks are ordered by storeLined, there is no need to continue
             return;
@@ -306,15 +306,12 @@ public class OperationContextImpl implements OperationContext {
    }
 
    private void checkRegularCompletion() {
-      final LinkedList<TaskHolder> tasks = this.tasks;
-      assert tasks != null;
-      final int size = this.tasks.size();
-      if (size == 0) {
-         return;
-      }
-      // no need to use an iterator here, we can save that cost
-      for (int i = 0; i < size; i++) {
-         final TaskHolder holder = tasks.peek();
+      final Queue<TaskHolder> tasks = this.tasks;
+      final long stored = this.stored;
+      final long replicated = this.replicated;
+      final long paged = this.paged;
+      TaskHolder holder;
+      while ((holder = tasks.peek()) != null) {
          if (stored < holder.storeLined || replicated < holder.replicationLined || paged < holder.pageLined) {
             // End of list here. No other task will be completed after this
             return;
@@ -326,14 +323,11 @@ public class OperationContextImpl implements OperationContext {
    }
 
    private void checkIgnoreReplicationCompletion() {
-      final LinkedList<IgnoreReplicationTaskHolder> tasks = this.ignoreReplicationTasks;
-      assert tasks != null;
-      final int size = tasks.size();
-      if (size == 0) {
-         return;
-      }
-      for (int i = 0; i < size; i++) {
-         final IgnoreReplicationTaskHolder holder = tasks.peek();
+      final Queue<IgnoreReplicationTaskHolder> tasks = this.ignoreReplicationTasks;
+      final long stored = this.stored;
+      final long paged = this.paged;
+      IgnoreReplicationTaskHolder holder;
+      while ((holder = tasks.peek()) != null) {
          if (stored < holder.storeLined || paged < holder.pageLined) {
             // End of list here. No other task will be completed after this
             return;
@@ -344,19 +338,42 @@ public class OperationContextImpl implements OperationContext {
       }
    }
 
-   private void checkTasks() {
-
-      if (storeOnlyTasks != null && !storeOnlyTasks.isEmpty()) {
-         checkStoreTasks();
+   private void failRegularTasks() {
+      final int errorCode = this.errorCode;
+      final String errorMessage = this.errorMessage;
+      TaskHolder holder;
+      while ((holder = tasks.poll()) != null) {
+         holder.task.onError(errorCode, errorMessage);
       }
+   }
 
-      if (tasks != null && !tasks.isEmpty()) {
-         checkRegularCompletion();
+   private void checkTasks() {
+      // Only one thread checks the tasks at a time: the others leave a pending check to the thread already checking
+      // them, which keeps checking until there are no more pending checks.
+      if (CHECKS_PENDING_UPDATER.getAndIncrement(this) != 0) {
+         return;
       }
+      int checksPending = 1;
+      do {
+         if (errorCode != -1) {
+            failRegularTasks();
+         }
+
+         if (!storeOnlyTasks.isEmpty()) {
+            checkStoreTasks();
+         }
+
+         if (!tasks.isEmpty()) {
+            checkRegularCompletion();
+         }
 
-      if (ignoreReplicationTasks != null && !ignoreReplicationTasks.isEmpty()) {
-         checkIgnoreReplicationCompletion();
+         if (!ignoreReplicationTasks.isEmpty()) {
+            checkIgnoreReplicationCompletion();
+         }
+
+         checksPending = CHECKS_PENDING_UPDATER.addAndGet(this, -checksPending);
       }
+      while (checksPending != 0);
    }
 
    private void execute(final IOCallback task) {
@@ -382,18 +399,11 @@ public class OperationContextImpl implements OperationContext {
    }
 
    @Override
-   public synchronized void onError(final int errorCode, final String errorMessage) {
-      this.errorCode = errorCode;
+   public void onError(final int errorCode, final String errorMessage) {
       this.errorMessage = errorMessage;
+      this.errorCode = errorCode;
 
-      if (tasks != null) {
-         // it's saving the Iterator allocation cost
-         final int size = tasks.size();
-         for (int i = 0; i < size; i++) {
-            final TaskHolder holder = tasks.poll();
-            holder.task.onError(errorCode, errorMessage);
-         }
-      }
+      checkTasks();
    }
 
    static final class TaskHolder {
@@ -513,7 +523,7 @@ public class OperationContextImpl implements OperationContext {
    }
 
    @Override
-   public synchronized void reset() {
+   public void reset() {
       stored = 0;
       storeLineUpField = 0;
       replicated = 0;
@@ -523,13 +533,10 @@ public class OperationContextImpl implements OperationContext {
       errorCode = -1;
       errorMessage = null;
       executorsPendingField = 0;
+      checksPendingField = 0;
 
-      if (tasks != null) {
-         tasks.clear();
-      }
-
-      if (storeOnlyTasks != null) {
-         storeOnlyTasks.clear();
-      }
+      tasks.clear();
+      storeOnlyTasks.clear();
+      ignoreReplicationTasks.clear();
    }
 }
\ No newline at end of file
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.persistence.impl.journal.codec;
+
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.api.core.ActiveMQBuffers;
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.core.journal.EncodingSupport;
+import org.apache.activemq.artemis.core.persistence.Persister;
+import org.apache.activemq.artemis.core.persistence.impl.journal.JournalRecordIds;
+import org.apache.activemq.artemis.utils.DataConstants;
+
+/**
+ * Body of a {@link JournalRecordIds#ADD_MESSAGE_COMPRESSED} record: the size of the message as encoded by its
+ * {@link Persister}, followed by that same encoding deflated.
+ * <p>
+ * The uncompressed encoding is exactly the body of a {@link JournalRecordIds#ADD_MESSAGE_PROTOCOL} record.
+ */
+public class CompressedMessageEncoding implements EncodingSupport {
+
+   private final int messageSize;
+
+   private final byte[] compressed;
+
+   private final int compressedSize;
+
+   private CompressedMessageEncoding(final int messageSize, final byte[] compressed, final int compressedSize) {
+      this.messageSize = messageSize;
+      this.compressed = compressed;
+      this.compressedSize = compressedSize;
+   }
+
+   /**
+    * @return the compressed encoding of the message, or {@code null} if compressing wouldn't make the record smaller
+    */
+   public static CompressedMessageEncoding compress(final Persister<Message> persister, final Message message) {
+      final int messageSize = persister.getEncodeSize(message);
+      if (messageSize <= DataConstants.SIZE_INT) {
+         return null;
+      }
+      final byte[] encoded = new byte[messageSize];
+      final ActiveMQBuffer buffer = ActiveMQBuffers.wrappedBuffer(encoded);
+      buffer.writerIndex(0);
+      persister.encode(buffer, message);
+      final int encodedSize = buffer.writerIndex();
+
+      // not worth it unless the record gets smaller, including the size field
+      final byte[] compressed = new byte[encodedSize - DataConstants.SIZE_INT];
+      final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+      try {
+         deflater.setInput(encoded, 0, encodedSize);
+         deflater.finish();
+         final int compressedSize = deflater.deflate(compressed);
+         if (!deflater.finished()) {
+            return null;
+         }
+         return new CompressedMessageEncoding(encodedSize, compressed, compressedSize);
+      } finally {
+         deflater.end();
+      }
+   }
+
+   /**
+    * @return the message encoded by its {@link Persister}, as it is stored on a
+    * {@link JournalRecordIds#ADD_MESSAGE_PROTOCOL} record
+    */
+   public static ActiveMQBuffer decompress(final byte[] data) {
+      final int messageSize = ActiveMQBuffers.wrappedBuffer(data).readInt();
+      final byte[] message = new byte[messageSize];
+      final Inflater inflater = new Inflater();
+      try {
+         inflater.setInput(data, DataConstants.SIZE_INT, data.length - DataConstants.SIZE_INT);
+         final int inflated = inflater.inflate(message);
+         if (inflated != messageSize || !inflater.finished()) {
+            throw new IllegalStateException("Compressed message record is corrupt, expected " + messageSize + " bytes but got " + inflated);
+         }
+      } catch (DataFormatException e) {
+         throw new IllegalStateException("Compressed message record is corrupt", e);
+      } finally {
+         inflater.end();
+      }
+      return ActiveMQBuffers.wrappedBuffer(message);
+   }
+
+   public int getMessageSize() {
+      return messageSize;
+   }
+
+   @Override
+   public int getEncodeSize() {
+      return DataConstants.SIZE_INT + compressedSize;
+   }
+
+   @Override
+   public void encode(final ActiveMQBuffer buffer) {
+      buffer.writeInt(messageSize);
+      buffer.writeBytes(compressed, 0, compressedSize);
+   }
+
+   @Override
+   public void decode(final ActiveMQBuffer buffer) {
+      throw new UnsupportedOperationException("use CompressedMessageEncoding.decompress");
+   }
+
+   @Override
+   public String toString() {
+      return "CompressedMessageEncoding [messageSize=" + messageSize + ", compressedSize=" + compressedSize + "]";
+   }
+}
@@ -142,6 +142,11 @@ public class PersistentQueueBindingEncoding implements EncodingSupport, QueueBin
       if (buffer.readable()) {
          config.setInternal(buffer.readBoolean());
       }
+      if (buffer.readable()) {
+         int partitions = buffer.readInt();
+         config.setPartitions(partitions > 1 ? partitions : null);
+         config.setPartitionKey(buffer.readNullableSimpleString());
+      }
       QueueConfigurationUtils.applyStaticDefaults(config);
    }
 
@@ -172,6 +177,8 @@ public class PersistentQueueBindingEncoding implements EncodingSupport, QueueBin
       buffer.writeBoolean(config.isEnabled());
       buffer.writeBoolean(config.isGroupRebalancePauseDispatch());
       buffer.writeBoolean(config.isInternal());
+      buffer.writeInt(config.getPartitions() == null ? 1 : config.getPartitions());
+      buffer.writeNullableSimpleString(config.getPartitionKey());
    }
 
    @Override
@@ -198,7 +205,9 @@ public class PersistentQueueBindingEncoding implements EncodingSupport, QueueBin
          DataConstants.SIZE_LONG +
          DataConstants.SIZE_BOOLEAN +
          DataConstants.SIZE_BOOLEAN +
-         DataConstants.SIZE_BOOLEAN;
+         DataConstants.SIZE_BOOLEAN +
+         DataConstants.SIZE_INT +
+         SimpleString.sizeofNullableString(config.getPartitionKey());
    }
 
    private SimpleString createMetadata() {
@@ -48,6 +48,14 @@ public interface Binding extends UnproposalListener {
 
    boolean isExclusive();
 
+   /**
+    * {@return {@code false} if messages are only routed to this binding through another one, e.g. the partitions of a
+    * partitioned queue}
+    */
+   default boolean isRoutable() {
+      return true;
+   }
+
    Long getID();
 
    int getDistance();
@@ -140,7 +140,7 @@ public final class BindingsImpl implements Bindings {
 
          if (binding.isExclusive()) {
             exclusiveBindings.add(binding);
-         } else {
+         } else if (binding.isRoutable()) {
             routingNameBindingMap.addBindingIfAbsent(binding);
          }
 
@@ -188,7 +188,7 @@ public final class BindingsImpl implements Bindings {
       try {
          if (binding.isExclusive()) {
             exclusiveBindings.remove(binding);
-         } else {
+         } else if (binding.isRoutable()) {
             routingNameBindingMap.removeBinding(binding);
          }
 
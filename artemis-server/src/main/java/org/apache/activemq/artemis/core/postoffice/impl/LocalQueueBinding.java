@@ -41,11 +41,15 @@ public class LocalQueueBinding implements QueueBinding {
 
    private SimpleString name;
 
+   private final boolean partition;
+
    public LocalQueueBinding(final SimpleString address, final Queue queue, final SimpleString nodeID) {
       this.address = address;
 
       this.queue = queue;
 
+      this.partition = queue.getQueueConfiguration() != null && queue.getQueueConfiguration().isPartitionQueue();
+
       this.name = queue.getName();
 
       clusterName = queue.getName().concat(nodeID);
@@ -104,6 +108,12 @@ public class LocalQueueBinding implements QueueBinding {
       return false;
    }
 
+   @Override
+   public boolean isRoutable() {
+      // the partitions of a queue are routed to by the queue itself
+      return !partition;
+   }
+
    @Override
    public int getDistance() {
       return 0;
@@ -2054,7 +2054,7 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
             // we only reap queues on the initialCheck if they are actually empty
             PagingStore queuePagingStore = queue.getPagingStore();
             boolean isPaging = queuePagingStore != null && queuePagingStore.isStorePaging();
-            boolean validInitialCheck = initialCheck && queue.getMessageCount() == 0 && !isPaging;
+            boolean validInitialCheck = initialCheck && QueueManagerImpl.getMessageCount(queue) == 0 && !isPaging;
             if (validInitialCheck || queue.isSwept()) {
                if (logger.isDebugEnabled()) {
                   if (initialCheck) {
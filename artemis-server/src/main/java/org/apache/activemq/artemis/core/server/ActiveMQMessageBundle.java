@@ -541,4 +541,7 @@ public interface ActiveMQMessageBundle {
    @Message(id = 229259, value = "Invalid disk full message policy type {}")
    IllegalArgumentException invalidDiskFullPolicyType(String val);
 
+   @Message(id = 229260, value = "Can not create queue {} with {} partitions, only ANYCAST queues can be partitioned")
+   IllegalArgumentException invalidPartitionedQueue(SimpleString queueName, int partitions);
+
 }
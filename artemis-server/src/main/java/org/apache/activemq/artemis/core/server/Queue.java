@@ -16,6 +16,7 @@
  */
 package org.apache.activemq.artemis.core.server;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -37,6 +38,7 @@ import org.apache.activemq.artemis.core.transaction.Transaction;
 import org.apache.activemq.artemis.utils.ReferenceCounter;
 import org.apache.activemq.artemis.utils.collections.NodeStore;
 import org.apache.activemq.artemis.utils.collections.LinkedListIterator;
+import org.apache.activemq.artemis.utils.collections.MultiLinkedListIterator;
 import org.apache.activemq.artemis.utils.collections.NodeStoreFactory;
 import org.apache.activemq.artemis.utils.critical.CriticalComponent;
 
@@ -439,6 +441,25 @@ public interface Queue extends Bindable, CriticalComponent {
 
    LinkedListIterator<MessageReference> browserIterator();
 
+   /**
+    * {@return an iterator to browse the messages of every partition of the queue, one partition after the other}
+    */
+   @SuppressWarnings("unchecked")
+   default LinkedListIterator<MessageReference> partitionsBrowserIterator() {
+      final int partitions = getPartitions();
+      if (partitions == 1) {
+         return browserIterator();
+      }
+      final List<LinkedListIterator<MessageReference>> iterators = new ArrayList<>(partitions);
+      for (int i = 0; i < partitions; i++) {
+         final Queue partition = getPartition(i);
+         if (partition != null) {
+            iterators.add(partition.browserIterator());
+         }
+      }
+      return new MultiLinkedListIterator<>(iterators.toArray(new LinkedListIterator[iterators.size()]));
+   }
+
    SimpleString getExpiryAddress();
 
    SimpleString getDeadLetterAddress();
@@ -532,6 +553,21 @@ public interface Queue extends Bindable, CriticalComponent {
       return null;
    }
 
+   /**
+    * {@return the number of partitions the messages of the queue are split into, {@code 1} if it isn't partitioned}
+    */
+   default int getPartitions() {
+      return 1;
+   }
+
+   /**
+    * {@return the queue holding a partition of this queue, {@code this} for the first one, or {@code null} if it
+    * doesn't exist}
+    */
+   default Queue getPartition(int partition) {
+      return partition == 0 ? this : null;
+   }
+
    default long getCreatedTimestamp() {
       return -1;
    }
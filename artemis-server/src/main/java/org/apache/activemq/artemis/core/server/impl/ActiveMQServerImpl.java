@@ -88,6 +88,7 @@ import org.apache.activemq.artemis.core.journal.RecordInfo;
 import org.apache.activemq.artemis.core.management.impl.ActiveMQServerControlImpl;
 import org.apache.activemq.artemis.core.paging.PagingManager;
 import org.apache.activemq.artemis.core.paging.PagingStoreFactory;
+import org.apache.activemq.artemis.core.paging.impl.FileSystemPageOffloadStore;
 import org.apache.activemq.artemis.core.paging.impl.PagingManagerImpl;
 import org.apache.activemq.artemis.core.paging.impl.PagingStoreFactoryDatabase;
 import org.apache.activemq.artemis.core.paging.impl.PagingStoreFactoryNIO;
@@ -2536,14 +2537,14 @@ public class ActiveMQServerImpl implements ActiveMQServer {
          }
 
          // This check is only valid if checkConsumerCount == true
-         if (checkConsumerCount && queue.getConsumerCount() != 0) {
+         if (checkConsumerCount && QueueManagerImpl.getConsumerCount(queue) != 0) {
             throw ActiveMQMessageBundle.BUNDLE.cannotDeleteQueueWithConsumers(queue.getName(), queueName, binding.getClass().getName());
          }
 
          // This check is only valid if checkMessageCount == true
          if (checkMessageCount && queue.getAutoDeleteMessageCount() != -1) {
-            long messageCount = queue.getMessageCount();
-            if (queue.getMessageCount() > queue.getAutoDeleteMessageCount()) {
+            long messageCount = QueueManagerImpl.getMessageCount(queue);
+            if (messageCount > queue.getAutoDeleteMessageCount()) {
                throw ActiveMQMessageBundle.BUNDLE.cannotDeleteQueueWithMessages(queue.getName(), queueName, messageCount);
             }
          }
@@ -2562,6 +2563,8 @@ public class ActiveMQServerImpl implements ActiveMQServer {
             callBrokerQueuePlugins(plugin -> plugin.afterDestroyQueue(queue, address, session, checkConsumerCount, removeConsumers, forceAutoDeleteAddress));
          }
 
+         destroyPartitions(queue, removeConsumers);
+
          if (forceAutoDeleteAddress) {
             AddressInfo addressInfo = getAddressInfo(address);
 
@@ -2580,6 +2583,15 @@ public class ActiveMQServerImpl implements ActiveMQServer {
       }
    }
 
+   private void destroyPartitions(final Queue queue, final boolean removeConsumers) throws Exception {
+      for (int i = 1; i < queue.getPartitions(); i++) {
+         final SimpleString partitionName = QueueConfiguration.getPartitionName(queue.getName(), i);
+         if (postOffice.getBinding(partitionName) != null) {
+            destroyQueue(partitionName, null, false, removeConsumers);
+         }
+      }
+   }
+
    @Override
    public void clearAddressCache() {
       securityRepository.clearCache();
@@ -3121,7 +3133,7 @@ public class ActiveMQServerImpl implements ActiveMQServer {
 
    @Override
    public PagingManager createPagingManager() throws Exception {
-      return new PagingManagerImpl(getPagingStoreFactory(), addressSettingsRepository, configuration.getGlobalMaxSize(), configuration.getGlobalMaxMessages(), configuration.getManagementAddress(), this);
+      return new PagingManagerImpl(getPagingStoreFactory(), addressSettingsRepository, configuration.getGlobalMaxSize(), configuration.getGlobalMaxMessages(), configuration.getManagementAddress(), this).setPageCacheMaxSize(configuration.getGlobalPageCacheMaxSize());
    }
 
    protected PagingStoreFactory getPagingStoreFactory() throws Exception {
@@ -3129,7 +3141,7 @@ public class ActiveMQServerImpl implements ActiveMQServer {
          DatabaseStorageConfiguration dbConf = (DatabaseStorageConfiguration) configuration.getStoreConfiguration();
          return new PagingStoreFactoryDatabase(dbConf, storageManager, configuration.getPageSyncTimeout(), scheduledPool, pageExecutorFactory, false, ioCriticalErrorListener);
       } else {
-         return new PagingStoreFactoryNIO(storageManager, configuration.getPagingLocation(), configuration.getPageSyncTimeout(), scheduledPool, pageExecutorFactory, configuration.isJournalSyncNonTransactional(), ioCriticalErrorListener, configuration::isPurgePageFolders);
+         return new PagingStoreFactoryNIO(storageManager, configuration.getPagingLocation(), configuration.getPageSyncTimeout(), scheduledPool, pageExecutorFactory, configuration.isJournalSyncNonTransactional(), ioCriticalErrorListener, configuration::isPurgePageFolders).setReadMapped(configuration.isPageReadMapped()).setPageCompactionThreshold(configuration.getPageCompactionThreshold()).setPageGroupSync(configuration.isPageGroupSync()).setPageOffloadStore(configuration.getPageOffloadLocation() == null ? null : new FileSystemPageOffloadStore(configuration.getPageOffloadLocation())).setPageOffloadPrefetch(configuration.getPageOffloadPrefetch());
       }
    }
 
@@ -3308,6 +3320,8 @@ public class ActiveMQServerImpl implements ActiveMQServer {
 
       storageManager = createStorageManager();
 
+      storageManager.setAddressSettingsRepository(addressSettingsRepository);
+
       if (!configuration.getClusterConfigurations().isEmpty() && ActiveMQDefaultConfiguration.getDefaultClusterUser().equals(configuration.getClusterUser()) && ActiveMQDefaultConfiguration.getDefaultClusterPassword().equals(configuration.getClusterPassword())) {
          ActiveMQServerLogger.LOGGER.clusterSecurityRisk();
       }
@@ -4109,6 +4123,10 @@ public class ActiveMQServerImpl implements ActiveMQServer {
             throw ActiveMQMessageBundle.BUNDLE.invalidRoutingTypeForAddress(queueConfiguration.getRoutingType(), info.getName().toString(), info.getRoutingTypes());
          }
 
+         if (queueConfiguration.getPartitions() != null && queueConfiguration.getPartitions() > 1 && queueConfiguration.getRoutingType() != RoutingType.ANYCAST) {
+            throw ActiveMQMessageBundle.BUNDLE.invalidPartitionedQueue(queueConfiguration.getName(), queueConfiguration.getPartitions());
+         }
+
          if (hasBrokerQueuePlugins()) {
             callBrokerQueuePlugins(plugin -> plugin.beforeCreateQueue(queueConfiguration));
          }
@@ -4165,10 +4183,27 @@ public class ActiveMQServerImpl implements ActiveMQServer {
 
          callPostQueueCreationCallbacks(queue.getName());
 
+         createPartitions(queue);
+
          return queue;
       }
    }
 
+   private void createPartitions(final Queue queue) throws Exception {
+      for (int i = 1; i < queue.getPartitions(); i++) {
+         // the partitions only live as long as their queue does
+         createQueue(QueueConfiguration.of(queue.getQueueConfiguration())
+                        .setId(null)
+                        .setName(QueueConfiguration.getPartitionName(queue.getName(), i))
+                        .setInternal(true)
+                        .setAutoCreateAddress(false)
+                        .setAutoDelete(false)
+                        .setConfigurationManaged(false)
+                        .setPartitions(null)
+                        .setPartitionKey((SimpleString) null), true);
+      }
+   }
+
    private void copyRetroactiveMessages(Queue targetQueue) throws Exception {
       if (addressSettingsRepository.getMatch(targetQueue.getAddress().toString()).getRetroactiveMessageCount() > 0) {
          Queue retroQueue = locateQueue(ResourceNames.getRetroactiveResourceQueueName(getInternalNamingPrefix(), getConfiguration().getWildcardConfiguration().getDelimiterString(), targetQueue.getAddress(), targetQueue.getRoutingType()));
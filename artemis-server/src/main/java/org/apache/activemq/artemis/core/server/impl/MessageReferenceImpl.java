@@ -19,11 +19,13 @@ package org.apache.activemq.artemis.core.server.impl;
 import java.util.Comparator;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.Consumer;
 
 import org.apache.activemq.artemis.api.core.ActiveMQException;
 import org.apache.activemq.artemis.api.core.Message;
 import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.paging.PagingStore;
 import org.apache.activemq.artemis.core.server.MessageReference;
 import org.apache.activemq.artemis.core.server.Queue;
 import org.apache.activemq.artemis.core.server.ServerConsumer;
@@ -63,12 +65,26 @@ public class MessageReferenceImpl extends AbstractProtocolReference implements M
    private static final AtomicIntegerFieldUpdater<MessageReferenceImpl> DELIVERY_COUNT_UPDATER = AtomicIntegerFieldUpdater
       .newUpdater(MessageReferenceImpl.class, "deliveryCount");
 
+   private static final AtomicReferenceFieldUpdater<MessageReferenceImpl, DeliveryState> DELIVERY_STATE_UPDATER = AtomicReferenceFieldUpdater
+      .newUpdater(MessageReferenceImpl.class, DeliveryState.class, "deliveryState");
+
+   /**
+    * The state only needed once a reference is scheduled or loaded with a delivery count. Most of the references are
+    * never in any of these cases, so this is kept apart and only allocated when first set, instead of making every
+    * reference of every queue bigger. The consumer ID and the delivery callback are set on every delivery, so they are
+    * kept on the reference itself.
+    */
+   private static final class DeliveryState {
+
+      private volatile int persistedCount;
+
+      private volatile long scheduledDeliveryTime;
+   }
+
    @SuppressWarnings("unused")
    private volatile int deliveryCount = 0;
 
-   private volatile int persistedCount;
-
-   private volatile long scheduledDeliveryTime;
+   private volatile DeliveryState deliveryState;
 
    private final Message message;
 
@@ -89,6 +105,10 @@ public class MessageReferenceImpl extends AbstractProtocolReference implements M
    // on HotSpot 64-bit VM COOPS, 8-byte alignment
    private static final int memoryOffset = 72;
 
+   // The size of the DeliveryState holder, computed the same way: accounted on the paging store of the queue when it is
+   // allocated and released when the reference is removed from the queue
+   private static final int deliveryStateMemoryOffset = 24;
+
 
    public MessageReferenceImpl() {
       queue = null;
@@ -99,12 +119,16 @@ public class MessageReferenceImpl extends AbstractProtocolReference implements M
    public MessageReferenceImpl(final MessageReferenceImpl other, final Queue queue) {
       DELIVERY_COUNT_UPDATER.set(this, other.getDeliveryCount());
 
-      scheduledDeliveryTime = other.scheduledDeliveryTime;
-
       message = other.message;
 
       this.queue = queue;
 
+      // set once the queue is known, as that's where the holder is accounted
+      final long scheduledDeliveryTime = other.getScheduledDeliveryTime();
+      if (scheduledDeliveryTime != 0) {
+         deliveryState().scheduledDeliveryTime = scheduledDeliveryTime;
+      }
+
       sequence = other.sequence;
    }
 
@@ -115,6 +139,20 @@ public class MessageReferenceImpl extends AbstractProtocolReference implements M
 
    }
 
+   private DeliveryState deliveryState() {
+      final DeliveryState deliveryState = this.deliveryState;
+      if (deliveryState != null) {
+         return deliveryState;
+      }
+      if (DELIVERY_STATE_UPDATER.compareAndSet(this, null, new DeliveryState())) {
+         final PagingStore pagingStore = queue == null ? null : queue.getPagingStore();
+         if (pagingStore != null) {
+            pagingStore.addSize(deliveryStateMemoryOffset, true);
+         }
+      }
+      return this.deliveryState;
+   }
+
    // MessageReference implementation -------------------------------
 
    @Override
@@ -144,12 +182,15 @@ public class MessageReferenceImpl extends AbstractProtocolReference implements M
 
    @Override
    public int getPersistedCount() {
-      return persistedCount;
+      final DeliveryState deliveryState = this.deliveryState;
+      return deliveryState == null ? 0 : deliveryState.persistedCount;
    }
 
    @Override
    public void setPersistedCount(int persistedCount) {
-      this.persistedCount = persistedCount;
+      if (persistedCount != 0 || this.deliveryState != null) {
+         deliveryState().persistedCount = persistedCount;
+      }
    }
 
    @Override
@@ -161,6 +202,13 @@ public class MessageReferenceImpl extends AbstractProtocolReference implements M
       return MessageReferenceImpl.memoryOffset;
    }
 
+   /**
+    * {@return the memory taken by the delivery state of this reference, {@code 0} until it is allocated}
+    */
+   public int getDeliveryStateMemoryEstimate() {
+      return deliveryState == null ? 0 : deliveryStateMemoryOffset;
+   }
+
 
    @Override
    public int getDeliveryCount() {
@@ -170,7 +218,7 @@ public class MessageReferenceImpl extends AbstractProtocolReference implements M
    @Override
    public void setDeliveryCount(final int deliveryCount) {
       DELIVERY_COUNT_UPDATER.set(this, deliveryCount);
-      this.persistedCount = deliveryCount;
+      setPersistedCount(deliveryCount);
    }
 
    @Override
@@ -185,12 +233,15 @@ public class MessageReferenceImpl extends AbstractProtocolReference implements M
 
    @Override
    public long getScheduledDeliveryTime() {
-      return scheduledDeliveryTime;
+      final DeliveryState deliveryState = this.deliveryState;
+      return deliveryState == null ? 0 : deliveryState.scheduledDeliveryTime;
    }
 
    @Override
    public void setScheduledDeliveryTime(final long scheduledDeliveryTime) {
-      this.scheduledDeliveryTime = scheduledDeliveryTime;
+      if (scheduledDeliveryTime != 0 || this.deliveryState != null) {
+         deliveryState().scheduledDeliveryTime = scheduledDeliveryTime;
+      }
    }
 
    @Override
@@ -146,6 +146,7 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
    private static final AtomicIntegerFieldUpdater<QueueImpl> dispatchingUpdater = AtomicIntegerFieldUpdater.newUpdater(QueueImpl.class, "dispatching");
    private static final AtomicLongFieldUpdater<QueueImpl> dispatchStartTimeUpdater = AtomicLongFieldUpdater.newUpdater(QueueImpl.class, "dispatchStartTime");
    private static final AtomicLongFieldUpdater<QueueImpl> consumerRemovedTimestampUpdater = AtomicLongFieldUpdater.newUpdater(QueueImpl.class, "consumerRemovedTimestamp");
+   private static final AtomicIntegerFieldUpdater<QueueImpl> partitionsCheckScheduledUpdater = AtomicIntegerFieldUpdater.newUpdater(QueueImpl.class, "partitionsCheckScheduled");
    private static final AtomicReferenceFieldUpdater<QueueImpl, Filter> filterUpdater = AtomicReferenceFieldUpdater.newUpdater(QueueImpl.class, Filter.class, "filter");
 
    public static final int NUM_PRIORITIES = 10;
@@ -162,12 +163,29 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
 
    public static final int DEFAULT_FLUSH_LIMIT = 500;
 
+   // how long the consumers of a partitioned queue have to stay unchanged before its partitions are checked
+   public static final int PARTITIONS_CHECK_DELAY = 1000;
+
+   // the most references handed to consumers on each hold of the queue lock by the async delivery
+   public static final int DELIVERY_BATCH_SIZE = 32;
+
    private volatile Filter filter;
 
    private final PostOffice postOffice;
 
    private volatile boolean queueDestroyed = false;
 
+   // the names of the queues holding the partitions of this queue
+   private volatile SimpleString[] partitionNames;
+
+   // messages without a partition key are spread over the partitions, a race here is harmless
+   private int nextPartition;
+
+   // consumer changes on the partitions of this queue are checked once they settle, see requestPartitionsCheck
+   private volatile long partitionsCheckDeadline;
+
+   private volatile int partitionsCheckScheduled;
+
    // Variable to control if we should print a flow controlled message or not. Once it was flow controlled, we will stop
    // warning until it's cleared once again
    private volatile boolean pageFlowControlled = false;
@@ -251,6 +269,8 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
 
    private final Runnable deliverRunner = new DeliverRunner();
 
+   private final DeliveryBatch deliveryBatch = new DeliveryBatch();
+
    //This lock is used to prevent deadlocks between direct and async deliveries
    private final ReentrantLock deliverLock = new ReentrantLock();
 
@@ -587,6 +607,16 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
          context.setReusable(false);
          return;
       }
+      final int partitions = getPartitions();
+      if (partitions > 1) {
+         // the next message may be routed to another partition
+         context.setReusable(false);
+         final Queue partition = getPartition(selectPartition(message, partitions));
+         if (partition != null && partition != this) {
+            partition.route(message, context);
+            return;
+         }
+      }
       if (queueConfiguration.isPurgeOnNoConsumers()) {
          context.setReusable(false);
          if (getConsumerCount() == 0) {
@@ -603,6 +633,253 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
       context.addQueue(queueConfiguration.getAddress(), this);
    }
 
+   private int selectPartition(final Message message, final int partitions) {
+      final SimpleString partitionKey = queueConfiguration.getPartitionKey();
+      Object key = partitionKey == null ? message.getGroupID() : message.getObjectProperty(partitionKey);
+      if (key instanceof String string) {
+         // the same key has to hash the same way whatever protocol the message came from
+         key = SimpleString.of(string);
+      }
+      if (key != null) {
+         final int hash = key.hashCode() & Integer.MAX_VALUE;
+         final int partition = hash % partitions;
+         if (hasPartitionConsumers(partition)) {
+            return partition;
+         }
+         // the key is spread over the partitions with consumers instead, so its messages aren't left unconsumed
+         int consumed = 0;
+         for (int i = 0; i < partitions; i++) {
+            if (hasPartitionConsumers(i)) {
+               consumed++;
+            }
+         }
+         if (consumed > 0) {
+            int selected = hash % consumed;
+            for (int i = 0; i < partitions; i++) {
+               if (hasPartitionConsumers(i) && selected-- == 0) {
+                  return i;
+               }
+            }
+         }
+         return partition;
+      }
+
+      // prefer the partitions with consumers, so messages don't wait on one nobody is consuming from
+      final int last = nextPartition;
+      int partition = last;
+      for (int i = 0; i < partitions; i++) {
+         partition = partition + 1 == partitions ? 0 : partition + 1;
+         final Queue queue = getPartition(partition);
+         if (queue != null && queue.getConsumerCount() > 0) {
+            nextPartition = partition;
+            return partition;
+         }
+      }
+      partition = last + 1 >= partitions ? 0 : last + 1;
+      nextPartition = partition;
+      return partition;
+   }
+
+   private boolean hasPartitionConsumers(final int partition) {
+      final Queue queue = getPartition(partition);
+      return queue != null && queue.getConsumerCount() > 0;
+   }
+
+   /**
+    * Called whenever a consumer is added to or removed from a partition. While any partition has consumers, the
+    * references of the partitions without consumers are moved to the partitions with consumers, so no message is left
+    * on a partition nobody consumes from.
+    */
+   private void checkPartitions() {
+      final Queue partitioned = getPartitioned();
+      if (partitioned instanceof QueueImpl queue) {
+         queue.requestPartitionsCheck();
+      }
+   }
+
+   private Queue getPartitioned() {
+      if (getPartitions() > 1) {
+         return this;
+      }
+      if (!queueConfiguration.isPartitionQueue() || postOffice == null) {
+         return null;
+      }
+      final Binding binding = postOffice.getBinding(QueueConfiguration.getPartitionedQueueName(queueConfiguration.getName()));
+      return binding instanceof LocalQueueBinding queueBinding ? queueBinding.getQueue() : null;
+   }
+
+   /**
+    * Consumers come and go in bursts (e.g. when a client reconnects), so the partitions are only checked once their
+    * consumers haven't changed for {@link #PARTITIONS_CHECK_DELAY} milliseconds, instead of moving references back
+    * and forth on every change.
+    */
+   private void requestPartitionsCheck() {
+      partitionsCheckDeadline = System.currentTimeMillis() + PARTITIONS_CHECK_DELAY;
+      if (scheduledExecutor != null && partitionsCheckScheduledUpdater.compareAndSet(this, 0, 1)) {
+         scheduledExecutor.schedule(this::partitionsCheckDue, PARTITIONS_CHECK_DELAY, TimeUnit.MILLISECONDS);
+      }
+   }
+
+   private void partitionsCheckDue() {
+      final long delay = partitionsCheckDeadline - System.currentTimeMillis();
+      if (delay > 0) {
+         scheduledExecutor.schedule(this::partitionsCheckDue, delay, TimeUnit.MILLISECONDS);
+         return;
+      }
+      partitionsCheckScheduled = 0;
+      if (queueDestroyed || !isConsumed(this)) {
+         return;
+      }
+      for (int i = 0; i < getPartitions(); i++) {
+         if (getPartition(i) instanceof QueueImpl partition && partition.getConsumerCount() == 0 && partition.getMessageCount() > 0) {
+            partition.getExecutor().execute(() -> {
+               try {
+                  final int moved = partition.movePartitionReferences(this);
+                  logger.debug("{} messages of partition {} without consumers moved to the other partitions of {}", moved, partition.getName(), getName());
+               } catch (Exception e) {
+                  logger.warn("Could not move the messages of partition {} to the other partitions of {}", partition.getName(), getName(), e);
+               }
+            });
+         }
+      }
+   }
+
+   private static boolean isConsumed(final Queue partitioned) {
+      for (int i = 0; i < partitioned.getPartitions(); i++) {
+         final Queue partition = partitioned.getPartition(i);
+         if (partition != null && partition.getConsumerCount() > 0) {
+            return true;
+         }
+      }
+      return false;
+   }
+
+   /**
+    * Moves the references of this partition to the partitions of {@code partitioned} with consumers. The partitions
+    * share the address and its storage, so the message itself is kept as it is (same ID, properties and body) and only
+    * its references change queue: one is added to the target and this one is acked on the same transaction.
+    * <p>
+    * Paged references are left in place, they are moved once depaged by the next check.
+    */
+   private int movePartitionReferences(final QueueImpl partitioned) throws Exception {
+      final int partitions = partitioned.getPartitions();
+      int count = 0;
+      int txCount = 0;
+      // This is to avoid scheduling depaging while the references are moved
+      depagePending = true;
+
+      depageLock.lock();
+
+      try {
+         Transaction tx = new TransactionImpl(storageManager);
+
+         synchronized (this) {
+            // ensure all messages are moved from intermediateMessageReferences so that they can be seen by the iterator
+            doInternalPoll();
+
+            try (LinkedListIterator<MessageReference> iter = iterator()) {
+               // stops as soon as this partition gets a consumer, or the others lose theirs
+               while (iter.hasNext() && getConsumerCount() == 0) {
+                  final MessageReference ref = iter.next();
+                  final Queue target = partitioned.getPartition(partitioned.selectPartition(ref.getMessage(), partitions));
+                  if (target == null || target == this || target.getConsumerCount() == 0) {
+                     continue;
+                  }
+                  moveReference(tx, ref, target);
+                  iter.remove();
+                  refRemoved(ref);
+                  count++;
+                  if (++txCount % DEFAULT_FLUSH_LIMIT == 0) {
+                     tx.commit();
+                     tx = new TransactionImpl(storageManager);
+                     txCount = 0;
+                  }
+               }
+            }
+
+            final List<MessageReference> cancelled = scheduledDeliveryHandler.cancel(ref -> {
+               final Queue target = partitioned.getPartition(partitioned.selectPartition(ref.getMessage(), partitions));
+               return target != null && target != this && target.getConsumerCount() > 0;
+            });
+            for (MessageReference ref : cancelled) {
+               moveReference(tx, ref, partitioned.getPartition(partitioned.selectPartition(ref.getMessage(), partitions)));
+               count++;
+               txCount++;
+            }
+         }
+
+         if (txCount > 0) {
+            tx.commit();
+         }
+
+         if (!queueDestroyed && pageSubscription != null && pageSubscription.isPaging()) {
+            scheduleDepage(false);
+            // what is depaged meanwhile is moved on the next check
+            partitioned.requestPartitionsCheck();
+         }
+
+         return count;
+      } finally {
+         depageLock.unlock();
+         // to resume flow of depages, just in case
+         // as we disabled depaging while moving the references
+         depagePending = false;
+         forceDelivery();
+      }
+   }
+
+   private void moveReference(final Transaction tx, final MessageReference ref, final Queue target) throws Exception {
+      final Message message = ref.getMessage();
+      // the copy keeps the delivery count and the scheduled delivery time of the reference
+      final MessageReference moved = ref.copy(target);
+      target.refUp(moved);
+      if (message.isDurable() && target.isDurable()) {
+         PostOfficeImpl.storeDurableReference(storageManager, message, tx, target, false);
+         if (moved.getScheduledDeliveryTime() > 0) {
+            storageManager.updateScheduledDeliveryTimeTransactional(tx.getID(), moved);
+         }
+      }
+      incDelivering(ref);
+      acknowledge(tx, ref, AckReason.NORMAL, null, true);
+      tx.addOperation(new TransactionOperationAbstract() {
+         @Override
+         public void afterCommit(Transaction tx) {
+            target.addTail(moved, false);
+         }
+      });
+   }
+
+   @Override
+   public int getPartitions() {
+      final Integer partitions = queueConfiguration.getPartitions();
+      return partitions == null || partitions < 1 ? 1 : partitions;
+   }
+
+   @Override
+   public Queue getPartition(int partition) {
+      if (partition == 0) {
+         return this;
+      }
+      final int partitions = getPartitions();
+      if (partition < 0 || partition >= partitions || postOffice == null) {
+         return null;
+      }
+      SimpleString[] names = partitionNames;
+      if (names == null || names.length != partitions) {
+         names = new SimpleString[partitions];
+         for (int i = 0; i < partitions; i++) {
+            names[i] = QueueConfiguration.getPartitionName(queueConfiguration.getName(), i);
+         }
+         partitionNames = names;
+      }
+      // looked up every time as the partitions are created, reloaded and deleted apart from this queue
+      final Binding binding = postOffice.getBinding(names[partition]);
+      if (binding instanceof LocalQueueBinding queueBinding) {
+         return queueBinding.getQueue();
+      }
+      return null;
+   }
+
    @Override
    public void routeWithAck(Message message, RoutingContext context) {
       context.addQueueWithAck(queueConfiguration.getAddress(), this);
@@ -795,6 +1072,10 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
             pagingStore.addSize(-messageReference.getMessage().getOriginalEstimate(), false, false);
          }
          pagingStore.refDown(messageReference.getMessage(), count);
+         final int deliveryStateSize = messageReference instanceof MessageReferenceImpl reference ? reference.getDeliveryStateMemoryEstimate() : 0;
+         if (deliveryStateSize > 0) {
+            pagingStore.addSize(-deliveryStateSize, true);
+         }
       }
    }
 
@@ -1227,6 +1508,8 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
             }
          }
       }
+
+      checkPartitions();
    }
 
    @Override
@@ -1292,6 +1575,8 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
 
          }
       }
+
+      checkPartitions();
    }
 
    private void releaseExclusiveConsumer() {
@@ -2919,188 +3204,275 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
 
       doInternalPoll();
 
-      // Either the iterator is empty or the consumer is busy
-      int noDelivery = 0;
-
-      // track filters not matching, used to track when all consumers can't match, redistribution is then an option
-      int numNoMatch = 0;
-      int numAttempts = 0;
-
-      int handled = 0;
-
-      long timeout = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DELIVERY_TIMEOUT);
+      final DeliveryBatch batch = deliveryBatch;
+      batch.reset(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DELIVERY_TIMEOUT));
       consumers.reset();
       while (true) {
-         if (handled == MAX_DELIVERIES_IN_LOOP || System.nanoTime() - timeout > 0) {
+         final DeliveryResult result;
+         try {
+            synchronized (QueueImpl.this) {
+               result = handleBatch(batch);
+            }
+         } finally {
+            // the handled references are delivered out of the lock
+            batch.deliver();
+         }
+         if (result != DeliveryResult.BATCH_FULL) {
+            return result == DeliveryResult.DONE;
+         }
+      }
+   }
+
+   /**
+    * Hands references to the consumers while holding the queue lock, until the batch is full or there's nothing else
+    * to deliver.
+    */
+   private DeliveryResult handleBatch(final DeliveryBatch batch) {
+      while (true) {
+         if (batch.handled == MAX_DELIVERIES_IN_LOOP || System.nanoTime() - batch.timeout > 0) {
             // Schedule another one - we do this to prevent a single thread getting caught up in this loop for too long
             deliverAsync(true);
-            return false;
+            return DeliveryResult.STOPPED;
+         }
+
+         if (queueDestroyed) {
+            if (messageReferences.isEmpty()) {
+               return DeliveryResult.STOPPED;
+            }
+            try {
+               removeMessagesWhileDelivering();
+            } catch (Exception e) {
+               logger.warn(e.getMessage(), e);
+            }
+            return DeliveryResult.STOPPED;
+         }
+
+         // Need to do these checks inside the synchronized
+         if (isPaused() || !canDispatch()) {
+            return DeliveryResult.STOPPED;
+         }
+
+         if (messageReferences.isEmpty()) {
+            return DeliveryResult.DONE;
+         }
+
+         final ConsumerHolder<? extends Consumer> holder;
+         final LinkedListIterator<MessageReference> holderIterator;
+         if (consumers.hasNext()) {
+            holder = consumers.next();
+            if (holder == null) {
+               // this shouldn't happen, however I'm adding this check just in case
+               logger.debug("consumers.next() returned null.");
+               deliverAsync(true);
+               return DeliveryResult.STOPPED;
+            }
+            if (holder.iter == null) {
+               holder.iter = messageReferences.iterator();
+            }
+            holderIterator = holder.iter;
+         } else {
+            pruneLastValues();
+            return DeliveryResult.DONE;
+         }
+
+         Consumer consumer = holder.consumer;
+         Consumer groupConsumer = null;
+         boolean handledNow = false;
+
+         // we remove the consumerHolder when the Consumer is closed
+         // however the QueueConsumerIterator may hold a reference until the reset is called, which
+         // could happen a little later.
+         if (consumer.isClosed()) {
+            deliverAsync(true);
+            return DeliveryResult.STOPPED;
          }
 
          MessageReference ref;
-         Consumer handledconsumer = null;
+         if (holderIterator.hasNext()) {
+            ref = holderIterator.next();
+         } else {
+            ref = null;
+         }
 
-         synchronized (QueueImpl.this) {
+         if (ref == null) {
+            batch.noDelivery++;
+         } else {
+            if (checkExpired(ref)) {
+               logger.trace("Reference {} being expired", ref);
 
-            if (queueDestroyed) {
-               if (messageReferences.isEmpty()) {
-                  return false;
-               }
-               try {
-                  removeMessagesWhileDelivering();
-               } catch (Exception e) {
-                  logger.warn(e.getMessage(), e);
-               }
-               return false;
+               removeMessageReference(holder, ref);
+               batch.handled++;
+               consumers.reset();
+               continue;
             }
 
-            // Need to do these checks inside the synchronized
-            if (isPaused() || !canDispatch()) {
-               return false;
+            logger.trace("Queue {} is delivering reference {}", queueConfiguration.getName(), ref);
+
+            final SimpleString groupID = extractGroupID(ref);
+            groupConsumer = getGroupConsumer(groupID);
+
+            if (groupConsumer != null) {
+               consumer = groupConsumer;
             }
 
-            if (messageReferences.isEmpty()) {
-               break;
+            if (batch.contains(consumer)) {
+               // consumers only account for their credits once the previous reference was delivered
+               holderIterator.repeat();
+               consumers.reset();
+               return DeliveryResult.BATCH_FULL;
             }
 
-            final ConsumerHolder<? extends Consumer> holder;
-            final LinkedListIterator<MessageReference> holderIterator;
-            if (consumers.hasNext()) {
-               holder = consumers.next();
-               if (holder == null) {
-                  // this shouldn't happen, however I'm adding this check just in case
-                  logger.debug("consumers.next() returned null.");
-                  deliverAsync(true);
-                  return false;
+            batch.numAttempts++;
+            HandleStatus status = handle(ref, consumer);
+
+            if (status == HandleStatus.HANDLED) {
+
+               // if a message was delivered, any previous negative attempts need to be cleared
+               // this is to avoid breaks on the loop when checking for any other factors.
+               batch.noDelivery = 0;
+               batch.numNoMatch = 0;
+               batch.numAttempts = 0;
+
+               ref = handleMessageGroup(ref, consumer, groupConsumer, groupID);
+
+               deliveriesInTransit.countUp();
+
+               if (!queueConfiguration.isNonDestructive()) {
+                  removeMessageReference(holder, ref);
                }
-               if (holder.iter == null) {
-                  holder.iter = messageReferences.iterator();
+               ref.setInDelivery(true);
+               batch.add(consumer, ref);
+               handledNow = true;
+               batch.handled++;
+               consumers.reset();
+               if (batch.isFull()) {
+                  return DeliveryResult.BATCH_FULL;
+               }
+            } else if (status == HandleStatus.BUSY) {
+               try {
+                  holderIterator.repeat();
+               } catch (NoSuchElementException e) {
+                  // this could happen if there was an exception on the queue handling
+                  // and it returned BUSY because of that exception
+                  //
+                  // We will just log it as there's nothing else we can do now.
+                  logger.warn(e.getMessage(), e);
                }
-               holderIterator = holder.iter;
-            } else {
-               pruneLastValues();
-               break;
-            }
-
-            Consumer consumer = holder.consumer;
-            Consumer groupConsumer = null;
 
-            // we remove the consumerHolder when the Consumer is closed
-            // however the QueueConsumerIterator may hold a reference until the reset is called, which
-            // could happen a little later.
-            if (consumer.isClosed()) {
-               deliverAsync(true);
-               return false;
+               batch.noDelivery++;
+               batch.numNoMatch = 0;
+               batch.numAttempts = 0;
+               // no consumers.reset() b/c we skip this consumer
+            } else if (status == HandleStatus.NO_MATCH) {
+               consumers.reset();
+               batch.numNoMatch++;
+               // every attempt resulted in noMatch for number of consumers means we tried all consumers for a single message
+               if (batch.numNoMatch == batch.numAttempts && batch.numAttempts == consumers.size() && redistributor == null) {
+                  hasUnMatchedPending = true;
+                  // one hit of unmatched message is enough, no need to reset counters
+               }
             }
+         }
 
-            if (holderIterator.hasNext()) {
-               ref = holderIterator.next();
-            } else {
-               ref = null;
+         if (groupConsumer != null) {
+            if (batch.noDelivery > 0) {
+               pruneLastValues();
+               return DeliveryResult.DONE;
             }
+            batch.noDelivery = 0;
+         } else if (!consumers.hasNext()) {
+            // Round robin'd all
 
-            if (ref == null) {
-               noDelivery++;
-            } else {
-               if (checkExpired(ref)) {
-                  logger.trace("Reference {} being expired", ref);
+            if (batch.noDelivery == this.consumers.size()) {
+               pruneLastValues();
 
-                  removeMessageReference(holder, ref);
-                  handled++;
-                  consumers.reset();
-                  continue;
+               if (handledNow) {
+                  // this shouldn't really happen,
+                  // however I'm keeping this as an assertion case future developers ever change the logic here on this class
+                  ActiveMQServerLogger.LOGGER.nonDeliveryHandled();
+               } else {
+                  logger.debug("{}::All the consumers were busy, giving up now", this);
+                  return DeliveryResult.DONE;
                }
+            }
 
-               logger.trace("Queue {} is delivering reference {}", queueConfiguration.getName(), ref);
+            batch.noDelivery = 0;
+         }
+      }
+   }
 
-               final SimpleString groupID = extractGroupID(ref);
-               groupConsumer = getGroupConsumer(groupID);
+   private enum DeliveryResult {
+      // the batch has to be delivered before handling more references
+      BATCH_FULL,
+      // nothing else can be delivered now, the paged messages can be checked
+      DONE,
+      // the delivery stopped or another one was scheduled
+      STOPPED
+   }
 
-               if (groupConsumer != null) {
-                  consumer = groupConsumer;
-               }
+   /**
+    * The state of an async delivery. References are handed to the consumers while holding the queue lock, and they are
+    * delivered in batches once the lock is released, so the lock is taken once per batch rather than once per
+    * message. A batch holds at most one reference per consumer, as the consumers only account for their credits once
+    * a reference is delivered. Only used by the thread holding the deliverLock.
+    */
+   private final class DeliveryBatch {
 
-               numAttempts++;
-               HandleStatus status = handle(ref, consumer);
+      private final Consumer[] batchConsumers = new Consumer[DELIVERY_BATCH_SIZE];
 
-               if (status == HandleStatus.HANDLED) {
+      private final MessageReference[] batchReferences = new MessageReference[DELIVERY_BATCH_SIZE];
 
-                  // if a message was delivered, any previous negative attempts need to be cleared
-                  // this is to avoid breaks on the loop when checking for any other factors.
-                  noDelivery = 0;
-                  numNoMatch = 0;
-                  numAttempts = 0;
+      private int size;
 
-                  ref = handleMessageGroup(ref, consumer, groupConsumer, groupID);
+      // Either the iterator is empty or the consumer is busy
+      int noDelivery;
 
-                  deliveriesInTransit.countUp();
+      // track filters not matching, used to track when all consumers can't match, redistribution is then an option
+      int numNoMatch;
 
-                  if (!queueConfiguration.isNonDestructive()) {
-                     removeMessageReference(holder, ref);
-                  }
-                  ref.setInDelivery(true);
-                  handledconsumer = consumer;
-                  handled++;
-                  consumers.reset();
-               } else if (status == HandleStatus.BUSY) {
-                  try {
-                     holderIterator.repeat();
-                  } catch (NoSuchElementException e) {
-                     // this could happen if there was an exception on the queue handling
-                     // and it returned BUSY because of that exception
-                     //
-                     // We will just log it as there's nothing else we can do now.
-                     logger.warn(e.getMessage(), e);
-                  }
+      int numAttempts;
 
-                  noDelivery++;
-                  numNoMatch = 0;
-                  numAttempts = 0;
-                  // no consumers.reset() b/c we skip this consumer
-               } else if (status == HandleStatus.NO_MATCH) {
-                  consumers.reset();
-                  numNoMatch++;
-                  // every attempt resulted in noMatch for number of consumers means we tried all consumers for a single message
-                  if (numNoMatch == numAttempts && numAttempts == consumers.size() && redistributor == null) {
-                     hasUnMatchedPending = true;
-                     // one hit of unmatched message is enough, no need to reset counters
-                  }
-               }
-            }
+      int handled;
 
-            if (groupConsumer != null) {
-               if (noDelivery > 0) {
-                  pruneLastValues();
-                  break;
-               }
-               noDelivery = 0;
-            } else if (!consumers.hasNext()) {
-               // Round robin'd all
-
-               if (noDelivery == this.consumers.size()) {
-                  pruneLastValues();
-
-                  if (handledconsumer != null) {
-                     // this shouldn't really happen,
-                     // however I'm keeping this as an assertion case future developers ever change the logic here on this class
-                     ActiveMQServerLogger.LOGGER.nonDeliveryHandled();
-                  } else {
-                     logger.debug("{}::All the consumers were busy, giving up now", this);
-                     break;
-                  }
-               }
+      long timeout;
 
-               noDelivery = 0;
-            }
+      void reset(long timeout) {
+         this.noDelivery = 0;
+         this.numNoMatch = 0;
+         this.numAttempts = 0;
+         this.handled = 0;
+         this.timeout = timeout;
+      }
 
+      boolean contains(Consumer consumer) {
+         for (int i = 0; i < size; i++) {
+            if (batchConsumers[i] == consumer) {
+               return true;
+            }
          }
+         return false;
+      }
 
-         if (handledconsumer != null) {
-            proceedDeliver(handledconsumer, ref);
-         }
+      void add(Consumer consumer, MessageReference reference) {
+         batchConsumers[size] = consumer;
+         batchReferences[size] = reference;
+         size++;
       }
 
-      return true;
+      boolean isFull() {
+         return size == DELIVERY_BATCH_SIZE;
+      }
+
+      void deliver() {
+         for (int i = 0; i < size; i++) {
+            final Consumer consumer = batchConsumers[i];
+            final MessageReference reference = batchReferences[i];
+            batchConsumers[i] = null;
+            batchReferences[i] = null;
+            proceedDeliver(consumer, reference);
+         }
+         size = 0;
+      }
    }
 
    // called with 'this' locked
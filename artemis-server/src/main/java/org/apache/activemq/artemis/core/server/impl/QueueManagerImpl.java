@@ -67,7 +67,7 @@ public class QueueManagerImpl extends ReferenceCounterUtil implements QueueManag
       SimpleString queueName = queue.getName();
 
       if (logger.isDebugEnabled()) {
-         logger.debug("deleting auto-created queue \"{}\": consumerCount = {}; messageCount = {}; isAutoDelete = {}", queueName, queue.getConsumerCount(), queue.getMessageCount(), queue.isAutoDelete());
+         logger.debug("deleting auto-created queue \"{}\": consumerCount = {}; messageCount = {}; isAutoDelete = {}", queueName, getConsumerCount(queue), getMessageCount(queue), queue.isAutoDelete());
       }
 
       ActiveMQServerLogger.LOGGER.autoRemoveQueue(String.valueOf(queue.getName()), queue.getID(), String.valueOf(queue.getAddress()));
@@ -80,7 +80,7 @@ public class QueueManagerImpl extends ReferenceCounterUtil implements QueueManag
    }
 
    public static boolean messageCountCheck(Queue queue) {
-      return queue.getAutoDeleteMessageCount() == -1 || queue.getMessageCount() <= queue.getAutoDeleteMessageCount();
+      return queue.getAutoDeleteMessageCount() == -1 || getMessageCount(queue) <= queue.getAutoDeleteMessageCount();
    }
 
    public static boolean delayCheck(Queue queue, AddressSettings settings) {
@@ -88,7 +88,35 @@ public class QueueManagerImpl extends ReferenceCounterUtil implements QueueManag
    }
 
    public static boolean consumerCountCheck(Queue queue) {
-      return queue.getConsumerCount() == 0;
+      return getConsumerCount(queue) == 0;
+   }
+
+   /**
+    * {@return the number of messages of the queue, over all its partitions}
+    */
+   public static long getMessageCount(Queue queue) {
+      long messageCount = 0;
+      for (int i = 0; i < queue.getPartitions(); i++) {
+         final Queue partition = queue.getPartition(i);
+         if (partition != null) {
+            messageCount += partition.getMessageCount();
+         }
+      }
+      return messageCount;
+   }
+
+   /**
+    * {@return the number of consumers of the queue, over all its partitions}
+    */
+   public static int getConsumerCount(Queue queue) {
+      int consumerCount = 0;
+      for (int i = 0; i < queue.getPartitions(); i++) {
+         final Queue partition = queue.getPartition(i);
+         if (partition != null) {
+            consumerCount += partition.getConsumerCount();
+         }
+      }
+      return consumerCount;
    }
 
    public QueueManagerImpl(ActiveMQServer server, SimpleString queueName) {
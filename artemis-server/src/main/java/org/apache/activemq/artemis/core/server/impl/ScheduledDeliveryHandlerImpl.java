@@ -16,15 +16,11 @@
  */
 package org.apache.activemq.artemis.core.server.impl;
 
-import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeSet;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
@@ -47,12 +43,13 @@ public class ScheduledDeliveryHandlerImpl implements ScheduledDeliveryHandler {
 
    private final ScheduledExecutorService scheduledExecutor;
 
-   private final Map<Long, Runnable> runnables = new ConcurrentHashMap<>();
+   // Do not forget to call notifyScheduledReferencesUpdated() when updating the wheel.
+   // package-private for tests
+   final ScheduledTimingWheel scheduledReferences = new ScheduledTimingWheel(System.currentTimeMillis());
 
-   // This contains RefSchedules which are delegates to the real references
-   // just adding some information to keep it in order accordingly to the initial operations
-   // Do not forget to call notifyScheduledReferencesUpdated() when updating the set.
-   private final TreeSet<RefScheduled> scheduledReferences = new TreeSet<>(new MessageReferenceComparator());
+   // The time of the earliest ScheduledDeliveryRunnable waiting on the executor, guarded by scheduledReferences.
+   // A single runnable is pending for the wheel instead of one for each delivery time.
+   private long nextDeliveryTime = Long.MAX_VALUE;
 
    private final QueueMessageMetrics metrics;
 
@@ -85,7 +82,7 @@ public class ScheduledDeliveryHandlerImpl implements ScheduledDeliveryHandler {
 
    public void addInPlace(final long deliveryTime, final MessageReference ref, final boolean tail) {
       synchronized (scheduledReferences) {
-         scheduledReferences.add(new RefScheduled(ref, tail));
+         scheduledReferences.add(ref, tail);
          notifyScheduledReferencesUpdated();
       }
       metrics.incrementMetrics(ref);
@@ -133,34 +130,23 @@ public class ScheduledDeliveryHandlerImpl implements ScheduledDeliveryHandler {
 
    @Override
    public List<MessageReference> getScheduledReferences() {
-      List<MessageReference> refs = new LinkedList<>();
-
       synchronized (scheduledReferences) {
-         for (RefScheduled ref : scheduledReferences) {
-            refs.add(ref.getRef());
-         }
+         return scheduledReferences.toList();
       }
-      return refs;
    }
 
    @Override
    public List<MessageReference> cancel(Predicate<MessageReference> predicate) throws ActiveMQException {
-      List<MessageReference> refs = new ArrayList<>();
-
       synchronized (scheduledReferences) {
-         Iterator<RefScheduled> iter = scheduledReferences.iterator();
-
-         while (iter.hasNext()) {
-            MessageReference ref = iter.next().getRef();
-            if (predicate.test(ref)) {
-               iter.remove();
-               notifyScheduledReferencesUpdated();
-               refs.add(ref);
+         List<MessageReference> refs = scheduledReferences.removeIf(predicate);
+         if (!refs.isEmpty()) {
+            notifyScheduledReferencesUpdated();
+            for (MessageReference ref : refs) {
                metrics.decrementMetrics(ref);
             }
          }
+         return refs;
       }
-      return refs;
    }
 
    @Override
@@ -171,16 +157,13 @@ public class ScheduledDeliveryHandlerImpl implements ScheduledDeliveryHandler {
    @Override
    public MessageReference removeReferenceWithID(final long id, Transaction tx) throws Exception {
       synchronized (scheduledReferences) {
-         Iterator<RefScheduled> iter = scheduledReferences.iterator();
-         while (iter.hasNext()) {
-            MessageReference ref = iter.next().getRef();
-            if (ref.getMessage().getMessageID() == id) {
-               ref.acknowledge(tx, AckReason.NORMAL, null, false);
-               iter.remove();
-               notifyScheduledReferencesUpdated();
-               metrics.decrementMetrics(ref);
-               return ref;
-            }
+         MessageReference ref = scheduledReferences.find(reference -> reference.getMessage().getMessageID() == id);
+         if (ref != null) {
+            ref.acknowledge(tx, AckReason.NORMAL, null, false);
+            scheduledReferences.remove(ref);
+            notifyScheduledReferencesUpdated();
+            metrics.decrementMetrics(ref);
+            return ref;
          }
       }
 
@@ -188,30 +171,34 @@ public class ScheduledDeliveryHandlerImpl implements ScheduledDeliveryHandler {
    }
 
    private void scheduleDelivery(final long deliveryTime) {
+      synchronized (scheduledReferences) {
+         if (deliveryTime >= nextDeliveryTime) {
+            if (logger.isTraceEnabled()) {
+               logger.trace("Couldn't make another scheduler for {} as {} is already set", deliveryTime, nextDeliveryTime);
+            }
+            return;
+         }
+         nextDeliveryTime = deliveryTime;
+      }
+
       final long now = System.currentTimeMillis();
 
       final long delay = deliveryTime - now;
 
+      ScheduledDeliveryRunnable runnable = new ScheduledDeliveryRunnable(deliveryTime);
+
       if (delay < 0) {
          if (logger.isTraceEnabled()) {
             logger.trace("calling another scheduler now as deliverTime {} < now={}", deliveryTime, now);
          }
          // if delay == 0 we will avoid races between adding the scheduler and finishing it
-         ScheduledDeliveryRunnable runnable = new ScheduledDeliveryRunnable(deliveryTime);
          scheduledExecutor.schedule(runnable, 0, TimeUnit.MILLISECONDS);
-      } else if (!runnables.containsKey(deliveryTime)) {
-         ScheduledDeliveryRunnable runnable = new ScheduledDeliveryRunnable(deliveryTime);
-
+      } else {
          if (logger.isTraceEnabled()) {
             logger.trace("Setting up scheduler for {} with a delay of {} as now={}", deliveryTime, delay, now);
          }
 
-         runnables.put(deliveryTime, runnable);
          scheduledExecutor.schedule(runnable, delay, TimeUnit.MILLISECONDS);
-      } else {
-         if (logger.isTraceEnabled()) {
-            logger.trace("Couldn't make another scheduler as {} is already set, now is {}", deliveryTime, now);
-         }
       }
    }
 
@@ -228,18 +215,8 @@ public class ScheduledDeliveryHandlerImpl implements ScheduledDeliveryHandler {
          if (oldestMessage != null) {
             return oldestMessage;
          }
-         MessageReference result = null;
-         long oldestTimestamp = Long.MAX_VALUE;
-         for (RefScheduled scheduledReference : scheduledReferences) {
-            MessageReference ref = scheduledReference.getRef();
-            long refTimestamp = ref.getMessage().getTimestamp();
-            if (refTimestamp < oldestTimestamp) {
-               oldestTimestamp = refTimestamp;
-               result = ref;
-            }
-         }
-         oldestMessage = result;
-         return result;
+         oldestMessage = scheduledReferences.min(Comparator.comparingLong(ref -> ref.getMessage().getTimestamp()));
+         return oldestMessage;
       }
    }
 
@@ -255,59 +232,52 @@ public class ScheduledDeliveryHandlerImpl implements ScheduledDeliveryHandler {
       public void run() {
          Map<Queue, LinkedList<MessageReference>> refs = new HashMap<>();
 
-         runnables.remove(deliveryTime);
-
          final long now = System.currentTimeMillis();
 
-         if (now < deliveryTime) {
-            // Ohhhh... blame it on the OS
-            // on some OSes (so far Windows only) the precision of the scheduled executor could eventually give
-            // an executor call earlier than it was supposed...
-            // for that reason we will schedule it again so no messages are lost!
-            // we can't just assume deliveryTime here as we could deliver earlier than what we are supposed to
-            // this is basically a hack to work around an OS or JDK bug!
-            if (logger.isTraceEnabled()) {
-               logger.trace("Scheduler is working around OS imprecisions on timing and re-scheduling an executor. now={} and deliveryTime={}", now, deliveryTime);
-            }
-            ScheduledDeliveryHandlerImpl.this.scheduleDelivery(deliveryTime);
-         }
-
          if (logger.isTraceEnabled()) {
-            logger.trace("It is {} now and we are running deliveryTime = {}", System.currentTimeMillis(), deliveryTime);
+            logger.trace("It is {} now and we are running deliveryTime = {}", now, deliveryTime);
          }
 
-         synchronized (scheduledReferences) {
+         final List<MessageReference> dueReferences;
+         final long nextExpiration;
 
-            Iterator<RefScheduled> iter = scheduledReferences.iterator();
-            while (iter.hasNext()) {
-               MessageReference reference = iter.next().getRef();
-               if (reference.getScheduledDeliveryTime() > now) {
-                  // We will delivery as long as there are messages to be delivered
-                  break;
-               }
+         synchronized (scheduledReferences) {
+            // on some OSes (so far Windows only) the precision of the scheduled executor could eventually give
+            // an executor call earlier than it was supposed, the wheel will only deliver what is due by now
+            // and this runnable will be scheduled again for whatever is left
+            if (nextDeliveryTime <= Math.max(now, deliveryTime)) {
+               nextDeliveryTime = Long.MAX_VALUE;
+            }
 
-               iter.remove();
+            dueReferences = scheduledReferences.advance(now);
+            if (!dueReferences.isEmpty()) {
                notifyScheduledReferencesUpdated();
-               metrics.decrementMetrics(reference);
+            }
+
+            nextExpiration = scheduledReferences.nextExpiration();
+         }
 
-               reference.setScheduledDeliveryTime(0);
+         if (nextExpiration != Long.MAX_VALUE) {
+            ScheduledDeliveryHandlerImpl.this.scheduleDelivery(nextExpiration);
+         }
 
-               LinkedList<MessageReference> references = refs.get(reference.getQueue());
+         for (MessageReference reference : dueReferences) {
+            metrics.decrementMetrics(reference);
 
-               if (references == null) {
-                  references = new LinkedList<>();
-                  refs.put(reference.getQueue(), references);
-               }
+            reference.setScheduledDeliveryTime(0);
 
-               if (logger.isTraceEnabled()) {
-                  logger.trace("sending message {} to delivery, deliveryTime = {}", reference, deliveryTime);
-               }
+            LinkedList<MessageReference> references = refs.get(reference.getQueue());
 
-               references.addFirst(reference);
+            if (references == null) {
+               references = new LinkedList<>();
+               refs.put(reference.getQueue(), references);
             }
+
             if (logger.isTraceEnabled()) {
-               logger.trace("Finished loop on deliveryTime = {}", deliveryTime);
+               logger.trace("sending message {} to delivery, deliveryTime = {}", reference, deliveryTime);
             }
+
+            references.addFirst(reference);
          }
 
          for (Map.Entry<Queue, LinkedList<MessageReference>> entry : refs.entrySet()) {
@@ -325,58 +295,4 @@ public class ScheduledDeliveryHandlerImpl implements ScheduledDeliveryHandler {
       }
    }
 
-   // We need a treeset ordered, but we need to order tail operations as well.
-   // So, this will serve as a delegate to the object
-   class RefScheduled {
-
-      private final MessageReference ref;
-      private final boolean tail;
-
-      RefScheduled(MessageReference ref, boolean tail) {
-         this.ref = ref;
-         this.tail = tail;
-      }
-
-      public MessageReference getRef() {
-         return ref;
-      }
-
-      public boolean isTail() {
-         return tail;
-      }
-
-   }
-
-   static class MessageReferenceComparator implements Comparator<RefScheduled> {
-
-      @Override
-      public int compare(RefScheduled ref1, RefScheduled ref2) {
-         long diff = ref1.getRef().getScheduledDeliveryTime() - ref2.getRef().getScheduledDeliveryTime();
-
-         if (diff < 0L) {
-            return -1;
-         }
-         if (diff > 0L) {
-            return 1;
-         }
-
-         // Even if ref1 and ref2 have the same delivery time, we only want to return 0 if they are identical
-         if (ref1 == ref2) {
-            return 0;
-         } else {
-
-            if (ref1.isTail() && !ref2.isTail()) {
-               return 1;
-            } else if (!ref1.isTail() && ref2.isTail()) {
-               return -1;
-            }
-            if (!ref1.isTail() && !ref2.isTail()) {
-               return -1;
-            } else {
-               return 1;
-            }
-         }
-      }
-   }
-
 }
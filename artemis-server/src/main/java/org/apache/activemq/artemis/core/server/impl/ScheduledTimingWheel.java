@@ -0,0 +1,349 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.impl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+import org.apache.activemq.artemis.core.server.MessageReference;
+
+/**
+ * A hierarchical timing wheel keeping references by their scheduled delivery time, in milliseconds.
+ * <p>
+ * Every level has {@link #SLOTS} slots, and a slot of a level spans all the slots of the level below. A reference is
+ * added to the lowest level where its delivery time is in the span of the current time, so adding one doesn't depend on
+ * how many are scheduled. As the current time moves on, the slots of the upper levels are cascaded into the lower ones
+ * until the references get to the slot of their exact delivery time on the first level. References further than the
+ * span of the last level (about 49 days) are kept on an overflow sorted by delivery time.
+ * <p>
+ * All the references with the same delivery time are on the same slot, the ones added to the head before the others
+ * and the ones added to the tail after the others. References already due when added are kept on the slot of the
+ * current time.
+ * <p>
+ * Every queue has a wheel, most of them never scheduling any reference, so the slots of each level and the overflow
+ * are only allocated when a reference is first added to them.
+ * <p>
+ * This class is not thread safe.
+ */
+final class ScheduledTimingWheel {
+
+   private static final int SLOT_BITS = 8;
+
+   static final int SLOTS = 1 << SLOT_BITS;
+
+   private static final int SLOT_MASK = SLOTS - 1;
+
+   static final int LEVELS = 4;
+
+   private static final int WHEEL_BITS = SLOT_BITS * LEVELS;
+
+   // List.sort is stable, so the order of the references with the same delivery time is kept
+   private static final Comparator<MessageReference> DELIVERY_TIME_COMPARATOR = Comparator.comparingLong(MessageReference::getScheduledDeliveryTime);
+
+   // each level is allocated by the first reference added to it
+   private ArrayDeque<MessageReference>[][] slots;
+
+   private TreeMap<Long, ArrayDeque<MessageReference>> overflow;
+
+   private long currentTime;
+
+   private int size;
+
+   ScheduledTimingWheel(final long currentTime) {
+      this.currentTime = currentTime;
+   }
+
+   long getCurrentTime() {
+      return currentTime;
+   }
+
+   int size() {
+      return size;
+   }
+
+   boolean isEmpty() {
+      return size == 0;
+   }
+
+   void add(final MessageReference ref, final boolean tail) {
+      final ArrayDeque<MessageReference> slot = slotFor(ref.getScheduledDeliveryTime(), true);
+      if (tail) {
+         slot.addLast(ref);
+      } else {
+         slot.addFirst(ref);
+      }
+      size++;
+   }
+
+   boolean remove(final MessageReference ref) {
+      final ArrayDeque<MessageReference> slot = slotFor(ref.getScheduledDeliveryTime(), false);
+      if (slot != null) {
+         final Iterator<MessageReference> iterator = slot.iterator();
+         while (iterator.hasNext()) {
+            if (iterator.next() == ref) {
+               iterator.remove();
+               if (slot.isEmpty() && overflow != null) {
+                  overflow.remove(ref.getScheduledDeliveryTime(), slot);
+               }
+               size--;
+               return true;
+            }
+         }
+      }
+      return false;
+   }
+
+   /**
+    * {@return the references matching {@code predicate}, after removing them}
+    */
+   List<MessageReference> removeIf(final Predicate<MessageReference> predicate) {
+      final List<MessageReference> removed = new ArrayList<>();
+      for (ArrayDeque<MessageReference> slot : allSlots()) {
+         slot.removeIf(ref -> predicate.test(ref) && removed.add(ref));
+      }
+      if (overflow != null) {
+         overflow.values().removeIf(ArrayDeque::isEmpty);
+      }
+      size -= removed.size();
+      return removed;
+   }
+
+   /**
+    * {@return any reference matching {@code predicate}, {@code null} if none does}
+    */
+   MessageReference find(final Predicate<MessageReference> predicate) {
+      for (ArrayDeque<MessageReference> slot : allSlots()) {
+         for (MessageReference ref : slot) {
+            if (predicate.test(ref)) {
+               return ref;
+            }
+         }
+      }
+      return null;
+   }
+
+   /**
+    * {@return the smallest reference according to {@code comparator}, {@code null} if there are no references}
+    */
+   MessageReference min(final Comparator<MessageReference> comparator) {
+      MessageReference min = null;
+      for (ArrayDeque<MessageReference> slot : allSlots()) {
+         for (MessageReference ref : slot) {
+            if (min == null || comparator.compare(ref, min) < 0) {
+               min = ref;
+            }
+         }
+      }
+      return min;
+   }
+
+   /**
+    * {@return every reference, by delivery time}
+    */
+   List<MessageReference> toList() {
+      final List<MessageReference> refs = new ArrayList<>(size);
+      for (ArrayDeque<MessageReference> slot : allSlots()) {
+         refs.addAll(slot);
+      }
+      refs.sort(DELIVERY_TIME_COMPARATOR);
+      return refs;
+   }
+
+   /**
+    * Moves the current time forward to {@code now}.
+    *
+    * @return the references due by {@code now}, after removing them, by delivery time
+    */
+   List<MessageReference> advance(final long now) {
+      final List<MessageReference> due = new ArrayList<>();
+      drainCurrentSlot(due);
+      while (currentTime < now) {
+         moveTo(Math.min(nextExpiration(), now));
+         drainCurrentSlot(due);
+      }
+      due.sort(DELIVERY_TIME_COMPARATOR);
+      return due;
+   }
+
+   /**
+    * {@return the time the wheel has to be advanced to for the next references to be due or to be cascaded to a
+    * lower level, {@link Long#MAX_VALUE} if there are no references}
+    */
+   long nextExpiration() {
+      if (size == 0) {
+         return Long.MAX_VALUE;
+      }
+      if (!isEmpty(slot(0, currentTime, false))) {
+         return currentTime;
+      }
+      // the slots before the one of the current time on each level are always empty
+      for (int level = 0; level < LEVELS; level++) {
+         final ArrayDeque<MessageReference>[] levelSlots = slots == null ? null : slots[level];
+         if (levelSlots == null) {
+            continue;
+         }
+         final int shift = SLOT_BITS * level;
+         final int spanShift = shift + SLOT_BITS;
+         for (int index = index(level, currentTime) + 1; index < SLOTS; index++) {
+            if (!isEmpty(levelSlots[index])) {
+               return (currentTime >>> spanShift << spanShift) | ((long) index << shift);
+            }
+         }
+      }
+      if (overflow != null && !overflow.isEmpty()) {
+         return overflow.firstKey() >>> WHEEL_BITS << WHEEL_BITS;
+      }
+      return Long.MAX_VALUE;
+   }
+
+   private void moveTo(final long time) {
+      final long previousTime = currentTime;
+      currentTime = time;
+
+      if (overflow != null && (time >>> WHEEL_BITS) != (previousTime >>> WHEEL_BITS)) {
+         final Iterator<Map.Entry<Long, ArrayDeque<MessageReference>>> iterator = overflow.entrySet().iterator();
+         while (iterator.hasNext()) {
+            final Map.Entry<Long, ArrayDeque<MessageReference>> entry = iterator.next();
+            if ((entry.getKey() >>> WHEEL_BITS) != (time >>> WHEEL_BITS)) {
+               break;
+            }
+            iterator.remove();
+            cascade(entry.getValue());
+         }
+      }
+
+      for (int level = LEVELS - 1; level > 0; level--) {
+         final int shift = SLOT_BITS * level;
+         if ((time >>> shift) != (previousTime >>> shift)) {
+            final ArrayDeque<MessageReference> slot = slot(level, time, false);
+            if (slot != null) {
+               slots[level][index(level, time)] = null;
+               cascade(slot);
+            }
+         }
+      }
+   }
+
+   private void cascade(final ArrayDeque<MessageReference> refs) {
+      // the lower slots the references are moved to are empty, adding to their tail keeps the order
+      for (MessageReference ref : refs) {
+         slotFor(ref.getScheduledDeliveryTime(), true).addLast(ref);
+      }
+   }
+
+   private void drainCurrentSlot(final List<MessageReference> due) {
+      final ArrayDeque<MessageReference> slot = slot(0, currentTime, false);
+      if (slot != null) {
+         slots[0][index(0, currentTime)] = null;
+         due.addAll(slot);
+         size -= slot.size();
+      }
+   }
+
+   private ArrayDeque<MessageReference> slotFor(final long deliveryTime, final boolean create) {
+      if (deliveryTime <= currentTime) {
+         return slot(0, currentTime, create);
+      }
+      for (int level = 0; level < LEVELS; level++) {
+         final int spanShift = SLOT_BITS * (level + 1);
+         if ((deliveryTime >>> spanShift) == (currentTime >>> spanShift)) {
+            return slot(level, deliveryTime, create);
+         }
+      }
+      if (overflow == null) {
+         if (!create) {
+            return null;
+         }
+         overflow = new TreeMap<>();
+      }
+      return create ? overflow.computeIfAbsent(deliveryTime, time -> new ArrayDeque<>()) : overflow.get(deliveryTime);
+   }
+
+   @SuppressWarnings("unchecked")
+   private ArrayDeque<MessageReference> slot(final int level, final long time, final boolean create) {
+      ArrayDeque<MessageReference>[] levelSlots = slots == null ? null : slots[level];
+      if (levelSlots == null) {
+         if (!create) {
+            return null;
+         }
+         if (slots == null) {
+            slots = new ArrayDeque[LEVELS][];
+         }
+         levelSlots = new ArrayDeque[SLOTS];
+         slots[level] = levelSlots;
+      }
+      final int index = index(level, time);
+      ArrayDeque<MessageReference> slot = levelSlots[index];
+      if (slot == null && create) {
+         slot = new ArrayDeque<>();
+         levelSlots[index] = slot;
+      }
+      return slot;
+   }
+
+   /**
+    * {@return how many levels have their slots allocated, counting the overflow as one more level}
+    */
+   int allocatedLevels() {
+      int allocated = overflow == null ? 0 : 1;
+      if (slots != null) {
+         for (ArrayDeque<MessageReference>[] levelSlots : slots) {
+            if (levelSlots != null) {
+               allocated++;
+            }
+         }
+      }
+      return allocated;
+   }
+
+   private List<ArrayDeque<MessageReference>> allSlots() {
+      if (size == 0) {
+         return List.of();
+      }
+      final List<ArrayDeque<MessageReference>> allSlots = new ArrayList<>();
+      if (slots != null) {
+         for (ArrayDeque<MessageReference>[] level : slots) {
+            if (level == null) {
+               continue;
+            }
+            for (ArrayDeque<MessageReference> slot : level) {
+               if (slot != null) {
+                  allSlots.add(slot);
+               }
+            }
+         }
+      }
+      if (overflow != null) {
+         allSlots.addAll(overflow.values());
+      }
+      return allSlots;
+   }
+
+   private static int index(final int level, final long time) {
+      return (int) (time >>> (SLOT_BITS * level)) & SLOT_MASK;
+   }
+
+   private static boolean isEmpty(final ArrayDeque<MessageReference> slot) {
+      return slot == null || slot.isEmpty();
+   }
+}
@@ -276,7 +276,7 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
       this.server = server;
 
       if (browseOnly) {
-         browserDeliverer = new BrowserDeliverer(messageQueue.browserIterator());
+         browserDeliverer = new BrowserDeliverer(messageQueue.partitionsBrowserIterator());
       } else {
          messageQueue.addConsumer(this);
       }
@@ -606,8 +606,11 @@ public class ServerSessionImpl extends CriticalComponentImpl implements ServerSe
 
       Filter filter = FilterImpl.createFilter(filterString);
 
+      // browsers stay on the partitioned queue, browsing every partition
+      final Binding consumerBinding = browseOnly ? binding : selectPartition(binding);
+
       if (server.hasBrokerConsumerPlugins()) {
-         server.callBrokerConsumerPlugins(plugin -> plugin.beforeCreateConsumer(consumerID, (QueueBinding) binding,
+         server.callBrokerConsumerPlugins(plugin -> plugin.beforeCreateConsumer(consumerID, (QueueBinding) consumerBinding,
                filterString, browseOnly, supportLargeMessage));
       }
 
@@ -616,7 +619,7 @@ public class ServerSessionImpl extends CriticalComponentImpl implements ServerSe
          if (closing) {
             throw ActiveMQMessageBundle.BUNDLE.cannotCreateConsumerOnClosedSession(queueName);
          }
-         consumer = new ServerConsumerImpl(consumerID, this, (QueueBinding) binding, filter, priority, started, browseOnly, storageManager, callback, preAcknowledge, strictUpdateDeliveryCount, managementService, supportLargeMessage, credits, server);
+         consumer = new ServerConsumerImpl(consumerID, this, (QueueBinding) consumerBinding, filter, priority, started, browseOnly, storageManager, callback, preAcknowledge, strictUpdateDeliveryCount, managementService, supportLargeMessage, credits, server);
          consumers.put(consumer.getID(), consumer);
       }
 
@@ -629,13 +632,13 @@ public class ServerSessionImpl extends CriticalComponentImpl implements ServerSe
 
          props.putSimpleStringProperty(ManagementHelper.HDR_ADDRESS, CompositeAddress.isFullyQualified(unPrefixedQueueName) ? unPrefixedQueueName : address);
 
-         props.putSimpleStringProperty(ManagementHelper.HDR_CLUSTER_NAME, binding.getClusterName());
+         props.putSimpleStringProperty(ManagementHelper.HDR_CLUSTER_NAME, consumerBinding.getClusterName());
 
-         props.putSimpleStringProperty(ManagementHelper.HDR_ROUTING_NAME, binding.getRoutingName());
+         props.putSimpleStringProperty(ManagementHelper.HDR_ROUTING_NAME, consumerBinding.getRoutingName());
 
-         props.putIntProperty(ManagementHelper.HDR_DISTANCE, binding.getDistance());
+         props.putIntProperty(ManagementHelper.HDR_DISTANCE, consumerBinding.getDistance());
 
-         Queue theQueue = (Queue) binding.getBindable();
+         Queue theQueue = (Queue) consumerBinding.getBindable();
 
          props.putIntProperty(ManagementHelper.HDR_CONSUMER_COUNT, theQueue.getConsumerCount());
 
@@ -678,6 +681,24 @@ public class ServerSessionImpl extends CriticalComponentImpl implements ServerSe
       return consumer;
    }
 
+   /**
+    * The consumers of a partitioned queue are attached to the partition with the fewest consumers.
+    */
+   private Binding selectPartition(final Binding binding) {
+      final Queue queue = (Queue) binding.getBindable();
+      Queue selected = queue;
+      for (int i = 1; i < queue.getPartitions(); i++) {
+         final Queue partition = queue.getPartition(i);
+         if (partition != null && partition.getConsumerCount() < selected.getConsumerCount()) {
+            selected = partition;
+         }
+      }
+      if (selected == queue) {
+         return binding;
+      }
+      return Objects.requireNonNullElse(postOffice.getBinding(selected.getName()), binding);
+   }
+
    /**
     * Some protocols may chose to hold their transactions outside of the ServerSession. This can be used to replace the
     * transaction. Notice that we set autoCommitACK and autoCommitSends to true if tx == null
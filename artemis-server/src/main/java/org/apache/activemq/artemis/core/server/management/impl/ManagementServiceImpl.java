@@ -64,6 +64,7 @@ import org.apache.activemq.artemis.api.core.management.RemoteBrokerConnectionCon
 import org.apache.activemq.artemis.api.core.management.ResourceNames;
 import org.apache.activemq.artemis.core.config.ClusterConnectionConfiguration;
 import org.apache.activemq.artemis.core.config.Configuration;
+import org.apache.activemq.artemis.core.io.buffer.TimedBuffer;
 import org.apache.activemq.artemis.core.management.impl.AcceptorControlImpl;
 import org.apache.activemq.artemis.core.management.impl.ActiveMQServerControlImpl;
 import org.apache.activemq.artemis.core.management.impl.AddressControlImpl;
@@ -83,6 +84,8 @@ import org.apache.activemq.artemis.core.messagecounter.MessageCounter;
 import org.apache.activemq.artemis.core.messagecounter.MessageCounterManager;
 import org.apache.activemq.artemis.core.messagecounter.impl.MessageCounterManagerImpl;
 import org.apache.activemq.artemis.core.paging.PagingManager;
+import org.apache.activemq.artemis.core.paging.PagingStore;
+import org.apache.activemq.artemis.core.paging.impl.SharedPageCache;
 import org.apache.activemq.artemis.core.persistence.StorageManager;
 import org.apache.activemq.artemis.core.postoffice.PostOffice;
 import org.apache.activemq.artemis.core.remoting.server.RemotingService;
@@ -259,6 +262,24 @@ public class ManagementServiceImpl implements ManagementService {
             builder.build(BrokerMetricNames.AUTHENTICATION_COUNT, securityStore, metrics -> (double) securityStore.getAuthenticationFailureCount(), ActiveMQServerControl.AUTHENTICATION_FAILURE_COUNT, Arrays.asList(Tag.of("result", "failure")));
             builder.build(BrokerMetricNames.AUTHORIZATION_COUNT, securityStore, metrics -> (double) securityStore.getAuthorizationSuccessCount(), ActiveMQServerControl.AUTHORIZATION_SUCCESS_COUNT, Arrays.asList(Tag.of("result", "success")));
             builder.build(BrokerMetricNames.AUTHORIZATION_COUNT, securityStore, metrics -> (double) securityStore.getAuthorizationFailureCount(), ActiveMQServerControl.AUTHORIZATION_FAILURE_COUNT, Arrays.asList(Tag.of("result", "failure")));
+            TimedBuffer timedBuffer = storageManager == null ? null : storageManager.getJournalTimedBuffer();
+            if (timedBuffer != null) {
+               builder.build(BrokerMetricNames.JOURNAL_BUFFER_TIMEOUT, timedBuffer, metrics -> (double) timedBuffer.getTimeout(), "flush timeout of the journal buffer in use, in nanoseconds", Collections.emptyList());
+               for (String quantile : new String[]{"0.5", "0.9", "0.99"}) {
+                  final double percentile = Double.parseDouble(quantile);
+                  builder.build(BrokerMetricNames.JOURNAL_SYNC_LATENCY, timedBuffer, metrics -> (double) timedBuffer.getSyncLatencies().percentile(percentile), "latency of the last journal syncs, in nanoseconds", Arrays.asList(Tag.of("quantile", quantile)));
+               }
+            }
+            if (pagingManager != null) {
+               builder.build(BrokerMetricNames.PAGE_COUNTER_REBUILD_PROGRESS, pagingManager, metrics -> (double) pagingManager.getRebuildCountersProgress(), "percentage of page files read to rebuild the page counters, the message counts of paged queues are only accurate at 100", Collections.emptyList());
+            }
+            SharedPageCache pageCache = pagingManager == null ? null : pagingManager.getSharedPageCache();
+            if (pageCache != null) {
+               builder.build(BrokerMetricNames.PAGE_CACHE_SIZE, pageCache, metrics -> (double) pageCache.getSize(), "size in bytes of the page files kept in memory after their cursors left them", Collections.emptyList());
+               builder.build(BrokerMetricNames.PAGE_CACHE_HITS, pageCache, metrics -> (double) pageCache.getHits(), "number of pages taken back into use from the page cache", Collections.emptyList());
+               builder.build(BrokerMetricNames.PAGE_CACHE_EVICTIONS, pageCache, metrics -> (double) pageCache.getEvictions(), "number of pages evicted from the page cache", Collections.emptyList());
+               builder.build(BrokerMetricNames.PAGE_CACHE_PREFETCHES, pageCache, metrics -> (double) pageCache.getPrefetches(), "number of pages read ahead into the page cache", Collections.emptyList());
+            }
          });
       }
    }
@@ -291,11 +312,28 @@ public class ManagementServiceImpl implements ManagementService {
                builder.build(AddressMetricNames.ADDRESS_SIZE, addressInfo, metrics -> (double) addressControl.getAddressSize(), AddressControl.ADDRESS_SIZE_DESCRIPTION, Collections.emptyList());
                builder.build(AddressMetricNames.PAGES_COUNT, addressInfo, metrics -> (double) addressControl.getNumberOfPages(), AddressControl.NUMBER_OF_PAGES_DESCRIPTION, Collections.emptyList());
                builder.build(AddressMetricNames.LIMIT_PERCENT, addressInfo, metrics -> (double) addressControl.getAddressLimitPercent(), AddressControl.LIMIT_PERCENT_DESCRIPTION, Collections.emptyList());
+               if (pagingManager != null) {
+                  builder.build(AddressMetricNames.PAGE_COMPRESSION_RATIO, addressInfo, metrics -> getPageCompressionRatio(addressInfo), "ratio between the size of the messages paged on this address and the size they take on its page files", Collections.emptyList());
+               }
             });
          }
       }
    }
 
+   private double getPageCompressionRatio(AddressInfo addressInfo) {
+      final PagingManager pagingManager = this.pagingManager;
+      if (pagingManager == null) {
+         return 1;
+      }
+      try {
+         final PagingStore pagingStore = pagingManager.getPageStore(addressInfo.getName());
+         return pagingStore == null ? 1 : pagingStore.getPageCompressionRatio();
+      } catch (Exception e) {
+         logger.debug("Failed to get the page compression ratio of {}", addressInfo.getName(), e);
+         return 1;
+      }
+   }
+
    @Override
    public void unregisterAddress(final SimpleString address) throws Exception {
       unregisterFromJMX(objectNameBuilder.getAddressObjectName(address));
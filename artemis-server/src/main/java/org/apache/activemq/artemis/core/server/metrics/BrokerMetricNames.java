@@ -29,6 +29,13 @@ public class BrokerMetricNames {
    public static final String ACTIVE = "active";
    public static final String AUTHENTICATION_COUNT = "authentication.count";
    public static final String AUTHORIZATION_COUNT = "authorization.count";
+   public static final String JOURNAL_BUFFER_TIMEOUT = "journal.buffer.timeout";
+   public static final String JOURNAL_SYNC_LATENCY = "journal.sync.latency";
+   public static final String PAGE_CACHE_SIZE = "page.cache.size";
+   public static final String PAGE_CACHE_HITS = "page.cache.hits";
+   public static final String PAGE_CACHE_EVICTIONS = "page.cache.evictions";
+   public static final String PAGE_CACHE_PREFETCHES = "page.cache.prefetches";
+   public static final String PAGE_COUNTER_REBUILD_PROGRESS = "page.counter.rebuild.progress";
    public static final String GENERAL_EXECUTOR_SERVICE = "general.executor.service";
    public static final String IO_EXECUTOR_SERVICE = "io.executor.service";
    public static final String PAGE_EXECUTOR_SERVICE = "paging.executor.service";
@@ -30,6 +30,7 @@ import java.util.concurrent.TimeUnit;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffers;
 import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.filter.Filter;
 import org.apache.activemq.artemis.core.filter.impl.FilterImpl;
 import org.apache.activemq.artemis.core.io.SequentialFile;
@@ -42,6 +43,7 @@ import org.apache.activemq.artemis.core.journal.impl.JournalImpl;
 import org.apache.activemq.artemis.core.journal.impl.JournalReaderCallback;
 import org.apache.activemq.artemis.core.persistence.impl.journal.JournalRecordIds;
 import org.apache.activemq.artemis.core.persistence.impl.journal.LargeServerMessageImpl;
+import org.apache.activemq.artemis.core.persistence.impl.journal.codec.CompressedMessageEncoding;
 import org.apache.activemq.artemis.core.persistence.impl.journal.codec.LargeMessagePersister;
 import org.apache.activemq.artemis.core.replication.ReplicatedJournal;
 import org.apache.activemq.artemis.core.server.ActiveMQServer;
@@ -60,9 +62,13 @@ public class ReplayManager {
    }
    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
+   // number of messages routed before waiting for the storage to catch up
+   private static final int REPLAY_BATCH_SIZE = 1000;
+
    private final ActiveMQServer server;
    private JournalImpl journal;
    private final File retentionFolder;
+   private int pendingRoutes;
 
    public ReplayManager(ActiveMQServer server) {
       this.server = server;
@@ -80,6 +86,8 @@ public class ReplayManager {
 
       final String targetAddress = targetAddressParameter;
 
+      final SimpleString sourceAddressSimpleString = SimpleString.of(sourceAddress);
+
       if (journal == null) {
          // notice this routing plays single threaded. no need for any sort of synchronization here
          Journal storageManageJournal =  server.getStorageManager().getMessageJournal();
@@ -113,6 +121,10 @@ public class ReplayManager {
 
       Map<Long, Set<JournalFile>> largeMessageLocations = new HashMap<>();
 
+      RetentionFileIndex.removeOrphans(retentionFolder);
+
+      pendingRoutes = 0;
+
       for (JournalFile file : files) {
          if (start != null || end != null) {
             final String fileName = file.getFile().getFileName();
@@ -134,18 +146,30 @@ public class ReplayManager {
                continue;
             }
          }
+
+         final File javaFile = file.getFile().getJavaFile();
+         final RetentionFileIndex index = RetentionFileIndex.read(javaFile);
+         if (index != null && !index.containsAddress(sourceAddressSimpleString)) {
+            logger.debug("File {} being skipped as its index has no messages for {}", file, sourceAddress);
+            for (Long messageID : index.getLargeMessageBodies()) {
+               addLargeMessageLocation(largeMessageLocations, messageID, file);
+            }
+            continue;
+         }
+
+         // the index is built on the first read of the file, with the records that are decoded anyway
+         final RetentionFileIndex newIndex = index == null ? RetentionFileIndex.newIndex(javaFile) : null;
+
          logger.debug("Reading retention file {}", file);
          JournalImpl.readJournalFile(messagesFF, file, new JournalReaderCallback() {
             @Override
             public void onReadEventRecord(RecordInfo info) throws Exception {
                switch (info.getUserRecordType()) {
                   case JournalRecordIds.ADD_MESSAGE_BODY:
-                     Set<JournalFile> files = largeMessageLocations.get(info.id);
-                     if (files == null) {
-                        files = new LinkedHashSet<>();
-                        largeMessageLocations.put(info.id, files);
+                     addLargeMessageLocation(largeMessageLocations, info.id, file);
+                     if (newIndex != null) {
+                        newIndex.addLargeMessageBody(info.id);
                      }
-                     files.add(file);
                      break;
 
                   default:
@@ -159,10 +183,17 @@ public class ReplayManager {
                   ActiveMQBuffer buffer = ActiveMQBuffers.wrappedBuffer(info.data);
                   LargeServerMessage message = new LargeServerMessageImpl(server.getStorageManager());
                   LargeMessagePersister.getInstance().decode(buffer, message, null);
+                  addToIndex(newIndex, message.toMessage());
                   route(filter, context, messagesFF, message.toMessage(), sourceAddress, targetAddress, largeMessageLocations);
                } else if (info.getUserRecordType() == JournalRecordIds.ADD_MESSAGE_PROTOCOL) {
                   ActiveMQBuffer buffer = ActiveMQBuffers.wrappedBuffer(info.data);
                   Message message = MessagePersister.getInstance().decode(buffer, null, null, server.getStorageManager());
+                  addToIndex(newIndex, message);
+                  route(filter, context, messagesFF, message, sourceAddress, targetAddress, largeMessageLocations);
+               } else if (info.getUserRecordType() == JournalRecordIds.ADD_MESSAGE_COMPRESSED) {
+                  ActiveMQBuffer buffer = CompressedMessageEncoding.decompress(info.data);
+                  Message message = MessagePersister.getInstance().decode(buffer, null, null, server.getStorageManager());
+                  addToIndex(newIndex, message);
                   route(filter, context, messagesFF, message, sourceAddress, targetAddress, largeMessageLocations);
                }
 
@@ -184,11 +215,26 @@ public class ReplayManager {
             }
 
          }, null, false, null);
+
+         if (newIndex != null) {
+            logger.debug("Writing index {} for retention file {}", newIndex, file);
+            newIndex.write(javaFile);
+         }
       }
 
       logger.debug("Replay done::sourceAddress={}", sourceAddress);
    }
 
+   private static void addLargeMessageLocation(Map<Long, Set<JournalFile>> largeMessageLocations, long messageID, JournalFile file) {
+      largeMessageLocations.computeIfAbsent(messageID, id -> new LinkedHashSet<>()).add(file);
+   }
+
+   private static void addToIndex(RetentionFileIndex index, Message message) {
+      if (index != null) {
+         index.addAddress(message.getAddressSimpleString());
+      }
+   }
+
    private boolean messageMatch(Filter filter, Message message, String sourceAddress, String targetAddress) {
       if (message.getAddress() != null && message.getAddress().equals(sourceAddress)) {
          if (filter != null) {
@@ -220,6 +266,11 @@ public class ReplayManager {
          }
          server.getPostOffice().route(message, context, false, false, null);
          context.clear();
+         // a replay may route a lot more than what is produced at once, so don't let the pending storage grow unbounded
+         if (++pendingRoutes >= REPLAY_BATCH_SIZE) {
+            pendingRoutes = 0;
+            server.getStorageManager().waitOnOperations();
+         }
       } else {
          if (message.isLargeMessage()) {
             filesMap.remove(message.getMessageID());
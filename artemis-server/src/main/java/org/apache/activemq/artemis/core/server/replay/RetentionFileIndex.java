@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.replay;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.api.core.ActiveMQBuffers;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.utils.DataConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sidecar of a retention file, written next to it the first time the {@link ReplayManager} reads it.
+ * <p>
+ * It holds the addresses of every message stored on the file and the IDs of the large messages with a body on the
+ * file, so later replays can skip files with nothing to route without decoding their records. Retention files are never
+ * written again after they are copied, so the index is only checked against the size and time stamp of its file.
+ */
+public class RetentionFileIndex {
+
+   private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+   public static final String INDEX_EXTENSION = ".index";
+
+   private static final int VERSION = 1;
+
+   private final long fileSize;
+
+   private final long lastModified;
+
+   private final Set<SimpleString> addresses;
+
+   private final Set<Long> largeMessageBodies;
+
+   private RetentionFileIndex(long fileSize, long lastModified, Set<SimpleString> addresses, Set<Long> largeMessageBodies) {
+      this.fileSize = fileSize;
+      this.lastModified = lastModified;
+      this.addresses = addresses;
+      this.largeMessageBodies = largeMessageBodies;
+   }
+
+   /**
+    * @return an empty index for the retention file, to be filled up while the file is read
+    */
+   public static RetentionFileIndex newIndex(File file) {
+      return new RetentionFileIndex(file.length(), file.lastModified(), new HashSet<>(), new HashSet<>());
+   }
+
+   public static File getIndexFile(File file) {
+      return new File(file.getParentFile(), file.getName() + INDEX_EXTENSION);
+   }
+
+   /**
+    * @return the index for the retention file, or {@code null} if there isn't one or it doesn't match the file anymore
+    */
+   public static RetentionFileIndex read(File file) {
+      final File indexFile = getIndexFile(file);
+      if (!indexFile.exists()) {
+         return null;
+      }
+      try {
+         final ActiveMQBuffer buffer = ActiveMQBuffers.wrappedBuffer(Files.readAllBytes(indexFile.toPath()));
+         if (buffer.readInt() != VERSION) {
+            logger.debug("Ignoring index {} with an unknown version", indexFile);
+            return null;
+         }
+         final long fileSize = buffer.readLong();
+         final long lastModified = buffer.readLong();
+         if (fileSize != file.length() || lastModified != file.lastModified()) {
+            logger.debug("Ignoring index {} as it doesn't match its retention file", indexFile);
+            return null;
+         }
+         final int addressCount = buffer.readInt();
+         final Set<SimpleString> addresses = new HashSet<>(addressCount);
+         for (int i = 0; i < addressCount; i++) {
+            addresses.add(buffer.readSimpleString());
+         }
+         final int largeMessageCount = buffer.readInt();
+         final Set<Long> largeMessageBodies = new HashSet<>(largeMessageCount);
+         for (int i = 0; i < largeMessageCount; i++) {
+            largeMessageBodies.add(buffer.readLong());
+         }
+         return new RetentionFileIndex(fileSize, lastModified, addresses, largeMessageBodies);
+      } catch (Exception e) {
+         logger.debug("Ignoring index {} as it could not be read", indexFile, e);
+         return null;
+      }
+   }
+
+   /**
+    * Writes the index next to its retention file. Failing to write it only means the next replay reads the whole file
+    * again.
+    */
+   public void write(File file) {
+      final File indexFile = getIndexFile(file);
+      final File tmpFile = new File(file.getParentFile(), indexFile.getName() + ".tmp");
+      int size = DataConstants.SIZE_INT + DataConstants.SIZE_LONG * 2 + DataConstants.SIZE_INT * 2 + DataConstants.SIZE_LONG * largeMessageBodies.size();
+      for (SimpleString address : addresses) {
+         size += SimpleString.sizeofString(address);
+      }
+      final byte[] data = new byte[size];
+      final ActiveMQBuffer buffer = ActiveMQBuffers.wrappedBuffer(data);
+      buffer.writerIndex(0);
+      buffer.writeInt(VERSION);
+      buffer.writeLong(fileSize);
+      buffer.writeLong(lastModified);
+      buffer.writeInt(addresses.size());
+      for (SimpleString address : addresses) {
+         buffer.writeSimpleString(address);
+      }
+      buffer.writeInt(largeMessageBodies.size());
+      for (Long messageID : largeMessageBodies) {
+         buffer.writeLong(messageID);
+      }
+      try {
+         Files.write(tmpFile.toPath(), data);
+         Files.move(tmpFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } catch (IOException e) {
+         logger.warn("Could not write retention index {}: {}", indexFile, e.getMessage(), e);
+         tmpFile.delete();
+      }
+   }
+
+   /**
+    * Removes the indexes whose retention file has been removed by the journal retention.
+    */
+   public static void removeOrphans(File retentionFolder) {
+      final String[] indexes = retentionFolder.list((dir, name) -> name.endsWith(INDEX_EXTENSION));
+      if (indexes == null) {
+         return;
+      }
+      for (String index : indexes) {
+         final File retentionFile = new File(retentionFolder, index.substring(0, index.length() - INDEX_EXTENSION.length()));
+         if (!retentionFile.exists()) {
+            logger.debug("Removing index {} of a removed retention file", index);
+            new File(retentionFolder, index).delete();
+         }
+      }
+   }
+
+   public void addAddress(SimpleString address) {
+      if (address != null) {
+         addresses.add(address);
+      }
+   }
+
+   public void addLargeMessageBody(long messageID) {
+      largeMessageBodies.add(messageID);
+   }
+
+   public boolean containsAddress(SimpleString address) {
+      return addresses.contains(address);
+   }
+
+   public Set<Long> getLargeMessageBodies() {
+      return largeMessageBodies;
+   }
+
+   @Override
+   public String toString() {
+      return "RetentionFileIndex [fileSize=" + fileSize + ", addresses=" + addresses + ", largeMessageBodies=" + largeMessageBodies.size() + "]";
+   }
+}
@@ -27,6 +27,7 @@ import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 public class DefaultsFileConfigurationTest extends AbstractConfigurationTestBase {
 
@@ -102,6 +103,24 @@ public class DefaultsFileConfigurationTest extends AbstractConfigurationTestBase
 
       assertEquals(ActiveMQDefaultConfiguration.getDefaultJournalMaxAtticFiles(), conf.getJournalMaxAtticFiles());
 
+      assertEquals(ActiveMQDefaultConfiguration.getDefaultJournalLoadThreads(), conf.getJournalLoadThreads());
+
+      assertEquals(ActiveMQDefaultConfiguration.isDefaultJournalSealFiles(), conf.isJournalSealFiles());
+
+      assertEquals(ActiveMQDefaultConfiguration.isDefaultJournalAdaptiveBufferTimeout(), conf.isJournalAdaptiveBufferTimeout());
+
+      assertEquals(ActiveMQDefaultConfiguration.isDefaultPageReadMapped(), conf.isPageReadMapped());
+
+      assertEquals(ActiveMQDefaultConfiguration.getDefaultPageCompactionThreshold(), conf.getPageCompactionThreshold());
+
+      assertEquals(ActiveMQDefaultConfiguration.isDefaultPageGroupSync(), conf.isPageGroupSync());
+
+      assertNull(conf.getPageOffloadDirectory());
+
+      assertEquals(ActiveMQDefaultConfiguration.getDefaultPageOffloadPrefetch(), conf.getPageOffloadPrefetch());
+
+      assertEquals(ActiveMQDefaultConfiguration.getDefaultGlobalPageCacheMaxSize(), conf.getGlobalPageCacheMaxSize());
+
       assertEquals(ActiveMQDefaultConfiguration.getDefaultJournalCompactMinFiles(), conf.getJournalCompactMinFiles());
 
       assertEquals(ActiveMQDefaultConfiguration.getDefaultJournalCompactPercentage(), conf.getJournalCompactPercentage());
@@ -223,6 +223,11 @@ public class FileConfigurationTest extends AbstractConfigurationTestBase {
 
       assertEquals(17, configInstance.getPageMaxConcurrentIO(), "max concurrent io");
       assertTrue(configInstance.isReadWholePage());
+      assertTrue(configInstance.isPageReadMapped());
+      assertEquals(75, configInstance.getPageCompactionThreshold());
+      assertTrue(configInstance.isPageGroupSync());
+      assertEquals("offloaded", configInstance.getPageOffloadDirectory());
+      assertEquals(3, configInstance.getPageOffloadPrefetch());
       assertEquals("somedir2", configInstance.getJournalDirectory());
       assertEquals("history", configInstance.getJournalRetentionDirectory());
       assertEquals(10L * 1024L * 1024L * 1024L, configInstance.getJournalRetentionMaxBytes());
@@ -233,6 +238,9 @@ public class FileConfigurationTest extends AbstractConfigurationTestBase {
       assertEquals(1000, configInstance.getJournalBufferTimeout_NIO());
       assertEquals(56546, configInstance.getJournalMaxIO_NIO());
       assertEquals(9876, configInstance.getJournalFileOpenTimeout());
+      assertEquals(4, configInstance.getJournalLoadThreads());
+      assertTrue(configInstance.isJournalSealFiles());
+      assertTrue(configInstance.isJournalAdaptiveBufferTimeout());
 
       assertFalse(configInstance.isJournalSyncTransactional());
       assertTrue(configInstance.isJournalSyncNonTransactional());
@@ -553,6 +561,9 @@ public class FileConfigurationTest extends AbstractConfigurationTestBase {
       assertTrue(configInstance.getAddressSettings().get("a1").isEnableIngressTimestamp());
       assertNull(configInstance.getAddressSettings().get("a1").getIDCacheSize());
       assertNull(configInstance.getAddressSettings().get("a1").getInitialQueueBufferSize());
+      assertEquals(AddressSettings.DEFAULT_JOURNAL_COMPRESSION_THRESHOLD, configInstance.getAddressSettings().get("a1").getJournalCompressionThreshold());
+      assertEquals(AddressSettings.DEFAULT_PAGE_COMPRESSION_THRESHOLD, configInstance.getAddressSettings().get("a1").getPageCompressionThreshold());
+      assertEquals(AddressSettings.DEFAULT_PREDICTIVE_PAGING_HORIZON, configInstance.getAddressSettings().get("a1").getPredictivePagingHorizon());
 
       assertEquals("a2.1", configInstance.getAddressSettings().get("a2").getDeadLetterAddress().toString());
       assertTrue(configInstance.getAddressSettings().get("a2").isAutoCreateDeadLetterResources());
@@ -597,6 +608,9 @@ public class FileConfigurationTest extends AbstractConfigurationTestBase {
       assertFalse(configInstance.getAddressSettings().get("a2").isEnableIngressTimestamp());
       assertEquals(Integer.valueOf(500), configInstance.getAddressSettings().get("a2").getIDCacheSize());
       assertEquals(Integer.valueOf(128), configInstance.getAddressSettings().get("a2").getInitialQueueBufferSize());
+      assertEquals(1024, configInstance.getAddressSettings().get("a2").getJournalCompressionThreshold());
+      assertEquals(512, configInstance.getAddressSettings().get("a2").getPageCompressionThreshold());
+      assertEquals(5000, configInstance.getAddressSettings().get("a2").getPredictivePagingHorizon());
 
       assertEquals(111, configInstance.getMirrorAckManagerQueueAttempts());
       assertTrue(configInstance.isMirrorAckManagerWarnUnacked());
@@ -654,6 +668,7 @@ public class FileConfigurationTest extends AbstractConfigurationTestBase {
       assertTrue(a2Role.isDeleteNonDurableQueue());
       assertFalse(a2Role.isManage());
       assertEquals(1234567, configInstance.getGlobalMaxSize());
+      assertEquals(10 * 1024 * 1024, configInstance.getGlobalPageCacheMaxSize());
       assertEquals(30, configInstance.getGlobalMaxSizePercentOfJvmMaxMemory());
       assertEquals(37, configInstance.getMaxDiskUsage());
       assertEquals(123, configInstance.getDiskScanPeriod());
@@ -714,6 +729,7 @@ public class FileConfigurationTest extends AbstractConfigurationTestBase {
       // If null, then default will be taken from address-settings (which defaults to ActiveMQDefaultConfiguration.getDefaultMaxQueueConsumers())
       assertNull(queueConfiguration.getMaxConsumers());
       assertNull(queueConfiguration.isGroupRebalancePauseDispatch());
+      assertNull(queueConfiguration.getPartitions());
 
       // Addr 1 Queue 2
       queueConfiguration = addressConfiguration.getQueueConfigs().get(1);
@@ -727,6 +743,8 @@ public class FileConfigurationTest extends AbstractConfigurationTestBase {
       assertEquals("addr1", queueConfiguration.getAddress().toString());
       assertNotNull(queueConfiguration.isGroupRebalancePauseDispatch());
       assertTrue(queueConfiguration.isGroupRebalancePauseDispatch());
+      assertEquals(4, queueConfiguration.getPartitions().intValue());
+      assertEquals("customer", queueConfiguration.getPartitionKey().toString());
 
       // Addr 2
       addressConfiguration = conf.getAddressConfigurations().get(1);
@@ -29,7 +29,11 @@ import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
 
 import org.apache.activemq.artemis.api.core.ActiveMQExceptionType;
 import org.apache.activemq.artemis.core.io.IOCallback;
@@ -295,6 +299,157 @@ public class OperationContextUnitTest extends ServerTestBase {
       }
    }
 
+   @Test
+   public void testCompletionsRacingOnSeparateThreads() throws Exception {
+      ExecutorService executor = Executors.newCachedThreadPool(ActiveMQThreadFactory.defaultThreadFactory(getClass().getName()));
+      runAfter(executor::shutdownNow);
+      final int N = 10_000;
+      final OperationContextImpl impl = new OperationContextImpl(new OrderedExecutor(executor));
+      final AtomicIntegerArray executions = new AtomicIntegerArray(N);
+      final AtomicInteger failures = new AtomicInteger();
+      final Queue<Integer> completions = new ConcurrentLinkedQueue<>();
+      final Queue<Integer> storeOnlyCompletions = new ConcurrentLinkedQueue<>();
+      final AtomicBoolean running = new AtomicBoolean(true);
+
+      // each kind of operation is completed on its own thread, as the journal, the replication manager and the page
+      // syncer would do, while the tasks are registered on this one
+      final Thread[] completers = {
+         new Thread(() -> completeLinedUp(running, impl::getStored, impl::getStoreLineUpField, impl::done)),
+         new Thread(() -> completeLinedUp(running, impl::getReplicated, impl::getReplicationLineUpField, impl::replicationDone)),
+         new Thread(() -> completeLinedUp(running, impl::getPaged, impl::getPagedLinedUpField, impl::pageSyncDone))};
+      for (Thread completer : completers) {
+         completer.start();
+      }
+      try {
+         for (int i = 0; i < N; i++) {
+            final int task = i;
+            final boolean storeOnly = i % 3 == 0;
+            impl.storeLineUp();
+            if (!storeOnly) {
+               impl.replicationLineUp();
+               impl.pageSyncLineUp();
+            }
+            impl.executeOnCompletion(new IOCallback() {
+               @Override
+               public void onError(int errorCode, String errorMessage) {
+                  failures.incrementAndGet();
+               }
+
+               @Override
+               public void done() {
+                  executions.incrementAndGet(task);
+                  (storeOnly ? storeOnlyCompletions : completions).add(task);
+               }
+            }, storeOnly ? OperationConsistencyLevel.STORAGE : OperationConsistencyLevel.FULL);
+         }
+
+         Wait.assertEquals(N, () -> completions.size() + storeOnlyCompletions.size());
+      } finally {
+         running.set(false);
+         for (Thread completer : completers) {
+            completer.join();
+         }
+      }
+
+      assertEquals(0, failures.get());
+      assertEquals(N, completions.size() + storeOnlyCompletions.size());
+      for (int i = 0; i < N; i++) {
+         assertEquals(1, executions.get(i), "executed once");
+      }
+      // the tasks of a consistency level are executed in the order they were registered
+      assertAscending(completions);
+      assertAscending(storeOnlyCompletions);
+      assertTrue(impl.tasks.isEmpty());
+      assertTrue(impl.storeOnlyTasks.isEmpty());
+      assertEquals(0, OperationContextImpl.CHECKS_PENDING_UPDATER.get(impl));
+   }
+
+   private static void completeLinedUp(AtomicBoolean running, LongSupplier completed, LongSupplier linedUp, Runnable completion) {
+      while (running.get()) {
+         // only this thread completes this kind of operation, so it never completes more than lined up
+         if (completed.getAsLong() < linedUp.getAsLong()) {
+            completion.run();
+         } else {
+            Thread.yield();
+         }
+      }
+   }
+
+   private static void assertAscending(Queue<Integer> completions) {
+      int last = -1;
+      for (int task : completions) {
+         assertTrue(task > last, "ordered");
+         last = task;
+      }
+   }
+
+   @Test
+   public void testErrorWhileCheckingTasks() throws Exception {
+      final AtomicReference<OperationContextImpl> context = new AtomicReference<>();
+      final AtomicBoolean errorSent = new AtomicBoolean();
+      // the first task executed gets the error sent from another thread, while this one is still checking the tasks
+      final Executor executor = command -> {
+         if (errorSent.compareAndSet(false, true)) {
+            Thread error = new Thread(() -> context.get().onError(ActiveMQExceptionType.IO_ERROR.getCode(), "error"));
+            error.start();
+            try {
+               error.join();
+            } catch (InterruptedException e) {
+               throw new IllegalStateException(e);
+            }
+            // the error is left to the thread checking the tasks
+            assertEquals(2, OperationContextImpl.CHECKS_PENDING_UPDATER.get(context.get()));
+         }
+         command.run();
+      };
+      final OperationContextImpl impl = new OperationContextImpl(executor);
+      context.set(impl);
+
+      class CountingCallback implements IOCallback {
+         final AtomicInteger done = new AtomicInteger();
+         final AtomicInteger errors = new AtomicInteger();
+         volatile int errorCode = -1;
+
+         @Override
+         public void done() {
+            done.incrementAndGet();
+         }
+
+         @Override
+         public void onError(int errorCode, String errorMessage) {
+            this.errorCode = errorCode;
+            errors.incrementAndGet();
+         }
+      }
+
+      final CountingCallback first = new CountingCallback();
+      final CountingCallback second = new CountingCallback();
+      impl.storeLineUp();
+      impl.executeOnCompletion(first);
+      impl.storeLineUp();
+      impl.executeOnCompletion(second);
+
+      // completes the first task only, which sends the error
+      impl.done();
+
+      assertTrue(errorSent.get());
+      assertEquals(1, first.done.get());
+      assertEquals(0, first.errors.get());
+      assertEquals(0, second.done.get());
+      assertEquals(1, second.errors.get());
+      assertEquals(ActiveMQExceptionType.IO_ERROR.getCode(), second.errorCode);
+      assertTrue(impl.tasks.isEmpty());
+      assertEquals(0, OperationContextImpl.CHECKS_PENDING_UPDATER.get(impl));
+
+      // a late completion doesn't execute the failed task, and a task registered after the error fails at once
+      impl.done();
+      assertEquals(0, second.done.get());
+      final CountingCallback third = new CountingCallback();
+      impl.executeOnCompletion(third);
+      assertEquals(0, third.done.get());
+      assertEquals(1, third.errors.get());
+   }
+
    @Test
    public void testIgnoreReplication() throws Exception {
       ExecutorService executor = Executors.newSingleThreadExecutor(ActiveMQThreadFactory.defaultThreadFactory(getClass().getName()));
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.apache.activemq.artemis.core.paging.PagingStore;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.apache.activemq.artemis.core.server.Queue;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+public class MessageReferenceImplTest {
+
+   private final Message message = new CoreMessage().initBuffer(1024).setMessageID(1);
+
+   @Test
+   public void testDefaults() {
+      MessageReferenceImpl ref = new MessageReferenceImpl(message, Mockito.mock(Queue.class));
+
+      assertEquals(0, ref.getDeliveryCount());
+      assertEquals(0, ref.getPersistedCount());
+      assertEquals(0, ref.getScheduledDeliveryTime());
+      assertFalse(ref.hasConsumerId());
+      assertThrows(IllegalStateException.class, ref::getConsumerId);
+
+      // nothing to call back
+      ref.run();
+   }
+
+   @Test
+   public void testDeliveryState() {
+      MessageReferenceImpl ref = new MessageReferenceImpl(message, Mockito.mock(Queue.class));
+
+      ref.setScheduledDeliveryTime(1000);
+      assertEquals(1000, ref.getScheduledDeliveryTime());
+      ref.setScheduledDeliveryTime(0);
+      assertEquals(0, ref.getScheduledDeliveryTime());
+
+      ref.setDeliveryCount(3);
+      assertEquals(3, ref.getDeliveryCount());
+      assertEquals(3, ref.getPersistedCount());
+      ref.incrementDeliveryCount();
+      assertEquals(4, ref.getDeliveryCount());
+      assertEquals(3, ref.getPersistedCount());
+
+      ref.setConsumerId(10);
+      assertTrue(ref.hasConsumerId());
+      assertEquals(10, ref.getConsumerId());
+      ref.emptyConsumerID();
+      assertFalse(ref.hasConsumerId());
+
+      AtomicInteger delivered = new AtomicInteger();
+      ref.onDelivery(delivery -> {
+         assertSame(ref, delivery);
+         delivered.incrementAndGet();
+      });
+      ref.run();
+      ref.run();
+      assertEquals(1, delivered.get());
+   }
+
+   @Test
+   public void testCopy() {
+      MessageReferenceImpl ref = new MessageReferenceImpl(message, Mockito.mock(Queue.class));
+      ref.setDeliveryCount(2);
+      ref.setScheduledDeliveryTime(1000);
+      ref.setConsumerId(10);
+      ref.setSequence(5);
+
+      Queue queue = Mockito.mock(Queue.class);
+      MessageReference copy = ref.copy(queue);
+
+      assertSame(message, copy.getMessage());
+      assertSame(queue, copy.getQueue());
+      assertEquals(2, copy.getDeliveryCount());
+      assertEquals(1000, copy.getScheduledDeliveryTime());
+      assertEquals(5, copy.getSequence());
+      assertFalse(copy.hasConsumerId());
+   }
+
+   @Test
+   public void testDeliveryStateAccountedOnAllocation() {
+      PagingStore pagingStore = Mockito.mock(PagingStore.class);
+      Queue queue = Mockito.mock(Queue.class);
+      Mockito.when(queue.getPagingStore()).thenReturn(pagingStore);
+
+      MessageReferenceImpl ref = new MessageReferenceImpl(message, queue);
+      ref.setScheduledDeliveryTime(0);
+      ref.setDeliveryCount(0);
+      assertEquals(0, ref.getDeliveryStateMemoryEstimate());
+      Mockito.verifyNoInteractions(pagingStore);
+
+      ref.setScheduledDeliveryTime(1000);
+      ref.setDeliveryCount(3);
+      assertEquals(24, ref.getDeliveryStateMemoryEstimate());
+      Mockito.verify(pagingStore, Mockito.times(1)).addSize(24, true);
+
+      // the copy is accounted on its own queue
+      PagingStore otherPagingStore = Mockito.mock(PagingStore.class);
+      Queue otherQueue = Mockito.mock(Queue.class);
+      Mockito.when(otherQueue.getPagingStore()).thenReturn(otherPagingStore);
+      ref.copy(otherQueue);
+      Mockito.verify(otherPagingStore, Mockito.times(1)).addSize(24, true);
+      Mockito.verifyNoMoreInteractions(pagingStore);
+   }
+}
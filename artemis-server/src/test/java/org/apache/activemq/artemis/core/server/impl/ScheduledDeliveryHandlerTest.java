@@ -18,6 +18,7 @@ package org.apache.activemq.artemis.core.server.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -74,6 +75,19 @@ public class ScheduledDeliveryHandlerTest {
 
    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
+   @Test
+   public void testIdleHandlerAllocatesNoSlots() throws Exception {
+      ScheduledDeliveryHandlerImpl handler = new ScheduledDeliveryHandlerImpl(null, new FakeQueueForScheduleUnitTest(0));
+
+      assertTrue(handler.getScheduledReferences().isEmpty());
+      assertTrue(handler.cancel(ref -> true).isEmpty());
+      assertNull(handler.removeReferenceWithID(1));
+      assertNull(handler.peekFirstScheduledMessage());
+      assertEquals(0, handler.getScheduledCount());
+
+      assertEquals(0, handler.scheduledReferences.allocatedLevels());
+   }
+
    @Test
    public void testScheduleRandom() throws Exception {
       ScheduledDeliveryHandlerImpl handler = new ScheduledDeliveryHandlerImpl(null, new FakeQueueForScheduleUnitTest(0));
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.junit.jupiter.api.Test;
+
+public class ScheduledTimingWheelTest {
+
+   private static final long NOW = 1_700_000_000_000L;
+
+   private long nextMessageID = 0;
+
+   private MessageReference createReference(long deliveryTime) {
+      MessageReference ref = new MessageReferenceImpl(new CoreMessage().initBuffer(10).setMessageID(nextMessageID++), null);
+      ref.setScheduledDeliveryTime(deliveryTime);
+      return ref;
+   }
+
+   private static List<Long> ids(List<MessageReference> refs) {
+      List<Long> ids = new ArrayList<>();
+      for (MessageReference ref : refs) {
+         ids.add(ref.getMessageID());
+      }
+      return ids;
+   }
+
+   @Test
+   public void testSlotsAllocatedOnFirstAdd() {
+      ScheduledTimingWheel wheel = new ScheduledTimingWheel(NOW);
+      MessageReference ref = createReference(NOW + 10);
+
+      assertTrue(wheel.toList().isEmpty());
+      assertEquals(Long.MAX_VALUE, wheel.nextExpiration());
+      assertNull(wheel.min(Comparator.comparingLong(MessageReference::getMessageID)));
+      assertNull(wheel.find(reference -> true));
+      assertTrue(wheel.removeIf(reference -> true).isEmpty());
+      assertFalse(wheel.remove(ref));
+      assertTrue(wheel.advance(NOW + TimeUnit.DAYS.toMillis(100)).isEmpty());
+      assertEquals(0, wheel.allocatedLevels());
+
+      wheel = new ScheduledTimingWheel(NOW);
+      wheel.add(ref, true);
+      assertEquals(1, wheel.allocatedLevels());
+      wheel.add(createReference(NOW + TimeUnit.DAYS.toMillis(100)), true);
+      assertEquals(2, wheel.allocatedLevels());
+   }
+
+   @Test
+   public void testDeliveryOrder() {
+      ScheduledTimingWheel wheel = new ScheduledTimingWheel(NOW);
+
+      // one reference on each level and one on the overflow, added in reverse order
+      long[] deliveryTimes = {NOW + TimeUnit.DAYS.toMillis(100), NOW + TimeUnit.DAYS.toMillis(2), NOW + TimeUnit.MINUTES.toMillis(10), NOW + 5000, NOW + 100, NOW - 10};
+      for (long deliveryTime : deliveryTimes) {
+         wheel.add(createReference(deliveryTime), true);
+      }
+      assertEquals(deliveryTimes.length, wheel.size());
+      assertEquals(List.of(5L, 4L, 3L, 2L, 1L, 0L), ids(wheel.toList()));
+
+      assertEquals(List.of(5L), ids(wheel.advance(NOW)));
+      assertEquals(List.of(), ids(wheel.advance(NOW + 99)));
+      assertEquals(List.of(4L), ids(wheel.advance(NOW + 100)));
+      assertEquals(List.of(3L, 2L), ids(wheel.advance(NOW + TimeUnit.MINUTES.toMillis(10))));
+      assertEquals(List.of(1L), ids(wheel.advance(NOW + TimeUnit.DAYS.toMillis(50))));
+      assertEquals(1, wheel.size());
+      assertEquals(List.of(0L), ids(wheel.advance(NOW + TimeUnit.DAYS.toMillis(200))));
+      assertTrue(wheel.isEmpty());
+      assertEquals(Long.MAX_VALUE, wheel.nextExpiration());
+   }
+
+   @Test
+   public void testHeadAndTailWithSameDeliveryTime() {
+      ScheduledTimingWheel wheel = new ScheduledTimingWheel(NOW);
+      final long deliveryTime = NOW + TimeUnit.HOURS.toMillis(1);
+
+      // these are cascaded through every level before being due
+      wheel.add(createReference(deliveryTime), true);
+      wheel.add(createReference(deliveryTime), true);
+      wheel.add(createReference(deliveryTime), false);
+      wheel.advance(deliveryTime - 1000);
+      // these are added straight to the first level
+      wheel.add(createReference(deliveryTime), true);
+      wheel.add(createReference(deliveryTime), false);
+
+      assertEquals(List.of(4L, 2L, 0L, 1L, 3L), ids(wheel.toList()));
+      assertEquals(List.of(4L, 2L, 0L, 1L, 3L), ids(wheel.advance(deliveryTime)));
+   }
+
+   @Test
+   public void testNextExpiration() {
+      ScheduledTimingWheel wheel = new ScheduledTimingWheel(NOW);
+      final long deliveryTime = NOW + TimeUnit.HOURS.toMillis(1);
+      wheel.add(createReference(deliveryTime), true);
+
+      // every expiration before the delivery time only cascades the reference to a lower level
+      long expiration = wheel.nextExpiration();
+      while (expiration < deliveryTime) {
+         assertTrue(expiration > wheel.getCurrentTime());
+         assertTrue(wheel.advance(expiration).isEmpty());
+         expiration = wheel.nextExpiration();
+      }
+      assertEquals(deliveryTime, expiration);
+      assertEquals(1, wheel.advance(expiration).size());
+   }
+
+   @Test
+   public void testRemove() {
+      ScheduledTimingWheel wheel = new ScheduledTimingWheel(NOW);
+      MessageReference first = createReference(NOW + 10);
+      MessageReference second = createReference(NOW + TimeUnit.DAYS.toMillis(100));
+      MessageReference third = createReference(NOW + TimeUnit.DAYS.toMillis(100));
+      wheel.add(first, true);
+      wheel.add(second, true);
+      wheel.add(third, true);
+
+      assertTrue(wheel.remove(second));
+      assertFalse(wheel.remove(second));
+      assertSame(third, wheel.find(ref -> ref.getMessageID() == third.getMessageID()));
+      assertEquals(List.of(first), wheel.removeIf(ref -> ref.getMessageID() == first.getMessageID()));
+      assertEquals(1, wheel.size());
+      assertEquals(List.of(third), wheel.advance(NOW + TimeUnit.DAYS.toMillis(100)));
+      assertTrue(wheel.isEmpty());
+   }
+}
@@ -104,6 +104,9 @@ public class AddressSettingsTest extends ServerTestBase {
       addressSettingsToMerge.setMaxExpiryDelay(777L);
       addressSettingsToMerge.setIDCacheSize(5);
       addressSettingsToMerge.setInitialQueueBufferSize(256);
+      addressSettingsToMerge.setJournalCompressionThreshold(2048);
+      addressSettingsToMerge.setPageCompressionThreshold(4096);
+      addressSettingsToMerge.setPredictivePagingHorizon(3000);
       addressSettingsToMerge.setNoExpiry(true);
 
       if (copy) {
@@ -127,6 +130,9 @@ public class AddressSettingsTest extends ServerTestBase {
       assertEquals(Long.valueOf(777), addressSettings.getMaxExpiryDelay());
       assertEquals(Integer.valueOf(5), addressSettings.getIDCacheSize());
       assertEquals(Integer.valueOf(256), addressSettings.getInitialQueueBufferSize());
+      assertEquals(2048, addressSettings.getJournalCompressionThreshold());
+      assertEquals(4096, addressSettings.getPageCompressionThreshold());
+      assertEquals(3000, addressSettings.getPredictivePagingHorizon());
       assertTrue(addressSettings.isNoExpiry());
    }
 
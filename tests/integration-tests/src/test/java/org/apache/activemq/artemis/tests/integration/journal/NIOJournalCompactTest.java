@@ -39,6 +39,7 @@ import org.apache.activemq.artemis.core.io.SequentialFile;
 import org.apache.activemq.artemis.core.io.SequentialFileFactory;
 import org.apache.activemq.artemis.core.io.nio.NIOSequentialFileFactory;
 import org.apache.activemq.artemis.core.journal.EncoderPersister;
+import org.apache.activemq.artemis.core.journal.JournalCompactStatistics;
 import org.apache.activemq.artemis.core.journal.LoaderCallback;
 import org.apache.activemq.artemis.core.journal.PreparedTransactionInfo;
 import org.apache.activemq.artemis.core.journal.RecordInfo;
@@ -69,6 +70,7 @@ import org.slf4j.LoggerFactory;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -251,6 +253,43 @@ public class NIOJournalCompactTest extends JournalImplTestBase {
 
    }
 
+   @Test
+   public void testCompactStatistics() throws Exception {
+
+      setup(2, 60 * 1024, false);
+
+      createJournal();
+      startJournal();
+      load();
+
+      assertNull(((JournalImpl) journal).getLastCompactStatistics());
+
+      for (int i = 0; i < 10; i++) {
+         add(i);
+         journal.forceMoveNextFile();
+      }
+
+      for (int i = 0; i < 9; i++) {
+         delete(i);
+      }
+
+      journal.testCompact();
+
+      JournalCompactStatistics statistics = ((JournalImpl) journal).getLastCompactStatistics();
+      assertNotNull(statistics);
+      assertTrue(statistics.getCompactedFiles() >= 10, statistics.toString());
+      assertEquals(1, statistics.getNewFiles(), statistics.toString());
+      assertEquals((long) statistics.getCompactedFiles() * fileSize, statistics.getCompactedBytes());
+      assertEquals(fileSize, statistics.getNewBytes());
+      assertTrue(statistics.getReclaimedBytes() > 0);
+      assertTrue(statistics.getAppendPauseNanos() <= statistics.getTotalNanos());
+
+      stopJournal();
+      createJournal();
+      startJournal();
+      loadAndCheck();
+   }
+
    @Test
    public void testInvalidDataCompact() throws Exception {
 
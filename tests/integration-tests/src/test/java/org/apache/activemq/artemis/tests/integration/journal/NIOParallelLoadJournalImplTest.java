@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.integration.journal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.apache.activemq.artemis.core.journal.JournalLoadStatistics;
+import org.apache.activemq.artemis.core.journal.impl.JournalImpl;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs every {@link NIOJournalImplTest} scenario reading the journal files in parallel during load.
+ */
+public class NIOParallelLoadJournalImplTest extends NIOJournalImplTest {
+
+   @Override
+   public void createJournal() throws Exception {
+      super.createJournal();
+      ((JournalImpl) journal).setLoadThreads(4);
+   }
+
+   @Test
+   public void testLoadStatistics() throws Exception {
+      setup(10, 10 * 1024, true);
+      createJournal();
+      startJournal();
+      load();
+
+      for (long i = 0; i < 100; i++) {
+         add(i);
+      }
+      for (long i = 0; i < 100; i += 2) {
+         delete(i);
+      }
+
+      stopJournal(false);
+      createJournal();
+      startJournal();
+      loadAndCheck();
+
+      JournalLoadStatistics statistics = ((JournalImpl) journal).getLastLoadStatistics();
+      assertNotNull(statistics);
+      assertTrue(statistics.getFiles() > 4);
+      assertEquals(4, statistics.getLoadThreads());
+      assertTrue(statistics.getReadNanos() > 0);
+      assertTrue(statistics.getTotalNanos() >= statistics.getOrderFilesNanos());
+
+      stopJournal();
+   }
+}
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.integration.journal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+
+import org.apache.activemq.artemis.core.io.SequentialFileFactory;
+import org.apache.activemq.artemis.core.io.nio.NIOSequentialFileFactory;
+import org.apache.activemq.artemis.core.journal.impl.JournalFile;
+import org.apache.activemq.artemis.core.journal.impl.JournalImpl;
+import org.apache.activemq.artemis.tests.unit.core.journal.impl.JournalImplTestBase;
+import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
+import org.junit.jupiter.api.Test;
+
+public class NIOSealedJournalTest extends JournalImplTestBase {
+
+   @Override
+   protected SequentialFileFactory getFileFactory() throws Exception {
+      File file = new File(getTestDir());
+
+      ActiveMQTestBase.deleteDirectory(file);
+
+      file.mkdir();
+
+      return new NIOSequentialFileFactory(getTestDirfile(), true, 1);
+   }
+
+   @Override
+   public void createJournal() throws Exception {
+      super.createJournal();
+      ((JournalImpl) journal).setSealFiles(true);
+   }
+
+   @Test
+   public void testLoadSealedFiles() throws Exception {
+      setup(2, 10 * 1024, true);
+      createJournal();
+      startJournal();
+      load();
+
+      for (long i = 0; i < 100; i++) {
+         add(i);
+      }
+      for (long i = 0; i < 100; i += 3) {
+         update(i);
+      }
+      for (long i = 0; i < 100; i += 2) {
+         delete(i);
+      }
+
+      stopJournal(false);
+      createJournal();
+      startJournal();
+      loadAndCheck();
+
+      JournalFile[] dataFiles = journal.getDataFiles();
+      assertTrue(dataFiles.length > 2);
+      for (JournalFile dataFile : dataFiles) {
+         assertTrue(dataFile.isSealed(), dataFile.toString());
+      }
+      assertFalse(((JournalImpl) journal).getCurrentFile().isSealed());
+
+      stopJournal();
+   }
+
+   @Test
+   public void testAppendAfterSealedLastFile() throws Exception {
+      setup(2, 10 * 1024, true);
+      createJournal();
+      startJournal();
+      load();
+
+      for (long i = 0; i < 5; i++) {
+         add(i);
+      }
+      journal.forceMoveNextFile();
+
+      stopJournal(false);
+      createJournal();
+      startJournal();
+      loadAndCheck();
+
+      final JournalFile sealedFile = journal.getDataFiles()[journal.getDataFiles().length - 1];
+      assertTrue(sealedFile.isSealed());
+      assertTrue(((JournalImpl) journal).getCurrentFile().getFileID() > sealedFile.getFileID());
+
+      for (long i = 5; i < 10; i++) {
+         add(i);
+      }
+      delete(0);
+
+      stopJournal(false);
+      createJournal();
+      startJournal();
+      loadAndCheck();
+      assertEquals(9, records.size());
+
+      stopJournal();
+   }
+
+   @Test
+   public void testLoadSealedFilesWithoutSealing() throws Exception {
+      setup(2, 10 * 1024, true);
+      createJournal();
+      startJournal();
+      load();
+
+      for (long i = 0; i < 100; i++) {
+         add(i);
+      }
+
+      stopJournal(false);
+      super.createJournal();
+      startJournal();
+      loadAndCheck();
+
+      for (long i = 100; i < 120; i++) {
+         add(i);
+      }
+
+      stopJournal(false);
+      createJournal();
+      startJournal();
+      loadAndCheck();
+
+      stopJournal();
+   }
+}
@@ -123,6 +123,11 @@ public class QueueControlUsingCoreTest extends QueueControlTest {
             }
          }
 
+         @Override
+         public int getPartitions() {
+            return (Integer) proxy.retrieveAttributeValue("partitions");
+         }
+
          @Override
          public boolean isGroupRebalance() {
             return (Boolean) proxy.retrieveAttributeValue("groupRebalance");
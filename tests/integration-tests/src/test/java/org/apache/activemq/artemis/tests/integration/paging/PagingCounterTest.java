@@ -19,6 +19,7 @@ package org.apache.activemq.artemis.tests.integration.paging;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import javax.jms.Connection;
 import javax.jms.ConnectionFactory;
@@ -529,6 +530,59 @@ public class PagingCounterTest extends ActiveMQTestBase {
       Wait.assertEquals(3000L, queue::getMessageCount, 1000, 100);
    }
 
+   @Test
+   public void testRebuildMultiplePages() throws Exception {
+      testRebuildMultiplePages(-1);
+   }
+
+   @Test
+   public void testRebuildWithSingleThreadPageExecutor() throws Exception {
+      // the segments and the cleanup after them all run on the only page thread
+      testRebuildMultiplePages(1);
+   }
+
+   private void testRebuildMultiplePages(int pageMaxConcurrentIO) throws Exception {
+      Queue queue = server.createQueue(QueueConfiguration.of(SimpleString.of("A1")).setRoutingType(RoutingType.ANYCAST));
+
+      queue.getPagingStore().startPaging();
+
+      ConnectionFactory cf = CFUtil.createConnectionFactory("core", "tcp://localhost:61616");
+      try (Connection connection = cf.createConnection()) {
+         Session session = connection.createSession(true, Session.SESSION_TRANSACTED);
+         MessageProducer producer = session.createProducer(session.createQueue("A1"));
+         for (int i = 0; i < 3000; i++) {
+            producer.send(session.createTextMessage("i" + i));
+         }
+         session.commit();
+      }
+
+      assertTrue(queue.getPagingStore().getNumberOfPages() > 1);
+
+      server.stop();
+
+      server = newActiveMQServer();
+
+      if (pageMaxConcurrentIO > 0) {
+         server.getConfiguration().setPageMaxConcurrentIO(pageMaxConcurrentIO);
+      }
+
+      server.setRebuildCounters(true);
+
+      server.start();
+
+      queue = server.locateQueue(SimpleString.of("A1"));
+
+      assertNotNull(queue);
+
+      PageSubscriptionCounter counter = locateCounter(queue);
+
+      // the page files are counted in parallel segments which are merged at the end
+      Wait.assertEquals(100, server.getPagingManager()::getRebuildCountersProgress);
+      Wait.assertEquals(3000, counter::getValue);
+      Wait.assertEquals(3000L, queue::getMessageCount, 1000, 100);
+      Wait.assertFalse(server.getPagingManager()::isRebuildingCounters);
+   }
+
    private ActiveMQServer newActiveMQServer() throws Exception {
 
       OperationContextImpl.clearContext();
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.integration.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.activemq.artemis.api.core.QueueConfiguration;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.client.ClientConsumer;
+import org.apache.activemq.artemis.api.core.client.ClientMessage;
+import org.apache.activemq.artemis.api.core.client.ClientProducer;
+import org.apache.activemq.artemis.api.core.client.ClientSession;
+import org.apache.activemq.artemis.api.core.client.ClientSessionFactory;
+import org.apache.activemq.artemis.api.core.client.ServerLocator;
+import org.apache.activemq.artemis.core.persistence.impl.journal.JournalRecordIds;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.settings.impl.AddressSettings;
+import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class JournalCompressionTest extends ActiveMQTestBase {
+
+   private static final String ADDRESS = "JournalCompressionTest";
+
+   private static final String UNCOMPRESSED_ADDRESS = "JournalCompressionTest.uncompressed";
+
+   private static final int MESSAGES = 50;
+
+   private ActiveMQServer server;
+
+   @Override
+   @BeforeEach
+   public void setUp() throws Exception {
+      super.setUp();
+
+      server = createServer(true);
+      server.getAddressSettingsRepository().addMatch(ADDRESS, new AddressSettings().setJournalCompressionThreshold(1024));
+      server.start();
+   }
+
+   @Test
+   public void testCompressedMessagesSurviveRestart() throws Exception {
+      final String body = "{\"text\": \"" + "compressible ".repeat(1000) + "\"}";
+
+      try (ServerLocator locator = createInVMNonHALocator();
+           ClientSessionFactory factory = createSessionFactory(locator);
+           ClientSession session = factory.createSession(false, false)) {
+         for (String address : new String[]{ADDRESS, UNCOMPRESSED_ADDRESS}) {
+            session.createQueue(QueueConfiguration.of(address).setRoutingType(RoutingType.ANYCAST));
+            ClientProducer producer = session.createProducer(address);
+            for (int i = 0; i < MESSAGES; i++) {
+               ClientMessage message = session.createMessage(true);
+               message.putIntProperty("i", i);
+               // the small messages are under the threshold and are stored as they are
+               message.getBodyBuffer().writeString(i % 2 == 0 ? body : "small");
+               producer.send(message);
+            }
+         }
+         session.commit();
+      }
+
+      server.stop();
+
+      HashMap<Integer, AtomicInteger> records = countJournalLivingRecords(server.getConfiguration());
+      assertEquals(MESSAGES / 2, records.get((int) JournalRecordIds.ADD_MESSAGE_COMPRESSED).get());
+      assertEquals(MESSAGES + MESSAGES / 2, records.get((int) JournalRecordIds.ADD_MESSAGE_PROTOCOL).get());
+
+      server.start();
+
+      try (ServerLocator locator = createInVMNonHALocator();
+           ClientSessionFactory factory = createSessionFactory(locator);
+           ClientSession session = factory.createSession(false, false)) {
+         session.start();
+         for (String address : new String[]{ADDRESS, UNCOMPRESSED_ADDRESS}) {
+            ClientConsumer consumer = session.createConsumer(address);
+            for (int i = 0; i < MESSAGES; i++) {
+               ClientMessage message = consumer.receive(5000);
+               assertNotNull(message);
+               assertEquals(i, message.getIntProperty("i").intValue());
+               assertEquals(i % 2 == 0 ? body : "small", message.getBodyBuffer().readString());
+               message.acknowledge();
+            }
+            assertNull(consumer.receiveImmediate());
+         }
+         session.commit();
+      }
+   }
+}
@@ -17,8 +17,10 @@
 package org.apache.activemq.artemis.tests.integration.retention;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import javax.jms.Connection;
 import javax.jms.ConnectionFactory;
@@ -27,11 +29,13 @@ import javax.jms.MessageProducer;
 import javax.jms.Queue;
 import javax.jms.Session;
 import javax.jms.TextMessage;
+import java.io.File;
 
 import org.apache.activemq.artemis.api.core.QueueConfiguration;
 import org.apache.activemq.artemis.api.core.RoutingType;
 import org.apache.activemq.artemis.core.server.ActiveMQServer;
 import org.apache.activemq.artemis.core.server.impl.AddressInfo;
+import org.apache.activemq.artemis.core.server.replay.RetentionFileIndex;
 import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
 import org.apache.activemq.artemis.tests.util.CFUtil;
 import org.apache.activemq.artemis.utils.RandomUtil;
@@ -127,6 +131,64 @@ public class ReplayTest extends ActiveMQTestBase {
 
    }
 
+   @Test
+   public void testReplayWithRetentionIndex() throws Exception {
+      final int numberOfMessages = 10;
+
+      ConnectionFactory cf = CFUtil.createConnectionFactory("CORE", "tcp://localhost:61616");
+
+      try (Connection connection = cf.createConnection()) {
+         Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+
+         Queue queue = session.createQueue("t1");
+         MessageProducer producer = session.createProducer(queue);
+         for (int i = 0; i < numberOfMessages; i++) {
+            producer.send(session.createTextMessage("message " + i));
+         }
+
+         connection.start();
+
+         MessageConsumer consumer = session.createConsumer(queue);
+         for (int i = 0; i < numberOfMessages; i++) {
+            assertNotNull(consumer.receive(5000));
+         }
+         assertNull(consumer.receiveNoWait());
+
+         File retentionFolder = server.getConfiguration().getJournalRetentionLocation();
+
+         // the first replay reads every file and writes their indexes
+         server.replay(null, null, "t1", "t2", null);
+
+         File[] retentionFiles = retentionFolder.listFiles((dir, name) -> name.endsWith(".amq"));
+         assertNotNull(retentionFiles);
+         assertTrue(retentionFiles.length > 0);
+         for (File retentionFile : retentionFiles) {
+            assertTrue(RetentionFileIndex.getIndexFile(retentionFile).exists(), retentionFile.toString());
+         }
+
+         // the second replay uses the indexes and must find the same messages
+         server.replay(null, null, "t1", "t2", null);
+
+         MessageConsumer consumert2 = session.createConsumer(session.createQueue("t2"));
+         for (int i = 0; i < numberOfMessages * 2; i++) {
+            TextMessage receivedMessage = (TextMessage) consumert2.receive(5000);
+            assertNotNull(receivedMessage);
+            assertEquals("message " + (i % numberOfMessages), receivedMessage.getText());
+         }
+         assertNull(consumert2.receiveNoWait());
+
+         // nothing was ever sent to t3, the indexes skip every file
+         server.replay(null, null, "t3", "t1", null);
+         assertNull(consumer.receiveNoWait());
+
+         // indexes of files removed from the retention folder are removed on the next replay
+         File removedFile = retentionFiles[0];
+         assertTrue(removedFile.delete());
+         server.replay(null, null, "t3", "t1", null);
+         assertFalse(RetentionFileIndex.getIndexFile(removedFile).exists());
+      }
+   }
+
    @Test
    public void testReplayLargeAMQP() throws Exception {
       testReplay("AMQP", 500 * 1024, false);
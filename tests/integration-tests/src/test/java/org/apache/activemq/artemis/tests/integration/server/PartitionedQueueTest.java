@@ -0,0 +1,357 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.integration.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.activemq.artemis.api.core.ActiveMQIllegalStateException;
+import org.apache.activemq.artemis.api.core.QueueConfiguration;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.api.core.client.ClientConsumer;
+import org.apache.activemq.artemis.api.core.client.ClientMessage;
+import org.apache.activemq.artemis.api.core.client.ClientProducer;
+import org.apache.activemq.artemis.api.core.client.ClientSession;
+import org.apache.activemq.artemis.api.core.client.ClientSessionFactory;
+import org.apache.activemq.artemis.api.core.client.ServerLocator;
+import org.apache.activemq.artemis.api.core.management.QueueControl;
+import org.apache.activemq.artemis.api.core.management.ResourceNames;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.Queue;
+import org.apache.activemq.artemis.core.server.impl.QueueImpl;
+import org.apache.activemq.artemis.core.server.impl.QueueManagerImpl;
+import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
+import org.apache.activemq.artemis.tests.util.Wait;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class PartitionedQueueTest extends ActiveMQTestBase {
+
+   private static final int PARTITIONS = 4;
+
+   private final SimpleString address = SimpleString.of("PartitionedQueueTestAddress");
+
+   private final SimpleString qName = SimpleString.of("PartitionedQueueTestQ1");
+
+   private ActiveMQServer server;
+
+   private ClientSession clientSession;
+
+   @BeforeEach
+   @Override
+   public void setUp() throws Exception {
+      super.setUp();
+
+      server = createServer(true);
+      server.start();
+
+      createSession();
+   }
+
+   private void createSession() throws Exception {
+      ServerLocator locator = createInVMNonHALocator().setBlockOnNonDurableSend(true).setBlockOnDurableSend(true);
+      ClientSessionFactory sf = createSessionFactory(locator);
+      clientSession = addClientSession(sf.createSession(false, true, true));
+      clientSession.start();
+   }
+
+   private void createPartitionedQueue(String partitionKey) throws Exception {
+      clientSession.createQueue(QueueConfiguration.of(qName).setAddress(address).setRoutingType(RoutingType.ANYCAST).setPartitions(PARTITIONS).setPartitionKey(partitionKey));
+   }
+
+   private Queue locatePartition(int partition) {
+      return server.locateQueue(QueueConfiguration.getPartitionName(qName, partition));
+   }
+
+   @Test
+   public void testRouteByPartitionKey() throws Exception {
+      createPartitionedQueue("customer");
+
+      final Queue queue = server.locateQueue(qName);
+      assertEquals(PARTITIONS, queue.getPartitions());
+      for (int i = 0; i < PARTITIONS; i++) {
+         assertNotNull(locatePartition(i));
+         assertSame(locatePartition(i), queue.getPartition(i));
+      }
+      assertTrue(locatePartition(1).isInternalQueue());
+
+      // every consumer is attached to the partition with the fewest consumers
+      ClientConsumer[] consumers = new ClientConsumer[PARTITIONS];
+      for (int i = 0; i < PARTITIONS; i++) {
+         consumers[i] = clientSession.createConsumer(qName);
+         assertEquals(1, locatePartition(i).getConsumerCount());
+      }
+
+      ClientProducer producer = clientSession.createProducer(address);
+      for (int i = 0; i < 100; i++) {
+         ClientMessage message = clientSession.createMessage(true);
+         message.putIntProperty("customer", i % 10);
+         message.putIntProperty("sequence", i);
+         producer.send(message);
+      }
+
+      Map<Integer, Integer> customerPartitions = new HashMap<>();
+      Map<Integer, Integer> lastSequences = new HashMap<>();
+      int received = 0;
+      for (int i = 0; i < PARTITIONS; i++) {
+         final int partition = i;
+         ClientMessage message;
+         while ((message = consumers[i].receive(100)) != null) {
+            message.acknowledge();
+            int customer = message.getIntProperty("customer");
+            int sequence = message.getIntProperty("sequence");
+            // the messages of a customer are all on the same partition, in order
+            assertEquals(i, customerPartitions.computeIfAbsent(customer, c -> partition).intValue());
+            assertTrue(lastSequences.getOrDefault(customer, -1) < sequence);
+            lastSequences.put(customer, sequence);
+            received++;
+         }
+      }
+      assertEquals(100, received);
+      assertEquals(10, customerPartitions.size());
+   }
+
+   @Test
+   public void testSpreadWithoutKey() throws Exception {
+      createPartitionedQueue(null);
+
+      Set<ClientConsumer> consumers = new HashSet<>();
+      for (int i = 0; i < PARTITIONS; i++) {
+         consumers.add(clientSession.createConsumer(qName));
+      }
+
+      ClientProducer producer = clientSession.createProducer(address);
+      for (int i = 0; i < 10 * PARTITIONS; i++) {
+         producer.send(clientSession.createMessage(true));
+      }
+
+      // the messages without a key are spread over every partition with consumers
+      for (int i = 0; i < PARTITIONS; i++) {
+         final Queue partition = locatePartition(i);
+         Wait.assertEquals(10L, partition::getMessagesAdded);
+      }
+
+      int received = 0;
+      for (ClientConsumer consumer : consumers) {
+         ClientMessage message;
+         while ((message = consumer.receive(100)) != null) {
+            message.acknowledge();
+            received++;
+         }
+      }
+      assertEquals(10 * PARTITIONS, received);
+   }
+
+   private void sendByCustomer(int messages) throws Exception {
+      ClientProducer producer = clientSession.createProducer(address);
+      for (int i = 0; i < messages; i++) {
+         ClientMessage message = clientSession.createMessage(true);
+         message.putIntProperty("customer", i % 10);
+         message.putIntProperty("sequence", i);
+         producer.send(message);
+      }
+   }
+
+   private int receiveInOrder(ClientConsumer consumer) throws Exception {
+      Map<Integer, Integer> lastSequences = new HashMap<>();
+      int received = 0;
+      ClientMessage message;
+      // the references of the partitions without consumers are only moved once the consumers settle
+      while ((message = consumer.receive(QueueImpl.PARTITIONS_CHECK_DELAY * 5)) != null) {
+         message.acknowledge();
+         int customer = message.getIntProperty("customer");
+         int sequence = message.getIntProperty("sequence");
+         assertTrue(lastSequences.getOrDefault(customer, -1) < sequence);
+         lastSequences.put(customer, sequence);
+         received++;
+      }
+      return received;
+   }
+
+   @Test
+   public void testDrainPartitionsWithoutConsumers() throws Exception {
+      createPartitionedQueue("customer");
+
+      sendByCustomer(100);
+
+      Set<Long> messageIDs = new HashSet<>();
+      try (ClientConsumer browser = clientSession.createConsumer(qName, true)) {
+         ClientMessage message;
+         while ((message = browser.receiveImmediate()) != null) {
+            messageIDs.add(message.getMessageID());
+         }
+      }
+      assertEquals(100, messageIDs.size());
+
+      // a single consumer is attached to one partition, the messages of the others are moved to it
+      ClientConsumer consumer = clientSession.createConsumer(qName);
+      Map<Integer, Integer> lastSequences = new HashMap<>();
+      ClientMessage message;
+      while ((message = consumer.receive(QueueImpl.PARTITIONS_CHECK_DELAY * 5)) != null) {
+         message.acknowledge();
+         // the messages are moved as they are, not copied
+         assertTrue(messageIDs.remove(message.getMessageID()));
+         int customer = message.getIntProperty("customer");
+         int sequence = message.getIntProperty("sequence");
+         assertTrue(lastSequences.getOrDefault(customer, -1) < sequence);
+         lastSequences.put(customer, sequence);
+      }
+      assertTrue(messageIDs.isEmpty());
+      for (int i = 0; i < PARTITIONS; i++) {
+         final Queue partition = locatePartition(i);
+         Wait.assertEquals(0L, partition::getMessageCount);
+      }
+   }
+
+   @Test
+   public void testDrainPartitionOnConsumerClose() throws Exception {
+      createPartitionedQueue("customer");
+
+      ClientConsumer first = clientSession.createConsumer(qName);
+      ClientConsumer second = clientSession.createConsumer(qName);
+
+      // stopping the session keeps the messages on the partitions of the consumers
+      clientSession.stop();
+      sendByCustomer(100);
+      Wait.assertEquals(100L, () -> locatePartition(0).getMessageCount() + locatePartition(1).getMessageCount());
+      assertTrue(locatePartition(1).getMessageCount() > 0);
+
+      second.close();
+      clientSession.start();
+      assertEquals(100, receiveInOrder(first));
+      for (int i = 0; i < PARTITIONS; i++) {
+         final Queue partition = locatePartition(i);
+         Wait.assertEquals(0L, partition::getMessageCount);
+      }
+
+      // the keys of the partition left without consumers are routed to the one with consumers
+      sendByCustomer(20);
+      assertEquals(20, receiveInOrder(first));
+   }
+
+   @Test
+   public void testReloadAndDestroy() throws Exception {
+      createPartitionedQueue("customer");
+
+      ClientProducer producer = clientSession.createProducer(address);
+      for (int i = 0; i < 100; i++) {
+         ClientMessage message = clientSession.createMessage(true);
+         message.putIntProperty("customer", i);
+         producer.send(message);
+      }
+
+      clientSession.close();
+      server.stop();
+      server.start();
+      createSession();
+
+      final Queue queue = server.locateQueue(qName);
+      assertEquals(PARTITIONS, queue.getPartitions());
+      assertEquals(SimpleString.of("customer"), queue.getQueueConfiguration().getPartitionKey());
+      long messageCount = 0;
+      for (int i = 0; i < PARTITIONS; i++) {
+         final Queue partition = locatePartition(i);
+         assertNotNull(partition);
+         Wait.assertTrue(() -> partition.getMessageCount() > 0);
+         messageCount += partition.getMessageCount();
+      }
+      assertEquals(100, messageCount);
+
+      server.destroyQueue(qName);
+      for (int i = 0; i < PARTITIONS; i++) {
+         assertNull(locatePartition(i));
+      }
+   }
+
+   @Test
+   public void testAutoDeleteChecksEveryPartition() throws Exception {
+      createPartitionedQueue("customer");
+
+      sendByCustomer(100);
+
+      final Queue queue = server.locateQueue(qName);
+      Wait.assertEquals(100L, () -> QueueManagerImpl.getMessageCount(queue));
+      assertTrue(queue.getMessageCount() < 100);
+      assertFalse(QueueManagerImpl.messageCountCheck(queue));
+      assertThrows(ActiveMQIllegalStateException.class, () -> server.destroyQueue(qName, null, true, false, false, true));
+
+      // the consumer left is attached to the second partition
+      ClientConsumer first = clientSession.createConsumer(qName);
+      ClientConsumer second = clientSession.createConsumer(qName);
+      first.close();
+      assertEquals(0, queue.getConsumerCount());
+      assertEquals(1, QueueManagerImpl.getConsumerCount(queue));
+      assertFalse(QueueManagerImpl.consumerCountCheck(queue));
+      assertThrows(ActiveMQIllegalStateException.class, () -> server.destroyQueue(qName, null, true, false, false, false));
+
+      second.close();
+      assertTrue(QueueManagerImpl.consumerCountCheck(queue));
+      assertNotNull(server.locateQueue(qName));
+   }
+
+   @Test
+   public void testBrowseAndManageEveryPartition() throws Exception {
+      createPartitionedQueue("customer");
+      final SimpleString otherName = SimpleString.of("PartitionedQueueTestQ2");
+      clientSession.createQueue(QueueConfiguration.of(otherName).setAddress(otherName).setRoutingType(RoutingType.ANYCAST));
+
+      sendByCustomer(100);
+
+      final Queue queue = server.locateQueue(qName);
+      Wait.assertEquals(100L, () -> QueueManagerImpl.getMessageCount(queue));
+      assertTrue(queue.getMessageCount() < 100);
+
+      QueueControl queueControl = (QueueControl) server.getManagementService().getResource(ResourceNames.QUEUE + qName);
+      assertEquals(100, queueControl.browse().length);
+      assertEquals(10, queueControl.browse(2, 10).length);
+      assertEquals(100, queueControl.listMessages(null).length);
+      assertEquals(50, queueControl.countMessages("customer < 5"));
+
+      // browsers browse every partition
+      int browsed = 0;
+      try (ClientConsumer browser = clientSession.createConsumer(qName, true)) {
+         while (browser.receive(1000) != null) {
+            browsed++;
+         }
+      }
+      assertEquals(100, browsed);
+
+      assertEquals(10, queueControl.removeMessages("customer = 0"));
+      assertEquals(10, queueControl.moveMessages("customer = 1", otherName.toString()));
+      assertEquals(5, queueControl.moveMessages(100, "customer = 2", otherName.toString(), false, 5));
+      Wait.assertEquals(15L, server.locateQueue(otherName)::getMessageCount);
+      assertEquals(75, queueControl.removeAllMessages());
+      assertEquals(0, queueControl.getMessageCount());
+   }
+
+   @Test
+   public void testMulticastCannotBePartitioned() throws Exception {
+      assertThrows(Exception.class, () -> clientSession.createQueue(QueueConfiguration.of(qName).setAddress(address).setRoutingType(RoutingType.MULTICAST).setPartitions(PARTITIONS)));
+      assertFalse(server.queueQuery(qName).isExists());
+   }
+}
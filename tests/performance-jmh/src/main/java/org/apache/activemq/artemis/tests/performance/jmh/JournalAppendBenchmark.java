@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.activemq.artemis.core.io.SequentialFileFactory;
+import org.apache.activemq.artemis.core.journal.impl.JournalImpl;
+import org.apache.activemq.artemis.core.server.JournalType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the append path of {@link JournalImpl} on each of the journal types.
+ * <p>
+ * Every operation deletes the records it adds, so the journal keeps reclaiming its files instead of growing for the
+ * whole run. ASYNCIO needs libaio and fails on setup where it isn't available.
+ */
+@State(Scope.Benchmark)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JournalAppendBenchmark {
+
+   @Param({"NIO", "MAPPED", "ASYNCIO"})
+   private JournalType type;
+   @Param({"64", "1024"})
+   private int recordSize;
+   @Param({"false", "true"})
+   private boolean sync;
+   @Param({"10"})
+   private int transactionSize;
+   @Param({"10485760"})
+   private int fileSize;
+   @Param({"4"})
+   private int minFiles;
+   @Param({"20"})
+   private int poolSize;
+
+   private SequentialFileFactory factory;
+   private JournalImpl journal;
+   private final AtomicLong ids = new AtomicLong();
+   private byte[] recordData;
+
+   @Setup
+   public void init() throws Exception {
+      File storeDir = JournalBenchmarkSupport.storeDir(JournalAppendBenchmark.class);
+      JournalBenchmarkSupport.deleteDirectory(storeDir);
+      factory = JournalBenchmarkSupport.createFactory(type, storeDir, fileSize);
+      factory.start();
+      journal = JournalBenchmarkSupport.createJournal(factory, fileSize, minFiles, poolSize);
+      journal.start();
+      journal.loadInternalOnly();
+      recordData = new byte[recordSize];
+      Arrays.fill(recordData, (byte) 1);
+   }
+
+   @Benchmark
+   public void appendAddDelete() throws Exception {
+      final long id = ids.incrementAndGet();
+      journal.appendAddRecord(id, JournalBenchmarkSupport.RECORD_TYPE, recordData, sync);
+      journal.appendDeleteRecord(id, sync);
+   }
+
+   @Benchmark
+   public void appendAddUpdateDelete() throws Exception {
+      final long id = ids.incrementAndGet();
+      journal.appendAddRecord(id, JournalBenchmarkSupport.RECORD_TYPE, recordData, sync);
+      journal.appendUpdateRecord(id, JournalBenchmarkSupport.RECORD_TYPE, recordData, sync);
+      journal.appendDeleteRecord(id, sync);
+   }
+
+   @Benchmark
+   public void appendTransactional() throws Exception {
+      final long addTx = ids.incrementAndGet();
+      final long firstId = ids.getAndAdd(transactionSize) + 1;
+      for (int i = 0; i < transactionSize; i++) {
+         journal.appendAddRecordTransactional(addTx, firstId + i, JournalBenchmarkSupport.RECORD_TYPE, recordData);
+      }
+      journal.appendCommitRecord(addTx, sync);
+
+      final long deleteTx = ids.incrementAndGet();
+      for (int i = 0; i < transactionSize; i++) {
+         journal.appendDeleteRecordTransactional(deleteTx, firstId + i);
+      }
+      journal.appendCommitRecord(deleteTx, sync);
+   }
+
+   @TearDown
+   public void stop() throws Exception {
+      try {
+         journal.stop();
+      } finally {
+         factory.stop();
+         JournalBenchmarkSupport.deleteDirectory(factory.getDirectory());
+      }
+   }
+}
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import java.io.File;
+import java.util.stream.Stream;
+
+import org.apache.activemq.artemis.api.config.ActiveMQDefaultConfiguration;
+import org.apache.activemq.artemis.core.io.SequentialFileFactory;
+import org.apache.activemq.artemis.core.io.aio.AIOSequentialFileFactory;
+import org.apache.activemq.artemis.core.io.mapped.MappedSequentialFileFactory;
+import org.apache.activemq.artemis.core.io.nio.NIOSequentialFileFactory;
+import org.apache.activemq.artemis.core.journal.impl.JournalImpl;
+import org.apache.activemq.artemis.core.server.JournalType;
+
+/**
+ * Creates the journals used by the journal benchmarks, with the same factories and buffer defaults the broker uses
+ * for each {@link JournalType}.
+ */
+final class JournalBenchmarkSupport {
+
+   static final String FILE_PREFIX = "perf";
+   static final String FILE_EXTENSION = "amq";
+   static final byte RECORD_TYPE = 0;
+
+   private JournalBenchmarkSupport() {
+   }
+
+   static File storeDir(Class<?> benchmark) {
+      return new File(System.getProperty("user.dir") + File.separator + benchmark.getSimpleName());
+   }
+
+   static SequentialFileFactory createFactory(JournalType type, File directory, int fileSize) {
+      directory.mkdirs();
+      return switch (type) {
+         case NIO -> new NIOSequentialFileFactory(directory, true, ActiveMQDefaultConfiguration.getDefaultJournalBufferSizeNio(), ActiveMQDefaultConfiguration.getDefaultJournalBufferTimeoutNio(), ActiveMQDefaultConfiguration.getDefaultJournalMaxIoNio(), false);
+         case MAPPED -> new MappedSequentialFileFactory(directory, fileSize, true, ActiveMQDefaultConfiguration.getDefaultJournalBufferSizeNio(), ActiveMQDefaultConfiguration.getDefaultJournalBufferTimeoutNio(), null);
+         case ASYNCIO -> {
+            if (!AIOSequentialFileFactory.isSupported(directory)) {
+               throw new IllegalStateException("libaio is not available on " + directory + ", ASYNCIO can't be benchmarked");
+            }
+            yield new AIOSequentialFileFactory(directory, ActiveMQDefaultConfiguration.getDefaultJournalBufferSizeAio(), ActiveMQDefaultConfiguration.getDefaultJournalBufferTimeoutAio(), ActiveMQDefaultConfiguration.getDefaultJournalMaxIoAio(), false);
+         }
+      };
+   }
+
+   /**
+    * Creates a journal with automatic compaction disabled, so compaction only happens when a benchmark asks for it.
+    */
+   static JournalImpl createJournal(SequentialFileFactory factory, int fileSize, int minFiles, int poolSize) {
+      return new JournalImpl(fileSize, minFiles, poolSize, 0, 0, factory, FILE_PREFIX, FILE_EXTENSION, factory.getMaxIO());
+   }
+
+   static void deleteDirectory(File directory) {
+      final File[] files = directory.listFiles();
+      if (files != null) {
+         Stream.of(files).forEach(File::delete);
+      }
+      directory.delete();
+   }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.activemq.artemis.core.io.SequentialFileFactory;
+import org.apache.activemq.artemis.core.journal.impl.JournalImpl;
+import org.apache.activemq.artemis.core.server.JournalType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the compaction of a journal with {@link #files} data files holding {@link #livePercentage} percent of live
+ * records, interleaved with the deleted ones so every file has to be compacted.
+ * <p>
+ * The journal is written again before each compaction, which is why this benchmark only runs single shots.
+ */
+@State(Scope.Benchmark)
+@Fork(2)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JournalCompactBenchmark {
+
+   @Param({"NIO", "MAPPED", "ASYNCIO"})
+   private JournalType type;
+   @Param({"10", "50"})
+   private int files;
+   @Param({"64", "1024"})
+   private int recordSize;
+   @Param({"10", "50"})
+   private int livePercentage;
+   @Param({"1048576"})
+   private int fileSize;
+
+   private SequentialFileFactory factory;
+   private JournalImpl journal;
+
+   @Setup(Level.Invocation)
+   public void init() throws Exception {
+      File storeDir = JournalBenchmarkSupport.storeDir(JournalCompactBenchmark.class);
+      JournalBenchmarkSupport.deleteDirectory(storeDir);
+      factory = JournalBenchmarkSupport.createFactory(type, storeDir, fileSize);
+      factory.start();
+      journal = JournalBenchmarkSupport.createJournal(factory, fileSize, 2, -1);
+      journal.start();
+      journal.loadInternalOnly();
+      final byte[] recordData = new byte[recordSize];
+      Arrays.fill(recordData, (byte) 1);
+      long id = 0;
+      while (journal.getDataFilesCount() < files) {
+         id++;
+         journal.appendAddRecord(id, JournalBenchmarkSupport.RECORD_TYPE, recordData, false);
+         if (id % 100 >= livePercentage) {
+            journal.appendDeleteRecord(id, false);
+         }
+      }
+      journal.flush();
+   }
+
+   @Benchmark
+   public void compact() throws Exception {
+      journal.scheduleCompactAndBlock(600);
+   }
+
+   @TearDown(Level.Invocation)
+   public void stop() throws Exception {
+      try {
+         journal.stop();
+      } finally {
+         factory.stop();
+         JournalBenchmarkSupport.deleteDirectory(factory.getDirectory());
+      }
+   }
+}
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.activemq.artemis.core.io.SequentialFileFactory;
+import org.apache.activemq.artemis.core.journal.PreparedTransactionInfo;
+import org.apache.activemq.artemis.core.journal.RecordInfo;
+import org.apache.activemq.artemis.core.journal.impl.JournalImpl;
+import org.apache.activemq.artemis.core.server.JournalType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link JournalImpl#load(List, List, org.apache.activemq.artemis.core.journal.TransactionFailureCallback)}
+ * of a journal with {@link #files} data files, as done on every broker restart.
+ * <p>
+ * The journal is written once per trial, a third of its records being updated and another third deleted, and each
+ * operation loads it from scratch with a new {@link JournalImpl}.
+ */
+@State(Scope.Benchmark)
+@Fork(2)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JournalLoadBenchmark {
+
+   @Param({"NIO", "MAPPED", "ASYNCIO"})
+   private JournalType type;
+   @Param({"10", "100"})
+   private int files;
+   @Param({"64", "1024"})
+   private int recordSize;
+   @Param({"1", "4"})
+   private int loadThreads;
+   @Param({"1048576"})
+   private int fileSize;
+
+   private SequentialFileFactory factory;
+
+   @Setup
+   public void init() throws Exception {
+      File storeDir = JournalBenchmarkSupport.storeDir(JournalLoadBenchmark.class);
+      JournalBenchmarkSupport.deleteDirectory(storeDir);
+      factory = JournalBenchmarkSupport.createFactory(type, storeDir, fileSize);
+      factory.start();
+
+      final JournalImpl journal = JournalBenchmarkSupport.createJournal(factory, fileSize, 2, -1);
+      journal.start();
+      journal.loadInternalOnly();
+      final byte[] recordData = new byte[recordSize];
+      Arrays.fill(recordData, (byte) 1);
+      long id = 0;
+      while (journal.getDataFilesCount() < files) {
+         id++;
+         journal.appendAddRecord(id, JournalBenchmarkSupport.RECORD_TYPE, recordData, false);
+         if (id % 3 == 1) {
+            journal.appendUpdateRecord(id, JournalBenchmarkSupport.RECORD_TYPE, recordData, false);
+         } else if (id % 3 == 2) {
+            journal.appendDeleteRecord(id, false);
+         }
+      }
+      journal.flush();
+      journal.stop();
+   }
+
+   @Benchmark
+   public int load() throws Exception {
+      final JournalImpl journal = JournalBenchmarkSupport.createJournal(factory, fileSize, 2, -1);
+      journal.setLoadThreads(loadThreads);
+      journal.start();
+      try {
+         final List<RecordInfo> records = new ArrayList<>();
+         journal.load(records, new ArrayList<PreparedTransactionInfo>(), null);
+         return records.size();
+      } finally {
+         journal.stop();
+      }
+   }
+
+   @TearDown
+   public void stop() {
+      factory.stop();
+      JournalBenchmarkSupport.deleteDirectory(factory.getDirectory());
+   }
+}
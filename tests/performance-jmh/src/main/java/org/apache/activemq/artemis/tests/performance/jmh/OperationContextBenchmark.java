@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.activemq.artemis.core.io.IOCallback;
+import org.apache.activemq.artemis.core.io.OperationConsistencyLevel;
+import org.apache.activemq.artemis.core.persistence.impl.journal.OperationContextImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link OperationContextImpl#executeOnCompletion(IOCallback, OperationConsistencyLevel)} while the store,
+ * replication and page sync operations complete on their own threads, as the journal, the replication manager and the
+ * page syncer would do.
+ * <p>
+ * Each completing thread only completes operations already lined up, and the registering thread doesn't line up more
+ * operations while {@link #maxPending} are still to be completed, returning {@code false} instead. The throughput of
+ * {@code register} is the one to look at.
+ */
+@State(Scope.Group)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OperationContextBenchmark {
+
+   private static final IOCallback COMPLETION = new IOCallback() {
+      @Override
+      public void done() {
+      }
+
+      @Override
+      public void onError(int errorCode, String errorMessage) {
+      }
+   };
+
+   @Param({"FULL", "STORAGE"})
+   private OperationConsistencyLevel consistencyLevel;
+   @Param({"1024"})
+   private long maxPending;
+
+   private OperationContextImpl context;
+
+   @Setup
+   public void init() {
+      // the completions are executed by the completing threads, only the context is measured
+      context = new OperationContextImpl(Runnable::run);
+   }
+
+   @Benchmark
+   @Group("completion")
+   @GroupThreads(1)
+   public boolean register() {
+      final OperationContextImpl context = this.context;
+      if (context.getStoreLineUpField() - context.getStored() >= maxPending) {
+         return false;
+      }
+      context.storeLineUp();
+      if (consistencyLevel == OperationConsistencyLevel.FULL) {
+         context.replicationLineUp();
+         context.pageSyncLineUp();
+      }
+      context.executeOnCompletion(COMPLETION, consistencyLevel);
+      return true;
+   }
+
+   @Benchmark
+   @Group("completion")
+   @GroupThreads(1)
+   public boolean store() {
+      // this is the only thread completing store operations, so they can't be completed more than lined up
+      if (context.getStored() < context.getStoreLineUpField()) {
+         context.done();
+         return true;
+      }
+      return false;
+   }
+
+   @Benchmark
+   @Group("completion")
+   @GroupThreads(1)
+   public boolean replicate() {
+      if (context.getReplicated() < context.getReplicationLineUpField()) {
+         context.replicationDone();
+         return true;
+      }
+      return false;
+   }
+
+   @Benchmark
+   @Group("completion")
+   @GroupThreads(1)
+   public boolean pageSync() {
+      if (context.getPaged() < context.getPagedLinedUpField()) {
+         context.pageSyncDone();
+         return true;
+      }
+      return false;
+   }
+}
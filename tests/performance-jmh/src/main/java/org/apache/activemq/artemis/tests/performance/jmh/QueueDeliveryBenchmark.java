@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.activemq.artemis.api.core.QueueConfiguration;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.TransportConfiguration;
+import org.apache.activemq.artemis.api.core.client.ActiveMQClient;
+import org.apache.activemq.artemis.api.core.client.ClientConsumer;
+import org.apache.activemq.artemis.api.core.client.ClientMessage;
+import org.apache.activemq.artemis.api.core.client.ClientProducer;
+import org.apache.activemq.artemis.api.core.client.ClientSession;
+import org.apache.activemq.artemis.api.core.client.ClientSessionFactory;
+import org.apache.activemq.artemis.api.core.client.ServerLocator;
+import org.apache.activemq.artemis.core.config.Configuration;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.remoting.impl.invm.InVMAcceptorFactory;
+import org.apache.activemq.artemis.core.remoting.impl.invm.InVMConnectorFactory;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.ActiveMQServers;
+import org.apache.activemq.artemis.core.settings.impl.AddressFullMessagePolicy;
+import org.apache.activemq.artemis.core.settings.impl.AddressSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the delivery of a single queue to several consumers, through the in-vm transport.
+ * <p>
+ * The address blocks producers once it's full, so the throughput of the producers is bounded by how fast the queue
+ * delivers to its consumers. Run it with several threads (e.g. {@code -t 4}) to have concurrent producers.
+ */
+@State(Scope.Benchmark)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class QueueDeliveryBenchmark {
+
+   private static final String QUEUE = "benchmark";
+
+   @Param({"1", "4", "16"})
+   private int consumers;
+   @Param({"256"})
+   private int messageSize;
+   @Param({"1048576"})
+   private long maxSizeBytes;
+
+   private ActiveMQServer server;
+   private ServerLocator locator;
+   private ClientSessionFactory sessionFactory;
+   private final List<ClientSession> consumerSessions = new ArrayList<>();
+
+   @Setup
+   public void init() throws Exception {
+      final Configuration configuration = new ConfigurationImpl()
+         .setPersistenceEnabled(false)
+         .setSecurityEnabled(false)
+         .setJMXManagementEnabled(false)
+         .addAcceptorConfiguration(new TransportConfiguration(InVMAcceptorFactory.class.getName()))
+         .addAddressSetting(QUEUE, new AddressSettings()
+            .setMaxSizeBytes(maxSizeBytes)
+            .setAddressFullMessagePolicy(AddressFullMessagePolicy.BLOCK));
+      server = ActiveMQServers.newActiveMQServer(configuration, false);
+      server.start();
+
+      locator = ActiveMQClient.createServerLocatorWithoutHA(new TransportConfiguration(InVMConnectorFactory.class.getName()))
+         .setBlockOnNonDurableSend(false)
+         .setBlockOnDurableSend(false);
+      sessionFactory = locator.createSessionFactory();
+
+      try (ClientSession session = sessionFactory.createSession()) {
+         session.createQueue(QueueConfiguration.of(QUEUE).setRoutingType(RoutingType.ANYCAST).setDurable(false));
+      }
+
+      for (int i = 0; i < consumers; i++) {
+         final ClientSession session = sessionFactory.createSession(true, true);
+         final ClientConsumer consumer = session.createConsumer(QUEUE);
+         consumer.setMessageHandler(message -> {
+            try {
+               message.acknowledge();
+            } catch (Exception e) {
+               throw new IllegalStateException(e);
+            }
+         });
+         session.start();
+         consumerSessions.add(session);
+      }
+   }
+
+   @State(Scope.Thread)
+   public static class Producer {
+
+      private ClientSession session;
+      private ClientProducer producer;
+      private byte[] body;
+
+      @Setup(Level.Trial)
+      public void init(QueueDeliveryBenchmark benchmark) throws Exception {
+         session = benchmark.sessionFactory.createSession(true, true);
+         producer = session.createProducer(QUEUE);
+         body = new byte[benchmark.messageSize];
+      }
+
+      @TearDown(Level.Trial)
+      public void stop() throws Exception {
+         session.close();
+      }
+   }
+
+   @Benchmark
+   public void send(Producer producer) throws Exception {
+      final ClientMessage message = producer.session.createMessage(false);
+      message.getBodyBuffer().writeBytes(producer.body);
+      producer.producer.send(message);
+   }
+
+   @TearDown
+   public void stop() throws Exception {
+      try {
+         for (ClientSession session : consumerSessions) {
+            session.close();
+         }
+         sessionFactory.close();
+         locator.close();
+      } finally {
+         server.stop();
+      }
+   }
+}
@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.buffer.ByteBuf;
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.core.io.DummyCallback;
+import org.apache.activemq.artemis.core.io.IOCallback;
+import org.apache.activemq.artemis.core.io.buffer.TimedBuffer;
+import org.apache.activemq.artemis.core.io.buffer.TimedBufferObserver;
+import org.apache.activemq.artemis.core.journal.EncodingSupport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the append throughput of a {@link TimedBuffer} while its timer is flushing batches to an observer that
+ * emulates a device taking {@link #deviceWriteNanos} to write each batch.
+ * <p>
+ * As the journal does, the producers pair {@link TimedBuffer#checkSize(int)} and
+ * {@link TimedBuffer#addBytes(EncodingSupport, boolean, IOCallback)} holding a lock; comparing the results of the
+ * different producer counts against a previous version shows how much the appends are stalled by in-flight flushes.
+ */
+@State(Scope.Benchmark)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TimedBufferAppendBenchmark {
+
+   @Param({"501760"})
+   private int bufferSize;
+
+   @Param({"100000"})
+   private int timeout;
+
+   @Param({"0", "20000"})
+   private long deviceWriteNanos;
+
+   @Param({"64"})
+   private int recordSize;
+
+   private TimedBuffer timedBuffer;
+
+   private EncodingSupport record;
+
+   private final Object appendLock = new Object();
+
+   @Setup
+   public void init() {
+      timedBuffer = new TimedBuffer(null, bufferSize, timeout, false);
+      timedBuffer.start();
+      timedBuffer.setObserver(new DeviceObserver(deviceWriteNanos));
+      record = new FixedSizeRecord(recordSize);
+   }
+
+   @TearDown
+   public void stop() {
+      timedBuffer.stop();
+   }
+
+   private boolean append() {
+      synchronized (appendLock) {
+         if (!timedBuffer.checkSize(recordSize)) {
+            return false;
+         }
+         timedBuffer.addBytes(record, false, DummyCallback.getInstance());
+         return true;
+      }
+   }
+
+   @Benchmark
+   @Threads(1)
+   public boolean append1Producer() {
+      return append();
+   }
+
+   @Benchmark
+   @Threads(2)
+   public boolean append2Producers() {
+      return append();
+   }
+
+   @Benchmark
+   @Threads(4)
+   public boolean append4Producers() {
+      return append();
+   }
+
+   @Benchmark
+   @Threads(8)
+   public boolean append8Producers() {
+      return append();
+   }
+
+   private static final class FixedSizeRecord implements EncodingSupport {
+
+      private final byte[] bytes;
+
+      private FixedSizeRecord(int size) {
+         bytes = new byte[size];
+      }
+
+      @Override
+      public int getEncodeSize() {
+         return bytes.length;
+      }
+
+      @Override
+      public void encode(ActiveMQBuffer buffer) {
+         buffer.writeBytes(bytes);
+      }
+
+      @Override
+      public void decode(ActiveMQBuffer buffer) {
+      }
+   }
+
+   private static final class DeviceObserver implements TimedBufferObserver {
+
+      private final long writeNanos;
+
+      private DeviceObserver(long writeNanos) {
+         this.writeNanos = writeNanos;
+      }
+
+      @Override
+      public void flushBuffer(ByteBuf buffer, boolean syncRequested, List<IOCallback> callbacks) {
+         if (writeNanos > 0) {
+            final long deadline = System.nanoTime() + writeNanos;
+            while (System.nanoTime() - deadline < 0) {
+               Thread.onSpinWait();
+            }
+         }
+         IOCallback.done(callbacks);
+      }
+
+      @Override
+      public int getRemainingBytes() {
+         // the file never gets full
+         return Integer.MAX_VALUE;
+      }
+   }
+}
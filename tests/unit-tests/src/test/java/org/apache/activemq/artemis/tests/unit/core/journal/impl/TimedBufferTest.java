@@ -23,8 +23,14 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -130,6 +136,52 @@ public class TimedBufferTest extends ActiveMQTestBase {
       }
 
    }
+   @Test
+   public void testAdaptiveTimeout() throws Exception {
+      class TestObserver implements TimedBufferObserver {
+
+         @Override
+         public void flushBuffer(final ByteBuf byteBuf, final boolean sync, final List<IOCallback> callbacks) {
+            for (IOCallback callback : callbacks) {
+               callback.done();
+            }
+         }
+
+         @Override
+         public int getRemainingBytes() {
+            return 1024 * 1024;
+         }
+      }
+
+      final int timeout = 10_000_000;
+      TimedBuffer timedBuffer = new TimedBuffer(null, 100, timeout, false);
+      timedBuffer.setAdaptiveTimeout(true);
+
+      timedBuffer.start();
+
+      timedBuffer.setObserver(new TestObserver());
+
+      ActiveMQBuffer buff = ActiveMQBuffers.wrappedBuffer(new byte[10]);
+
+      try {
+         assertEquals(timeout, timedBuffer.getTimeout());
+
+         for (int i = 0; i < 128; i++) {
+            timedBuffer.addBytes(buff, true, dummyCallback);
+            timedBuffer.flush();
+         }
+
+         assertEquals(128, timedBuffer.getSyncLatencies().getSamples());
+         // syncs completing right away take the timeout down to its lower bound
+         assertEquals(timeout / 10, timedBuffer.getTimeout());
+
+         timedBuffer.setAdaptiveTimeout(false);
+         assertEquals(timeout, timedBuffer.getTimeout());
+      } finally {
+         timedBuffer.stop();
+      }
+   }
+
    @Test
    public void testTimeOnTimedBuffer() throws Exception {
       final ReusableLatch latchFlushed = new ReusableLatch(0);
@@ -601,4 +653,69 @@ public class TimedBufferTest extends ActiveMQTestBase {
       }
 
    }
+
+   @Test
+   public void testAddBytesWhileFlushing() throws Exception {
+      final CountDownLatch flushing = new CountDownLatch(1);
+      final CountDownLatch releaseFlush = new CountDownLatch(1);
+      final AtomicBoolean released = new AtomicBoolean(true);
+      final List<Long> flushedRecords = Collections.synchronizedList(new ArrayList<>());
+      class TestObserver implements TimedBufferObserver {
+
+         @Override
+         public void flushBuffer(final ByteBuf byteBuf, final boolean sync, final List<IOCallback> callbacks) {
+            flushing.countDown();
+            try {
+               if (!releaseFlush.await(10, TimeUnit.SECONDS)) {
+                  released.set(false);
+               }
+            } catch (InterruptedException e) {
+               throw new IllegalStateException(e);
+            }
+            for (int i = byteBuf.readerIndex(); i < byteBuf.writerIndex(); i += Long.BYTES) {
+               flushedRecords.add(byteBuf.getLong(i));
+            }
+         }
+
+         @Override
+         public int getRemainingBytes() {
+            return 1024 * 1024;
+         }
+      }
+
+      TimedBuffer timedBuffer = new TimedBuffer(null, 100, TimedBufferTest.ONE_SECOND_IN_NANOS, false);
+
+      timedBuffer.start();
+
+      ExecutorService executor = Executors.newSingleThreadExecutor();
+      runAfter(executor::shutdownNow);
+
+      try {
+         timedBuffer.setObserver(new TestObserver());
+
+         ActiveMQBuffer buff = ActiveMQBuffers.fixedBuffer(Long.BYTES);
+         buff.writeLong(1);
+         assertTrue(timedBuffer.checkSize(Long.BYTES));
+         timedBuffer.addBytes(buff, false, dummyCallback);
+
+         Future<?> firstFlush = executor.submit(timedBuffer::flush);
+         assertTrue(flushing.await(10, TimeUnit.SECONDS));
+
+         // the first batch is blocked on the observer: adding records shouldn't wait for it
+         buff = ActiveMQBuffers.fixedBuffer(Long.BYTES);
+         buff.writeLong(2);
+         assertTrue(timedBuffer.checkSize(Long.BYTES));
+         timedBuffer.addBytes(buff, false, dummyCallback);
+
+         releaseFlush.countDown();
+         firstFlush.get(10, TimeUnit.SECONDS);
+         timedBuffer.flush();
+
+         assertTrue(released.get());
+         assertEquals(List.of(1L, 2L), flushedRecords);
+      } finally {
+         releaseFlush.countDown();
+         timedBuffer.stop();
+      }
+   }
 }
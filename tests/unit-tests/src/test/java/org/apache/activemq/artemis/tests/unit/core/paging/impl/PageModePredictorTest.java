@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.unit.core.paging.impl;
+
+
+import org.apache.activemq.artemis.core.paging.impl.PageModePredictor;
+import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PageModePredictorTest extends ActiveMQTestBase {
+
+   @Test
+   public void testGrowth() {
+      PageModePredictor predictor = new PageModePredictor(1000, 0);
+      assertEquals(100, predictor.getSamplePeriod());
+      assertEquals(0, predictor.getGrowth());
+
+      // producing 10 bytes per millisecond faster than consuming
+      long now = 0;
+      for (int i = 0; i < 50; i++) {
+         predictor.produced(2000);
+         predictor.consumed(1000);
+         now += 100;
+         predictor.sample(now);
+      }
+      assertEquals(20000, predictor.getProduceRate(), 200);
+      assertEquals(10000, predictor.getConsumeRate(), 100);
+      assertEquals(10000, predictor.getGrowth(), 100);
+
+      // too soon for another sample
+      predictor.produced(1_000_000);
+      predictor.sample(now + 50);
+      assertEquals(10000, predictor.getGrowth(), 100);
+
+      // a single burst of consumers doesn't make the address drain
+      predictor.consumed(1_000_000 + 3000);
+      now += 100;
+      predictor.sample(now);
+      assertTrue(predictor.getGrowth() > 0);
+
+      // a sustained drain does
+      for (int i = 0; i < 50; i++) {
+         predictor.consumed(1000);
+         now += 100;
+         predictor.sample(now);
+      }
+      assertTrue(predictor.getGrowth() < 0);
+
+      // after being idle for longer than the horizon the previous rates are forgotten
+      predictor.sample(now + 10_000);
+      assertEquals(0, predictor.getGrowth(), 10);
+   }
+}
@@ -17,6 +17,8 @@
 package org.apache.activemq.artemis.tests.unit.core.paging.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.nio.ByteBuffer;
@@ -324,6 +326,98 @@ public class PageTest extends ActiveMQTestBase {
 
 
 
+   @Test
+   public void testGetMessageWithNIO() throws Exception {
+      recreateDirectory(getTestDir());
+      testGetMessage(new NIOSequentialFileFactory(getTestDirfile(), 1), 100);
+   }
+
+   @Test
+   public void testGetMessageFake() throws Exception {
+      testGetMessage(new FakeSequentialFileFactory(1, false), 100);
+   }
+
+   protected void testGetMessage(final SequentialFileFactory factory, final int numberOfElements) throws Exception {
+      SequentialFile file = factory.createSequentialFile("00010.page");
+
+      Page page = new Page(SimpleString.of("something"), new NullStorageManager(), factory, file, 10);
+
+      page.open(true);
+
+      SimpleString simpleDestination = SimpleString.of("Test");
+
+      addPageElements(simpleDestination, page, numberOfElements, 1);
+
+      page.sync();
+      page.close(false, false);
+
+      file = factory.createSequentialFile("00010.page");
+      page = new Page(SimpleString.of("something"), new NullStorageManager(), factory, file, 10);
+
+      // reading backwards, so every message is read from a different position on the file
+      for (int i = numberOfElements - 1; i >= 0; i--) {
+         PagedMessage pagedMessage = page.getMessage(i);
+         assertEquals(1 + i, pagedMessage.getMessage().getMessageID());
+         assertEquals(simpleDestination, pagedMessage.getMessage().getAddressSimpleString());
+         assertEquals(10, pagedMessage.getPageNumber());
+         assertEquals(i, pagedMessage.getMessageNumber());
+      }
+
+      assertNull(page.getMessage(numberOfElements));
+      assertEquals(numberOfElements, page.getNumberOfMessages());
+      assertFalse(file.isOpen());
+
+      page.open(false);
+      assertTrue(page.delete(null));
+   }
+
+   @Test
+   public void testReadMappedWithNIO() throws Exception {
+      recreateDirectory(getTestDir());
+      SequentialFileFactory factory = new NIOSequentialFileFactory(getTestDirfile(), 1);
+      final int numberOfElements = 100;
+
+      SequentialFile file = factory.createSequentialFile("00010.page");
+
+      Page page = new Page(SimpleString.of("something"), new NullStorageManager(), factory, file, 10);
+
+      page.open(true);
+
+      SimpleString simpleDestination = SimpleString.of("Test");
+
+      addPageElements(simpleDestination, page, numberOfElements, 1);
+
+      page.sync();
+      page.close(false, false);
+
+      file = factory.createSequentialFile("00010.page");
+      page = new Page(SimpleString.of("something"), new NullStorageManager(), factory, file, 10);
+      page.setReadMapped(true);
+      page.loadIndex();
+
+      assertEquals(numberOfElements, page.getNumberOfMessages());
+
+      int messages = 0;
+      try (LinkedListIterator<PagedMessage> iter = page.iterator()) {
+         while (iter.hasNext()) {
+            PagedMessage pagedMessage = iter.next();
+            assertEquals(1 + messages, pagedMessage.getMessage().getMessageID());
+            assertEquals(simpleDestination, pagedMessage.getMessage().getAddressSimpleString());
+            assertEquals(10, pagedMessage.getPageNumber());
+            assertEquals(messages, pagedMessage.getMessageNumber());
+            messages++;
+         }
+      }
+
+      assertEquals(numberOfElements, messages);
+      assertFalse(file.isOpen());
+      // the page can still be read as a whole
+      assertEquals(numberOfElements, page.getMessages().size());
+
+      page.open(false);
+      assertTrue(page.delete(null));
+   }
+
 
    protected void addPageElements(final StorageManager storageManager,
                                   final SimpleString simpleDestination,
@@ -46,6 +46,7 @@ import org.apache.activemq.artemis.core.message.impl.CoreMessage;
 import org.apache.activemq.artemis.core.paging.PagedMessage;
 import org.apache.activemq.artemis.core.paging.PagingManager;
 import org.apache.activemq.artemis.core.paging.PagingStoreFactory;
+import org.apache.activemq.artemis.core.paging.impl.PageSyncScheduler;
 import org.apache.activemq.artemis.core.paging.impl.PageTimedWriter;
 import org.apache.activemq.artemis.core.paging.impl.PagedMessageImpl;
 import org.apache.activemq.artemis.core.paging.impl.PagingStoreImpl;
@@ -399,6 +400,41 @@ public class PageTimedWriterUnitTest extends ArtemisTestCase {
       assertTrue(latch.await(10, TimeUnit.SECONDS));
    }
 
+   @Test
+   public void testIOCompletionWithSyncScheduler() throws Exception {
+      PageSyncScheduler syncScheduler = new PageSyncScheduler(scheduledExecutorService, executorFactory, 100);
+      syncScheduler.start();
+      runAfter(syncScheduler::stop);
+      timer.setSyncScheduler(syncScheduler);
+
+      CountDownLatch latch = new CountDownLatch(1);
+
+      OperationContextImpl.setContext(context);
+      assertTrue(realJournalStorageManager.addToPage(pageStore, createMessage(), null, Mockito.mock(RouteContextList.class)));
+      assertTrue(realJournalStorageManager.addToPage(pageStore, createMessage(), null, Mockito.mock(RouteContextList.class)));
+
+      context.executeOnCompletion(new IOCallback() {
+         @Override
+         public void done() {
+            latch.countDown();
+         }
+
+         @Override
+         public void onError(int errorCode, String errorMessage) {
+         }
+      });
+
+      assertFalse(latch.await(10, TimeUnit.MILLISECONDS));
+      allowRunning.countDown();
+      assertTrue(latch.await(10, TimeUnit.SECONDS));
+
+      // both messages were written on the same batch, and synced once by the scheduler
+      assertEquals(1, doneSync.get());
+      assertEquals(1, syncScheduler.getSyncs());
+      assertEquals(1, syncScheduler.getRounds());
+      Wait.assertFalse(timer::hasPendingIO, 5000, 10);
+   }
+
    @Test
    public void testIOCompletionWhileReplica() throws Exception {
       CountDownLatch latch = new CountDownLatch(1);
@@ -27,6 +27,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffers;
@@ -37,6 +38,7 @@ import org.apache.activemq.artemis.core.io.SequentialFileFactory;
 import org.apache.activemq.artemis.core.io.nio.NIOSequentialFileFactory;
 import org.apache.activemq.artemis.core.message.impl.CoreMessage;
 import org.apache.activemq.artemis.core.message.impl.CoreMessagePersister;
+import org.apache.activemq.artemis.core.paging.PageOffloadStore;
 import org.apache.activemq.artemis.core.paging.PageTransactionInfo;
 import org.apache.activemq.artemis.core.paging.PagedMessage;
 import org.apache.activemq.artemis.core.paging.PagingManager;
@@ -49,11 +51,13 @@ import org.apache.activemq.artemis.core.paging.cursor.PagedReference;
 import org.apache.activemq.artemis.core.paging.cursor.PagedReferenceImpl;
 import org.apache.activemq.artemis.core.paging.cursor.impl.PageCursorProviderImpl;
 import org.apache.activemq.artemis.core.paging.cursor.impl.PageCursorProviderTestAccessor;
+import org.apache.activemq.artemis.core.paging.impl.FileSystemPageOffloadStore;
 import org.apache.activemq.artemis.core.paging.impl.Page;
 import org.apache.activemq.artemis.core.paging.impl.PageReadWriter;
 import org.apache.activemq.artemis.core.paging.impl.PageTransactionInfoImpl;
 import org.apache.activemq.artemis.core.paging.impl.PagingStoreImpl;
 import org.apache.activemq.artemis.core.paging.impl.PagingStoreTestAccessor;
+import org.apache.activemq.artemis.core.paging.impl.SharedPageCache;
 import org.apache.activemq.artemis.core.persistence.OperationContext;
 import org.apache.activemq.artemis.core.persistence.StorageManager;
 import org.apache.activemq.artemis.core.persistence.impl.journal.OperationContextImpl;
@@ -78,6 +82,7 @@ import org.apache.activemq.artemis.utils.Wait;
 import org.apache.activemq.artemis.utils.actors.ArtemisExecutor;
 import org.apache.activemq.artemis.utils.actors.OrderedExecutorFactory;
 import org.apache.activemq.artemis.utils.collections.LinkedList;
+import org.apache.activemq.artemis.utils.collections.LinkedListIterator;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -660,6 +665,314 @@ public class PagingStoreImplTest extends ActiveMQTestBase {
 
    }
 
+   @Test
+   public void testSharedPageCache() throws Exception {
+      OperationContextImpl.setContext(context);
+      SequentialFileFactory factory = new NIOSequentialFileFactory(new File(getPageDir()), 1).setDatasync(false);
+
+      PagingStoreFactory storeFactory = new FakeStoreFactory(factory);
+
+      AtomicReference<SharedPageCache> sharedCache = new AtomicReference<>();
+      PagingManager pagingManager = new FakePagingManager() {
+         @Override
+         public SharedPageCache getSharedPageCache() {
+            return sharedCache.get();
+         }
+      };
+
+      PagingStoreImpl store = new PagingStoreImpl(PagingStoreImplTest.destinationTestName, scheduledExecutorService, 100, pagingManager, nullStorageManager, factory, storeFactory, PagingStoreImplTest.destinationTestName, new AddressSettings().setAddressFullMessagePolicy(AddressFullMessagePolicy.PAGE), orderedExecutorFactory.getExecutor(), true);
+
+      store.start();
+      store.startPaging();
+
+      for (int i = 0; i < 5; i++) {
+         writePageMessage(store, i);
+      }
+
+      // the cache can hold a single page
+      final long pageSize = store.getCurrentPage().getSize();
+      sharedCache.set(new SharedPageCache(pageSize + pageSize / 2));
+      SharedPageCache cache = sharedCache.get();
+
+      store.forceAnotherPage(true);
+
+      // page 1 was released by the writer
+      assertEquals(1, cache.getNumberOfPages());
+      assertEquals(pageSize, cache.getSize());
+
+      for (int i = 5; i < 10; i++) {
+         writePageMessage(store, i);
+      }
+      store.forceAnotherPage(true);
+
+      // page 2 evicted page 1
+      assertEquals(1, cache.getNumberOfPages());
+      assertEquals(1, cache.getEvictions());
+      assertNull(store.usePage(1, false));
+
+      Page page = store.usePage(2, false);
+      assertNotNull(page);
+      assertEquals(1, cache.getHits());
+      assertEquals(0, cache.getNumberOfPages());
+
+      store.prefetchPage(1);
+      store.flushExecutors();
+      assertEquals(1, cache.getPrefetches());
+      assertEquals(1, cache.getNumberOfPages());
+
+      // the current page is never read ahead
+      store.prefetchPage(3);
+      store.flushExecutors();
+      assertEquals(1, cache.getPrefetches());
+
+      page.usageDown();
+
+      // page 2 is back on the cache, evicting the page read ahead
+      assertEquals(1, cache.getNumberOfPages());
+      assertEquals(2, cache.getEvictions());
+      assertNotNull(store.usePage(2, false));
+
+      store.stop();
+   }
+
+   @Test
+   public void testCompactPage() throws Exception {
+      OperationContextImpl.setContext(context);
+      SequentialFileFactory factory = new NIOSequentialFileFactory(new File(getPageDir()), 1).setDatasync(false);
+
+      PagingStoreFactory storeFactory = new FakeStoreFactory(factory);
+
+      PagingStoreImpl store = new PagingStoreImpl(PagingStoreImplTest.destinationTestName, scheduledExecutorService, 100, createMockManager(), nullStorageManager, factory, storeFactory, PagingStoreImplTest.destinationTestName, new AddressSettings().setAddressFullMessagePolicy(AddressFullMessagePolicy.PAGE), orderedExecutorFactory.getExecutor(), true);
+
+      store.start();
+      store.startPaging();
+
+      for (int i = 0; i < 10; i++) {
+         writePageMessage(store, i);
+      }
+
+      // the current page is never compacted
+      assertEquals(0, store.compactPage(1, messageNumber -> true));
+
+      final long pageSize = store.getCurrentPage().getSize();
+      store.forceAnotherPage(true);
+
+      assertEquals(5, store.compactPage(1, messageNumber -> messageNumber % 2 == 0));
+      // nothing else to remove
+      assertEquals(0, store.compactPage(1, messageNumber -> messageNumber % 2 == 0));
+
+      Page compactedPage = store.newPageObject(1);
+      assertTrue(compactedPage.getFile().size() < pageSize);
+      assertEquals(10, compactedPage.readNumberOfMessages());
+
+      // the remaining messages keep their numbers
+      for (int i = 0; i < 10; i++) {
+         PagedMessage message = store.readMessage(1, i);
+         if (i % 2 == 0) {
+            assertNull(message);
+         } else {
+            assertNotNull(message);
+            assertEquals(i, message.getMessageNumber());
+            assertEquals(i, message.getMessage().getMessageID());
+         }
+      }
+
+      Page page = store.usePage(1);
+      assertNotNull(page);
+      assertEquals(10, page.getNumberOfMessages());
+      assertEquals(5, page.getMessages().size());
+      assertNull(page.getMessage(4));
+      assertEquals(5, page.getMessage(5).getMessage().getMessageID());
+
+      // a page in use is compacted later
+      assertEquals(-1, store.compactPage(1, messageNumber -> true));
+      page.usageDown();
+      assertEquals(5, store.compactPage(1, messageNumber -> true));
+      assertEquals(10, store.newPageObject(1).readNumberOfMessages());
+
+      store.stop();
+   }
+
+   @Test
+   public void testCompressedPage() throws Exception {
+      OperationContextImpl.setContext(context);
+      SequentialFileFactory factory = new NIOSequentialFileFactory(new File(getPageDir()), 1).setDatasync(false);
+
+      PagingStoreFactory storeFactory = new FakeStoreFactory(factory);
+
+      AddressSettings settings = new AddressSettings().setAddressFullMessagePolicy(AddressFullMessagePolicy.PAGE).setPageCompressionThreshold(100);
+
+      PagingStoreImpl store = new PagingStoreImpl(PagingStoreImplTest.destinationTestName, scheduledExecutorService, 100, createMockManager(), nullStorageManager, factory, storeFactory, PagingStoreImplTest.destinationTestName, settings, orderedExecutorFactory.getExecutor(), true);
+
+      store.start();
+      store.startPaging();
+
+      assertEquals(1, store.getPageCompressionRatio());
+
+      final int bodySize = 1000;
+      for (int i = 0; i < 10; i++) {
+         Message msg = createMessage(i, store, PagingStoreImplTest.destinationTestName, ActiveMQBuffers.wrappedBuffer(new byte[bodySize]));
+         msg.putLongProperty("count", i);
+         final RoutingContextImpl ctx = new RoutingContextImpl(null);
+         assertTrue(store.page(msg, ctx.getTransaction(), ctx.getContextListing(store.getStoreName())));
+         syncOperationContext();
+      }
+
+      assertTrue(store.getCurrentPage().getSize() < 10 * bodySize);
+      assertTrue(store.getPageCompressionRatio() > 1);
+
+      store.forceAnotherPage(true);
+
+      // positioned reads
+      for (int i = 9; i >= 0; i--) {
+         PagedMessage message = store.readMessage(1, i);
+         assertNotNull(message);
+         assertEquals(i, message.getMessageNumber());
+         assertEquals(i, message.getMessage().getMessageID());
+         assertEquals(i, (long) message.getMessage().getLongProperty("count"));
+      }
+
+      Page page = store.newPageObject(1);
+      assertEquals(10, page.readNumberOfMessages());
+      page.setReadMapped(true);
+      try (LinkedListIterator<PagedMessage> iterator = page.iterator()) {
+         for (int i = 0; i < 10; i++) {
+            assertTrue(iterator.hasNext());
+            PagedMessage message = iterator.next();
+            assertEquals(i, message.getMessageNumber());
+            assertEquals(i, message.getMessage().getMessageID());
+         }
+         assertFalse(iterator.hasNext());
+      }
+
+      // compressed messages can be compacted as well
+      assertEquals(5, store.compactPage(1, messageNumber -> messageNumber % 2 == 0));
+      assertNull(store.readMessage(1, 4));
+      assertEquals(5, store.readMessage(1, 5).getMessage().getMessageID());
+
+      store.stop();
+   }
+
+   @Test
+   public void testPageSummary() throws Exception {
+      OperationContextImpl.setContext(context);
+      SequentialFileFactory factory = new NIOSequentialFileFactory(new File(getPageDir()), 1).setDatasync(false);
+
+      PagingStoreFactory storeFactory = new FakeStoreFactory(factory);
+
+      AddressSettings settings = new AddressSettings().setAddressFullMessagePolicy(AddressFullMessagePolicy.PAGE);
+
+      PagingStoreImpl store = new PagingStoreImpl(PagingStoreImplTest.destinationTestName, scheduledExecutorService, 100, createMockManager(), nullStorageManager, factory, storeFactory, PagingStoreImplTest.destinationTestName, settings, orderedExecutorFactory.getExecutor(), true);
+
+      FakeQueue queue1 = new FakeQueue(SimpleString.of("queue1"), 1);
+      FakeQueue queue2 = new FakeQueue(SimpleString.of("queue2"), 2);
+
+      store.start();
+      store.startPaging();
+
+      // page 1 only gets messages for queue1, page 2 only for queue2
+      for (FakeQueue queue : new FakeQueue[] {queue1, queue2}) {
+         for (int i = 0; i < 10; i++) {
+            Message msg = createMessage(i, store, PagingStoreImplTest.destinationTestName, createRandomBuffer(i, 10));
+            final RoutingContextImpl ctx = new RoutingContextImpl(null);
+            ctx.addQueue(queue.getName(), queue);
+            assertTrue(store.page(msg, ctx.getTransaction(), ctx.getContextListing(store.getStoreName())));
+            syncOperationContext();
+         }
+         store.forceAnotherPage(true);
+      }
+
+      assertTrue(store.isPageRoutedTo(1, queue1.getID()));
+      assertFalse(store.isPageRoutedTo(1, queue2.getID()));
+      assertFalse(store.isPageRoutedTo(2, queue1.getID()));
+      assertTrue(store.isPageRoutedTo(2, queue2.getID()));
+
+      store.stop();
+
+      store = new PagingStoreImpl(PagingStoreImplTest.destinationTestName, scheduledExecutorService, 100, createMockManager(), nullStorageManager, factory, storeFactory, PagingStoreImplTest.destinationTestName, settings, orderedExecutorFactory.getExecutor(), true);
+      store.start();
+
+      // nothing is known about a page before it's read
+      assertTrue(store.isPageRoutedTo(1, queue2.getID()));
+
+      assertEquals(10, store.newPageObject(1).read().size());
+      assertTrue(store.isPageRoutedTo(1, queue1.getID()));
+      assertFalse(store.isPageRoutedTo(1, queue2.getID()));
+
+      store.removePage(1);
+      assertTrue(store.isPageRoutedTo(1, queue2.getID()));
+
+      store.stop();
+   }
+
+   @Test
+   public void testOffloadPages() throws Exception {
+      OperationContextImpl.setContext(context);
+      SequentialFileFactory factory = new NIOSequentialFileFactory(new File(getPageDir()), 1).setDatasync(false);
+
+      FakeStoreFactory storeFactory = new FakeStoreFactory(factory);
+      FileSystemPageOffloadStore offloadStore = new FileSystemPageOffloadStore(new File(getTestDir(), "offload"));
+      storeFactory.offloadStore = offloadStore;
+      storeFactory.offloadPrefetch = 1;
+      final String folder = factory.getDirectory().getName();
+
+      AddressSettings settings = new AddressSettings().setAddressFullMessagePolicy(AddressFullMessagePolicy.PAGE);
+
+      PagingStoreImpl store = new PagingStoreImpl(PagingStoreImplTest.destinationTestName, scheduledExecutorService, 100, createMockManager(), nullStorageManager, factory, storeFactory, PagingStoreImplTest.destinationTestName, settings, orderedExecutorFactory.getExecutor(), true);
+
+      store.start();
+      store.startPaging();
+
+      // 5 sealed pages of 10 messages, nothing read yet
+      for (int page = 0; page < 5; page++) {
+         for (int i = 0; i < 10; i++) {
+            Message msg = createMessage(page * 10 + i, store, PagingStoreImplTest.destinationTestName, createRandomBuffer(i, 10));
+            final RoutingContextImpl ctx = new RoutingContextImpl(null);
+            assertTrue(store.page(msg, ctx.getTransaction(), ctx.getContextListing(store.getStoreName())));
+            syncOperationContext();
+         }
+         store.forceAnotherPage(true);
+      }
+
+      final PagingStoreImpl offloadingStore = store;
+      // the first page and the prefetched one stay local
+      Wait.assertTrue(() -> offloadStore.list(folder).size() == 3, 5000, 10);
+      Wait.assertFalse(() -> factory.createSequentialFile(offloadingStore.createFileName(5)).exists(), 5000, 10);
+      assertTrue(factory.createSequentialFile(store.createFileName(1)).exists());
+      assertTrue(factory.createSequentialFile(store.createFileName(2)).exists());
+      assertFalse(factory.createSequentialFile(store.createFileName(3)).exists());
+      assertTrue(store.checkPageFileExists(3));
+      assertEquals(6, store.getNumberOfFiles());
+
+      // a page known to have no large messages is removed without being fetched back
+      assertNotNull(store.removePage(3));
+      assertFalse(factory.createSequentialFile(store.createFileName(3)).exists());
+      assertFalse(offloadStore.list(folder).contains(store.createFileName(3)));
+      assertEquals(5, store.getNumberOfPages());
+
+      store.stop();
+
+      store = new PagingStoreImpl(PagingStoreImplTest.destinationTestName, scheduledExecutorService, 100, createMockManager(), nullStorageManager, factory, storeFactory, PagingStoreImplTest.destinationTestName, settings, orderedExecutorFactory.getExecutor(), true);
+      store.start();
+      assertEquals(5, store.getNumberOfPages());
+
+      // fetched back when it's read
+      assertEquals(30, store.readMessage(4, 0).getMessage().getMessageID());
+      assertTrue(factory.createSequentialFile(store.createFileName(4)).exists());
+
+      // and the next page is prefetched when a cursor starts using a page
+      store.usePage(4).usageDown();
+      final PagingStoreImpl restartedStore = store;
+      Wait.assertTrue(() -> factory.createSequentialFile(restartedStore.createFileName(5)).exists(), 5000, 10);
+
+      // a removed page is removed from the offload store as well
+      assertTrue(offloadStore.list(folder).contains(store.createFileName(5)));
+      store.removePage(5);
+      assertFalse(offloadStore.list(folder).contains(store.createFileName(5)));
+
+      store.stop();
+   }
+
    @Test
    public void testRestartPage() throws Throwable {
       clearDataRecreateServerDirs();
@@ -1216,6 +1529,10 @@ public class PagingStoreImplTest extends ActiveMQTestBase {
 
       final SequentialFileFactory factory;
 
+      PageOffloadStore offloadStore;
+
+      int offloadPrefetch;
+
       FakeStoreFactory() {
          factory = new FakeSequentialFileFactory();
       }
@@ -1229,6 +1546,16 @@ public class PagingStoreImplTest extends ActiveMQTestBase {
          return factory;
       }
 
+      @Override
+      public PageOffloadStore getPageOffloadStore() {
+         return offloadStore;
+      }
+
+      @Override
+      public int getPageOffloadPrefetch() {
+         return offloadPrefetch;
+      }
+
       @Override
       public void removeFileFactory(SequentialFileFactory fileFactory) throws Exception {
       }
@@ -24,6 +24,7 @@ import static org.junit.jupiter.api.Assertions.fail;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
@@ -33,6 +34,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
 
 import org.apache.activemq.artemis.api.core.Message;
 import org.apache.activemq.artemis.api.core.QueueConfiguration;
@@ -1467,6 +1469,210 @@ public class QueueImplTest extends ActiveMQTestBase {
       assertEquals(1, queue.getMessageCount(), "The second message should be in the queue");
    }
 
+   @Test
+   public void testDeliveryBatchRepeatsConsumerAlreadyInBatch() throws Exception {
+      QueueImpl queue = getTemporaryQueue();
+
+      List<MessageReference> proceeded = Collections.synchronizedList(new ArrayList<>());
+      BatchConsumer consumer1 = new BatchConsumer(null, proceeded);
+      BatchConsumer consumer2 = new BatchConsumer(null, proceeded);
+
+      List<MessageReference> refs = addPausedReferences(queue, 3 * QueueImpl.DELIVERY_BATCH_SIZE, i -> null);
+      queue.addConsumer(consumer1);
+      queue.addConsumer(consumer2);
+      queue.resume();
+      queue.deliverNow();
+
+      // a consumer is never handed a reference before its previous one was proceeded
+      assertEquals(0, consumer1.getMisdeliveries());
+      assertEquals(0, consumer2.getMisdeliveries());
+      assertFalse(consumer1.getDelivered().isEmpty());
+      assertFalse(consumer2.getDelivered().isEmpty());
+      // the references put back for the next batch keep the order of the queue
+      assertRefListsIdenticalRefs(refs, proceeded);
+      assertEquals(refs.size(), queue.getDeliveringCount());
+   }
+
+   @Test
+   public void testDeliveryBatchWithBusyAndNoMatchConsumers() throws Exception {
+      QueueImpl queue = getTemporaryQueue();
+
+      List<MessageReference> proceeded = Collections.synchronizedList(new ArrayList<>());
+      BatchConsumer consumer = new BatchConsumer(null, proceeded);
+      // busy after two references, part-way through the first batch
+      BatchConsumer busyConsumer = new BatchConsumer(null, proceeded);
+      busyConsumer.setStatusDelayed(HandleStatus.BUSY, 2);
+      // no match for every other reference
+      BatchConsumer filteredConsumer = new BatchConsumer(new FakeFilter("parity", "even"), proceeded);
+
+      List<MessageReference> refs = addPausedReferences(queue, 3 * QueueImpl.DELIVERY_BATCH_SIZE, i -> i % 2 == 0 ? "even" : "odd");
+      queue.addConsumer(consumer);
+      queue.addConsumer(busyConsumer);
+      queue.addConsumer(filteredConsumer);
+      queue.resume();
+      queue.deliverNow();
+
+      assertEquals(2, busyConsumer.getDelivered().size());
+      for (MessageReference ref : filteredConsumer.getDelivered()) {
+         assertEquals(0, ref.getMessage().getMessageID() % 2);
+      }
+      for (BatchConsumer batchConsumer : List.of(consumer, busyConsumer, filteredConsumer)) {
+         assertEquals(0, batchConsumer.getMisdeliveries());
+         assertAscending(batchConsumer.getDelivered());
+      }
+      assertDeliveredOnce(refs, proceeded);
+      assertEquals(refs.size(), queue.getDeliveringCount());
+
+      // nothing is left behind for the busy consumer
+      busyConsumer.setStatusImmediate(HandleStatus.HANDLED);
+      queue.deliverNow();
+      assertEquals(2, busyConsumer.getDelivered().size());
+      assertDeliveredOnce(refs, proceeded);
+   }
+
+   @Test
+   public void testDeliveryBatchWithConsumerRemovedWhileProceeding() throws Exception {
+      QueueImpl queue = getTemporaryQueue();
+
+      List<MessageReference> proceeded = Collections.synchronizedList(new ArrayList<>());
+      BatchConsumer consumer = new BatchConsumer(null, proceeded);
+      BatchConsumer removedConsumer = new BatchConsumer(null, proceeded);
+      // removed once the first batch is being proceeded, it may still have a reference on it
+      consumer.setOnProceed(() -> {
+         if (!removedConsumer.isRemoved()) {
+            removedConsumer.setRemoved();
+            queue.removeConsumer(removedConsumer);
+         }
+      });
+
+      List<MessageReference> refs = addPausedReferences(queue, 3 * QueueImpl.DELIVERY_BATCH_SIZE, i -> null);
+      queue.addConsumer(consumer);
+      queue.addConsumer(removedConsumer);
+      queue.resume();
+      queue.deliverNow();
+
+      assertTrue(removedConsumer.isRemoved());
+      assertEquals(0, removedConsumer.getHandledAfterRemoval());
+      assertTrue(removedConsumer.getDelivered().size() <= 1);
+      assertEquals(0, consumer.getMisdeliveries());
+      assertEquals(0, removedConsumer.getMisdeliveries());
+      assertAscending(consumer.getDelivered());
+      assertRefListsIdenticalRefs(refs, proceeded);
+      assertEquals(refs.size(), queue.getDeliveringCount());
+   }
+
+   private List<MessageReference> addPausedReferences(QueueImpl queue, int numMessages, IntFunction<String> parity) {
+      // paused so every reference is there once the consumers start
+      queue.pause();
+      List<MessageReference> refs = new ArrayList<>();
+      for (int i = 0; i < numMessages; i++) {
+         MessageReference ref = generateReference(queue, i);
+         if (parity.apply(i) != null) {
+            ref.getMessage().putStringProperty("parity", parity.apply(i));
+         }
+         refs.add(ref);
+         queue.addTail(ref);
+      }
+      queue.flushExecutor();
+      return refs;
+   }
+
+   private static void assertAscending(List<MessageReference> refs) {
+      for (int i = 1; i < refs.size(); i++) {
+         assertTrue(refs.get(i - 1).getMessage().getMessageID() < refs.get(i).getMessage().getMessageID(), "out of order: " + refs);
+      }
+   }
+
+   private static void assertDeliveredOnce(List<MessageReference> refs, List<MessageReference> delivered) {
+      List<Long> expected = new ArrayList<>();
+      refs.forEach(ref -> expected.add(ref.getMessage().getMessageID()));
+      List<Long> actual = new ArrayList<>();
+      delivered.forEach(ref -> actual.add(ref.getMessage().getMessageID()));
+      Collections.sort(actual);
+      assertEquals(expected, actual);
+   }
+
+   /**
+    * Records the references proceeded by the queue, out of the lock, and counts any reference handed to it while the
+    * previous one wasn't proceeded yet or proceeded without being handed to it.
+    */
+   private static final class BatchConsumer extends FakeConsumer {
+
+      private final List<MessageReference> proceeded;
+
+      private final List<MessageReference> delivered = new ArrayList<>();
+
+      private MessageReference pending;
+
+      private int misdeliveries;
+
+      private volatile boolean removed;
+
+      private int handledAfterRemoval;
+
+      private Runnable onProceed;
+
+      BatchConsumer(Filter filter, List<MessageReference> proceeded) {
+         super(filter);
+         this.proceeded = proceeded;
+      }
+
+      @Override
+      public synchronized HandleStatus handle(MessageReference reference) {
+         HandleStatus status = super.handle(reference);
+         if (status == HandleStatus.HANDLED) {
+            if (pending != null) {
+               misdeliveries++;
+            }
+            if (removed) {
+               handledAfterRemoval++;
+            }
+            pending = reference;
+         }
+         return status;
+      }
+
+      @Override
+      public void proceedDeliver(MessageReference reference) {
+         synchronized (this) {
+            // errors thrown here are only logged by the queue
+            if (pending != reference) {
+               misdeliveries++;
+            }
+            pending = null;
+            delivered.add(reference);
+            proceeded.add(reference);
+         }
+         if (onProceed != null) {
+            onProceed.run();
+         }
+      }
+
+      void setOnProceed(Runnable onProceed) {
+         this.onProceed = onProceed;
+      }
+
+      void setRemoved() {
+         removed = true;
+      }
+
+      boolean isRemoved() {
+         return removed;
+      }
+
+      synchronized int getMisdeliveries() {
+         return misdeliveries;
+      }
+
+      synchronized int getHandledAfterRemoval() {
+         return handledAfterRemoval;
+      }
+
+      synchronized List<MessageReference> getDelivered() {
+         return new ArrayList<>(delivered);
+      }
+   }
+
    private QueueImpl getNonDurableQueue() {
       return getQueue(QueueImplTest.queue1, false, false, null);
    }